@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates driver rows without a cluster. Placed in the driver package because constructors of Row and
+ * ColumnDefinitions are package-private.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public final class RowFixtures {
+
+	private final String keyspace;
+	private final String table;
+	private final List<ColumnDefinitions.Definition> definitions = new ArrayList<ColumnDefinitions.Definition>();
+	private final List<Object> values = new ArrayList<Object>();
+
+	private RowFixtures(String keyspace, String table) {
+		this.keyspace = keyspace;
+		this.table = table;
+	}
+
+	public static RowFixtures table(String keyspace, String table) {
+		return new RowFixtures(keyspace, table);
+	}
+
+	/**
+	 * Adds column, value is serialized by the data type
+	 * 
+	 * @param name column name
+	 * @param type column type
+	 * @param value value or null
+	 * @return this
+	 */
+	public RowFixtures column(String name, DataType type, Object value) {
+		definitions.add(new ColumnDefinitions.Definition(keyspace, table, name, type));
+		values.add(value);
+		return this;
+	}
+
+	/**
+	 * Adds column without value, used for column definitions of tables
+	 * 
+	 * @param name column name
+	 * @param type column type
+	 * @return this
+	 */
+	public RowFixtures column(String name, DataType type) {
+		return column(name, type, null);
+	}
+
+	public ColumnDefinitions columnDefinitions() {
+		return new ColumnDefinitions(definitions.toArray(new ColumnDefinitions.Definition[definitions.size()]));
+	}
+
+	/**
+	 * Creates row of values given to columns
+	 * 
+	 * @return row
+	 */
+	public Row row() {
+		return row(columnDefinitions(), values);
+	}
+
+	/**
+	 * Creates row of the column definitions
+	 * 
+	 * @param columns column definitions
+	 * @param values values in the order of columns
+	 * @return row
+	 */
+	public static Row row(ColumnDefinitions columns, List<?> values) {
+
+		if (columns.size() != values.size()) {
+			throw new IllegalArgumentException("expected " + columns.size() + " values");
+		}
+
+		List<ByteBuffer> data = new ArrayList<ByteBuffer>(values.size());
+
+		for (int i = 0; i != values.size(); ++i) {
+			Object value = values.get(i);
+			data.add(value != null ? columns.getType(i).serialize(value) : null);
+		}
+
+		return Row.fromData(columns, data);
+	}
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler and writes JSON results. Compares the results with the baseline for CI:
+ * 
+ * java -Dbenchmarks.saveBaseline=baseline.properties -jar target/benchmarks.jar [include regexp]
+ * 
+ * java -Dbenchmarks.baseline=baseline.properties -jar target/benchmarks.jar [include regexp]
+ * 
+ * The baseline contains mode, score (ops/time or time/op) and allocated bytes per operation of every benchmark. The run
+ * fails with exit code 1 if any of them is worse than baseline by more than benchmarks.threshold percents (10 by
+ * default). Higher score is better for throughput benchmarks, lower is better for time benchmarks and allocations.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public final class BenchmarkRunner {
+
+	private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+	private static final String MODE = ".mode";
+	private static final String SCORE = ".score";
+	private static final String ALLOC = ".alloc";
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws RunnerException, IOException {
+
+		ChainedOptionsBuilder options = new OptionsBuilder().addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON).result(System.getProperty("benchmarks.result", "benchmarks.json"));
+
+		if (args.length == 0) {
+			options.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+		}
+		for (String include : args) {
+			options.include(include);
+		}
+
+		Properties current = toProperties(new Runner(options.build()).run());
+
+		String saveBaseline = System.getProperty("benchmarks.saveBaseline");
+		if (saveBaseline != null) {
+			store(current, new File(saveBaseline));
+		}
+
+		String baseline = System.getProperty("benchmarks.baseline");
+		if (baseline != null) {
+			double threshold = Double.parseDouble(System.getProperty("benchmarks.threshold", "10"));
+			List<String> regressions = compare(load(new File(baseline)), current, threshold);
+			for (String regression : regressions) {
+				System.err.println("REGRESSION " + regression);
+			}
+			if (!regressions.isEmpty()) {
+				System.exit(1);
+			}
+		}
+	}
+
+	/**
+	 * Finds scores that are worse than baseline, the direction depends on the mode of the benchmark stored in baseline
+	 * 
+	 * @param baseline
+	 * @param current
+	 * @param thresholdPercents
+	 * @return descriptions of regressions
+	 */
+	static List<String> compare(Properties baseline, Properties current, double thresholdPercents) {
+
+		List<String> regressions = new ArrayList<String>();
+
+		for (String key : new TreeSet<String>(baseline.stringPropertyNames())) {
+
+			if (key.endsWith(MODE)) {
+				continue;
+			}
+
+			String value = current.getProperty(key);
+			if (value == null) {
+				continue;
+			}
+
+			double expected = Double.parseDouble(baseline.getProperty(key));
+			double actual = Double.parseDouble(value);
+
+			if (higherIsBetter(key, baseline, current)) {
+				if (actual < expected * (1.0 - thresholdPercents / 100.0)) {
+					regressions.add(key + ": " + actual + " < " + expected);
+				}
+			} else if (actual > expected * (1.0 + thresholdPercents / 100.0)) {
+				regressions.add(key + ": " + actual + " > " + expected);
+			}
+		}
+
+		return regressions;
+	}
+
+	private static boolean higherIsBetter(String key, Properties baseline, Properties current) {
+
+		if (!key.endsWith(SCORE)) {
+			return false;
+		}
+
+		String modeKey = key.substring(0, key.length() - SCORE.length()) + MODE;
+		String mode = baseline.getProperty(modeKey, current.getProperty(modeKey));
+
+		return mode != null && Mode.valueOf(mode) == Mode.Throughput;
+	}
+
+	private static Properties toProperties(Collection<RunResult> results) {
+
+		Properties properties = new Properties();
+
+		for (RunResult runResult : results) {
+
+			String name = runResult.getParams().getBenchmark();
+			for (String param : runResult.getParams().getParamsKeys()) {
+				name += ":" + param + "=" + runResult.getParams().getParam(param);
+			}
+
+			Result<?> primary = runResult.getPrimaryResult();
+			properties.setProperty(name + MODE, runResult.getParams().getMode().name());
+			properties.setProperty(name + SCORE, Double.toString(primary.getScore()));
+
+			for (Map.Entry<String, Result> entry : runResult.getSecondaryResults().entrySet()) {
+				if (entry.getKey().endsWith(ALLOC_RATE_NORM)) {
+					properties.setProperty(name + ALLOC, Double.toString(entry.getValue().getScore()));
+				}
+			}
+		}
+
+		return properties;
+	}
+
+	private static Properties load(File file) throws IOException {
+		Properties properties = new Properties();
+		InputStream in = new FileInputStream(file);
+		try {
+			properties.load(in);
+		} finally {
+			in.close();
+		}
+		return properties;
+	}
+
+	private static void store(Properties properties, File file) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		try {
+			properties.store(out, "benchmarks baseline");
+		} finally {
+			out.close();
+		}
+	}
+
+}
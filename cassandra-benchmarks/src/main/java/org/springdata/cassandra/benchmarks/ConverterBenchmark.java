@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.test.integration.table.CollectionTypesEntity;
+import org.springdata.cassandra.test.integration.table.EmbeddedIdEntity;
+import org.springdata.cassandra.test.integration.table.Post;
+import org.springdata.cassandra.test.integration.table.Timeline;
+
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.querybuilder.Insert;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Update;
+
+/**
+ * MappingCassandraConverter.readRow and write of the test entities
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+	private MappingCassandraConverter converter;
+
+	private Row postRow;
+	private Row timelineRow;
+	private Row collectionTypesRow;
+	private Row embeddedIdRow;
+
+	private Post post;
+	private Timeline timeline;
+	private CollectionTypesEntity collectionTypes;
+	private EmbeddedIdEntity embeddedId;
+
+	@Setup
+	public void setup() {
+		converter = new MappingCassandraConverter(new CassandraMappingContext());
+
+		postRow = Fixtures.postRow();
+		timelineRow = Fixtures.timelineRow();
+		collectionTypesRow = Fixtures.collectionTypesRow();
+		embeddedIdRow = Fixtures.embeddedIdRow();
+
+		post = Fixtures.post();
+		timeline = Fixtures.timeline();
+		collectionTypes = Fixtures.collectionTypes();
+		embeddedId = Fixtures.embeddedId();
+	}
+
+	@Benchmark
+	public Post readPost() {
+		return converter.readRow(Post.class, postRow);
+	}
+
+	@Benchmark
+	public Timeline readTimeline() {
+		return converter.readRow(Timeline.class, timelineRow);
+	}
+
+	@Benchmark
+	public CollectionTypesEntity readCollectionTypes() {
+		return converter.readRow(CollectionTypesEntity.class, collectionTypesRow);
+	}
+
+	@Benchmark
+	public EmbeddedIdEntity readEmbeddedId() {
+		return converter.readRow(EmbeddedIdEntity.class, embeddedIdRow);
+	}
+
+	@Benchmark
+	public Insert writePost() {
+		Insert insert = QueryBuilder.insertInto(Fixtures.KEYSPACE, "posts");
+		converter.write(post, insert);
+		return insert;
+	}
+
+	@Benchmark
+	public Insert writeTimeline() {
+		Insert insert = QueryBuilder.insertInto(Fixtures.KEYSPACE, "timeline");
+		converter.write(timeline, insert);
+		return insert;
+	}
+
+	@Benchmark
+	public Insert writeCollectionTypes() {
+		Insert insert = QueryBuilder.insertInto(Fixtures.KEYSPACE, "collection_types_table");
+		converter.write(collectionTypes, insert);
+		return insert;
+	}
+
+	@Benchmark
+	public Update writeEmbeddedId() {
+		Update update = QueryBuilder.update(Fixtures.KEYSPACE, "embedded_id_table");
+		converter.write(embeddedId, update);
+		return update;
+	}
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springdata.cassandra.test.integration.table.CollectionTypesEntity;
+import org.springdata.cassandra.test.integration.table.EmbeddedIdEntity;
+import org.springdata.cassandra.test.integration.table.Post;
+import org.springdata.cassandra.test.integration.table.PostPK;
+import org.springdata.cassandra.test.integration.table.Timeline;
+import org.springdata.cassandra.test.integration.table.TimelinePK;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.RowFixtures;
+import com.datastax.driver.core.Session;
+
+/**
+ * Synthetic entities, rows and result sets of the test entities. Values are fixed, so every run of the benchmark
+ * processes the same bytes.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public final class Fixtures {
+
+	public static final String KEYSPACE = "benchmarks";
+
+	private static final Date TIME = new Date(1388534400000L);
+	private static final UUID ID = UUID.fromString("f7a04220-6dda-11e3-981f-0800200c9a66");
+
+	private Fixtures() {
+	}
+
+	/**
+	 * Session is never called by the benchmarks, it is required by the template constructors
+	 */
+	public static Session session() {
+		return mock(Session.class, withSettings().stubOnly());
+	}
+
+	/**
+	 * Result set that returns the same rows for every iteration, stub-only mock does not record invocations
+	 * 
+	 * @param rows
+	 * @return
+	 */
+	public static ResultSet resultSet(final List<Row> rows) {
+		ResultSet resultSet = mock(ResultSet.class, withSettings().stubOnly());
+		when(resultSet.iterator()).thenAnswer(new Answer<Iterator<Row>>() {
+
+			@Override
+			public Iterator<Row> answer(InvocationOnMock invocation) throws Throwable {
+				return rows.iterator();
+			}
+
+		});
+		when(resultSet.one()).thenReturn(rows.isEmpty() ? null : rows.get(0));
+		when(resultSet.all()).thenReturn(rows);
+		when(resultSet.isExhausted()).thenReturn(rows.isEmpty());
+		return resultSet;
+	}
+
+	public static List<Row> rows(Row row, int count) {
+		List<Row> rows = new ArrayList<Row>(count);
+		for (int i = 0; i != count; ++i) {
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	public static Post post() {
+		PostPK pk = new PostPK();
+		pk.setAuthor("alice");
+		pk.setTime(TIME);
+
+		Map<Date, String> comments = new HashMap<Date, String>();
+		comments.put(TIME, "first");
+		comments.put(new Date(TIME.getTime() + 1000), "second");
+
+		Post post = new Post();
+		post.setPk(pk);
+		post.setType("status");
+		post.setText("The quick brown fox jumps over the lazy dog");
+		post.setResources(new HashSet<String>(Arrays.asList("http://springdata.org/a.png", "http://springdata.org/b.png")));
+		post.setComments(comments);
+		post.setLikes(new HashSet<String>(Arrays.asList("bob", "tom", "scott")));
+		post.setFollowers(new HashSet<String>(Arrays.asList("bob", "tom")));
+		return post;
+	}
+
+	public static Row postRow() {
+		Post post = post();
+		return RowFixtures.table(KEYSPACE, "posts").column("author", DataType.text(), post.getPk().getAuthor())
+				.column("time", DataType.timestamp(), post.getPk().getTime())
+				.column("type", DataType.text(), post.getType()).column("text", DataType.text(), post.getText())
+				.column("resources", DataType.set(DataType.text()), post.getResources())
+				.column("comments", DataType.map(DataType.timestamp(), DataType.text()), post.getComments())
+				.column("likes", DataType.set(DataType.text()), post.getLikes())
+				.column("followers", DataType.set(DataType.text()), post.getFollowers()).row();
+	}
+
+	public static Timeline timeline() {
+		TimelinePK pk = new TimelinePK();
+		pk.setUsername("alice");
+		pk.setTime(TIME);
+
+		Timeline timeline = new Timeline();
+		timeline.setPk(pk);
+		timeline.setAuthor("bob");
+		timeline.setPostTime(TIME);
+		return timeline;
+	}
+
+	public static Row timelineRow() {
+		Timeline timeline = timeline();
+		return RowFixtures.table(KEYSPACE, "timeline")
+				.column("username", DataType.text(), timeline.getPk().getUsername())
+				.column("time", DataType.timestamp(), timeline.getPk().getTime())
+				.column("author", DataType.text(), timeline.getAuthor())
+				.column("posttime", DataType.timestamp(), timeline.getPostTime()).row();
+	}
+
+	public static CollectionTypesEntity collectionTypes() {
+		Map<String, String> textmap = new HashMap<String, String>();
+		textmap.put("a", "alpha");
+		textmap.put("b", "beta");
+
+		Map<String, UUID> textuuidmap = new HashMap<String, UUID>();
+		textuuidmap.put("id", ID);
+
+		Set<UUID> uuidset = new HashSet<UUID>();
+		uuidset.add(ID);
+
+		CollectionTypesEntity entity = new CollectionTypesEntity();
+		entity.setId("collections");
+		entity.setTextlist(Arrays.asList("one", "two", "three"));
+		entity.setTextmap(textmap);
+		entity.setTextset(new HashSet<String>(Arrays.asList("one", "two", "three")));
+		entity.setUuidlist(Arrays.asList(ID, ID));
+		entity.setTextuuidmap(textuuidmap);
+		entity.setUuidset(uuidset);
+		return entity;
+	}
+
+	public static Row collectionTypesRow() {
+		CollectionTypesEntity entity = collectionTypes();
+		return RowFixtures.table(KEYSPACE, "collection_types_table").column("id", DataType.text(), entity.getId())
+				.column("textlist", DataType.list(DataType.text()), entity.getTextlist())
+				.column("textmap", DataType.map(DataType.text(), DataType.text()), entity.getTextmap())
+				.column("textset", DataType.set(DataType.text()), entity.getTextset())
+				.column("uuidlist", DataType.list(DataType.uuid()), entity.getUuidlist())
+				.column("textuuidmap", DataType.map(DataType.text(), DataType.uuid()), entity.getTextuuidmap())
+				.column("uuidset", DataType.set(DataType.uuid()), entity.getUuidset()).row();
+	}
+
+	public static EmbeddedIdEntity embeddedId() {
+		EmbeddedIdEntity entity = new EmbeddedIdEntity();
+		entity.setId(new EmbeddedIdEntity.PK(1, "clustering"));
+		entity.setProptext("text");
+		return entity;
+	}
+
+	public static Row embeddedIdRow() {
+		EmbeddedIdEntity entity = embeddedId();
+		return RowFixtures.table(KEYSPACE, "embedded_id_table")
+				.column("partitionkey", DataType.cint(), entity.getId().getPartitionKey())
+				.column("clusteringkey", DataType.text(), entity.getId().getClusteringKey())
+				.column("proptext", DataType.text(), entity.getProptext()).row();
+	}
+
+}
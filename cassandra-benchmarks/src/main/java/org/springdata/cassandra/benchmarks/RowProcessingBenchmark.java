@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.benchmarks;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
+import org.springdata.cassandra.core.CassandraTemplate;
+import org.springdata.cassandra.cql.core.CqlTemplate;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.test.integration.table.Post;
+import org.springdata.cassandra.test.integration.table.Timeline;
+
+import com.datastax.driver.core.ResultSet;
+
+/**
+ * Row processing of CqlTemplate (maps, first column) and CassandraTemplate (entities) over result sets of rowCount
+ * rows. Result sets are mocks, the mock is called once per result set and not per row.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowProcessingBenchmark {
+
+	@Param({ "1", "100" })
+	private int rowCount;
+
+	private CqlTemplate cqlTemplate;
+	private CassandraTemplate cassandraTemplate;
+
+	private ResultSet posts;
+	private ResultSet timelines;
+
+	@Setup
+	public void setup() {
+		cassandraTemplate = new CassandraTemplate(Fixtures.session(), new MappingCassandraConverter(
+				new CassandraMappingContext()), Fixtures.KEYSPACE);
+		cqlTemplate = cassandraTemplate.cqlTemplate();
+
+		posts = Fixtures.resultSet(Fixtures.rows(Fixtures.postRow(), rowCount));
+		timelines = Fixtures.resultSet(Fixtures.rows(Fixtures.timelineRow(), rowCount));
+	}
+
+	@Benchmark
+	public void processPostsAsMap(Blackhole bh) {
+		drain(cqlTemplate.processAsMap(posts), bh);
+	}
+
+	@Benchmark
+	public void processTimelinesAsMap(Blackhole bh) {
+		drain(cqlTemplate.processAsMap(timelines), bh);
+	}
+
+	@Benchmark
+	public void processFirstColumn(Blackhole bh) {
+		drain(cqlTemplate.processFirstColumn(timelines, String.class), bh);
+	}
+
+	@Benchmark
+	public void processPosts(Blackhole bh) {
+		drain(cassandraTemplate.process(posts, Post.class), bh);
+	}
+
+	@Benchmark
+	public void processTimelines(Blackhole bh) {
+		drain(cassandraTemplate.process(timelines, Timeline.class), bh);
+	}
+
+	private static void drain(Iterator<?> iterator, Blackhole bh) {
+		while (iterator.hasNext()) {
+			bh.consume(iterator.next());
+		}
+	}
+
+}
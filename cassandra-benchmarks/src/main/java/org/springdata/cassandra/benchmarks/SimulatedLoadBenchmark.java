@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springdata.cassandra.benchmarks.simulator.LatencyDistribution;
+import org.springdata.cassandra.benchmarks.simulator.SessionSimulator;
+import org.springdata.cassandra.benchmarks.simulator.SimulatedTable;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
+import org.springdata.cassandra.core.CassandraTemplate;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.test.integration.table.Timeline;
+import org.springdata.cassandra.test.integration.table.TimelinePK;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.RowFixtures;
+
+/**
+ * Multi-get of 100 timelines through the session simulator with log-normal latency, measures how the concurrency limit
+ * of the operation turns latency into throughput
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimulatedLoadBenchmark {
+
+	private static final int PARTITIONS = 100;
+
+	@Param({ "1", "16", "0" })
+	private int maxConcurrency;
+
+	private SessionSimulator simulator;
+	private CassandraTemplate cassandraTemplate;
+	private List<TimelinePK> ids;
+
+	@Setup
+	public void setup() {
+		simulator = new SessionSimulator(42L, 1).withLatency(LatencyDistribution.logNormal(200, 2000,
+				TimeUnit.MICROSECONDS));
+
+		SimulatedTable table = simulator.createTable("timeline",
+				RowFixtures.table(Fixtures.KEYSPACE, "timeline").column("username", DataType.text())
+						.column("time", DataType.timestamp()).column("author", DataType.text())
+						.column("posttime", DataType.timestamp()));
+
+		Date time = new Date(1388534400000L);
+		ids = new ArrayList<TimelinePK>(PARTITIONS);
+
+		for (int i = 0; i != PARTITIONS; ++i) {
+			TimelinePK pk = new TimelinePK();
+			pk.setUsername("user" + i);
+			pk.setTime(time);
+			ids.add(pk);
+			table.insert(pk.getUsername(), time, "author" + i, time);
+		}
+
+		cassandraTemplate = new CassandraTemplate(simulator.getSession(), new MappingCassandraConverter(
+				new CassandraMappingContext()), Fixtures.KEYSPACE);
+	}
+
+	@TearDown
+	public void tearDown() {
+		simulator.destroy();
+	}
+
+	@Benchmark
+	public List<Timeline> findAll() {
+		return cassandraTemplate.findAll(Timeline.class, ids, maxConcurrency).execute();
+	}
+
+}
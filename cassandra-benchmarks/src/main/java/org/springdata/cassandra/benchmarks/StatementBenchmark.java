@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
+import org.springdata.cassandra.core.CassandraTemplate;
+import org.springdata.cassandra.cql.core.QueryCreator;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.test.integration.table.Post;
+import org.springdata.cassandra.test.integration.table.Timeline;
+
+/**
+ * QueryBuilder paths of CassandraTemplate operations, the CQL text is rendered as the driver does it before sending
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatementBenchmark {
+
+	private CassandraTemplate cassandraTemplate;
+
+	private Post post;
+	private Timeline timeline;
+
+	@Setup
+	public void setup() {
+		cassandraTemplate = new CassandraTemplate(Fixtures.session(), new MappingCassandraConverter(
+				new CassandraMappingContext()), Fixtures.KEYSPACE);
+
+		post = Fixtures.post();
+		timeline = Fixtures.timeline();
+	}
+
+	@Benchmark
+	public String saveNewPost() {
+		return ((QueryCreator) cassandraTemplate.saveNew(post)).createQuery().toString();
+	}
+
+	@Benchmark
+	public String savePost() {
+		return ((QueryCreator) cassandraTemplate.save(post)).createQuery().toString();
+	}
+
+	@Benchmark
+	public String saveNewTimeline() {
+		return ((QueryCreator) cassandraTemplate.saveNew(timeline)).createQuery().toString();
+	}
+
+	@Benchmark
+	public String deleteTimeline() {
+		return ((QueryCreator) cassandraTemplate.delete(timeline)).createQuery().toString();
+	}
+
+	@Benchmark
+	public String findPostById() {
+		return ((QueryCreator) cassandraTemplate.findById(Post.class, post.getPk())).createQuery().toString();
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.benchmarks.simulator;
+
+import java.net.InetAddress;
+import java.util.Collections;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.WriteType;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.ReadTimeoutException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+
+/**
+ * Error returned by the simulator instead of the result
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public abstract class Fault {
+
+	/**
+	 * Creates the error for the query
+	 * 
+	 * @param query failed query
+	 * @return driver exception
+	 */
+	public abstract DriverException create(Query query);
+
+	public static Fault readTimeout() {
+		return new Fault() {
+
+			@Override
+			public DriverException create(Query query) {
+				return new ReadTimeoutException(ConsistencyLevel.ONE, 0, 1, false);
+			}
+
+		};
+	}
+
+	public static Fault writeTimeout() {
+		return new Fault() {
+
+			@Override
+			public DriverException create(Query query) {
+				return new WriteTimeoutException(ConsistencyLevel.ONE, WriteType.SIMPLE, 0, 1);
+			}
+
+		};
+	}
+
+	public static Fault unavailable() {
+		return new Fault() {
+
+			@Override
+			public DriverException create(Query query) {
+				return new UnavailableException(ConsistencyLevel.ONE, 1, 0);
+			}
+
+		};
+	}
+
+	public static Fault noHostAvailable() {
+		return new Fault() {
+
+			@Override
+			public DriverException create(Query query) {
+				return new NoHostAvailableException(Collections.<InetAddress, String> emptyMap());
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.benchmarks.simulator;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+/**
+ * Distribution of simulated response times
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public abstract class LatencyDistribution {
+
+	/*
+	 * Z-score of the 99th percentile of the standard normal distribution
+	 */
+	private static final double Z99 = 2.326;
+
+	/**
+	 * Samples the next latency
+	 * 
+	 * @param random source of randomness of the simulator
+	 * @return latency in nanoseconds
+	 */
+	public abstract long sampleNanos(Random random);
+
+	public static LatencyDistribution none() {
+		return constant(0, TimeUnit.NANOSECONDS);
+	}
+
+	public static LatencyDistribution constant(long latency, TimeUnit unit) {
+		Assert.isTrue(latency >= 0, "latency must not be negative");
+		final long nanos = unit.toNanos(latency);
+		return new LatencyDistribution() {
+
+			@Override
+			public long sampleNanos(Random random) {
+				return nanos;
+			}
+
+		};
+	}
+
+	public static LatencyDistribution uniform(long min, long max, TimeUnit unit) {
+		Assert.isTrue(min >= 0 && max >= min, "expected 0 <= min <= max");
+		final long minNanos = unit.toNanos(min);
+		final long rangeNanos = unit.toNanos(max) - minNanos;
+		return new LatencyDistribution() {
+
+			@Override
+			public long sampleNanos(Random random) {
+				return minNanos + (long) (random.nextDouble() * rangeNanos);
+			}
+
+		};
+	}
+
+	public static LatencyDistribution exponential(long mean, TimeUnit unit) {
+		Assert.isTrue(mean > 0, "mean must be positive");
+		final double meanNanos = unit.toNanos(mean);
+		return new LatencyDistribution() {
+
+			@Override
+			public long sampleNanos(Random random) {
+				return (long) (-meanNanos * Math.log(1.0 - random.nextDouble()));
+			}
+
+		};
+	}
+
+	/**
+	 * Log-normal distribution with the long tail that is typical for database response times
+	 * 
+	 * @param median 50th percentile
+	 * @param p99 99th percentile
+	 * @param unit
+	 * @return distribution
+	 */
+	public static LatencyDistribution logNormal(long median, long p99, TimeUnit unit) {
+		Assert.isTrue(median > 0 && p99 >= median, "expected 0 < median <= p99");
+		final double mu = Math.log(unit.toNanos(median));
+		final double sigma = (Math.log(unit.toNanos(p99)) - mu) / Z99;
+		return new LatencyDistribution() {
+
+			@Override
+			public long sampleNanos(Random random) {
+				return (long) Math.exp(mu + sigma * random.nextGaussian());
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,570 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.benchmarks.simulator;
+
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springdata.cassandra.cql.core.CircuitBreaker;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Configuration;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.RowFixtures;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.policies.DefaultRetryPolicy;
+import com.datastax.driver.core.policies.Policies;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * In-process stand-in of the driver Session for load tests without Cassandra. CqlTemplate and CassandraTemplate are
+ * constructed with getSession().
+ * 
+ * Every query completes on the simulator thread after the latency sampled from the distribution, or fails with the
+ * injected fault. SELECT queries return rows of the simulated table, filtered by the partition key if the WHERE clause
+ * has it as a literal. Other queries return empty result sets. More than maxInFlight running queries are rejected with
+ * NoHostAvailableException like the busy connection pool of the driver does.
+ * 
+ * Latencies and faults are sampled from the random with the given seed in the order of queries, so the same sequence of
+ * queries gets the same responses.
+ * 
+ * Session, ResultSetFuture and ResultSet are stub-only mocks, constructors of the driver classes are not public.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class SessionSimulator implements DisposableBean {
+
+	private static final Pattern WHERE_EQUALS = Pattern
+			.compile("(?i)\\bWHERE\\s+\"?(\\w+)\"?\\s*=\\s*('(?:[^']|'')*'|[\\w.+-]+)");
+	private static final Pattern LIMIT = Pattern.compile("(?i)\\bLIMIT\\s+(\\d+)");
+	private static final Pattern SELECT = Pattern.compile("(?i)^\\s*SELECT\\s");
+
+	private final Random random;
+	private final ScheduledExecutorService scheduler;
+	private final Session session;
+
+	private final ConcurrentMap<String, SimulatedTable> tables = new ConcurrentHashMap<String, SimulatedTable>();
+	private final List<FaultRule> faults = new ArrayList<FaultRule>();
+
+	private volatile LatencyDistribution latency = LatencyDistribution.none();
+	private volatile int maxInFlight = Integer.MAX_VALUE;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxObservedInFlight = new AtomicInteger();
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+
+	public SessionSimulator() {
+		this(0L, 1);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param seed seed of latencies and faults
+	 * @param threads number of threads that complete queries, one thread keeps the order of completions
+	 */
+	public SessionSimulator(long seed, int threads) {
+		Assert.isTrue(threads > 0, "threads must be positive");
+
+		this.random = new Random(seed);
+		this.scheduler = new ScheduledThreadPoolExecutor(threads, new ThreadFactory() {
+
+			private final AtomicInteger number = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "cassandra-simulator-" + number.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+
+		});
+		this.session = createSession();
+	}
+
+	public SessionSimulator withLatency(LatencyDistribution latency) {
+		Assert.notNull(latency);
+		this.latency = latency;
+		return this;
+	}
+
+	/**
+	 * Fails the rate of queries to all tables with the fault
+	 * 
+	 * @param rate from 0 to 1
+	 * @param fault
+	 * @return this
+	 */
+	public SessionSimulator withFault(double rate, Fault fault) {
+		return withFault(null, rate, fault);
+	}
+
+	/**
+	 * Fails the rate of queries to the table with the fault
+	 * 
+	 * @param table table name or null for all tables
+	 * @param rate from 0 to 1
+	 * @param fault
+	 * @return this
+	 */
+	public SessionSimulator withFault(String table, double rate, Fault fault) {
+		Assert.isTrue(rate >= 0 && rate <= 1, "rate must be in [0, 1]");
+		Assert.notNull(fault);
+		synchronized (random) {
+			faults.add(new FaultRule(table != null ? table.toLowerCase(Locale.ENGLISH) : null, rate, fault));
+		}
+		return this;
+	}
+
+	public SessionSimulator withMaxInFlight(int maxInFlight) {
+		Assert.isTrue(maxInFlight > 0, "maxInFlight must be positive");
+		this.maxInFlight = maxInFlight;
+		return this;
+	}
+
+	/**
+	 * Creates simulated table
+	 * 
+	 * @param name table name without keyspace
+	 * @param columns columns of the table, the first one is the partition key
+	 * @return table
+	 */
+	public SimulatedTable createTable(String name, RowFixtures columns) {
+		Assert.notNull(name);
+		Assert.notNull(columns);
+		SimulatedTable table = new SimulatedTable(name, columns.columnDefinitions());
+		tables.put(name.toLowerCase(Locale.ENGLISH), table);
+		return table;
+	}
+
+	public SimulatedTable getTable(String name) {
+		return tables.get(name.toLowerCase(Locale.ENGLISH));
+	}
+
+	public Session getSession() {
+		return session;
+	}
+
+	/**
+	 * Number of received queries
+	 */
+	public long getRequests() {
+		return requests.get();
+	}
+
+	/**
+	 * Number of queries failed by injected faults
+	 */
+	public long getFailures() {
+		return failures.get();
+	}
+
+	/**
+	 * Number of queries rejected by maxInFlight limit
+	 */
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	/**
+	 * Number of running queries
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * Max number of running queries since start
+	 */
+	public int getMaxObservedInFlight() {
+		return maxObservedInFlight.get();
+	}
+
+	@Override
+	public void destroy() {
+		scheduler.shutdownNow();
+	}
+
+	private SettableFuture<ResultSet> submit(final Query query) {
+
+		requests.incrementAndGet();
+		final SettableFuture<ResultSet> future = SettableFuture.create();
+
+		int running = inFlight.incrementAndGet();
+		if (running > maxInFlight) {
+			inFlight.decrementAndGet();
+			rejected.incrementAndGet();
+			future.setException(new NoHostAvailableException(Collections.<InetAddress, String> emptyMap()));
+			return future;
+		}
+		updateMaxInFlight(running);
+
+		String cql = getQueryString(query);
+		String tableName = cql != null ? CircuitBreaker.getTableName(cql) : null;
+		if (tableName != null && tableName.indexOf('.') != -1) {
+			tableName = tableName.substring(tableName.lastIndexOf('.') + 1);
+		}
+		final SimulatedTable table = tableName != null ? tables.get(tableName.toLowerCase(Locale.ENGLISH)) : null;
+
+		long delayNanos;
+		Fault fault = null;
+
+		synchronized (random) {
+			delayNanos = latency.sampleNanos(random);
+			for (FaultRule rule : faults) {
+				if (rule.matches(tableName) && random.nextDouble() < rule.rate) {
+					fault = rule.fault;
+					break;
+				}
+			}
+		}
+
+		final Fault injected = fault;
+		final String text = cql;
+
+		scheduler.schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				inFlight.decrementAndGet();
+				if (future.isDone()) {
+					return;
+				}
+				if (injected != null) {
+					failures.incrementAndGet();
+					future.setException(injected.create(query));
+					return;
+				}
+				try {
+					future.set(execute(text, table));
+				} catch (RuntimeException e) {
+					future.setException(e);
+				}
+			}
+
+		}, delayNanos, TimeUnit.NANOSECONDS);
+
+		return future;
+	}
+
+	private void updateMaxInFlight(int running) {
+		int max = maxObservedInFlight.get();
+		while (running > max && !maxObservedInFlight.compareAndSet(max, running)) {
+			max = maxObservedInFlight.get();
+		}
+	}
+
+	private ResultSet execute(String cql, SimulatedTable table) {
+
+		if (cql == null || !SELECT.matcher(cql).find()) {
+			if (table != null) {
+				table.write();
+			}
+			return resultSet(null, Collections.<Row> emptyList());
+		}
+
+		if (table == null) {
+			return resultSet(null, Collections.<Row> emptyList());
+		}
+
+		String partitionKey = null;
+		Matcher where = WHERE_EQUALS.matcher(cql);
+		if (where.find() && where.group(1).equalsIgnoreCase(table.getPartitionKeyColumn())) {
+			partitionKey = unquote(where.group(2));
+		}
+
+		int limit = 0;
+		Matcher limitMatcher = LIMIT.matcher(cql);
+		if (limitMatcher.find()) {
+			limit = Integer.parseInt(limitMatcher.group(1));
+		}
+
+		return resultSet(table.getColumns(), table.select(partitionKey, limit));
+	}
+
+	private static String unquote(String literal) {
+		if (literal.length() > 1 && literal.startsWith("'") && literal.endsWith("'")) {
+			return literal.substring(1, literal.length() - 1).replace("''", "'");
+		}
+		return literal;
+	}
+
+	private static String getQueryString(Query query) {
+		if (query instanceof BoundStatement) {
+			String cql = ((BoundStatement) query).preparedStatement().getQueryString();
+			return query instanceof BoundValues ? inline(cql, ((BoundValues) query).getBoundValues()) : cql;
+		}
+		if (query instanceof Statement) {
+			return ((Statement) query).getQueryString();
+		}
+		return null;
+	}
+
+	/**
+	 * Replaces bind markers by literals, so bound queries are matched the same way as statements
+	 */
+	private static String inline(String cql, Object[] values) {
+		StringBuilder str = new StringBuilder(cql.length() + 16 * values.length);
+		int index = 0;
+		for (int i = 0; i != cql.length(); ++i) {
+			char ch = cql.charAt(i);
+			if (ch == '?' && index < values.length) {
+				Object value = values[index++];
+				if (value instanceof Number || value instanceof Boolean) {
+					str.append(value);
+				} else {
+					str.append('\'').append(String.valueOf(value).replace("'", "''")).append('\'');
+				}
+			} else {
+				str.append(ch);
+			}
+		}
+		return str.toString();
+	}
+
+	private Session createSession() {
+
+		Policies policies = mock(Policies.class, withSettings().stubOnly());
+		when(policies.getRetryPolicy()).thenReturn(DefaultRetryPolicy.INSTANCE);
+		Configuration configuration = mock(Configuration.class, withSettings().stubOnly());
+		when(configuration.getPolicies()).thenReturn(policies);
+		final Cluster cluster = mock(Cluster.class, withSettings().stubOnly());
+		when(cluster.getConfiguration()).thenReturn(configuration);
+
+		return mock(Session.class, withSettings().stubOnly().defaultAnswer(new Answer<Object>() {
+
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+
+				String method = invocation.getMethod().getName();
+				Object[] args = invocation.getArguments();
+
+				if (method.equals("executeAsync") && args.length == 1) {
+					return resultSetFuture(submit(toQuery(args[0])));
+				}
+				if (method.equals("execute") && args.length == 1) {
+					return getUninterruptibly(submit(toQuery(args[0])));
+				}
+				if (method.equals("prepare") && args.length == 1 && args[0] instanceof String) {
+					return preparedStatement((String) args[0]);
+				}
+				if (method.equals("getCluster")) {
+					return cluster;
+				}
+				if (method.equals("toString")) {
+					return "SessionSimulator";
+				}
+				return RETURNS_DEFAULTS.answer(invocation);
+			}
+
+		}));
+	}
+
+	private static Query toQuery(Object arg) {
+		return arg instanceof Query ? (Query) arg : new SimpleStatement((String) arg);
+	}
+
+	private static ResultSet getUninterruptibly(SettableFuture<ResultSet> future) {
+		try {
+			return Uninterruptibles.getUninterruptibly(future);
+		} catch (ExecutionException e) {
+			throw propagate(e);
+		}
+	}
+
+	private static RuntimeException propagate(ExecutionException e) {
+		if (e.getCause() instanceof DriverException) {
+			return ((DriverException) e.getCause()).copy();
+		}
+		if (e.getCause() instanceof RuntimeException) {
+			return (RuntimeException) e.getCause();
+		}
+		return new RuntimeException(e.getCause());
+	}
+
+	private static PreparedStatement preparedStatement(final String cql) {
+
+		final PreparedStatement ps = mock(PreparedStatement.class, withSettings().stubOnly());
+		when(ps.getQueryString()).thenReturn(cql);
+
+		Answer<BoundStatement> bind = new Answer<BoundStatement>() {
+
+			@Override
+			public BoundStatement answer(InvocationOnMock invocation) throws Throwable {
+				final Object[] values = invocation.getArguments();
+				BoundStatement bs = mock(BoundStatement.class, withSettings().stubOnly().extraInterfaces(BoundValues.class));
+				when(bs.preparedStatement()).thenReturn(ps);
+				when(((BoundValues) bs).getBoundValues()).thenReturn(values);
+				return bs;
+			}
+
+		};
+
+		when(ps.bind()).thenAnswer(bind);
+		when(ps.bind((Object[]) anyVararg())).thenAnswer(bind);
+		return ps;
+	}
+
+	private static ResultSetFuture resultSetFuture(final SettableFuture<ResultSet> future) {
+
+		return mock(ResultSetFuture.class, withSettings().stubOnly().defaultAnswer(new Answer<Object>() {
+
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+
+				String method = invocation.getMethod().getName();
+				Object[] args = invocation.getArguments();
+
+				if (method.equals("get")) {
+					return args.length == 0 ? future.get() : future.get((Long) args[0], (TimeUnit) args[1]);
+				}
+				if (method.equals("getUninterruptibly")) {
+					try {
+						return args.length == 0 ? Uninterruptibles.getUninterruptibly(future) : Uninterruptibles
+								.getUninterruptibly(future, (Long) args[0], (TimeUnit) args[1]);
+					} catch (ExecutionException e) {
+						throw propagate(e);
+					}
+				}
+				if (method.equals("addListener")) {
+					future.addListener((Runnable) args[0], (Executor) args[1]);
+					return null;
+				}
+				if (method.equals("cancel")) {
+					return future.cancel((Boolean) args[0]);
+				}
+				if (method.equals("isDone")) {
+					return future.isDone();
+				}
+				if (method.equals("isCancelled")) {
+					return future.isCancelled();
+				}
+				if (method.equals("toString")) {
+					return "SimulatedResultSetFuture";
+				}
+				return RETURNS_DEFAULTS.answer(invocation);
+			}
+
+		}));
+	}
+
+	private static ResultSet resultSet(final ColumnDefinitions columns, List<Row> rows) {
+
+		final Iterator<Row> iterator = rows.iterator();
+
+		return mock(ResultSet.class, withSettings().stubOnly().defaultAnswer(new Answer<Object>() {
+
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+
+				String method = invocation.getMethod().getName();
+
+				if (method.equals("iterator")) {
+					return iterator;
+				}
+				if (method.equals("one")) {
+					return iterator.hasNext() ? iterator.next() : null;
+				}
+				if (method.equals("all")) {
+					List<Row> all = new ArrayList<Row>();
+					while (iterator.hasNext()) {
+						all.add(iterator.next());
+					}
+					return all;
+				}
+				if (method.equals("isExhausted")) {
+					return !iterator.hasNext();
+				}
+				if (method.equals("getColumnDefinitions")) {
+					return columns;
+				}
+				if (method.equals("toString")) {
+					return "SimulatedResultSet";
+				}
+				return RETURNS_DEFAULTS.answer(invocation);
+			}
+
+		}));
+	}
+
+	/**
+	 * Values given to PreparedStatement.bind, implemented by simulated bound statements
+	 */
+	public interface BoundValues {
+		Object[] getBoundValues();
+	}
+
+	private static final class FaultRule {
+
+		private final String table;
+		private final double rate;
+		private final Fault fault;
+
+		FaultRule(String table, double rate, Fault fault) {
+			this.table = table;
+			this.rate = rate;
+			this.fault = fault;
+		}
+
+		boolean matches(String tableName) {
+			return table == null || (tableName != null && table.equalsIgnoreCase(tableName));
+		}
+
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.benchmarks.simulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.RowFixtures;
+
+/**
+ * In-memory rows of one table. Rows are grouped by the value of the first column, the partition key. Writes to the
+ * table are acknowledged and counted but do not change rows, rows are loaded by insert.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class SimulatedTable {
+
+	private final String name;
+	private final ColumnDefinitions columns;
+
+	private final List<Row> rows = new CopyOnWriteArrayList<Row>();
+	private final ConcurrentMap<String, List<Row>> partitions = new ConcurrentHashMap<String, List<Row>>();
+
+	private final AtomicLong reads = new AtomicLong();
+	private final AtomicLong writes = new AtomicLong();
+
+	SimulatedTable(String name, ColumnDefinitions columns) {
+		Assert.isTrue(columns.size() > 0, "table must have columns");
+		this.name = name;
+		this.columns = columns;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public ColumnDefinitions getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Adds row to the table
+	 * 
+	 * @param values values in the order of columns
+	 * @return this
+	 */
+	public SimulatedTable insert(Object... values) {
+		Row row = RowFixtures.row(columns, Arrays.asList(values));
+		rows.add(row);
+
+		String key = String.valueOf(values[0]);
+		List<Row> partition = partitions.get(key);
+		if (partition == null) {
+			List<Row> newPartition = new CopyOnWriteArrayList<Row>();
+			partition = partitions.putIfAbsent(key, newPartition);
+			if (partition == null) {
+				partition = newPartition;
+			}
+		}
+		partition.add(row);
+		return this;
+	}
+
+	/**
+	 * Selects rows of the partition or all rows
+	 * 
+	 * @param partitionKey value of the first column as a string or null for all rows
+	 * @param limit max number of rows, zero or negative for unlimited
+	 * @return rows
+	 */
+	List<Row> select(String partitionKey, int limit) {
+		reads.incrementAndGet();
+
+		List<Row> result;
+		if (partitionKey != null) {
+			result = partitions.get(partitionKey);
+			if (result == null) {
+				return Collections.emptyList();
+			}
+		} else {
+			result = rows;
+		}
+
+		if (limit > 0 && result.size() > limit) {
+			return new ArrayList<Row>(result.subList(0, limit));
+		}
+		return result;
+	}
+
+	void write() {
+		writes.incrementAndGet();
+	}
+
+	String getPartitionKeyColumn() {
+		return columns.getName(0);
+	}
+
+	/**
+	 * Number of rows in the table
+	 */
+	public int size() {
+		return rows.size();
+	}
+
+	/**
+	 * Number of select queries to the table
+	 */
+	public long getReads() {
+		return reads.get();
+	}
+
+	/**
+	 * Number of write queries to the table
+	 */
+	public long getWrites() {
+		return writes.get();
+	}
+
+}
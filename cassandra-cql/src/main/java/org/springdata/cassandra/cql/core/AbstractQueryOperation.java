@@ -15,24 +15,28 @@
  */
 package org.springdata.cassandra.cql.core;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.springdata.cassandra.cql.support.exception.CassandraDeadlineExceededException;
 import org.springframework.util.Assert;
 
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.ResultSet;
-import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
 import com.google.common.base.Function;
 import com.google.common.collect.Iterators;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 
 /**
  * 
@@ -49,6 +53,10 @@ public abstract class AbstractQueryOperation<T, O extends QueryOperation<T, O>>
 	private ConsistencyLevel consistencyLevel;
 	private RetryPolicy retryPolicy;
 	private Boolean queryTracing;
+	private Boolean idempotent;
+	private Deadline deadline;
+	private Boolean partialResults;
+	private CircuitBreaker circuitBreaker;
 
 	private FallbackHandler fh;
 	private Executor executor;
@@ -78,6 +86,39 @@ public abstract class AbstractQueryOperation<T, O extends QueryOperation<T, O>>
 	@SuppressWarnings("unchecked")
 	public O withQueryTracing(Boolean queryTracing) {
 		Assert.notNull(queryTracing);
+		this.queryTracing = queryTracing;
+		return (O) this;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public O withIdempotence(Boolean idempotent) {
+		Assert.notNull(idempotent);
+		this.idempotent = idempotent;
+		return (O) this;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public O withDeadline(Deadline deadline) {
+		Assert.notNull(deadline);
+		this.deadline = deadline;
+		return (O) this;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public O withPartialResults(Boolean partialResults) {
+		Assert.notNull(partialResults);
+		this.partialResults = partialResults;
+		return (O) this;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public O withCircuitBreaker(CircuitBreaker circuitBreaker) {
+		Assert.notNull(circuitBreaker);
+		this.circuitBreaker = circuitBreaker;
 		return (O) this;
 	}
 
@@ -97,6 +138,46 @@ public abstract class AbstractQueryOperation<T, O extends QueryOperation<T, O>>
 		return (O) this;
 	}
 
+	protected ConsistencyLevel getConsistencyLevel() {
+		return consistencyLevel;
+	}
+
+	protected RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	protected Deadline getDeadline() {
+		return deadline;
+	}
+
+	protected boolean isPartialResults() {
+		return partialResults != null && partialResults.booleanValue();
+	}
+
+	protected CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker != null ? circuitBreaker : cqlTemplate.getCircuitBreaker();
+	}
+
+	/**
+	 * Returns true if the query of the operation is traced, has deadline or goes through the circuit breaker. Such query
+	 * can not be merged with queries of other operations.
+	 * 
+	 * @return
+	 */
+	protected boolean hasQueryScopedOptions() {
+		return (queryTracing != null && queryTracing.booleanValue()) || deadline != null || getCircuitBreaker() != null;
+	}
+
+	/**
+	 * Returns true if the query is safe to re-send, explicit marking has priority over the classification by CQL text.
+	 * 
+	 * @param query
+	 * @return
+	 */
+	protected boolean isIdempotent(Query query) {
+		return idempotent != null ? idempotent.booleanValue() : Idempotency.isIdempotent(query);
+	}
+
 	protected void addQueryOptions(Query query) {
 
 		/*
@@ -118,6 +199,109 @@ public abstract class AbstractQueryOperation<T, O extends QueryOperation<T, O>>
 				query.disableTracing();
 			}
 		}
+
+		/*
+		 * Do not retry write timeouts of non-idempotent queries
+		 */
+
+		if (!isIdempotent(query)) {
+			cqlTemplate.disableWriteTimeoutRetries(query);
+		}
+	}
+
+	/**
+	 * Sends the query with options, idempotent queries go through the speculative executor of the template if any.
+	 * 
+	 * @param query
+	 * @return
+	 */
+	private ListenableFuture<ResultSet> submit(Query query) {
+		return submit(query, deadline);
+	}
+
+	/**
+	 * Sends the query if the deadline has not passed yet and cancels it when the deadline passes.
+	 * 
+	 * @param query
+	 * @param deadline deadline or null
+	 * @return
+	 */
+	private ListenableFuture<ResultSet> submit(Query query, Deadline deadline) {
+		if (deadline != null && deadline.isExpired()) {
+			return Futures.immediateFailedFuture(new CassandraDeadlineExceededException(
+					"deadline passed before the query was issued"));
+		}
+		ListenableFuture<ResultSet> future = sendThroughCircuitBreaker(query);
+		return deadline != null ? cancelAtDeadline(future, deadline) : future;
+	}
+
+	/**
+	 * Checks the circuit of the table before the query is sent and reports the result to the circuit breaker
+	 * 
+	 * @param query
+	 * @return
+	 */
+	private ListenableFuture<ResultSet> sendThroughCircuitBreaker(Query query) {
+		CircuitBreaker circuitBreaker = getCircuitBreaker();
+		if (circuitBreaker == null) {
+			return send(query);
+		}
+		return circuitBreaker.execute(query, new QuerySender() {
+
+			@Override
+			public ListenableFuture<ResultSet> send(Query query) {
+				return AbstractQueryOperation.this.send(query);
+			}
+
+		});
+	}
+
+	private ListenableFuture<ResultSet> send(Query query) {
+		SpeculativeExecutor speculativeExecutor = cqlTemplate.getSpeculativeExecutor();
+		if (speculativeExecutor != null && isIdempotent(query)) {
+			return speculativeExecutor.execute(cqlTemplate, query);
+		}
+		return cqlTemplate.doExecuteAsync(query);
+	}
+
+	private static <R> ListenableFuture<R> cancelAtDeadline(final ListenableFuture<R> source, Deadline deadline) {
+
+		final SettableFuture<R> result = SettableFuture.create();
+
+		final ScheduledFuture<?> timer = deadline.schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				if (result.setException(new CassandraDeadlineExceededException("deadline passed"))) {
+					source.cancel(true);
+				}
+			}
+
+		});
+
+		Futures.addCallback(source, new FutureCallback<R>() {
+
+			@Override
+			public void onSuccess(R value) {
+				timer.cancel(false);
+				result.set(value);
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				timer.cancel(false);
+				result.setException(t);
+			}
+
+		});
+
+		return result;
+	}
+
+	private static TimeoutException toTimeoutException(CassandraDeadlineExceededException e) {
+		TimeoutException timeoutException = new TimeoutException(e.getMessage());
+		timeoutException.initCause(e);
+		return timeoutException;
 	}
 
 	protected Query doCreateQuery(QueryCreator qc) {
@@ -126,12 +310,20 @@ public abstract class AbstractQueryOperation<T, O extends QueryOperation<T, O>>
 
 	protected ResultSet doExecute(Query query) {
 		addQueryOptions(query);
+		if (deadline != null || getCircuitBreaker() != null
+				|| (cqlTemplate.getSpeculativeExecutor() != null && isIdempotent(query))) {
+			return new CassandraFuture<ResultSet>(submit(query), cqlTemplate.getExceptionTranslator()).getUninterruptibly();
+		}
 		return cqlTemplate.doExecute(query);
 	}
 
 	protected CassandraFuture<ResultSet> doExecuteAsync(Query query) {
+		return executeAsync(query, deadline);
+	}
+
+	private CassandraFuture<ResultSet> executeAsync(Query query, Deadline deadline) {
 		addQueryOptions(query);
-		ResultSetFuture resultSetFuture = cqlTemplate.doExecuteAsync(query);
+		ListenableFuture<ResultSet> resultSetFuture = submit(query, deadline);
 		CassandraFuture<ResultSet> wrappedFuture = new CassandraFuture<ResultSet>(resultSetFuture,
 				cqlTemplate.getExceptionTranslator());
 		return wrappedFuture;
@@ -139,7 +331,7 @@ public abstract class AbstractQueryOperation<T, O extends QueryOperation<T, O>>
 
 	protected void doExecuteAsync(Query query, final CallbackHandler<ResultSet> cb) {
 		addQueryOptions(query);
-		ResultSetFuture resultSetFuture = cqlTemplate.doExecuteAsync(query);
+		ListenableFuture<ResultSet> resultSetFuture = submit(query);
 		doFutureCallback(resultSetFuture, cb);
 	}
 
@@ -164,11 +356,79 @@ public abstract class AbstractQueryOperation<T, O extends QueryOperation<T, O>>
 	}
 
 	protected ResultSet doExecuteNonstop(Query query, int timeoutMls) throws TimeoutException {
+		Deadline effectiveDeadline = Deadline.after(timeoutMls, TimeUnit.MILLISECONDS).min(deadline);
+		try {
+			return executeAsync(query, effectiveDeadline).getUninterruptibly();
+		} catch (CassandraDeadlineExceededException e) {
+			throw toTimeoutException(e);
+		}
+	}
+
+	/**
+	 * Executes the read through the read coalescer of the template. Without coalescer the query is executed as is.
+	 * 
+	 * @param query
+	 * @param cql cql of the prepared statement for bound query, null for statement with inlined values
+	 * @param values bound values
+	 * @return future of all rows
+	 */
+	protected CassandraFuture<List<Row>> doExecuteCoalescedAsync(Query query, String cql, Object[] values) {
+		return executeCoalescedAsync(query, cql, values, deadline);
+	}
+
+	protected List<Row> doExecuteCoalescedNonstop(Query query, String cql, Object[] values, int timeoutMls)
+			throws TimeoutException {
+		Deadline effectiveDeadline = Deadline.after(timeoutMls, TimeUnit.MILLISECONDS).min(deadline);
+		try {
+			return executeCoalescedAsync(query, cql, values, effectiveDeadline).getUninterruptibly();
+		} catch (CassandraDeadlineExceededException e) {
+			throw toTimeoutException(e);
+		}
+	}
+
+	/**
+	 * The shared request is not bound to the deadline of one caller. Every caller waits for it until own deadline, the
+	 * coalescer cancels the request when all callers gave up. The shared request goes through the circuit breaker of the
+	 * caller that started it.
+	 */
+	private CassandraFuture<List<Row>> executeCoalescedAsync(Query query, String cql, Object[] values, Deadline deadline) {
 		addQueryOptions(query);
-		ResultSetFuture resultSetFuture = cqlTemplate.doExecuteAsync(query);
-		CassandraFuture<ResultSet> wrappedFuture = new CassandraFuture<ResultSet>(resultSetFuture,
-				cqlTemplate.getExceptionTranslator());
-		return wrappedFuture.getUninterruptibly(timeoutMls, TimeUnit.MILLISECONDS);
+
+		ReadCoalescer readCoalescer = cqlTemplate.getReadCoalescer();
+		Object fingerprint = null;
+		if (readCoalescer != null) {
+			fingerprint = cql != null ? ReadCoalescer.fingerprint(query, cql, values) : ReadCoalescer.fingerprint(query);
+		}
+
+		ListenableFuture<List<Row>> future;
+
+		if (fingerprint == null) {
+			future = Futures.transform(submit(query, deadline), new Function<ResultSet, List<Row>>() {
+
+				@Override
+				public List<Row> apply(ResultSet resultSet) {
+					return resultSet.all();
+				}
+
+			});
+		} else if (deadline != null && deadline.isExpired()) {
+			future = Futures.immediateFailedFuture(new CassandraDeadlineExceededException(
+					"deadline passed before the query was issued"));
+		} else {
+			future = readCoalescer.execute(fingerprint, query, new QuerySender() {
+
+				@Override
+				public ListenableFuture<ResultSet> send(Query query) {
+					return sendThroughCircuitBreaker(query);
+				}
+
+			});
+			if (deadline != null) {
+				future = cancelAtDeadline(future, deadline);
+			}
+		}
+
+		return new CassandraFuture<List<Row>>(future, cqlTemplate.getExceptionTranslator());
 	}
 
 	protected Executor getExecutor() {
@@ -190,6 +450,10 @@ public abstract class AbstractQueryOperation<T, O extends QueryOperation<T, O>>
 	}
 
 	protected CassandraFuture<List<ResultSet>> doExecuteAsync(Iterator<Query> queryIterator) {
+		return executeAllAsync(queryIterator, deadline);
+	}
+
+	private CassandraFuture<List<ResultSet>> executeAllAsync(Iterator<Query> queryIterator, final Deadline deadline) {
 
 		if (!queryIterator.hasNext()) {
 			ListenableFuture<List<ResultSet>> emptyResultFuture = Futures
@@ -206,7 +470,7 @@ public abstract class AbstractQueryOperation<T, O extends QueryOperation<T, O>>
 
 					@Override
 					public ListenableFuture<ResultSet> apply(Query query) {
-						return doExecuteAsync(query);
+						return executeAsync(query, deadline);
 					}
 
 				});
@@ -221,6 +485,20 @@ public abstract class AbstractQueryOperation<T, O extends QueryOperation<T, O>>
 
 				});
 
+		if (deadline != null && !isPartialResults()) {
+			allResultSetFuture = Futures.transform(allResultSetFuture, new Function<List<ResultSet>, List<ResultSet>>() {
+
+				@Override
+				public List<ResultSet> apply(List<ResultSet> resultSets) {
+					if (resultSets.contains(null) && deadline.isExpired()) {
+						throw new CassandraDeadlineExceededException("deadline passed before all queries completed");
+					}
+					return resultSets;
+				}
+
+			});
+		}
+
 		CassandraFuture<List<ResultSet>> wrappedFuture = new CassandraFuture<List<ResultSet>>(allResultSetFuture,
 				cqlTemplate.getExceptionTranslator());
 
@@ -233,7 +511,147 @@ public abstract class AbstractQueryOperation<T, O extends QueryOperation<T, O>>
 	}
 
 	protected List<ResultSet> doExecuteNonstop(Iterator<Query> queryIterator, int timeoutMls) throws TimeoutException {
-		return doExecuteAsync(queryIterator).getUninterruptibly(timeoutMls, TimeUnit.MILLISECONDS);
+		Deadline effectiveDeadline = Deadline.after(timeoutMls, TimeUnit.MILLISECONDS).min(deadline);
+		try {
+			return executeAllAsync(queryIterator, effectiveDeadline).getUninterruptibly();
+		} catch (CassandraDeadlineExceededException e) {
+			throw toTimeoutException(e);
+		}
+	}
+
+	/*
+	 * Parallel execution with limited number of concurrent queries
+	 */
+
+	protected List<ResultSet> doExecute(Iterator<Query> queryIterator, int maxConcurrency) {
+		return doExecuteAsync(queryIterator, maxConcurrency).getUninterruptibly();
+	}
+
+	/**
+	 * Executes queries in parallel, but no more than maxConcurrency at the same time. Result sets are returned in the
+	 * order of queries. Any failed query fails the whole execution.
+	 * 
+	 * @param queryIterator queries to execute
+	 * @param maxConcurrency max number of queries in flight, zero or negative for unlimited
+	 * @return CassandraFuture of the ordered list of ResultSets
+	 */
+	protected CassandraFuture<List<ResultSet>> doExecuteAsync(Iterator<Query> queryIterator, int maxConcurrency) {
+		return executeAllAsync(queryIterator, maxConcurrency, deadline);
+	}
+
+	private CassandraFuture<List<ResultSet>> executeAllAsync(Iterator<Query> queryIterator, int maxConcurrency,
+			Deadline deadline) {
+
+		if (maxConcurrency <= 0) {
+			return executeAllAsync(queryIterator, deadline);
+		}
+
+		LimitedConcurrencyExecution execution = new LimitedConcurrencyExecution(queryIterator, deadline);
+		for (int i = 0; i != maxConcurrency; ++i) {
+			execution.submitNext();
+		}
+
+		return new CassandraFuture<List<ResultSet>>(execution.future, cqlTemplate.getExceptionTranslator());
+	}
+
+	protected void doExecuteAsync(Iterator<Query> queryIterator, int maxConcurrency, CallbackHandler<List<ResultSet>> cb) {
+		CassandraFuture<List<ResultSet>> allResultSetFuture = doExecuteAsync(queryIterator, maxConcurrency);
+		doFutureCallback(allResultSetFuture, cb);
+	}
+
+	protected List<ResultSet> doExecuteNonstop(Iterator<Query> queryIterator, int maxConcurrency, int timeoutMls)
+			throws TimeoutException {
+		Deadline effectiveDeadline = Deadline.after(timeoutMls, TimeUnit.MILLISECONDS).min(deadline);
+		try {
+			return executeAllAsync(queryIterator, maxConcurrency, effectiveDeadline).getUninterruptibly();
+		} catch (CassandraDeadlineExceededException e) {
+			throw toTimeoutException(e);
+		}
+	}
+
+	/**
+	 * Submits the next query every time when one of the running queries completes. After the deadline no more queries
+	 * are submitted.
+	 */
+	private final class LimitedConcurrencyExecution {
+
+		private final Iterator<Query> queryIterator;
+		private final Deadline deadline;
+		private final List<ResultSet> resultSets = new ArrayList<ResultSet>();
+		private final SettableFuture<List<ResultSet>> future = SettableFuture.create();
+		private int running;
+
+		LimitedConcurrencyExecution(Iterator<Query> queryIterator, Deadline deadline) {
+			this.queryIterator = queryIterator;
+			this.deadline = deadline;
+		}
+
+		void submitNext() {
+
+			final Query query;
+			final int index;
+
+			synchronized (this) {
+
+				if (future.isDone()) {
+					return;
+				}
+
+				boolean expired = deadline != null && deadline.isExpired();
+
+				if (expired && !isPartialResults()) {
+					future.setException(new CassandraDeadlineExceededException(
+							"deadline passed before all queries completed"));
+					return;
+				}
+
+				if (expired || !queryIterator.hasNext()) {
+					if (running == 0) {
+						future.set(resultSets);
+					}
+					return;
+				}
+
+				query = queryIterator.next();
+				index = resultSets.size();
+				resultSets.add(null);
+				running++;
+			}
+
+			ListenableFuture<ResultSet> resultSetFuture;
+			try {
+				resultSetFuture = executeAsync(query, deadline);
+			} catch (RuntimeException e) {
+				future.setException(e);
+				return;
+			}
+
+			Futures.addCallback(resultSetFuture, new FutureCallback<ResultSet>() {
+
+				@Override
+				public void onSuccess(ResultSet resultSet) {
+					synchronized (LimitedConcurrencyExecution.this) {
+						resultSets.set(index, resultSet);
+						running--;
+					}
+					submitNext();
+				}
+
+				@Override
+				public void onFailure(Throwable t) {
+					if (t instanceof CassandraDeadlineExceededException && isPartialResults()) {
+						synchronized (LimitedConcurrencyExecution.this) {
+							running--;
+						}
+						submitNext();
+					} else {
+						future.setException(t);
+					}
+				}
+
+			});
+		}
+
 	}
 
 }
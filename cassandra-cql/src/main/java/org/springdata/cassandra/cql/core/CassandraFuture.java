@@ -21,6 +21,7 @@ import java.util.concurrent.TimeoutException;
 
 import org.springdata.cassandra.cql.support.CassandraExceptionTranslator;
 import org.springdata.cassandra.cql.support.exception.CassandraUncategorizedException;
+import org.springframework.dao.DataAccessException;
 
 import com.datastax.driver.core.exceptions.DriverException;
 import com.google.common.util.concurrent.ForwardingListenableFuture.SimpleForwardingListenableFuture;
@@ -49,6 +50,8 @@ public class CassandraFuture<T> extends SimpleForwardingListenableFuture<T> {
 	protected RuntimeException mapException(ExecutionException e) {
 		if (e.getCause() instanceof DriverException) {
 			return translateIfPossible(((DriverException) e.getCause()).copy());
+		} else if (e.getCause() instanceof DataAccessException) {
+			return (DataAccessException) e.getCause();
 		} else {
 			return new CassandraUncategorizedException("unknown exception", e.getCause());
 		}
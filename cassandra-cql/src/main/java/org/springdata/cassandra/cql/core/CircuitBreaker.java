@@ -0,0 +1,448 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.net.InetAddress;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springdata.cassandra.cql.support.exception.CassandraCircuitOpenException;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.QueryTimeoutException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Circuit breakers keyed by table and by coordinator host. Every circuit counts calls in a window of windowSize calls
+ * and trips when the rate of failed or slow calls reaches the threshold. Open circuit rejects queries with
+ * {@link CassandraCircuitOpenException} without sending them, after openMillis one probe query is let through
+ * (half-open) and its outcome closes or opens the circuit again.
+ * 
+ * Only timeouts and unavailability count as failures, invalid queries do not trip the circuit. Table circuits are
+ * checked before the query is sent. The driver chooses the coordinator after that, so host circuits are checked by
+ * {@link CircuitBreakerLoadBalancingPolicy} and fed from ExecutionInfo of results and from errors of
+ * NoHostAvailableException.
+ * 
+ * Enabled by CqlTemplate.setCircuitBreaker for all operations or by QueryOperation.withCircuitBreaker for one
+ * operation.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class CircuitBreaker {
+
+	public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+	public static final long DEFAULT_SLOW_CALL_MILLIS = 1000;
+	public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 0.8;
+	public static final int DEFAULT_WINDOW_SIZE = 20;
+	public static final long DEFAULT_OPEN_MILLIS = 5000;
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN;
+	}
+
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern TABLE = Pattern.compile(
+			"(?i)\\b(?:FROM|INTO|UPDATE)\\s+(\"[^\"]+\"|\\w+)(?:\\s*\\.\\s*(\"[^\"]+\"|\\w+))?");
+
+	private static final int MAX_CACHED_STATEMENTS = 1024;
+
+	/*
+	 * Cache of table names of prepared statements
+	 */
+	private static final ConcurrentMap<String, String> preparedCache = new ConcurrentHashMap<String, String>();
+
+	private final double failureRateThreshold;
+	private final long slowCallNanos;
+	private final double slowCallRateThreshold;
+	private final int windowSize;
+	private final long openNanos;
+
+	private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<String, Circuit>();
+
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong trips = new AtomicLong();
+
+	public CircuitBreaker() {
+		this(DEFAULT_FAILURE_RATE_THRESHOLD, DEFAULT_SLOW_CALL_MILLIS, DEFAULT_SLOW_CALL_RATE_THRESHOLD,
+				DEFAULT_WINDOW_SIZE, DEFAULT_OPEN_MILLIS);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param failureRateThreshold rate of failed calls in the window that trips the circuit, from 0 to 1
+	 * @param slowCallMillis calls longer than that are slow
+	 * @param slowCallRateThreshold rate of slow calls in the window that trips the circuit, from 0 to 1
+	 * @param windowSize number of calls in the window
+	 * @param openMillis time in milliseconds before the open circuit lets the probe query through
+	 */
+	public CircuitBreaker(double failureRateThreshold, long slowCallMillis, double slowCallRateThreshold,
+			int windowSize, long openMillis) {
+		Assert.isTrue(failureRateThreshold > 0 && failureRateThreshold <= 1, "failureRateThreshold must be in (0, 1]");
+		Assert.isTrue(slowCallMillis > 0, "slowCallMillis must be positive");
+		Assert.isTrue(slowCallRateThreshold > 0 && slowCallRateThreshold <= 1, "slowCallRateThreshold must be in (0, 1]");
+		Assert.isTrue(windowSize > 0, "windowSize must be positive");
+		Assert.isTrue(openMillis > 0, "openMillis must be positive");
+
+		this.failureRateThreshold = failureRateThreshold;
+		this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+		this.slowCallRateThreshold = slowCallRateThreshold;
+		this.windowSize = windowSize;
+		this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+	}
+
+	/**
+	 * Sends the query through the circuit of its table
+	 * 
+	 * @param query
+	 * @param sender sends the query
+	 * @return future of the result set, failed with CassandraCircuitOpenException if the circuit is open
+	 */
+	ListenableFuture<ResultSet> execute(Query query, QuerySender sender) {
+
+		String table = getTableName(query);
+		final Circuit tableCircuit = table != null ? acquire(tableKey(table)) : null;
+
+		if (table != null && tableCircuit == null) {
+			rejected.incrementAndGet();
+			return Futures.immediateFailedFuture(new CassandraCircuitOpenException(tableKey(table), "circuit of table "
+					+ table + " is open"));
+		}
+
+		final long startNanos = System.nanoTime();
+
+		ListenableFuture<ResultSet> future;
+		try {
+			future = sender.send(query);
+		} catch (RuntimeException e) {
+			if (tableCircuit != null) {
+				tableCircuit.release();
+			}
+			throw e;
+		}
+
+		Futures.addCallback(future, new FutureCallback<ResultSet>() {
+
+			@Override
+			public void onSuccess(ResultSet resultSet) {
+				long elapsed = System.nanoTime() - startNanos;
+				if (tableCircuit != null) {
+					tableCircuit.onResult(false, elapsed);
+				}
+				ExecutionInfo info = resultSet != null ? resultSet.getExecutionInfo() : null;
+				if (info != null && info.getQueriedHost() != null) {
+					circuit(hostKey(info.getQueriedHost().getAddress())).onResult(false, elapsed);
+				}
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				long elapsed = System.nanoTime() - startNanos;
+				if (tableCircuit != null) {
+					if (isFailure(t)) {
+						tableCircuit.onResult(true, elapsed);
+					} else {
+						tableCircuit.release();
+					}
+				}
+				if (t instanceof NoHostAvailableException) {
+					for (InetAddress address : ((NoHostAvailableException) t).getErrors().keySet()) {
+						circuit(hostKey(address)).onResult(true, elapsed);
+					}
+				}
+			}
+
+		});
+
+		return future;
+	}
+
+	/**
+	 * Checks the circuit of the host, used by the load balancing policy to skip hosts with open circuit
+	 * 
+	 * @param host
+	 * @return true if queries can be sent to the host
+	 */
+	public boolean allowHost(Host host) {
+		Circuit circuit = circuits.get(hostKey(host.getAddress()));
+		if (circuit == null || circuit.acquire()) {
+			return true;
+		}
+		rejected.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * Returns state of the table circuit
+	 * 
+	 * @param table table name with or without keyspace as it is written in queries
+	 * @return state
+	 */
+	public State getTableState(String table) {
+		Circuit circuit = circuits.get(tableKey(normalize(table)));
+		return circuit != null ? circuit.getState() : State.CLOSED;
+	}
+
+	/**
+	 * Returns state of the host circuit
+	 * 
+	 * @param address host address
+	 * @return state
+	 */
+	public State getHostState(InetAddress address) {
+		Circuit circuit = circuits.get(hostKey(address));
+		return circuit != null ? circuit.getState() : State.CLOSED;
+	}
+
+	/**
+	 * Number of queries and hosts rejected by open circuits
+	 */
+	public long getRejected() {
+		return rejected.get();
+	}
+
+	/**
+	 * Number of times when circuits were opened
+	 */
+	public long getTrips() {
+		return trips.get();
+	}
+
+	/**
+	 * Only timeouts and unavailability of replicas show degradation of the table or host
+	 * 
+	 * @param t
+	 * @return
+	 */
+	static boolean isFailure(Throwable t) {
+		return t instanceof QueryTimeoutException || t instanceof UnavailableException
+				|| t instanceof NoHostAvailableException;
+	}
+
+	/**
+	 * Finds name of the first table in the CQL text
+	 * 
+	 * @param query statement or bound statement
+	 * @return table name or null if unknown
+	 */
+	public static String getTableName(Query query) {
+
+		if (query instanceof BoundStatement) {
+
+			String cql = ((BoundStatement) query).preparedStatement().getQueryString();
+
+			String table = preparedCache.get(cql);
+			if (table == null) {
+				table = getTableName(cql);
+				if (table != null && preparedCache.size() < MAX_CACHED_STATEMENTS) {
+					preparedCache.put(cql, table);
+				}
+			}
+
+			return table;
+		}
+
+		if (query instanceof Statement) {
+			return getTableName(((Statement) query).getQueryString());
+		}
+
+		return null;
+	}
+
+	/**
+	 * Finds name of the first table in the CQL text
+	 * 
+	 * @param cql statement text
+	 * @return table name with keyspace if it is given or null if unknown
+	 */
+	public static String getTableName(String cql) {
+
+		if (cql == null) {
+			return null;
+		}
+
+		Matcher matcher = TABLE.matcher(STRING_LITERAL.matcher(cql).replaceAll("''"));
+		if (!matcher.find()) {
+			return null;
+		}
+
+		String first = normalize(matcher.group(1));
+		return matcher.group(2) != null ? first + "." + normalize(matcher.group(2)) : first;
+	}
+
+	private static String normalize(String name) {
+		if (name.length() > 1 && name.startsWith("\"") && name.endsWith("\"")) {
+			return name.substring(1, name.length() - 1);
+		}
+		return name.toLowerCase(Locale.ENGLISH);
+	}
+
+	private static String tableKey(String table) {
+		return "table:" + table;
+	}
+
+	private static String hostKey(InetAddress address) {
+		return "host:" + address.getHostAddress();
+	}
+
+	private Circuit acquire(String key) {
+		Circuit circuit = circuit(key);
+		return circuit.acquire() ? circuit : null;
+	}
+
+	private Circuit circuit(String key) {
+		Circuit circuit = circuits.get(key);
+		if (circuit == null) {
+			Circuit newCircuit = new Circuit();
+			circuit = circuits.putIfAbsent(key, newCircuit);
+			if (circuit == null) {
+				circuit = newCircuit;
+			}
+		}
+		return circuit;
+	}
+
+	/**
+	 * State of one table or host
+	 */
+	private final class Circuit {
+
+		private State state = State.CLOSED;
+		private int calls;
+		private int failures;
+		private int slowCalls;
+		private long openedAt;
+		private long probeStartedAt;
+		private boolean probing;
+
+		synchronized State getState() {
+			return state;
+		}
+
+		/**
+		 * Returns true if the call is allowed, moves the open circuit to half-open after openNanos
+		 */
+		synchronized boolean acquire() {
+
+			long now = System.nanoTime();
+
+			switch (state) {
+
+			case CLOSED:
+				return true;
+
+			case OPEN:
+				if (now - openedAt < openNanos) {
+					return false;
+				}
+				state = State.HALF_OPEN;
+				probing = true;
+				probeStartedAt = now;
+				return true;
+
+			default:
+				/*
+				 * The probe that never reported back, for example the host skipped by the query plan, does not block the
+				 * circuit forever
+				 */
+				if (probing && now - probeStartedAt < openNanos) {
+					return false;
+				}
+				probing = true;
+				probeStartedAt = now;
+				return true;
+			}
+		}
+
+		/**
+		 * Call completed without the result that tells about the circuit health
+		 */
+		synchronized void release() {
+			if (state == State.HALF_OPEN) {
+				probing = false;
+			}
+		}
+
+		synchronized void onResult(boolean failure, long elapsedNanos) {
+
+			boolean slow = elapsedNanos >= slowCallNanos;
+
+			if (state == State.HALF_OPEN) {
+				if (failure || slow) {
+					open();
+				} else {
+					state = State.CLOSED;
+					probing = false;
+					reset();
+				}
+				return;
+			}
+
+			if (state == State.OPEN) {
+				return;
+			}
+
+			calls++;
+			if (failure) {
+				failures++;
+			}
+			if (slow) {
+				slowCalls++;
+			}
+
+			if (calls >= windowSize) {
+				if (failures >= failureRateThreshold * calls || slowCalls >= slowCallRateThreshold * calls) {
+					open();
+				} else {
+					reset();
+				}
+			}
+		}
+
+		private void open() {
+			state = State.OPEN;
+			openedAt = System.nanoTime();
+			probing = false;
+			reset();
+			trips.incrementAndGet();
+		}
+
+		private void reset() {
+			calls = 0;
+			failures = 0;
+			slowCalls = 0;
+		}
+
+	}
+
+}
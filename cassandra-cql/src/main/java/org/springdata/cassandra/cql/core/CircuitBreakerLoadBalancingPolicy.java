@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.HostDistance;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.policies.LoadBalancingPolicy;
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterators;
+
+/**
+ * Load balancing policy that skips coordinator hosts with open circuit. Query plans come from the child policy, if all
+ * hosts are skipped the query fails fast with NoHostAvailableException.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class CircuitBreakerLoadBalancingPolicy implements LoadBalancingPolicy {
+
+	private final LoadBalancingPolicy childPolicy;
+	private final CircuitBreaker circuitBreaker;
+
+	public CircuitBreakerLoadBalancingPolicy(LoadBalancingPolicy childPolicy, CircuitBreaker circuitBreaker) {
+		Assert.notNull(childPolicy);
+		Assert.notNull(circuitBreaker);
+		this.childPolicy = childPolicy;
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	@Override
+	public void init(Cluster cluster, Collection<Host> hosts) {
+		childPolicy.init(cluster, hosts);
+	}
+
+	@Override
+	public HostDistance distance(Host host) {
+		return childPolicy.distance(host);
+	}
+
+	@Override
+	public Iterator<Host> newQueryPlan(Query query) {
+		return Iterators.filter(childPolicy.newQueryPlan(query), new Predicate<Host>() {
+
+			@Override
+			public boolean apply(Host host) {
+				return circuitBreaker.allowHost(host);
+			}
+
+		});
+	}
+
+	@Override
+	public void onAdd(Host host) {
+		childPolicy.onAdd(host);
+	}
+
+	@Override
+	public void onUp(Host host) {
+		childPolicy.onUp(host);
+	}
+
+	@Override
+	public void onDown(Host host) {
+		childPolicy.onDown(host);
+	}
+
+	@Override
+	public void onRemove(Host host) {
+		childPolicy.onRemove(host);
+	}
+
+}
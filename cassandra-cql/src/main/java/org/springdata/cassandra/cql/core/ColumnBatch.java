@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.Row;
+
+/**
+ * Batch of rows stored by columns. Each column is the {@link ColumnVector} of the same capacity.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class ColumnBatch {
+
+	private final ColumnVector[] columns;
+	private final int capacity;
+	private int rowCount;
+
+	/**
+	 * Creates batch for the columns of the ResultSet
+	 * 
+	 * @param columnDefinitions columns
+	 * @param capacity maximum number of rows
+	 */
+	public ColumnBatch(ColumnDefinitions columnDefinitions, int capacity) {
+		Assert.notNull(columnDefinitions);
+		Assert.isTrue(capacity > 0, "capacity must be positive");
+		this.capacity = capacity;
+		this.columns = new ColumnVector[columnDefinitions.size()];
+		for (int i = 0; i != columns.length; ++i) {
+			columns[i] = new ColumnVector(columnDefinitions.getName(i), columnDefinitions.getType(i), capacity);
+		}
+	}
+
+	/**
+	 * Appends the row to the batch
+	 * 
+	 * @param row
+	 */
+	public void add(Row row) {
+		if (rowCount == capacity) {
+			throw new IllegalStateException("batch is full");
+		}
+		for (int i = 0; i != columns.length; ++i) {
+			columns[i].append(row.getBytesUnsafe(i));
+		}
+		rowCount++;
+	}
+
+	/**
+	 * Removes all rows, vectors keep allocated memory
+	 */
+	public void clear() {
+		for (ColumnVector column : columns) {
+			column.clear();
+		}
+		rowCount = 0;
+	}
+
+	public boolean isFull() {
+		return rowCount == capacity;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public int getColumnCount() {
+		return columns.length;
+	}
+
+	/**
+	 * Returns the column by index
+	 * 
+	 * @param index
+	 * @return
+	 */
+	public ColumnVector getColumn(int index) {
+		return columns[index];
+	}
+
+	/**
+	 * Returns the column by name
+	 * 
+	 * @param name
+	 * @return
+	 */
+	public ColumnVector getColumn(String name) {
+		for (ColumnVector column : columns) {
+			if (column.getName().equalsIgnoreCase(name)) {
+				return column;
+			}
+		}
+		throw new InvalidDataAccessApiUsageException("column '" + name + "' is not found in the batch");
+	}
+
+}
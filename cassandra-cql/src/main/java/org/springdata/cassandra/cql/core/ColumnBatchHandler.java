@@ -0,0 +1,30 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+/**
+ * Receives rows of the ResultSet in batches of column vectors. The batch is reused for the next rows, handler must not
+ * keep references to it or its vectors after the call.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public interface ColumnBatchHandler {
+
+	void processBatch(ColumnBatch batch);
+
+}
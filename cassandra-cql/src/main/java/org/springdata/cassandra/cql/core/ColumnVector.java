@@ -0,0 +1,316 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Values of one column in the {@link ColumnBatch}. Numeric and boolean columns are stored in primitive arrays, other
+ * columns as serialized bytes in the data buffer with start offsets of each row, offsets[row + 1] is the end of the row.
+ * Null values are marked in the bitmap.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class ColumnVector {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private enum Storage {
+		INT, LONG, FLOAT, DOUBLE, BOOLEAN, BYTES
+	}
+
+	private final String name;
+	private final DataType type;
+	private final Storage storage;
+	private final long[] nulls;
+	private int size;
+	private boolean hasNulls;
+
+	private int[] ints;
+	private long[] longs;
+	private float[] floats;
+	private double[] doubles;
+	private boolean[] booleans;
+	private int[] offsets;
+	private byte[] data;
+
+	ColumnVector(String name, DataType type, int capacity) {
+		this.name = name;
+		this.type = type;
+		this.nulls = new long[(capacity + 63) >>> 6];
+
+		switch (type.getName()) {
+		case INT:
+			storage = Storage.INT;
+			ints = new int[capacity];
+			break;
+		case BIGINT:
+		case COUNTER:
+		case TIMESTAMP:
+			storage = Storage.LONG;
+			longs = new long[capacity];
+			break;
+		case FLOAT:
+			storage = Storage.FLOAT;
+			floats = new float[capacity];
+			break;
+		case DOUBLE:
+			storage = Storage.DOUBLE;
+			doubles = new double[capacity];
+			break;
+		case BOOLEAN:
+			storage = Storage.BOOLEAN;
+			booleans = new boolean[capacity];
+			break;
+		default:
+			storage = Storage.BYTES;
+			offsets = new int[capacity + 1];
+			data = new byte[Math.max(capacity * 16, 1024)];
+			break;
+		}
+	}
+
+	void append(ByteBuffer bytes) {
+
+		int row = size++;
+
+		if (bytes == null || (storage != Storage.BYTES && !bytes.hasRemaining())) {
+			nulls[row >>> 6] |= 1L << row;
+			hasNulls = true;
+			if (storage == Storage.BYTES) {
+				offsets[row + 1] = offsets[row];
+			}
+			return;
+		}
+
+		int position = bytes.position();
+
+		switch (storage) {
+		case INT:
+			ints[row] = bytes.getInt(position);
+			break;
+		case LONG:
+			longs[row] = bytes.getLong(position);
+			break;
+		case FLOAT:
+			floats[row] = bytes.getFloat(position);
+			break;
+		case DOUBLE:
+			doubles[row] = bytes.getDouble(position);
+			break;
+		case BOOLEAN:
+			booleans[row] = bytes.get(position) != 0;
+			break;
+		case BYTES:
+			int start = offsets[row];
+			int length = bytes.remaining();
+			if (start + length > data.length) {
+				data = Arrays.copyOf(data, Math.max(data.length << 1, start + length));
+			}
+			bytes.duplicate().get(data, start, length);
+			offsets[row + 1] = start + length;
+			break;
+		}
+	}
+
+	void clear() {
+		if (hasNulls) {
+			Arrays.fill(nulls, 0L);
+			hasNulls = false;
+		}
+		size = 0;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public DataType getType() {
+		return type;
+	}
+
+	/**
+	 * Returns number of rows
+	 * 
+	 * @return
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean hasNulls() {
+		return hasNulls;
+	}
+
+	public boolean isNull(int row) {
+		return (nulls[row >>> 6] & (1L << row)) != 0;
+	}
+
+	/**
+	 * Returns null bitmap, bit (row & 63) of the word (row >>> 6) is set for null values
+	 * 
+	 * @return
+	 */
+	public long[] getNulls() {
+		return nulls;
+	}
+
+	/**
+	 * Returns values of int column, only first size() elements are valid
+	 * 
+	 * @return
+	 */
+	public int[] getInts() {
+		checkStorage(Storage.INT);
+		return ints;
+	}
+
+	/**
+	 * Returns values of bigint, counter or timestamp column, only first size() elements are valid
+	 * 
+	 * @return
+	 */
+	public long[] getLongs() {
+		checkStorage(Storage.LONG);
+		return longs;
+	}
+
+	/**
+	 * Returns values of float column, only first size() elements are valid
+	 * 
+	 * @return
+	 */
+	public float[] getFloats() {
+		checkStorage(Storage.FLOAT);
+		return floats;
+	}
+
+	/**
+	 * Returns values of double column, only first size() elements are valid
+	 * 
+	 * @return
+	 */
+	public double[] getDoubles() {
+		checkStorage(Storage.DOUBLE);
+		return doubles;
+	}
+
+	/**
+	 * Returns values of boolean column, only first size() elements are valid
+	 * 
+	 * @return
+	 */
+	public boolean[] getBooleans() {
+		checkStorage(Storage.BOOLEAN);
+		return booleans;
+	}
+
+	/**
+	 * Returns start offsets of rows in the data buffer, size() + 1 elements are valid
+	 * 
+	 * @return
+	 */
+	public int[] getOffsets() {
+		checkStorage(Storage.BYTES);
+		return offsets;
+	}
+
+	/**
+	 * Returns serialized values of all rows
+	 * 
+	 * @return
+	 */
+	public ByteBuffer getData() {
+		checkStorage(Storage.BYTES);
+		return ByteBuffer.wrap(data, 0, offsets[size]).slice();
+	}
+
+	public int getInt(int row) {
+		return getInts()[checkRow(row)];
+	}
+
+	public long getLong(int row) {
+		return getLongs()[checkRow(row)];
+	}
+
+	public float getFloat(int row) {
+		return getFloats()[checkRow(row)];
+	}
+
+	public double getDouble(int row) {
+		return getDoubles()[checkRow(row)];
+	}
+
+	public boolean getBoolean(int row) {
+		return getBooleans()[checkRow(row)];
+	}
+
+	/**
+	 * Returns serialized value of the row
+	 * 
+	 * @param row
+	 * @return bytes or null
+	 */
+	public ByteBuffer getBytes(int row) {
+		checkStorage(Storage.BYTES);
+		if (isNull(checkRow(row))) {
+			return null;
+		}
+		return ByteBuffer.wrap(data, offsets[row], offsets[row + 1] - offsets[row]).slice();
+	}
+
+	/**
+	 * Returns value of text, varchar or ascii column
+	 * 
+	 * @param row
+	 * @return string or null
+	 */
+	public String getString(int row) {
+		checkStorage(Storage.BYTES);
+		if (isNull(checkRow(row))) {
+			return null;
+		}
+		return new String(data, offsets[row], offsets[row + 1] - offsets[row], UTF8);
+	}
+
+	private int checkRow(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+		}
+		return row;
+	}
+
+	private void checkStorage(Storage expected) {
+		if (storage != expected) {
+			throw new InvalidDataAccessApiUsageException("column '" + name + "' of type " + type
+					+ " is not stored as " + expected.name().toLowerCase());
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ColumnVector [name=" + name + ", type=" + type + ", size=" + size + "]";
+	}
+
+}
@@ -15,10 +15,14 @@
  */
 package org.springdata.cassandra.cql.core;
 
+import java.io.File;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.springdata.cassandra.cql.support.CassandraExceptionTranslator;
+
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Query;
@@ -199,6 +203,47 @@ public interface CqlOperations {
 	 */
 	<T> Iterator<T> processFirstColumn(ResultSet resultSet, Class<T> elementType);
 
+	/**
+	 * Process a ResultSet and pass non-null values of the first column to the handler as primitive long without boxing.
+	 * Supports bigint, counter, timestamp and int columns.
+	 * 
+	 * @param resultSet
+	 * @param handler
+	 * @return number of processed values
+	 */
+	long processFirstColumn(ResultSet resultSet, LongColumnHandler handler);
+
+	/**
+	 * Process a ResultSet and pass non-null values of the first column to the handler as primitive int without boxing.
+	 * Supports int columns.
+	 * 
+	 * @param resultSet
+	 * @param handler
+	 * @return number of processed values
+	 */
+	long processFirstColumn(ResultSet resultSet, IntColumnHandler handler);
+
+	/**
+	 * Process a ResultSet and pass non-null values of the first column to the handler as primitive double without
+	 * boxing. Supports double and float columns.
+	 * 
+	 * @param resultSet
+	 * @param handler
+	 * @return number of processed values
+	 */
+	long processFirstColumn(ResultSet resultSet, DoubleColumnHandler handler);
+
+	/**
+	 * Process a ResultSet by batches of column vectors. Rows are collected to the batch of batchSize rows, the full batch
+	 * and the last one are passed to the handler. The batch is reused between calls.
+	 * 
+	 * @param resultSet
+	 * @param batchSize maximum number of rows in the batch
+	 * @param handler
+	 * @return number of processed rows
+	 */
+	long processColumnar(ResultSet resultSet, int batchSize, ColumnBatchHandler handler);
+
 	/**
 	 * Process a ResultSet and convert it to a List of Maps with column/value. This is used internal to the Template for
 	 * core operations, but is made available through Operations in the event you have a ResultSet to process. The
@@ -218,6 +263,15 @@ public interface CqlOperations {
 	 */
 	PreparedStatement prepareStatement(String cql);
 
+	/**
+	 * Returns PreparedStatement for the CQL from the template cache, prepares it on the first call. Useful for
+	 * statements generated by the framework that are executed many times.
+	 * 
+	 * @param cql The CQL Statement to prepare
+	 * @return PreparedStatement
+	 */
+	PreparedStatement getOrPrepareStatement(String cql);
+
 	/**
 	 * Uses the provided PreparedStatementCreator to prepare a new PreparedSession
 	 * 
@@ -307,6 +361,39 @@ public interface CqlOperations {
 	 */
 	IngestOperation ingest(PreparedStatement ps, Object[][] rows);
 
+	/**
+	 * Ingests lines of the delimited text file (CSV, TSV) without building Object[] per row. The file is memory-mapped,
+	 * fields are parsed by the types of the PreparedStatement variables and bound in parallel worker threads.
+	 * 
+	 * <p>
+	 * The number of fields in every line must match the number of bind variables in the CQL.
+	 * </p>
+	 * 
+	 * @param ps The PreparedStatement
+	 * @param file delimited text file in UTF-8
+	 * @return FileIngestOperation
+	 */
+	FileIngestOperation ingest(PreparedStatement ps, File file);
+
+	/**
+	 * Streams all rows of the table to the channel in constant memory. Rows are written from the serialized column
+	 * values without mapping to objects.
+	 * 
+	 * @param tableName
+	 * @param channel output channel, stays open after the export
+	 * @return ExportOperation
+	 */
+	ExportOperation export(String tableName, WritableByteChannel channel);
+
+	/**
+	 * Streams all rows of the table to the file, the file is overwritten and closed after the export.
+	 * 
+	 * @param tableName
+	 * @param file
+	 * @return ExportOperation
+	 */
+	ExportOperation export(String tableName, File file);
+
 	/**
 	 * Calculates number of rows in table
 	 * 
@@ -338,4 +425,12 @@ public interface CqlOperations {
 
 	SchemaCqlOperations schemaOps();
 
+	/**
+	 * Returns exception translator used to convert driver exceptions to Spring DataAccessExceptions
+	 * 
+	 * @return CassandraExceptionTranslator
+	 */
+
+	CassandraExceptionTranslator getExceptionTranslator();
+
 }
@@ -15,6 +15,10 @@
  */
 package org.springdata.cassandra.cql.core;
 
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -22,11 +26,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springdata.cassandra.cql.support.CassandraExceptionTranslator;
 import org.springdata.cassandra.cql.support.exception.CassandraNotSingleResultException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.util.Assert;
 
 import com.datastax.driver.core.BoundStatement;
@@ -73,6 +80,13 @@ public class CqlTemplate implements CqlOperations {
 
 	private CassandraExceptionTranslator exceptionTranslator = new CassandraExceptionTranslator();
 
+	private final ConcurrentMap<String, PreparedStatement> preparedStatementCache = new ConcurrentHashMap<String, PreparedStatement>();
+
+	private ReadCoalescer readCoalescer;
+
+	private SpeculativeExecutor speculativeExecutor;
+	private CircuitBreaker circuitBreaker;
+
 	private AdminCqlOperations adminOperations;
 	private SchemaCqlOperations schemaOperations;
 
@@ -143,10 +157,78 @@ public class CqlTemplate implements CqlOperations {
 	/**
 	 * Return the exception translator for this instance.
 	 */
+	@Override
 	public CassandraExceptionTranslator getExceptionTranslator() {
 		return this.exceptionTranslator;
 	}
 
+	/**
+	 * Set the read coalescer, identical concurrent reads of coalescing operations share a single request. Null
+	 * disables coalescing.
+	 * 
+	 * @see org.springdata.cassandra.cql.core.ReadCoalescer
+	 */
+	public void setReadCoalescer(ReadCoalescer readCoalescer) {
+		this.readCoalescer = readCoalescer;
+	}
+
+	/**
+	 * Return the read coalescer for this instance or null if coalescing is disabled.
+	 */
+	public ReadCoalescer getReadCoalescer() {
+		return readCoalescer;
+	}
+
+	/**
+	 * Set the speculative executor, idempotent queries of operations are re-sent if they are not completed in time. Null
+	 * disables speculative executions.
+	 * 
+	 * @see org.springdata.cassandra.cql.core.SpeculativeExecutor
+	 */
+	public void setSpeculativeExecutor(SpeculativeExecutor speculativeExecutor) {
+		this.speculativeExecutor = speculativeExecutor;
+	}
+
+	/**
+	 * Return the speculative executor for this instance or null if speculative executions are disabled.
+	 */
+	public SpeculativeExecutor getSpeculativeExecutor() {
+		return speculativeExecutor;
+	}
+
+	/**
+	 * Set the circuit breaker for queries of all operations, operation can override it by withCircuitBreaker. Null
+	 * disables circuit breaking.
+	 * 
+	 * @see org.springdata.cassandra.cql.core.CircuitBreaker
+	 */
+	public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	/**
+	 * Return the circuit breaker for this instance or null if circuit breaking is disabled.
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	/**
+	 * Wraps retry policy of the non-idempotent query, write timeouts will not be retried. Query without retry policy gets
+	 * the policy of the cluster.
+	 * 
+	 * @param query non-idempotent query
+	 */
+	public void disableWriteTimeoutRetries(Query query) {
+		Assert.notNull(query);
+
+		com.datastax.driver.core.policies.RetryPolicy policy = query.getRetryPolicy();
+		if (policy == null) {
+			policy = getSession().getCluster().getConfiguration().getPolicies().getRetryPolicy();
+		}
+		query.setRetryPolicy(IdempotenceAwareRetryPolicy.wrap(policy));
+	}
+
 	@Override
 	public Query createQuery(QueryCreator qc) {
 		Assert.notNull(qc);
@@ -639,6 +721,84 @@ public class CqlTemplate implements CqlOperations {
 
 	}
 
+	@Override
+	public long processFirstColumn(ResultSet resultSet, final LongColumnHandler handler) {
+		Assert.notNull(resultSet);
+		Assert.notNull(handler);
+
+		return doProcess(resultSet, new ResultSetExtractor<Long>() {
+
+			@Override
+			public Long extractData(ResultSet resultSet) {
+				return PrimitiveColumns.forEachLong(resultSet, handler);
+			}
+
+		});
+	}
+
+	@Override
+	public long processFirstColumn(ResultSet resultSet, final IntColumnHandler handler) {
+		Assert.notNull(resultSet);
+		Assert.notNull(handler);
+
+		return doProcess(resultSet, new ResultSetExtractor<Long>() {
+
+			@Override
+			public Long extractData(ResultSet resultSet) {
+				return PrimitiveColumns.forEachInt(resultSet, handler);
+			}
+
+		});
+	}
+
+	@Override
+	public long processFirstColumn(ResultSet resultSet, final DoubleColumnHandler handler) {
+		Assert.notNull(resultSet);
+		Assert.notNull(handler);
+
+		return doProcess(resultSet, new ResultSetExtractor<Long>() {
+
+			@Override
+			public Long extractData(ResultSet resultSet) {
+				return PrimitiveColumns.forEachDouble(resultSet, handler);
+			}
+
+		});
+	}
+
+	@Override
+	public long processColumnar(ResultSet resultSet, final int batchSize, final ColumnBatchHandler handler) {
+		Assert.notNull(resultSet);
+		Assert.isTrue(batchSize > 0, "batchSize must be positive");
+		Assert.notNull(handler);
+
+		return doProcess(resultSet, new ResultSetExtractor<Long>() {
+
+			@Override
+			public Long extractData(ResultSet resultSet) {
+
+				ColumnBatch batch = new ColumnBatch(resultSet.getColumnDefinitions(), batchSize);
+				long count = 0;
+
+				for (Row row : resultSet) {
+					batch.add(row);
+					count++;
+					if (batch.isFull()) {
+						handler.processBatch(batch);
+						batch.clear();
+					}
+				}
+
+				if (batch.getRowCount() > 0) {
+					handler.processBatch(batch);
+				}
+
+				return count;
+			}
+
+		});
+	}
+
 	@Override
 	public Iterator<Map<String, Object>> processAsMap(ResultSet resultSet) {
 		Assert.notNull(resultSet);
@@ -669,6 +829,21 @@ public class CqlTemplate implements CqlOperations {
 		return doPrepareStatement(new SimplePreparedStatementCreator(cql));
 	}
 
+	@Override
+	public PreparedStatement getOrPrepareStatement(String cql) {
+		Assert.notNull(cql);
+
+		PreparedStatement ps = preparedStatementCache.get(cql);
+		if (ps == null) {
+			ps = prepareStatement(cql);
+			PreparedStatement existing = preparedStatementCache.putIfAbsent(cql, ps);
+			if (existing != null) {
+				ps = existing;
+			}
+		}
+		return ps;
+	}
+
 	@Override
 	public PreparedStatement prepareStatement(PreparedStatementCreator psc) {
 		Assert.notNull(psc);
@@ -810,6 +985,33 @@ public class CqlTemplate implements CqlOperations {
 		return ingest(ps, new ArrayIterator<Object[]>(rows));
 	}
 
+	@Override
+	public FileIngestOperation ingest(PreparedStatement ps, File file) {
+
+		Assert.notNull(ps);
+		Assert.notNull(file);
+
+		return new DefaultFileIngestOperation(this, ps, file);
+	}
+
+	@Override
+	public ExportOperation export(String tableName, WritableByteChannel channel) {
+		Assert.notNull(tableName);
+		Assert.notNull(channel);
+		return new DefaultExportOperation(this, tableName, channel, false);
+	}
+
+	@Override
+	public ExportOperation export(String tableName, File file) {
+		Assert.notNull(tableName);
+		Assert.notNull(file);
+		try {
+			return new DefaultExportOperation(this, tableName, new FileOutputStream(file).getChannel(), true);
+		} catch (FileNotFoundException e) {
+			throw new DataAccessResourceFailureException("can not open export file " + file, e);
+		}
+	}
+
 	/**
 	 * Service iterator based on array
 	 * 
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+/**
+ * Point in time after which the caller is not interested in the result of the query operation. Carried by
+ * QueryOperation.withDeadline to all queries of the operation: queries are not issued after the deadline and running
+ * queries are cancelled when it passes.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public final class Deadline {
+
+	private final long deadlineNanos;
+
+	private Deadline(long deadlineNanos) {
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	/**
+	 * Creates deadline after the given duration from now
+	 * 
+	 * @param duration
+	 * @param unit
+	 * @return deadline
+	 */
+	public static Deadline after(long duration, TimeUnit unit) {
+		Assert.notNull(unit);
+		return new Deadline(System.nanoTime() + unit.toNanos(duration));
+	}
+
+	/**
+	 * Returns true if the deadline has passed
+	 * 
+	 * @return
+	 */
+	public boolean isExpired() {
+		return System.nanoTime() - deadlineNanos >= 0;
+	}
+
+	/**
+	 * Returns time remaining until the deadline, zero if expired
+	 * 
+	 * @param unit
+	 * @return
+	 */
+	public long timeRemaining(TimeUnit unit) {
+		long remaining = deadlineNanos - System.nanoTime();
+		return remaining > 0 ? unit.convert(remaining, TimeUnit.NANOSECONDS) : 0;
+	}
+
+	/**
+	 * Returns the earliest of two deadlines
+	 * 
+	 * @param other deadline or null
+	 * @return deadline
+	 */
+	public Deadline min(Deadline other) {
+		if (other == null) {
+			return this;
+		}
+		return deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+	}
+
+	/**
+	 * Runs the task when the deadline passes
+	 * 
+	 * @param task
+	 * @return future that is used to cancel the task
+	 */
+	ScheduledFuture<?> schedule(Runnable task) {
+		return Timer.SCHEDULER.schedule(task, deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public String toString() {
+		return "Deadline [remaining=" + timeRemaining(TimeUnit.MILLISECONDS) + "ms]";
+	}
+
+	/*
+	 * Lazily started timer thread
+	 */
+	private static final class Timer {
+
+		static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "cassandra-deadline-timer");
+				thread.setDaemon(true);
+				return thread;
+			}
+
+		});
+
+	}
+
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.ColumnMetadata;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.querybuilder.Clause;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Default Export operation implementation.
+ * 
+ * Driver does not support paging state, therefore the next page is selected by the primary key of the last row. If the
+ * page is full the last partition may be incomplete, the rest of it is selected by pages with clustering columns after
+ * the last row (one query per clustering column), after that the next partitions are selected by token(partition key) >
+ * token of the last row.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class DefaultExportOperation extends AbstractQueryOperation<Long, ExportOperation> implements ExportOperation {
+
+	private static final String CLUSTERING_ORDER = "CLUSTERING ORDER BY (";
+
+	private final String tableName;
+	private final WritableByteChannel channel;
+	private final boolean closeChannel;
+
+	private ExportFormat format = ExportFormat.CSV;
+	private int pageSize = 5000;
+	private int bufferSize = 64 * 1024;
+	private Long startToken;
+	private Long endToken;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param cqlTemplate
+	 * @param tableName
+	 * @param channel output channel
+	 * @param closeChannel close the channel after export
+	 */
+	public DefaultExportOperation(CqlTemplate cqlTemplate, String tableName, WritableByteChannel channel,
+			boolean closeChannel) {
+		super(cqlTemplate);
+		Assert.notNull(tableName);
+		Assert.notNull(channel);
+		this.tableName = tableName;
+		this.channel = channel;
+		this.closeChannel = closeChannel;
+	}
+
+	@Override
+	public ExportOperation withFormat(ExportFormat format) {
+		Assert.notNull(format);
+		this.format = format;
+		return this;
+	}
+
+	@Override
+	public ExportOperation withPageSize(int pageSize) {
+		Assert.isTrue(pageSize > 0, "page size must be positive");
+		this.pageSize = pageSize;
+		return this;
+	}
+
+	@Override
+	public ExportOperation withBufferSize(int bufferSize) {
+		this.bufferSize = bufferSize;
+		return this;
+	}
+
+	@Override
+	public ExportOperation withTokenRange(long startToken, long endToken) {
+		Assert.isTrue(startToken < endToken, "empty token range");
+		this.startToken = startToken;
+		this.endToken = endToken;
+		return this;
+	}
+
+	@Override
+	public Long execute() {
+		try {
+			Export export = new Export();
+			for (Query query = export.firstQuery(); query != null;) {
+				query = export.writePage(doExecute(query));
+			}
+			return export.finish();
+		} finally {
+			closeChannel();
+		}
+	}
+
+	@Override
+	public CassandraFuture<Long> executeAsync() {
+
+		ListenableFuture<Long> future;
+		try {
+			Export export = new Export();
+			future = doExecuteAsync(export, export.firstQuery());
+		} catch (RuntimeException e) {
+			future = Futures.immediateFailedFuture(e);
+		}
+
+		Futures.addCallback(future, new FutureCallback<Long>() {
+
+			@Override
+			public void onSuccess(Long result) {
+				closeChannel();
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				closeChannel();
+			}
+
+		}, MoreExecutors.sameThreadExecutor());
+
+		return new CassandraFuture<Long>(future, cqlTemplate.getExceptionTranslator());
+	}
+
+	@Override
+	public void executeAsync(CallbackHandler<Long> cb) {
+		doFutureCallback(executeAsync(), cb);
+	}
+
+	@Override
+	public Long executeNonstop(int timeoutMls) throws TimeoutException {
+		return executeAsync().getUninterruptibly(timeoutMls, TimeUnit.MILLISECONDS);
+	}
+
+	private ListenableFuture<Long> doExecuteAsync(final Export export, Query query) {
+
+		return Futures.transform(doExecuteAsync(query), new AsyncFunction<ResultSet, Long>() {
+
+			@Override
+			public ListenableFuture<Long> apply(ResultSet resultSet) {
+				try {
+					Query next = export.writePage(resultSet);
+					if (next != null) {
+						return doExecuteAsync(export, next);
+					}
+					return Futures.immediateFuture(export.finish());
+				} catch (RuntimeException e) {
+					fireOnFailure(e);
+					throw e;
+				}
+			}
+
+		}, getExecutor());
+	}
+
+	private void closeChannel() {
+		if (closeChannel) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				throw new DataAccessResourceFailureException("failed to close export channel", e);
+			}
+		}
+	}
+
+	/**
+	 * State of the single export execution
+	 */
+	private final class Export {
+
+		private final String[] columns;
+		private final String[] partitionKey;
+		private final String[] clusteringKey;
+		private final boolean[] descending;
+		private final int tokenIndex;
+		private final ExportWriter writer;
+
+		private Object partitionToken;
+		private Object[] partitionValues;
+		private Object[] clusteringValues;
+		private int clusteringLevel = -1;
+		private long exported;
+
+		Export() {
+
+			TableMetadata table = cqlTemplate.schemaOps().getTableMetadata(tableName);
+			if (table == null) {
+				throw new InvalidDataAccessApiUsageException("table not found " + tableName);
+			}
+
+			List<String> names = new ArrayList<String>();
+			List<DataType> types = new ArrayList<DataType>();
+			for (ColumnMetadata column : table.getColumns()) {
+				names.add(column.getName());
+				types.add(column.getType());
+			}
+
+			this.partitionKey = getNames(table.getPartitionKey());
+			this.clusteringKey = getNames(table.getClusteringKey());
+			this.descending = getDescending(table, clusteringKey.length);
+
+			this.tokenIndex = names.size();
+			this.columns = names.toArray(new String[tokenIndex + 1]);
+			this.columns[tokenIndex] = QueryBuilder.token(partitionKey);
+
+			this.writer = new ExportWriter(format, channel, bufferSize);
+			writer.writeHeader(names, types);
+		}
+
+		Query firstQuery() {
+			return createQuery(startToken);
+		}
+
+		/**
+		 * Writes the rows of the page
+		 * 
+		 * @param resultSet
+		 * @return query of the next page or null at the end of the table
+		 */
+		Query writePage(ResultSet resultSet) {
+
+			Row last = null;
+			int rows = 0;
+
+			for (Row row : resultSet) {
+				writer.writeRow(row);
+				last = row;
+				++rows;
+				++exported;
+			}
+
+			if (rows == pageSize) {
+
+				partitionToken = deserialize(last, tokenIndex);
+
+				if (clusteringKey.length == 0) {
+					return createQuery(partitionToken);
+				}
+
+				partitionValues = getValues(last, partitionKey);
+				clusteringValues = getValues(last, clusteringKey);
+				clusteringLevel = clusteringKey.length - 1;
+				return createPartitionQuery();
+			}
+
+			if (clusteringLevel > 0) {
+				--clusteringLevel;
+				return createPartitionQuery();
+			}
+
+			if (clusteringLevel == 0) {
+				clusteringLevel = -1;
+				return createQuery(partitionToken);
+			}
+
+			return null;
+		}
+
+		long finish() {
+			writer.writeFooter();
+			writer.flush();
+			return exported;
+		}
+
+		private Object[] getValues(Row row, String[] names) {
+			Object[] values = new Object[names.length];
+			for (int i = 0; i != names.length; ++i) {
+				values[i] = deserialize(row, row.getColumnDefinitions().getIndexOf(names[i]));
+			}
+			return values;
+		}
+
+		private Object deserialize(Row row, int index) {
+			return row.getColumnDefinitions().getType(index).deserialize(row.getBytesUnsafe(index));
+		}
+
+		private Query createQuery(final Object afterToken) {
+
+			return doCreateQuery(new QueryCreator() {
+
+				@Override
+				public Query createQuery() {
+
+					Select select = QueryBuilder.select(columns).from(cqlTemplate.getKeyspace(), tableName);
+					String token = QueryBuilder.token(partitionKey);
+
+					List<Clause> clauses = new ArrayList<Clause>(2);
+					if (afterToken != null) {
+						clauses.add(QueryBuilder.gt(token, afterToken));
+					}
+					if (endToken != null) {
+						clauses.add(QueryBuilder.lte(token, endToken));
+					}
+					if (!clauses.isEmpty()) {
+						Select.Where w = select.where();
+						for (Clause c : clauses) {
+							w.and(c);
+						}
+					}
+
+					select.limit(pageSize);
+					return select;
+				}
+
+			});
+		}
+
+		/**
+		 * Selects the rest of the last partition after the last row, clustering columns before the current level are equal
+		 * to the last row, the column of the level is after it
+		 */
+		private Query createPartitionQuery() {
+
+			final int last = clusteringLevel;
+
+			return doCreateQuery(new QueryCreator() {
+
+				@Override
+				public Query createQuery() {
+
+					Select select = QueryBuilder.select(columns).from(cqlTemplate.getKeyspace(), tableName);
+					Select.Where w = select.where();
+
+					for (int i = 0; i != partitionKey.length; ++i) {
+						w.and(QueryBuilder.eq(partitionKey[i], partitionValues[i]));
+					}
+
+					for (int i = 0; i <= last; ++i) {
+						if (i != last) {
+							w.and(QueryBuilder.eq(clusteringKey[i], clusteringValues[i]));
+						} else if (descending[i]) {
+							w.and(QueryBuilder.lt(clusteringKey[i], clusteringValues[i]));
+						} else {
+							w.and(QueryBuilder.gt(clusteringKey[i], clusteringValues[i]));
+						}
+					}
+
+					select.limit(pageSize);
+					return select;
+				}
+
+			});
+		}
+
+	}
+
+	private static String[] getNames(List<ColumnMetadata> columns) {
+		String[] names = new String[columns.size()];
+		for (int i = 0; i != names.length; ++i) {
+			names[i] = columns.get(i).getName();
+		}
+		return names;
+	}
+
+	/**
+	 * Driver metadata exposes the clustering order only in the CQL of the table
+	 */
+	private static boolean[] getDescending(TableMetadata table, int clusteringKeySize) {
+
+		boolean[] descending = new boolean[clusteringKeySize];
+
+		String cql = table.asCQLQuery();
+		int start = cql.indexOf(CLUSTERING_ORDER);
+		if (start != -1) {
+			start += CLUSTERING_ORDER.length();
+			String[] orders = cql.substring(start, cql.indexOf(')', start)).split(",");
+			for (int i = 0; i != orders.length && i != clusteringKeySize; ++i) {
+				descending[i] = orders[i].trim().toUpperCase().endsWith(" DESC");
+			}
+		}
+
+		return descending;
+	}
+
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Default File Ingest operation implementation.
+ * 
+ * The file is split into segments at line breaks, one segment per worker. Worker maps its segment by windows, parses
+ * lines and sends bound statements asynchronously, number of queries in flight is limited by the semaphore shared by
+ * all workers. Memory use does not depend on the file size.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class DefaultFileIngestOperation extends AbstractQueryOperation<Long, FileIngestOperation> implements
+		FileIngestOperation {
+
+	private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+	private static final AtomicInteger threadNumber = new AtomicInteger();
+
+	private final PreparedStatement ps;
+	private final File file;
+
+	private char delimiter = ',';
+	private boolean header;
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	private int maxConcurrency = 256;
+
+	public DefaultFileIngestOperation(CqlTemplate cqlTemplate, PreparedStatement ps, File file) {
+		super(cqlTemplate);
+		Assert.notNull(ps);
+		Assert.notNull(file);
+		this.ps = ps;
+		this.file = file;
+	}
+
+	@Override
+	public FileIngestOperation withDelimiter(char delimiter) {
+		Assert.isTrue(delimiter != '"' && delimiter != '\n' && delimiter != '\r', "invalid delimiter");
+		this.delimiter = delimiter;
+		return this;
+	}
+
+	@Override
+	public FileIngestOperation withHeader(boolean header) {
+		this.header = header;
+		return this;
+	}
+
+	@Override
+	public FileIngestOperation withParallelism(int parallelism) {
+		Assert.isTrue(parallelism > 0, "parallelism must be positive");
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	@Override
+	public FileIngestOperation withMaxConcurrency(int maxConcurrency) {
+		Assert.isTrue(maxConcurrency > 0, "max concurrency must be positive");
+		this.maxConcurrency = maxConcurrency;
+		return this;
+	}
+
+	@Override
+	public Long execute() {
+		return new Ingest().run();
+	}
+
+	@Override
+	public CassandraFuture<Long> executeAsync() {
+
+		final SettableFuture<Long> future = SettableFuture.create();
+
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					future.set(execute());
+				} catch (Throwable t) {
+					future.setException(t);
+				}
+			}
+
+		}, "cassandra-file-ingest-" + threadNumber.incrementAndGet());
+		thread.setDaemon(true);
+		thread.start();
+
+		return new CassandraFuture<Long>(future, cqlTemplate.getExceptionTranslator());
+	}
+
+	@Override
+	public void executeAsync(CallbackHandler<Long> cb) {
+		doFutureCallback(executeAsync(), cb);
+	}
+
+	@Override
+	public Long executeNonstop(int timeoutMls) throws TimeoutException {
+		return executeAsync().getUninterruptibly(timeoutMls, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * State of the single ingest execution
+	 */
+	private final class Ingest {
+
+		private final Semaphore inFlight = new Semaphore(maxConcurrency);
+		private final AtomicLong ingested = new AtomicLong();
+		private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+		Long run() {
+
+			RandomAccessFile raf;
+			try {
+				raf = new RandomAccessFile(file, "r");
+			} catch (IOException e) {
+				throw new DataAccessResourceFailureException("can not open ingest file " + file, e);
+			}
+
+			ExecutorService workers = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "cassandra-file-ingest-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+
+			});
+
+			try {
+
+				final FileChannel channel = raf.getChannel();
+				long[] bounds = split(channel);
+
+				List<Future<Object>> futures = new ArrayList<Future<Object>>(parallelism);
+				for (int i = 0; i != bounds.length - 1; ++i) {
+					final long start = bounds[i];
+					final long end = bounds[i + 1];
+					final boolean skipFirstLine = header && i == 0;
+					futures.add(workers.submit(new Callable<Object>() {
+
+						@Override
+						public Object call() throws IOException {
+							ingestSegment(channel, start, end, skipFirstLine);
+							return null;
+						}
+
+					}));
+				}
+
+				for (Future<Object> future : futures) {
+					try {
+						future.get();
+					} catch (ExecutionException e) {
+						failure.compareAndSet(null, e.getCause());
+					}
+				}
+
+				inFlight.acquireUninterruptibly(maxConcurrency);
+
+			} catch (IOException e) {
+				failure.compareAndSet(null, e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failure.compareAndSet(null, e);
+			} finally {
+				workers.shutdownNow();
+				try {
+					raf.close();
+				} catch (IOException e) {
+					failure.compareAndSet(null, e);
+				}
+			}
+
+			Throwable t = failure.get();
+			if (t != null) {
+				fireOnFailure(t);
+				if (t instanceof RuntimeException) {
+					throw cqlTemplate.translateIfPossible((RuntimeException) t);
+				}
+				if (t instanceof Error) {
+					throw (Error) t;
+				}
+				throw new DataAccessResourceFailureException("ingest of " + file + " failed", t);
+			}
+
+			return ingested.get();
+		}
+
+		/**
+		 * Splits the file between workers at line breaks
+		 */
+		private long[] split(FileChannel channel) throws IOException {
+
+			long size = channel.size();
+			int segments = (int) Math.max(1, Math.min(parallelism, size / (1024 * 1024)));
+
+			long[] bounds = new long[segments + 1];
+			bounds[segments] = size;
+
+			ByteBuffer probe = ByteBuffer.allocate(4096);
+
+			for (int i = 1; i != segments; ++i) {
+				long pos = Math.max(bounds[i - 1], size * i / segments - 1);
+				bounds[i] = size;
+				while (pos < size) {
+					probe.clear();
+					int read = channel.read(probe, pos);
+					if (read <= 0) {
+						break;
+					}
+					int newline = indexOf(probe, 0, read, (byte) '\n');
+					if (newline != -1) {
+						bounds[i] = pos + newline + 1;
+						break;
+					}
+					pos += read;
+				}
+			}
+
+			return bounds;
+		}
+
+		private void ingestSegment(FileChannel channel, long start, long end, boolean skipFirstLine) throws IOException {
+
+			DelimitedLineParser parser = new DelimitedLineParser(ps, delimiter);
+
+			long pos = start;
+
+			while (pos < end && failure.get() == null) {
+
+				int length = (int) Math.min(WINDOW_SIZE, end - pos);
+				boolean last = pos + length == end;
+
+				MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, pos, length);
+
+				int lineStart = 0;
+				for (int lineEnd = indexOf(window, 0, length, (byte) '\n'); lineEnd != -1; lineEnd = indexOf(window,
+						lineStart, length, (byte) '\n')) {
+
+					if (skipFirstLine) {
+						skipFirstLine = false;
+					} else {
+						ingestLine(parser, window, lineStart, lineEnd, pos);
+					}
+					lineStart = lineEnd + 1;
+				}
+
+				if (last) {
+					if (lineStart < length && !skipFirstLine) {
+						ingestLine(parser, window, lineStart, length, pos);
+					}
+					pos = end;
+				} else if (lineStart == 0) {
+					throw new InvalidDataAccessApiUsageException("line longer than " + WINDOW_SIZE + " bytes at " + pos);
+				} else {
+					pos += lineStart;
+				}
+			}
+		}
+
+		private void ingestLine(DelimitedLineParser parser, ByteBuffer window, int start, int end, long offset) {
+
+			if (failure.get() != null) {
+				return;
+			}
+			if (end > start && window.get(end - 1) == '\r') {
+				--end;
+			}
+			if (end == start) {
+				return;
+			}
+
+			BoundStatement bs;
+			try {
+				bs = parser.bind(window, start, end);
+			} catch (RuntimeException e) {
+				throw new InvalidDataAccessApiUsageException(e.getMessage() + " in line at byte " + (offset + start), e);
+			}
+
+			inFlight.acquireUninterruptibly();
+
+			Futures.addCallback(doExecuteAsync(bs), new FutureCallback<ResultSet>() {
+
+				@Override
+				public void onSuccess(ResultSet result) {
+					ingested.incrementAndGet();
+					inFlight.release();
+				}
+
+				@Override
+				public void onFailure(Throwable t) {
+					failure.compareAndSet(null, t);
+					inFlight.release();
+				}
+
+			}, MoreExecutors.sameThreadExecutor());
+		}
+
+	}
+
+	private static int indexOf(ByteBuffer buf, int from, int to, byte b) {
+		for (int i = from; i < to; ++i) {
+			if (buf.get(i) == b) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -101,6 +101,103 @@ public class DefaultSelectOperation extends AbstractQueryOperation<ResultSet, Se
 		});
 	}
 
+	@Override
+	public ProcessOperation<Long> firstColumn(final LongColumnHandler handler) {
+
+		return new ProcessingSelectOperation<Long>(this, new Processor<Long>() {
+
+			@Override
+			public Long process(ResultSet resultSet) {
+				return cqlTemplate.processFirstColumn(resultSet, handler);
+			}
+
+		});
+	}
+
+	@Override
+	public ProcessOperation<Long> firstColumn(final IntColumnHandler handler) {
+
+		return new ProcessingSelectOperation<Long>(this, new Processor<Long>() {
+
+			@Override
+			public Long process(ResultSet resultSet) {
+				return cqlTemplate.processFirstColumn(resultSet, handler);
+			}
+
+		});
+	}
+
+	@Override
+	public ProcessOperation<Long> firstColumn(final DoubleColumnHandler handler) {
+
+		return new ProcessingSelectOperation<Long>(this, new Processor<Long>() {
+
+			@Override
+			public Long process(ResultSet resultSet) {
+				return cqlTemplate.processFirstColumn(resultSet, handler);
+			}
+
+		});
+	}
+
+	@Override
+	public ProcessOperation<LongColumnBuffer> firstColumnAsLongs() {
+
+		return new ProcessingSelectOperation<LongColumnBuffer>(this, new Processor<LongColumnBuffer>() {
+
+			@Override
+			public LongColumnBuffer process(ResultSet resultSet) {
+				LongColumnBuffer buffer = new LongColumnBuffer();
+				cqlTemplate.processFirstColumn(resultSet, buffer);
+				return buffer;
+			}
+
+		});
+	}
+
+	@Override
+	public ProcessOperation<IntColumnBuffer> firstColumnAsInts() {
+
+		return new ProcessingSelectOperation<IntColumnBuffer>(this, new Processor<IntColumnBuffer>() {
+
+			@Override
+			public IntColumnBuffer process(ResultSet resultSet) {
+				IntColumnBuffer buffer = new IntColumnBuffer();
+				cqlTemplate.processFirstColumn(resultSet, buffer);
+				return buffer;
+			}
+
+		});
+	}
+
+	@Override
+	public ProcessOperation<DoubleColumnBuffer> firstColumnAsDoubles() {
+
+		return new ProcessingSelectOperation<DoubleColumnBuffer>(this, new Processor<DoubleColumnBuffer>() {
+
+			@Override
+			public DoubleColumnBuffer process(ResultSet resultSet) {
+				DoubleColumnBuffer buffer = new DoubleColumnBuffer();
+				cqlTemplate.processFirstColumn(resultSet, buffer);
+				return buffer;
+			}
+
+		});
+	}
+
+	@Override
+	public ProcessOperation<Long> columnar(final int batchSize, final ColumnBatchHandler handler) {
+
+		return new ProcessingSelectOperation<Long>(this, new Processor<Long>() {
+
+			@Override
+			public Long process(ResultSet resultSet) {
+				return cqlTemplate.processColumnar(resultSet, batchSize, handler);
+			}
+
+		});
+	}
+
 	@Override
 	public ProcessOperation<Iterator<Map<String, Object>>> map() {
 
@@ -189,6 +286,30 @@ public class DefaultSelectOperation extends AbstractQueryOperation<ResultSet, Se
 			return this;
 		}
 
+		@Override
+		public ProcessOperation<T> withIdempotence(Boolean idempotent) {
+			delegate.withIdempotence(idempotent);
+			return this;
+		}
+
+		@Override
+		public ProcessOperation<T> withDeadline(Deadline deadline) {
+			delegate.withDeadline(deadline);
+			return this;
+		}
+
+		@Override
+		public ProcessOperation<T> withPartialResults(Boolean partialResults) {
+			delegate.withPartialResults(partialResults);
+			return this;
+		}
+
+		@Override
+		public ProcessOperation<T> withCircuitBreaker(CircuitBreaker circuitBreaker) {
+			delegate.withCircuitBreaker(circuitBreaker);
+			return this;
+		}
+
 		@Override
 		public ProcessOperation<T> withFallbackHandler(FallbackHandler fh) {
 			delegate.withFallbackHandler(fh);
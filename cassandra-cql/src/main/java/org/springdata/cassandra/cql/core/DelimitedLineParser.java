@@ -0,0 +1,353 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.UUID;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.PreparedStatement;
+
+/**
+ * Parses the line of the delimited file and binds fields to the prepared statement by the types of its variables.
+ * Numbers, booleans, uuids and timestamps in milliseconds are parsed from bytes, text fields are bound as slices of the
+ * input buffer without decoding. Quoted fields may contain delimiters and doubled quotes, but not line breaks. Empty
+ * unquoted field is null.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+class DelimitedLineParser {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final PreparedStatement ps;
+	private final DataType[] types;
+	private final byte delimiter;
+
+	DelimitedLineParser(PreparedStatement ps, char delimiter) {
+		this.ps = ps;
+		this.delimiter = (byte) delimiter;
+
+		ColumnDefinitions variables = ps.getVariables();
+		this.types = new DataType[variables.size()];
+		for (int i = 0; i != types.length; ++i) {
+			types[i] = variables.getType(i);
+		}
+	}
+
+	/**
+	 * Binds fields of the line
+	 * 
+	 * @param buf input buffer
+	 * @param start first byte of the line
+	 * @param end position of the line break
+	 * @return bound statement
+	 */
+	BoundStatement bind(ByteBuffer buf, int start, int end) {
+
+		BoundStatement bs = ps.bind();
+
+		int pos = start;
+
+		for (int i = 0; i != types.length; ++i) {
+
+			if (pos > end) {
+				throw malformed("expected " + types.length + " fields, found " + i);
+			}
+
+			if (pos < end && buf.get(pos) == '"') {
+
+				int close = -1;
+				boolean escaped = false;
+
+				for (int j = pos + 1; j < end; ++j) {
+					if (buf.get(j) == '"') {
+						if (j + 1 < end && buf.get(j + 1) == '"') {
+							escaped = true;
+							++j;
+						} else {
+							close = j;
+							break;
+						}
+					}
+				}
+
+				if (close == -1) {
+					throw malformed("unterminated quoted field " + i);
+				}
+				if (close + 1 < end && buf.get(close + 1) != delimiter) {
+					throw malformed("delimiter expected after quoted field " + i);
+				}
+
+				if (escaped) {
+					ByteBuffer unescaped = unescape(buf, pos + 1, close);
+					bindField(bs, i, unescaped, 0, unescaped.limit(), true);
+				} else {
+					bindField(bs, i, buf, pos + 1, close, true);
+				}
+
+				pos = close + 2;
+
+			} else {
+
+				int fieldEnd = pos;
+				while (fieldEnd < end && buf.get(fieldEnd) != delimiter) {
+					++fieldEnd;
+				}
+
+				bindField(bs, i, buf, pos, fieldEnd, false);
+
+				pos = fieldEnd + 1;
+			}
+		}
+
+		if (pos <= end) {
+			throw malformed("more than " + types.length + " fields");
+		}
+
+		return bs;
+	}
+
+	private void bindField(BoundStatement bs, int i, ByteBuffer buf, int start, int end, boolean quoted) {
+
+		if (start == end && !quoted) {
+			bs.setBytesUnsafe(i, null);
+			return;
+		}
+
+		DataType type = types[i];
+
+		switch (type.getName()) {
+
+		case ASCII:
+		case TEXT:
+		case VARCHAR:
+			ByteBuffer slice = buf.duplicate();
+			slice.limit(end).position(start);
+			bs.setBytesUnsafe(i, slice.slice());
+			break;
+
+		case INT:
+			long value = parseLong(buf, start, end);
+			if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+				throw malformed("int out of range in field " + i);
+			}
+			bs.setInt(i, (int) value);
+			break;
+
+		case BIGINT:
+		case COUNTER:
+			bs.setLong(i, parseLong(buf, start, end));
+			break;
+
+		case TIMESTAMP:
+			if (isNumber(buf, start, end)) {
+				bs.setDate(i, new Date(parseLong(buf, start, end)));
+			} else {
+				bs.setDate(i, DatatypeConverter.parseDateTime(string(buf, start, end)).getTime());
+			}
+			break;
+
+		case BOOLEAN:
+			bs.setBool(i, parseBoolean(buf, start, end));
+			break;
+
+		case UUID:
+		case TIMEUUID:
+			bs.setUUID(i, parseUUID(buf, start, end));
+			break;
+
+		case BLOB:
+			bs.setBytes(i, parseHex(buf, start, end));
+			break;
+
+		case DOUBLE:
+			bs.setDouble(i, Double.parseDouble(string(buf, start, end)));
+			break;
+
+		case FLOAT:
+			bs.setFloat(i, Float.parseFloat(string(buf, start, end)));
+			break;
+
+		case DECIMAL:
+			bs.setDecimal(i, new BigDecimal(string(buf, start, end)));
+			break;
+
+		case VARINT:
+			bs.setVarint(i, new BigInteger(string(buf, start, end)));
+			break;
+
+		case INET:
+			try {
+				bs.setInet(i, InetAddress.getByName(string(buf, start, end)));
+			} catch (UnknownHostException e) {
+				throw new InvalidDataAccessApiUsageException("invalid inet address in field " + i, e);
+			}
+			break;
+
+		default:
+			throw new InvalidDataAccessApiUsageException("import of " + type + " is not supported, field " + i);
+		}
+	}
+
+	private static boolean isNumber(ByteBuffer buf, int start, int end) {
+		for (int i = start; i != end; ++i) {
+			byte b = buf.get(i);
+			if ((b < '0' || b > '9') && !(i == start && b == '-')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long parseLong(ByteBuffer buf, int start, int end) {
+
+		boolean negative = buf.get(start) == '-';
+		int pos = negative || buf.get(start) == '+' ? start + 1 : start;
+
+		if (pos == end) {
+			throw malformed("number expected");
+		}
+
+		long value = 0;
+		for (; pos != end; ++pos) {
+			int digit = buf.get(pos) - '0';
+			if (digit < 0 || digit > 9) {
+				throw malformed("number expected");
+			}
+			if (value < (Long.MIN_VALUE + digit) / 10) {
+				throw malformed("number out of range");
+			}
+			value = value * 10 - digit;
+		}
+
+		if (!negative) {
+			if (value == Long.MIN_VALUE) {
+				throw malformed("number out of range");
+			}
+			value = -value;
+		}
+		return value;
+	}
+
+	private static boolean parseBoolean(ByteBuffer buf, int start, int end) {
+		int length = end - start;
+		byte first = buf.get(start);
+		if (length == 1 && (first == '1' || first == '0')) {
+			return first == '1';
+		}
+		if (length == 4 && (first == 't' || first == 'T')) {
+			return true;
+		}
+		if (length == 5 && (first == 'f' || first == 'F')) {
+			return false;
+		}
+		throw malformed("boolean expected");
+	}
+
+	private static UUID parseUUID(ByteBuffer buf, int start, int end) {
+		if (end - start != 36) {
+			throw malformed("uuid expected");
+		}
+		long msb = 0;
+		long lsb = 0;
+		int digits = 0;
+		for (int i = start; i != end; ++i) {
+			byte b = buf.get(i);
+			if (b == '-') {
+				continue;
+			}
+			long nibble = hex(b);
+			if (digits < 16) {
+				msb = (msb << 4) | nibble;
+			} else {
+				lsb = (lsb << 4) | nibble;
+			}
+			++digits;
+		}
+		if (digits != 32) {
+			throw malformed("uuid expected");
+		}
+		return new UUID(msb, lsb);
+	}
+
+	private static ByteBuffer parseHex(ByteBuffer buf, int start, int end) {
+		if (end - start >= 2 && buf.get(start) == '0' && (buf.get(start + 1) == 'x' || buf.get(start + 1) == 'X')) {
+			start += 2;
+		}
+		if ((end - start) % 2 != 0) {
+			throw malformed("hex expected");
+		}
+		byte[] bytes = new byte[(end - start) / 2];
+		for (int i = 0; i != bytes.length; ++i) {
+			bytes[i] = (byte) ((hex(buf.get(start + i * 2)) << 4) | hex(buf.get(start + i * 2 + 1)));
+		}
+		return ByteBuffer.wrap(bytes);
+	}
+
+	private static int hex(byte b) {
+		if (b >= '0' && b <= '9') {
+			return b - '0';
+		}
+		if (b >= 'a' && b <= 'f') {
+			return b - 'a' + 10;
+		}
+		if (b >= 'A' && b <= 'F') {
+			return b - 'A' + 10;
+		}
+		throw malformed("hex digit expected");
+	}
+
+	private static ByteBuffer unescape(ByteBuffer buf, int start, int end) {
+		byte[] bytes = new byte[end - start];
+		int length = 0;
+		for (int i = start; i != end; ++i) {
+			byte b = buf.get(i);
+			bytes[length++] = b;
+			if (b == '"') {
+				++i;
+			}
+		}
+		return ByteBuffer.wrap(bytes, 0, length);
+	}
+
+	private static String string(ByteBuffer buf, int start, int end) {
+		byte[] bytes = new byte[end - start];
+		for (int i = 0; i != bytes.length; ++i) {
+			bytes[i] = buf.get(start + i);
+		}
+		return new String(bytes, UTF8);
+	}
+
+	private static InvalidDataAccessApiUsageException malformed(String message) {
+		return new InvalidDataAccessApiUsageException(message);
+	}
+
+}
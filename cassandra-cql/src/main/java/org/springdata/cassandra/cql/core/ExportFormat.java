@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+/**
+ * Output formats of the export operation.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public enum ExportFormat {
+
+	/**
+	 * Comma separated values with the header line of column names. Text and blob values are quoted, nulls are empty.
+	 */
+	CSV,
+
+	/**
+	 * One JSON object per line, column names are keys.
+	 */
+	NDJSON,
+
+	/**
+	 * JSON array of objects, one object per line, column names are keys.
+	 */
+	JSON,
+
+	/**
+	 * Serialized column values as they come from Cassandra. Header is the magic "CQLX", version byte, number of columns
+	 * and for every column its name and CQL type as short length-prefixed UTF-8 strings. Every row is a sequence of
+	 * values, each one is int length (-1 for null) followed by the bytes.
+	 */
+	BINARY;
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+/**
+ * Streams all rows of the table to the channel. Table is read by pages ordered by the token of the partition key, so
+ * memory use does not depend on the table size. Result is the number of exported rows.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public interface ExportOperation extends QueryOperation<Long, ExportOperation> {
+
+	/**
+	 * Sets output format, CSV by default
+	 * 
+	 * @param format
+	 * @return this
+	 */
+	ExportOperation withFormat(ExportFormat format);
+
+	/**
+	 * Sets number of rows selected by one query, 5000 by default. Partition bigger than the page is selected by pages
+	 * ordered by the clustering columns.
+	 * 
+	 * @param pageSize
+	 * @return this
+	 */
+	ExportOperation withPageSize(int pageSize);
+
+	/**
+	 * Sets size of the output buffer reused for all rows, 64K by default
+	 * 
+	 * @param bufferSize
+	 * @return this
+	 */
+	ExportOperation withBufferSize(int bufferSize);
+
+	/**
+	 * Exports only partitions with token in the range (startToken, endToken]. Used to split export of the big table
+	 * between several operations, tokens are Murmur3Partitioner tokens from Long.MIN_VALUE to Long.MAX_VALUE.
+	 * 
+	 * @param startToken exclusive
+	 * @param endToken inclusive
+	 * @return this
+	 */
+	ExportOperation withTokenRange(long startToken, long endToken);
+
+}
@@ -0,0 +1,487 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+
+/**
+ * Encodes rows in the export format directly from the serialized column values to the reusable buffer, writes the
+ * buffer to the channel when it is full. Strings, numbers, uuids and blobs are encoded without allocation, other types
+ * are deserialized by the driver and written by their string form.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+class ExportWriter {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private static final byte[] MAGIC = { 'C', 'Q', 'L', 'X' };
+	private static final byte VERSION = 1;
+
+	private static final byte[] HEX = "0123456789abcdef".getBytes(UTF8);
+	private static final byte[] TRUE = "true".getBytes(UTF8);
+	private static final byte[] FALSE = "false".getBytes(UTF8);
+	private static final byte[] NULL = "null".getBytes(UTF8);
+	private static final byte[] LONG_MIN_VALUE = Long.toString(Long.MIN_VALUE).getBytes(UTF8);
+
+	private static final int MIN_BUFFER_SIZE = 64;
+
+	private final ExportFormat format;
+	private final WritableByteChannel channel;
+	private final ByteBuffer buffer;
+	private final byte[] digits = new byte[20];
+
+	private DataType[] types;
+	private byte[][] keys;
+	private int column;
+	private long rows;
+
+	ExportWriter(ExportFormat format, WritableByteChannel channel, int bufferSize) {
+		Assert.notNull(format);
+		Assert.notNull(channel);
+		Assert.isTrue(bufferSize >= MIN_BUFFER_SIZE, "buffer size must be at least " + MIN_BUFFER_SIZE);
+		this.format = format;
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+	}
+
+	/**
+	 * Writes the header and remembers column types for rows
+	 * 
+	 * @param names
+	 * @param types
+	 */
+	void writeHeader(List<String> names, List<DataType> types) {
+		Assert.isTrue(names.size() == types.size(), "names and types do not match");
+
+		this.types = types.toArray(new DataType[types.size()]);
+
+		switch (format) {
+
+		case CSV:
+			for (int i = 0; i != names.size(); ++i) {
+				if (i != 0) {
+					put((byte) ',');
+				}
+				put(names.get(i).getBytes(UTF8));
+			}
+			put((byte) '\n');
+			break;
+
+		case NDJSON:
+		case JSON:
+			keys = new byte[names.size()][];
+			for (int i = 0; i != names.size(); ++i) {
+				String key = (i == 0 ? "{" : ",") + "\"" + names.get(i) + "\":";
+				keys[i] = key.getBytes(UTF8);
+			}
+			if (format == ExportFormat.JSON) {
+				put((byte) '[');
+			}
+			break;
+
+		case BINARY:
+			put(MAGIC);
+			put(VERSION);
+			ensure(4);
+			buffer.putInt(names.size());
+			for (int i = 0; i != names.size(); ++i) {
+				putShortString(names.get(i));
+				putShortString(types.get(i).toString());
+			}
+			break;
+		}
+	}
+
+	/**
+	 * Writes first columns of the row, the number of columns is defined by the header
+	 * 
+	 * @param row
+	 */
+	void writeRow(Row row) {
+		beginRow();
+		for (int i = 0; i != types.length; ++i) {
+			writeValue(row.getBytesUnsafe(i));
+		}
+		endRow();
+	}
+
+	void beginRow() {
+		column = 0;
+		if (format == ExportFormat.JSON) {
+			ensure(2);
+			if (rows != 0) {
+				buffer.put((byte) ',');
+			}
+			buffer.put((byte) '\n');
+		}
+	}
+
+	void writeValue(ByteBuffer value) {
+
+		Assert.isTrue(column < types.length, "more values than columns");
+
+		DataType type = types[column];
+
+		switch (format) {
+
+		case CSV:
+			if (column != 0) {
+				put((byte) ',');
+			}
+			if (value != null) {
+				writeText(type, value);
+			}
+			break;
+
+		case NDJSON:
+		case JSON:
+			put(keys[column]);
+			if (value != null) {
+				writeJson(type, value);
+			} else {
+				put(NULL);
+			}
+			break;
+
+		case BINARY:
+			ensure(4);
+			if (value != null) {
+				buffer.putInt(value.remaining());
+				put(value);
+			} else {
+				buffer.putInt(-1);
+			}
+			break;
+		}
+
+		++column;
+	}
+
+	void endRow() {
+		Assert.isTrue(column == types.length, "row has " + column + " values for " + types.length + " columns");
+		switch (format) {
+		case CSV:
+			put((byte) '\n');
+			break;
+		case NDJSON:
+			ensure(2);
+			buffer.put((byte) '}').put((byte) '\n');
+			break;
+		case JSON:
+			put((byte) '}');
+			break;
+		default:
+			break;
+		}
+		++rows;
+	}
+
+	/**
+	 * Writes the end of the output after the last row
+	 */
+	void writeFooter() {
+		if (format == ExportFormat.JSON) {
+			ensure(3);
+			buffer.put((byte) '\n').put((byte) ']').put((byte) '\n');
+		}
+	}
+
+	/**
+	 * Writes buffered bytes to the channel
+	 */
+	void flush() {
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new DataAccessResourceFailureException("export write failed", e);
+		} finally {
+			buffer.clear();
+		}
+	}
+
+	private void writeText(DataType type, ByteBuffer value) {
+
+		switch (type.getName()) {
+
+		case ASCII:
+		case TEXT:
+		case VARCHAR:
+			put((byte) '"');
+			for (int i = value.position(); i != value.limit(); ++i) {
+				byte b = value.get(i);
+				if (b == '"') {
+					ensure(2);
+					buffer.put(b);
+				}
+				put(b);
+			}
+			put((byte) '"');
+			break;
+
+		case BLOB:
+			writeHex(value);
+			break;
+
+		case LIST:
+		case SET:
+		case MAP:
+		case CUSTOM:
+			writeQuoted(deserializeToString(type, value), false);
+			break;
+
+		default:
+			writeScalar(type, value);
+			break;
+		}
+	}
+
+	private void writeJson(DataType type, ByteBuffer value) {
+
+		switch (type.getName()) {
+
+		case ASCII:
+		case TEXT:
+		case VARCHAR:
+			put((byte) '"');
+			for (int i = value.position(); i != value.limit(); ++i) {
+				putJsonEscaped(value.get(i));
+			}
+			put((byte) '"');
+			break;
+
+		case BLOB:
+			put((byte) '"');
+			writeHex(value);
+			put((byte) '"');
+			break;
+
+		case UUID:
+		case TIMEUUID:
+			put((byte) '"');
+			writeScalar(type, value);
+			put((byte) '"');
+			break;
+
+		case DOUBLE:
+		case FLOAT:
+			String number = deserializeToString(type, value);
+			if (Character.isDigit(number.charAt(number.length() - 1))) {
+				putAscii(number);
+			} else {
+				writeQuoted(number, true);
+			}
+			break;
+
+		case BIGINT:
+		case COUNTER:
+		case INT:
+		case TIMESTAMP:
+		case BOOLEAN:
+		case DECIMAL:
+		case VARINT:
+			writeScalar(type, value);
+			break;
+
+		default:
+			writeQuoted(deserializeToString(type, value), true);
+			break;
+		}
+	}
+
+	private void writeScalar(DataType type, ByteBuffer value) {
+
+		int pos = value.position();
+
+		switch (type.getName()) {
+
+		case INT:
+			putLong(value.getInt(pos));
+			break;
+
+		case BIGINT:
+		case COUNTER:
+		case TIMESTAMP:
+			putLong(value.getLong(pos));
+			break;
+
+		case BOOLEAN:
+			put(value.get(pos) != 0 ? TRUE : FALSE);
+			break;
+
+		case UUID:
+		case TIMEUUID:
+			long msb = value.getLong(pos);
+			long lsb = value.getLong(pos + 8);
+			ensure(36);
+			putHex(msb >>> 32, 8);
+			buffer.put((byte) '-');
+			putHex(msb >>> 16, 4);
+			buffer.put((byte) '-');
+			putHex(msb, 4);
+			buffer.put((byte) '-');
+			putHex(lsb >>> 48, 4);
+			buffer.put((byte) '-');
+			putHex(lsb, 12);
+			break;
+
+		default:
+			putAscii(deserializeToString(type, value));
+			break;
+		}
+	}
+
+	private void writeHex(ByteBuffer value) {
+		put((byte) '0');
+		put((byte) 'x');
+		for (int i = value.position(); i != value.limit(); ++i) {
+			ensure(2);
+			putHex(value.get(i), 2);
+		}
+	}
+
+	private void writeQuoted(String str, boolean json) {
+		byte[] bytes = str.getBytes(UTF8);
+		put((byte) '"');
+		for (byte b : bytes) {
+			if (json) {
+				putJsonEscaped(b);
+			} else {
+				if (b == '"') {
+					put(b);
+				}
+				put(b);
+			}
+		}
+		put((byte) '"');
+	}
+
+	private static String deserializeToString(DataType type, ByteBuffer value) {
+		Object object = type.deserialize(value);
+		if (object instanceof InetAddress) {
+			return ((InetAddress) object).getHostAddress();
+		}
+		if (object instanceof BigDecimal) {
+			return ((BigDecimal) object).toPlainString();
+		}
+		return String.valueOf(object);
+	}
+
+	private void putJsonEscaped(byte b) {
+		ensure(6);
+		if (b == '"' || b == '\\') {
+			buffer.put((byte) '\\').put(b);
+		} else if (b >= 0 && b < 0x20) {
+			buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0');
+			putHex(b, 2);
+		} else {
+			buffer.put(b);
+		}
+	}
+
+	private void putHex(long value, int length) {
+		ensure(length);
+		for (int shift = (length - 1) * 4; shift >= 0; shift -= 4) {
+			buffer.put(HEX[(int) (value >>> shift) & 0xF]);
+		}
+	}
+
+	private void putLong(long value) {
+		if (value == Long.MIN_VALUE) {
+			put(LONG_MIN_VALUE);
+			return;
+		}
+		boolean negative = value < 0;
+		if (negative) {
+			value = -value;
+		}
+		int pos = digits.length;
+		do {
+			digits[--pos] = (byte) ('0' + value % 10);
+			value /= 10;
+		} while (value != 0);
+		ensure(digits.length - pos + 1);
+		if (negative) {
+			buffer.put((byte) '-');
+		}
+		buffer.put(digits, pos, digits.length - pos);
+	}
+
+	private void putAscii(String str) {
+		for (int i = 0; i != str.length(); ++i) {
+			put((byte) str.charAt(i));
+		}
+	}
+
+	private void putShortString(String str) {
+		byte[] bytes = str.getBytes(UTF8);
+		ensure(2);
+		buffer.putShort((short) bytes.length);
+		put(bytes);
+	}
+
+	private void put(byte b) {
+		ensure(1);
+		buffer.put(b);
+	}
+
+	private void put(byte[] bytes) {
+		put(ByteBuffer.wrap(bytes));
+	}
+
+	private void put(ByteBuffer value) {
+		int pos = value.position();
+		if (value.remaining() > buffer.remaining()) {
+			flush();
+		}
+		if (value.remaining() > buffer.remaining()) {
+			try {
+				while (value.hasRemaining()) {
+					channel.write(value);
+				}
+			} catch (IOException e) {
+				throw new DataAccessResourceFailureException("export write failed", e);
+			}
+		} else {
+			buffer.put(value);
+		}
+		value.position(pos);
+	}
+
+	private void ensure(int length) {
+		if (buffer.remaining() < length) {
+			flush();
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+/**
+ * Ingest of the delimited text file (CSV, TSV). The file is memory-mapped and split by lines between parallel workers,
+ * every worker parses its lines and binds fields to the prepared statement by the types of its variables. Result is the
+ * number of ingested rows.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public interface FileIngestOperation extends QueryOperation<Long, FileIngestOperation> {
+
+	/**
+	 * Sets field delimiter, ',' by default. Use '\t' for TSV.
+	 * 
+	 * @param delimiter
+	 * @return this
+	 */
+	FileIngestOperation withDelimiter(char delimiter);
+
+	/**
+	 * Skips the first line of the file
+	 * 
+	 * @param header
+	 * @return this
+	 */
+	FileIngestOperation withHeader(boolean header);
+
+	/**
+	 * Sets number of threads parsing and binding lines, number of processors by default
+	 * 
+	 * @param parallelism
+	 * @return this
+	 */
+	FileIngestOperation withParallelism(int parallelism);
+
+	/**
+	 * Sets maximum number of queries in flight, 256 by default
+	 * 
+	 * @param maxConcurrency
+	 * @return this
+	 */
+	FileIngestOperation withMaxConcurrency(int maxConcurrency);
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.WriteType;
+import com.datastax.driver.core.policies.RetryPolicy;
+
+/**
+ * Retry policy for non-idempotent statements. Write timeouts are never retried because the write could be applied by
+ * some replicas, all other decisions are taken by the delegate. Unavailable errors are safe to retry, the coordinator
+ * does not send the write to replicas in this case.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public final class IdempotenceAwareRetryPolicy implements RetryPolicy {
+
+	private static final ConcurrentMap<RetryPolicy, IdempotenceAwareRetryPolicy> cache = new ConcurrentHashMap<RetryPolicy, IdempotenceAwareRetryPolicy>();
+
+	private final RetryPolicy delegate;
+
+	private IdempotenceAwareRetryPolicy(RetryPolicy delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Returns retry policy for non-idempotent statements based on the given policy
+	 * 
+	 * @param delegate retry policy of the statement
+	 * @return policy that does not retry write timeouts
+	 */
+	public static IdempotenceAwareRetryPolicy wrap(RetryPolicy delegate) {
+		Assert.notNull(delegate);
+
+		if (delegate instanceof IdempotenceAwareRetryPolicy) {
+			return (IdempotenceAwareRetryPolicy) delegate;
+		}
+
+		IdempotenceAwareRetryPolicy policy = cache.get(delegate);
+		if (policy == null) {
+			policy = new IdempotenceAwareRetryPolicy(delegate);
+			IdempotenceAwareRetryPolicy existing = cache.putIfAbsent(delegate, policy);
+			if (existing != null) {
+				policy = existing;
+			}
+		}
+		return policy;
+	}
+
+	public RetryPolicy getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public RetryDecision onReadTimeout(Query query, ConsistencyLevel cl, int requiredResponses, int receivedResponses,
+			boolean dataRetrieved, int nbRetry) {
+		return delegate.onReadTimeout(query, cl, requiredResponses, receivedResponses, dataRetrieved, nbRetry);
+	}
+
+	@Override
+	public RetryDecision onWriteTimeout(Query query, ConsistencyLevel cl, WriteType writeType, int requiredAcks,
+			int receivedAcks, int nbRetry) {
+		RetryDecision decision = delegate.onWriteTimeout(query, cl, writeType, requiredAcks, receivedAcks, nbRetry);
+		if (decision.getType() == RetryDecision.Type.RETRY) {
+			return RetryDecision.rethrow();
+		}
+		return decision;
+	}
+
+	@Override
+	public RetryDecision onUnavailable(Query query, ConsistencyLevel cl, int requiredReplica, int aliveReplica,
+			int nbRetry) {
+		return delegate.onUnavailable(query, cl, requiredReplica, aliveReplica, nbRetry);
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.Statement;
+
+/**
+ * Classifies statements as idempotent or non-idempotent by the CQL text. Only idempotent statements are safe to re-send
+ * by retries and speculative executions.
+ * 
+ * Idempotent are reads and plain INSERT, UPDATE, DELETE with fixed values. Non-idempotent are counter updates, list
+ * appends and prepends, deletes of list elements by index, lightweight transactions (IF clause), statements that
+ * generate values on the server (now(), uuid()), schema and all other statements.
+ * 
+ * The classification is conservative, any assignment that adds to or subtracts from the column makes the statement
+ * non-idempotent even for set and map columns.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public final class Idempotency {
+
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern SELECT = Pattern.compile("^\\s*SELECT\\s");
+	private static final Pattern WRITE = Pattern.compile("^\\s*(INSERT|UPDATE|DELETE|BEGIN\\s+(UNLOGGED\\s+)?BATCH)\\s");
+	private static final Pattern COUNTER_BATCH = Pattern.compile("^\\s*BEGIN\\s+COUNTER\\s+BATCH\\s");
+	private static final Pattern CONDITION = Pattern.compile("\\sIF\\s");
+	private static final Pattern SERVER_VALUE = Pattern.compile("\\b(NOW|UUID)\\s*\\(");
+	private static final Pattern RELATIVE_ASSIGNMENT = Pattern
+			.compile("(\"[^\"]+\"|\\b\\w+)\\s*=\\s*\\1\\s*[+-]");
+	private static final Pattern COLLECTION_PREPEND = Pattern
+			.compile("(\"[^\"]+\"|\\b\\w+)\\s*=[^=;]*?\\+\\s*\\1(?![\\w\"])");
+	private static final Pattern DELETE_ELEMENT = Pattern.compile("DELETE\\s[^;]*?\\[[^;]*?\\sFROM\\s");
+
+	private static final int MAX_CACHED_STATEMENTS = 1024;
+
+	/*
+	 * Cache of classified prepared statements
+	 */
+	private static final ConcurrentMap<String, Boolean> preparedCache = new ConcurrentHashMap<String, Boolean>();
+
+	/**
+	 * No instances allowed
+	 */
+	private Idempotency() {
+	}
+
+	/**
+	 * Classifies the query
+	 * 
+	 * @param query statement or bound statement
+	 * @return true if the query is safe to re-send
+	 */
+	public static boolean isIdempotent(Query query) {
+
+		if (query instanceof BoundStatement) {
+
+			String cql = ((BoundStatement) query).preparedStatement().getQueryString();
+
+			Boolean idempotent = preparedCache.get(cql);
+			if (idempotent == null) {
+				idempotent = isIdempotent(cql);
+				if (preparedCache.size() < MAX_CACHED_STATEMENTS) {
+					preparedCache.put(cql, idempotent);
+				}
+			}
+
+			return idempotent;
+		}
+
+		if (query instanceof Statement) {
+			return isIdempotent(((Statement) query).getQueryString());
+		}
+
+		return false;
+	}
+
+	/**
+	 * Classifies the CQL statement
+	 * 
+	 * @param cql statement text
+	 * @return true if the statement is safe to re-send
+	 */
+	public static boolean isIdempotent(String cql) {
+
+		if (cql == null) {
+			return false;
+		}
+
+		String text = STRING_LITERAL.matcher(cql).replaceAll("''").toUpperCase(Locale.ENGLISH);
+
+		if (SELECT.matcher(text).find()) {
+			return true;
+		}
+
+		if (!WRITE.matcher(text).find() || COUNTER_BATCH.matcher(text).find()) {
+			return false;
+		}
+
+		return !CONDITION.matcher(text).find() && !SERVER_VALUE.matcher(text).find()
+				&& !RELATIVE_ASSIGNMENT.matcher(text).find() && !COLLECTION_PREPEND.matcher(text).find()
+				&& !DELETE_ELEMENT.matcher(text).find();
+	}
+
+}
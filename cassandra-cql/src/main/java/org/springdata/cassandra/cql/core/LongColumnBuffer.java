@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.util.Arrays;
+
+import org.springframework.util.Assert;
+
+/**
+ * Growable array of primitive long values of the column. Can be reused for several queries after clear().
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class LongColumnBuffer implements LongColumnHandler {
+
+	private long[] values;
+	private int size;
+
+	public LongColumnBuffer() {
+		this(1024);
+	}
+
+	public LongColumnBuffer(int initialCapacity) {
+		Assert.isTrue(initialCapacity > 0, "initial capacity must be positive");
+		this.values = new long[initialCapacity];
+	}
+
+	@Override
+	public void processLong(long value) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, size << 1);
+		}
+		values[size++] = value;
+	}
+
+	/**
+	 * Returns number of values
+	 * 
+	 * @return
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns value by index
+	 * 
+	 * @param index
+	 * @return
+	 */
+	public long get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+		}
+		return values[index];
+	}
+
+	/**
+	 * Returns backing array, only first size() elements are valid
+	 * 
+	 * @return
+	 */
+	public long[] array() {
+		return values;
+	}
+
+	/**
+	 * Returns copy of the values
+	 * 
+	 * @return
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Removes all values, capacity does not change
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+}
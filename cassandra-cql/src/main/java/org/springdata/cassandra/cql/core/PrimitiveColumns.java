@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.nio.ByteBuffer;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+/**
+ * Reads the first column of each row as primitive value directly from the row bytes.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+final class PrimitiveColumns {
+
+	private PrimitiveColumns() {
+	}
+
+	static long forEachLong(ResultSet resultSet, LongColumnHandler handler) {
+		DataType.Name type = firstColumnType(resultSet, "long", DataType.Name.BIGINT, DataType.Name.COUNTER,
+				DataType.Name.TIMESTAMP, DataType.Name.INT);
+		boolean isInt = type == DataType.Name.INT;
+		long count = 0;
+		for (Row row : resultSet) {
+			ByteBuffer bytes = row.getBytesUnsafe(0);
+			if (bytes != null && bytes.hasRemaining()) {
+				handler.processLong(isInt ? bytes.getInt(bytes.position()) : bytes.getLong(bytes.position()));
+				count++;
+			}
+		}
+		return count;
+	}
+
+	static long forEachInt(ResultSet resultSet, IntColumnHandler handler) {
+		firstColumnType(resultSet, "int", DataType.Name.INT);
+		long count = 0;
+		for (Row row : resultSet) {
+			ByteBuffer bytes = row.getBytesUnsafe(0);
+			if (bytes != null && bytes.hasRemaining()) {
+				handler.processInt(bytes.getInt(bytes.position()));
+				count++;
+			}
+		}
+		return count;
+	}
+
+	static long forEachDouble(ResultSet resultSet, DoubleColumnHandler handler) {
+		DataType.Name type = firstColumnType(resultSet, "double", DataType.Name.DOUBLE, DataType.Name.FLOAT);
+		boolean isFloat = type == DataType.Name.FLOAT;
+		long count = 0;
+		for (Row row : resultSet) {
+			ByteBuffer bytes = row.getBytesUnsafe(0);
+			if (bytes != null && bytes.hasRemaining()) {
+				handler.processDouble(isFloat ? bytes.getFloat(bytes.position()) : bytes.getDouble(bytes.position()));
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static DataType.Name firstColumnType(ResultSet resultSet, String target, DataType.Name... supported) {
+		ColumnDefinitions cols = resultSet.getColumnDefinitions();
+		if (cols.size() == 0) {
+			throw new InvalidDataAccessApiUsageException("result set does not have columns");
+		}
+		DataType.Name type = cols.getType(0).getName();
+		for (DataType.Name name : supported) {
+			if (name == type) {
+				return type;
+			}
+		}
+		throw new InvalidDataAccessApiUsageException("column '" + cols.getName(0) + "' of type " + type
+				+ " can not be read as " + target);
+	}
+
+}
@@ -50,6 +50,43 @@ public interface QueryOperation<T, O extends QueryOperation<T, O>> {
 	 */
 	O withQueryTracing(Boolean queryTracing);
 
+	/**
+	 * Marks the query operation as idempotent or non-idempotent. By default statements are classified by the CQL text,
+	 * see {@link Idempotency}. Only idempotent queries are retried after write timeouts and executed speculatively.
+	 * 
+	 * @param idempotent Boolean true if the query is safe to re-send
+	 * @return this
+	 */
+	O withIdempotence(Boolean idempotent);
+
+	/**
+	 * Sets deadline for all queries of the operation. Queries are not issued after the deadline, running queries are
+	 * cancelled when it passes and the operation fails with CassandraDeadlineExceededException, a QueryTimeoutException.
+	 * Nonstop executions throw TimeoutException caused by it.
+	 * 
+	 * @param deadline Deadline
+	 * @return this
+	 */
+	O withDeadline(Deadline deadline);
+
+	/**
+	 * Returns result sets received before the deadline instead of failing the multi-query operation. Result sets of
+	 * cancelled queries are null, not issued queries are dropped.
+	 * 
+	 * @param partialResults Boolean to enable/disable partial results
+	 * @return this
+	 */
+	O withPartialResults(Boolean partialResults);
+
+	/**
+	 * Uses circuit breaker for queries of the operation instead of the circuit breaker of the template. Queries to the
+	 * table with open circuit fail fast with CassandraCircuitOpenException.
+	 * 
+	 * @param circuitBreaker CircuitBreaker
+	 * @return this
+	 */
+	O withCircuitBreaker(CircuitBreaker circuitBreaker);
+
 	/**
 	 * Uses fallback handler to send errors in asynchronous execution.
 	 * 
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Sends the query with all options of the operation, used by the circuit breaker and the read coalescer to send the
+ * query the same way as the operation does.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public interface QuerySender {
+
+	/**
+	 * Sends the query
+	 * 
+	 * @param query
+	 * @return future of the result set
+	 */
+	ListenableFuture<ResultSet> send(Query query);
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Single-flight coalescing of identical concurrent reads. Reads with equal fingerprints that arrive while the first one
+ * is in flight share its single request. Rows of the shared result are materialized once, because ResultSet can be
+ * iterated only once, and every caller maps them on its own.
+ * 
+ * Fingerprint consists of the cql, bound values and consistency level. Traced queries are never coalesced. The shared
+ * request is sent by the sender of the first caller, so it is hedged by the speculative executor like any other read.
+ * The request is cancelled when all callers cancel their futures.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class ReadCoalescer {
+
+	private final ConcurrentMap<Object, Flight> inFlight = new ConcurrentHashMap<Object, Flight>();
+
+	private final AtomicLong executed = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+
+	/**
+	 * Creates fingerprint of the statement with inlined values
+	 * 
+	 * @param query
+	 * @return fingerprint or null if the query can not be coalesced
+	 */
+	public static Object fingerprint(Query query) {
+		if (!(query instanceof Statement) || query.isTracing()) {
+			return null;
+		}
+		return new Fingerprint(((Statement) query).getQueryString(), null, query.getConsistencyLevel());
+	}
+
+	/**
+	 * Creates fingerprint of the bound statement, driver does not expose bound values therefore they are given
+	 * explicitly
+	 * 
+	 * @param query bound statement
+	 * @param cql cql of the prepared statement
+	 * @param values bound values
+	 * @return fingerprint or null if the query can not be coalesced
+	 */
+	public static Object fingerprint(Query query, String cql, Object[] values) {
+		if (query.isTracing()) {
+			return null;
+		}
+		return new Fingerprint(cql, values, query.getConsistencyLevel());
+	}
+
+	/**
+	 * Executes the query or joins identical query in flight
+	 * 
+	 * @param fingerprint
+	 * @param query
+	 * @param sender sends the query if there is no identical query in flight
+	 * @return future of all rows, every call gets own future
+	 */
+	public ListenableFuture<List<Row>> execute(Object fingerprint, Query query, QuerySender sender) {
+
+		while (true) {
+
+			Flight flight = inFlight.get(fingerprint);
+			boolean first = false;
+
+			if (flight == null) {
+				Flight newFlight = new Flight(fingerprint);
+				flight = inFlight.putIfAbsent(fingerprint, newFlight);
+				if (flight == null) {
+					flight = newFlight;
+					first = true;
+				}
+			}
+
+			ListenableFuture<List<Row>> result = flight.join();
+
+			if (result == null) {
+				/*
+				 * Flight is completed or cancelled, but not removed yet
+				 */
+				inFlight.remove(fingerprint, flight);
+				continue;
+			}
+
+			if (first) {
+				executed.incrementAndGet();
+				flight.start(query, sender);
+			} else {
+				coalesced.incrementAndGet();
+			}
+
+			return result;
+		}
+	}
+
+	/**
+	 * Number of requests actually sent to Cassandra
+	 * 
+	 * @return count
+	 */
+	public long getExecuted() {
+		return executed.get();
+	}
+
+	/**
+	 * Number of reads that joined a request in flight
+	 * 
+	 * @return count
+	 */
+	public long getCoalesced() {
+		return coalesced.get();
+	}
+
+	/**
+	 * Number of requests in flight
+	 * 
+	 * @return count
+	 */
+	public int getInFlight() {
+		return inFlight.size();
+	}
+
+	/**
+	 * Shared request and its callers. Every caller gets own future, so cancellation by one caller does not affect others.
+	 * The request is cancelled when all callers cancelled their futures, for example by deadline.
+	 */
+	private final class Flight {
+
+		private final Object fingerprint;
+		private final List<SettableFuture<List<Row>>> callers = new ArrayList<SettableFuture<List<Row>>>();
+		private ListenableFuture<ResultSet> request;
+		private boolean closed;
+
+		Flight(Object fingerprint) {
+			this.fingerprint = fingerprint;
+		}
+
+		/**
+		 * Adds the caller
+		 * 
+		 * @return future of the caller or null if the flight does not accept callers anymore
+		 */
+		synchronized ListenableFuture<List<Row>> join() {
+
+			if (closed) {
+				return null;
+			}
+
+			final SettableFuture<List<Row>> result = SettableFuture.create();
+			callers.add(result);
+
+			result.addListener(new Runnable() {
+
+				@Override
+				public void run() {
+					if (result.isCancelled()) {
+						leave(result);
+					}
+				}
+
+			}, MoreExecutors.sameThreadExecutor());
+
+			return result;
+		}
+
+		void start(Query query, QuerySender sender) {
+
+			ListenableFuture<ResultSet> resultSetFuture;
+
+			try {
+				resultSetFuture = sender.send(query);
+			} catch (RuntimeException e) {
+				complete(null, e);
+				return;
+			}
+
+			boolean cancelled;
+			synchronized (this) {
+				request = resultSetFuture;
+				cancelled = closed;
+			}
+
+			if (cancelled) {
+				resultSetFuture.cancel(true);
+			}
+
+			Futures.addCallback(resultSetFuture, new FutureCallback<ResultSet>() {
+
+				@Override
+				public void onSuccess(ResultSet resultSet) {
+					List<Row> rows;
+					try {
+						rows = resultSet.all();
+					} catch (RuntimeException e) {
+						complete(null, e);
+						return;
+					}
+					complete(rows, null);
+				}
+
+				@Override
+				public void onFailure(Throwable t) {
+					complete(null, t);
+				}
+
+			});
+		}
+
+		private void complete(List<Row> rows, Throwable t) {
+
+			List<SettableFuture<List<Row>>> waiting;
+
+			synchronized (this) {
+				closed = true;
+				waiting = new ArrayList<SettableFuture<List<Row>>>(callers);
+				callers.clear();
+			}
+
+			inFlight.remove(fingerprint, this);
+
+			for (SettableFuture<List<Row>> caller : waiting) {
+				if (t == null) {
+					caller.set(rows);
+				} else {
+					caller.setException(t);
+				}
+			}
+		}
+
+		private void leave(SettableFuture<List<Row>> caller) {
+
+			ListenableFuture<ResultSet> cancelled;
+
+			synchronized (this) {
+				if (!callers.remove(caller) || !callers.isEmpty() || closed) {
+					return;
+				}
+				closed = true;
+				cancelled = request;
+			}
+
+			inFlight.remove(fingerprint, this);
+
+			if (cancelled != null) {
+				cancelled.cancel(true);
+			}
+		}
+
+	}
+
+	private static final class Fingerprint {
+
+		private final String cql;
+		private final Object[] values;
+		private final com.datastax.driver.core.ConsistencyLevel consistencyLevel;
+		private final int hashCode;
+
+		Fingerprint(String cql, Object[] values, com.datastax.driver.core.ConsistencyLevel consistencyLevel) {
+			this.cql = cql;
+			this.values = values;
+			this.consistencyLevel = consistencyLevel;
+			this.hashCode = 31 * (31 * cql.hashCode() + Arrays.deepHashCode(values))
+					+ (consistencyLevel != null ? consistencyLevel.hashCode() : 0);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Fingerprint)) {
+				return false;
+			}
+			Fingerprint other = (Fingerprint) obj;
+			return hashCode == other.hashCode && consistencyLevel == other.consistencyLevel && cql.equals(other.cql)
+					&& Arrays.deepEquals(values, other.values);
+		}
+
+	}
+
+}
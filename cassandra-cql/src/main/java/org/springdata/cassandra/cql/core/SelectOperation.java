@@ -66,6 +66,60 @@ public interface SelectOperation extends QueryOperation<ResultSet, SelectOperati
 	 */
 	<E> ProcessOperation<Iterator<E>> firstColumn(Class<E> elementType);
 
+	/**
+	 * Passes non-null values of the first column to the handler as primitive long without boxing.
+	 * 
+	 * @param handler
+	 * @return ProcessOperation with number of processed values
+	 */
+	ProcessOperation<Long> firstColumn(LongColumnHandler handler);
+
+	/**
+	 * Passes non-null values of the first column to the handler as primitive int without boxing.
+	 * 
+	 * @param handler
+	 * @return ProcessOperation with number of processed values
+	 */
+	ProcessOperation<Long> firstColumn(IntColumnHandler handler);
+
+	/**
+	 * Passes non-null values of the first column to the handler as primitive double without boxing.
+	 * 
+	 * @param handler
+	 * @return ProcessOperation with number of processed values
+	 */
+	ProcessOperation<Long> firstColumn(DoubleColumnHandler handler);
+
+	/**
+	 * Retrieves non-null values of the first column to the long buffer.
+	 * 
+	 * @return ProcessOperation
+	 */
+	ProcessOperation<LongColumnBuffer> firstColumnAsLongs();
+
+	/**
+	 * Retrieves non-null values of the first column to the int buffer.
+	 * 
+	 * @return ProcessOperation
+	 */
+	ProcessOperation<IntColumnBuffer> firstColumnAsInts();
+
+	/**
+	 * Retrieves non-null values of the first column to the double buffer.
+	 * 
+	 * @return ProcessOperation
+	 */
+	ProcessOperation<DoubleColumnBuffer> firstColumnAsDoubles();
+
+	/**
+	 * Passes rows in batches of column vectors to the handler.
+	 * 
+	 * @param batchSize maximum number of rows in the batch
+	 * @param handler
+	 * @return ProcessOperation with number of processed rows
+	 */
+	ProcessOperation<Long> columnar(int batchSize, ColumnBatchHandler handler);
+
 	/**
 	 * Maps all rows from ResultSet to Map<String, Object>.
 	 * 
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Speculative (hedged) execution of idempotent queries. If the query is not completed in delayMillis the same query is
+ * sent again, the first successful response wins and the other executions are cancelled. The query fails only if all
+ * started executions fail. Cancellation of the returned future cancels all executions in flight.
+ * 
+ * Enabled by CqlTemplate.setSpeculativeExecutor, query operations use it only for idempotent statements, see
+ * {@link Idempotency}.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class SpeculativeExecutor implements DisposableBean {
+
+	public static final long DEFAULT_DELAY_MILLIS = 50;
+	public static final int DEFAULT_MAX_EXECUTIONS = 2;
+
+	private final long delayMillis;
+	private final int maxExecutions;
+	private final ScheduledExecutorService scheduler;
+
+	private final AtomicLong queries = new AtomicLong();
+	private final AtomicLong speculative = new AtomicLong();
+	private final AtomicLong speculativeWins = new AtomicLong();
+
+	public SpeculativeExecutor() {
+		this(DEFAULT_DELAY_MILLIS, DEFAULT_MAX_EXECUTIONS);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param delayMillis delay before the next execution in milliseconds
+	 * @param maxExecutions max number of executions of one query including the first one
+	 */
+	public SpeculativeExecutor(long delayMillis, int maxExecutions) {
+		Assert.isTrue(delayMillis > 0, "delayMillis must be positive");
+		Assert.isTrue(maxExecutions > 0, "maxExecutions must be positive");
+
+		this.delayMillis = delayMillis;
+		this.maxExecutions = maxExecutions;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "cassandra-speculative-executor");
+				thread.setDaemon(true);
+				return thread;
+			}
+
+		});
+	}
+
+	/**
+	 * Executes the idempotent query
+	 * 
+	 * @param cqlTemplate template to execute the query
+	 * @param query idempotent query with all options
+	 * @return future of the first successful result
+	 */
+	public ListenableFuture<ResultSet> execute(CqlTemplate cqlTemplate, Query query) {
+		Assert.notNull(cqlTemplate);
+		Assert.notNull(query);
+
+		queries.incrementAndGet();
+
+		final Execution execution = new Execution(cqlTemplate, query);
+
+		execution.result.addListener(new Runnable() {
+
+			@Override
+			public void run() {
+				if (execution.result.isCancelled()) {
+					execution.cancelAll(null);
+				}
+			}
+
+		}, MoreExecutors.sameThreadExecutor());
+
+		execution.start();
+		return execution.result;
+	}
+
+	@Override
+	public void destroy() {
+		scheduler.shutdownNow();
+	}
+
+	/**
+	 * Number of executed queries
+	 * 
+	 * @return count
+	 */
+	public long getQueries() {
+		return queries.get();
+	}
+
+	/**
+	 * Number of speculative executions sent
+	 * 
+	 * @return count
+	 */
+	public long getSpeculative() {
+		return speculative.get();
+	}
+
+	/**
+	 * Number of queries completed by the speculative execution
+	 * 
+	 * @return count
+	 */
+	public long getSpeculativeWins() {
+		return speculativeWins.get();
+	}
+
+	private final class Execution {
+
+		private final CqlTemplate cqlTemplate;
+		private final Query query;
+		private final SettableFuture<ResultSet> result = SettableFuture.create();
+		private final List<ResultSetFuture> running = new ArrayList<ResultSetFuture>(maxExecutions);
+
+		private int started;
+		private int failed;
+		private Future<?> timer;
+
+		Execution(CqlTemplate cqlTemplate, Query query) {
+			this.cqlTemplate = cqlTemplate;
+			this.query = query;
+		}
+
+		void start() {
+
+			final int attempt;
+			final ResultSetFuture future;
+
+			synchronized (this) {
+				if (result.isDone() || started == maxExecutions) {
+					return;
+				}
+				attempt = started++;
+				if (attempt > 0) {
+					speculative.incrementAndGet();
+				}
+				try {
+					future = cqlTemplate.doExecuteAsync(query);
+				} catch (RuntimeException e) {
+					started--;
+					if (started == failed) {
+						result.setException(e);
+					}
+					return;
+				}
+				running.add(future);
+				if (started < maxExecutions && !scheduler.isShutdown()) {
+					try {
+						timer = scheduler.schedule(new Runnable() {
+
+							@Override
+							public void run() {
+								start();
+							}
+
+						}, delayMillis, TimeUnit.MILLISECONDS);
+					} catch (RejectedExecutionException e) {
+						timer = null;
+					}
+				}
+			}
+
+			Futures.addCallback(future, new FutureCallback<ResultSet>() {
+
+				@Override
+				public void onSuccess(ResultSet resultSet) {
+					if (result.set(resultSet)) {
+						if (attempt > 0) {
+							speculativeWins.incrementAndGet();
+						}
+						cancelAll(future);
+					}
+				}
+
+				@Override
+				public void onFailure(Throwable t) {
+					synchronized (Execution.this) {
+						failed++;
+						if (failed < started) {
+							return;
+						}
+						if (timer != null) {
+							timer.cancel(false);
+						}
+					}
+					result.setException(t);
+				}
+
+			});
+		}
+
+		/**
+		 * Cancels the timer and all executions except the winner
+		 * 
+		 * @param winner execution to keep or null
+		 */
+		private void cancelAll(ResultSetFuture winner) {
+
+			List<ResultSetFuture> others;
+
+			synchronized (this) {
+				if (timer != null) {
+					timer.cancel(false);
+				}
+				others = new ArrayList<ResultSetFuture>(running);
+			}
+
+			for (ResultSetFuture other : others) {
+				if (other != winner) {
+					other.cancel(true);
+				}
+			}
+		}
+
+	}
+
+}
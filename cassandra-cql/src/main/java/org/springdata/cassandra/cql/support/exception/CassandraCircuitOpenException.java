@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.support.exception;
+
+import org.springframework.dao.TransientDataAccessResourceException;
+
+/**
+ * Spring data access exception for a query rejected without sending because the circuit breaker of the table or host
+ * is open.
+ * 
+ * @author Alex Shvid
+ */
+public class CassandraCircuitOpenException extends TransientDataAccessResourceException {
+
+	private static final long serialVersionUID = 2386504126453417740L;
+
+	private final String circuit;
+
+	public CassandraCircuitOpenException(String circuit, String msg) {
+		super(msg);
+		this.circuit = circuit;
+	}
+
+	public String getCircuit() {
+		return circuit;
+	}
+}
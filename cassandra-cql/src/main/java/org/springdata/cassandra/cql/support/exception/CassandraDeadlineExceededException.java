@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.support.exception;
+
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Spring data access exception for an operation that did not complete before its deadline. Unlike server read and write
+ * timeouts it is raised on the client, the query was not issued or was cancelled.
+ * 
+ * @author Alex Shvid
+ */
+public class CassandraDeadlineExceededException extends QueryTimeoutException {
+
+	private static final long serialVersionUID = -2709314530217437523L;
+
+	public CassandraDeadlineExceededException(String msg) {
+		super(msg);
+	}
+}
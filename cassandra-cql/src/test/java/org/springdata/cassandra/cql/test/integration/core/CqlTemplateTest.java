@@ -26,7 +26,12 @@ import java.util.Map;
 import java.util.UUID;
 
 import org.junit.Test;
+import org.springdata.cassandra.cql.core.ColumnBatch;
+import org.springdata.cassandra.cql.core.ColumnBatchHandler;
+import org.springdata.cassandra.cql.core.ColumnVector;
 import org.springdata.cassandra.cql.core.HostMapper;
+import org.springdata.cassandra.cql.core.IntColumnBuffer;
+import org.springdata.cassandra.cql.core.LongColumnHandler;
 import org.springdata.cassandra.cql.core.QueryCreator;
 import org.springdata.cassandra.cql.core.ResultSetExtractor;
 import org.springdata.cassandra.cql.core.RingMember;
@@ -35,6 +40,7 @@ import org.springdata.cassandra.cql.core.RowMapper;
 import org.springdata.cassandra.cql.core.SessionCallback;
 import org.springdata.cassandra.cql.core.SimpleQueryCreator;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.Host;
@@ -353,6 +359,78 @@ public class CqlTemplateTest extends AbstractCassandraOperations {
 
 	}
 
+	@Test
+	public void firstColumnPrimitiveTest() {
+
+		insertBooks();
+
+		String cql = "select pages from book where isbn in ('1234', '2345', '3456')";
+
+		IntColumnBuffer pages = cqlTemplate.select(cql).firstColumnAsInts().execute();
+		assertEquals(3, pages.size());
+		for (int i = 0; i != pages.size(); ++i) {
+			assertEquals(456, pages.get(i));
+		}
+
+		final long[] sum = new long[1];
+		Long count = cqlTemplate.select(cql).firstColumn(new LongColumnHandler() {
+
+			@Override
+			public void processLong(long value) {
+				sum[0] += value;
+			}
+
+		}).execute();
+
+		assertEquals(Long.valueOf(3), count);
+		assertEquals(3 * 456L, sum[0]);
+	}
+
+	@Test
+	public void columnarTest() {
+
+		insertBooks();
+
+		final List<Integer> batchSizes = Lists.newArrayList();
+		final List<String> isbns = Lists.newArrayList();
+		final long[] pages = new long[1];
+
+		Long count = cqlTemplate.select("select isbn, pages from book where isbn in ('1234', '2345', '3456')")
+				.columnar(2, new ColumnBatchHandler() {
+
+					@Override
+					public void processBatch(ColumnBatch batch) {
+						batchSizes.add(batch.getRowCount());
+
+						ColumnVector isbn = batch.getColumn("isbn");
+						for (int i = 0; i != batch.getRowCount(); ++i) {
+							isbns.add(isbn.getString(i));
+						}
+
+						ColumnVector pagesColumn = batch.getColumn(1);
+						int[] values = pagesColumn.getInts();
+						for (int i = 0; i != batch.getRowCount(); ++i) {
+							if (!pagesColumn.isNull(i)) {
+								pages[0] += values[i];
+							}
+						}
+					}
+
+				}).execute();
+
+		assertEquals(Long.valueOf(3), count);
+		assertEquals(ImmutableList.of(2, 1), batchSizes);
+		assertTrue(isbns.containsAll(ImmutableList.of("1234", "2345", "3456")));
+		assertEquals(3 * 456L, pages[0]);
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void firstColumnPrimitiveTestInvalidType() {
+
+		cqlTemplate.select("select title from book where isbn in ('" + ISBN_NINES + "')").firstColumnAsDoubles().execute();
+
+	}
+
 	@Test
 	public void processOneTestResultSetType() {
 
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.test.integration.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+import org.junit.Test;
+import org.springdata.cassandra.cql.core.ExportFormat;
+
+/**
+ * @author Alex Shvid
+ */
+public class ExportOperationsTest extends AbstractCassandraOperations {
+
+	@Test
+	public void exportCsvByPages() throws Exception {
+
+		insertBooks();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = cqlTemplate.export("book", Channels.newChannel(out)).withPageSize(1).execute();
+
+		assertEquals(4, rows);
+
+		String csv = out.toString("UTF-8");
+		String[] lines = csv.split("\n");
+
+		assertEquals(5, lines.length);
+		assertTrue(lines[0].startsWith("isbn,"));
+		assertTrue(csv.contains("\"Moby Dick\""));
+		assertTrue(csv.contains(",456"));
+		assertTrue(csv.contains("\"Book of Nines\""));
+	}
+
+	@Test
+	public void exportNdjson() throws Exception {
+
+		insertBooks();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = cqlTemplate.export("book", Channels.newChannel(out)).withFormat(ExportFormat.NDJSON).executeAsync()
+				.getUninterruptibly();
+
+		assertEquals(4, rows);
+
+		String json = out.toString("UTF-8");
+		assertEquals(4, json.split("\n").length);
+		assertTrue(json.contains("{\"isbn\":\"2345\","));
+		assertTrue(json.contains("\"title\":\"War and Peace\""));
+		assertTrue(json.contains("\"pages\":456"));
+	}
+
+	@Test
+	public void exportJsonArray() throws Exception {
+
+		insertBooks();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = cqlTemplate.export("book", Channels.newChannel(out)).withFormat(ExportFormat.JSON).withPageSize(2)
+				.execute();
+
+		assertEquals(4, rows);
+
+		String json = out.toString("UTF-8");
+		assertTrue(json.startsWith("[\n{\"isbn\":"));
+		assertTrue(json.endsWith("}\n]\n"));
+		assertEquals(3, json.split("},\n").length - 1);
+		assertTrue(json.contains("\"title\":\"War and Peace\""));
+	}
+
+	@Test
+	public void exportWidePartitionByPages() throws Exception {
+
+		String cql = "insert into book_chapter (isbn, volume, chapter, title) values (?, ?, ?, ?)";
+
+		Object[][] values = new Object[12][];
+		for (int i = 0; i != values.length; ++i) {
+			values[i] = new Object[] { i < 9 ? "1234" : "2345", i % 3, i / 3, "chapter " + i };
+		}
+		cqlTemplate.ingest(cqlTemplate.prepareStatement(cql), values).execute();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = cqlTemplate.export("book_chapter", Channels.newChannel(out)).withPageSize(2).execute();
+
+		assertEquals(12, rows);
+
+		String csv = out.toString("UTF-8");
+		for (int i = 0; i != values.length; ++i) {
+			assertEquals(csv, csv.indexOf("\"chapter " + i + "\""), csv.lastIndexOf("\"chapter " + i + "\""));
+			assertTrue(csv, csv.contains("\"chapter " + i + "\""));
+		}
+	}
+
+	@Test
+	public void exportBinary() throws Exception {
+
+		insertBooks();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long rows = cqlTemplate.export("book", Channels.newChannel(out)).withFormat(ExportFormat.BINARY).execute();
+
+		assertEquals(4, rows);
+
+		ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray());
+		assertEquals('C', bytes.get());
+		assertEquals('Q', bytes.get());
+		assertEquals('L', bytes.get());
+		assertEquals('X', bytes.get());
+		assertEquals(1, bytes.get());
+		assertEquals(4, bytes.getInt());
+	}
+
+}
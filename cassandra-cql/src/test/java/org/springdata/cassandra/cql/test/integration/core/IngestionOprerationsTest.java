@@ -15,6 +15,11 @@
  */
 package org.springdata.cassandra.cql.test.integration.core;
 
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
 
 import org.junit.Test;
@@ -63,4 +68,35 @@ public class IngestionOprerationsTest extends AbstractCassandraOperations {
 
 	}
 
+	@Test
+	public void ingestionTestFile() throws IOException {
+
+		File file = File.createTempFile("books", ".csv");
+		file.deleteOnExit();
+
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(("isbn,title,author,pages\n" + "1234,Moby Dick,Herman Manville,456\r\n"
+					+ "2345,\"War and Peace\",\"Russian Dude\",456\n" + "3456,Jane Ayre,Charlotte,456").getBytes("UTF-8"));
+		} finally {
+			out.close();
+		}
+
+		String cql = "insert into book (isbn, title, author, pages) values (?, ?, ?, ?)";
+
+		long rows = cqlTemplate.ingest(cqlTemplate.prepareStatement(cql), file).withHeader(true).withParallelism(2)
+				.execute();
+
+		assertEquals(3, rows);
+
+		// Assert that the rows were inserted into Cassandra
+		Book b1 = getBook("1234");
+		Book b2 = getBook("2345");
+		Book b3 = getBook("3456");
+
+		assertBook(b1, objectToBook(o1));
+		assertBook(b2, objectToBook(o2));
+		assertBook(b3, objectToBook(o3));
+	}
+
 }
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.test.unit.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springdata.cassandra.cql.core.CircuitBreaker.getTableName;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springdata.cassandra.cql.core.CassandraFuture;
+import org.springdata.cassandra.cql.core.CircuitBreaker;
+import org.springdata.cassandra.cql.core.CircuitBreakerLoadBalancingPolicy;
+import org.springdata.cassandra.cql.core.CqlTemplate;
+import org.springdata.cassandra.cql.support.exception.CassandraCircuitOpenException;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.ReadTimeoutException;
+import com.datastax.driver.core.policies.LoadBalancingPolicy;
+import com.google.common.collect.Lists;
+
+public class CircuitBreakerTest {
+
+	@Test
+	public void testTableNames() throws Exception {
+		assertEquals("users", getTableName("SELECT * FROM users WHERE username='alice';"));
+		assertEquals("test.users", getTableName("select * from Test.Users where username=?"));
+		assertEquals("test.Users", getTableName("INSERT INTO test.\"Users\"(username) VALUES ('alice');"));
+		assertEquals("users", getTableName("UPDATE users SET place='FROM moon' WHERE username='alice';"));
+		assertEquals("users", getTableName("DELETE emails[0] FROM users WHERE username='alice';"));
+		assertEquals("page_views",
+				getTableName("BEGIN COUNTER BATCH UPDATE page_views SET views=views+1 WHERE page='a';APPLY BATCH;"));
+		assertNull(getTableName("USE test;"));
+		assertNull(getTableName((String) null));
+	}
+
+	@Test
+	public void testCircuitsAreClosedByDefault() throws Exception {
+		CircuitBreaker circuitBreaker = new CircuitBreaker();
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getTableState("users"));
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getHostState(InetAddress.getByName("127.0.0.1")));
+		assertEquals(0, circuitBreaker.getRejected());
+		assertEquals(0, circuitBreaker.getTrips());
+	}
+
+	@Test
+	public void testTripsOnFailureRate() throws Exception {
+		StubSession stubSession = new StubSession();
+		CqlTemplate cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+		CircuitBreaker circuitBreaker = new CircuitBreaker(0.5, 1000, 1.0, 4, 100);
+
+		runQueries(stubSession, cqlTemplate, circuitBreaker, 2, false);
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getTableState("users"));
+
+		runQueries(stubSession, cqlTemplate, circuitBreaker, 2, true);
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getTableState("users"));
+		assertEquals(1, circuitBreaker.getTrips());
+
+		CassandraFuture<ResultSet> rejected = select(cqlTemplate, circuitBreaker);
+		assertFailedWith(CassandraCircuitOpenException.class, rejected);
+		assertEquals(4, stubSession.getExecuted());
+		assertEquals(1, circuitBreaker.getRejected());
+
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getTableState("users_by_email"));
+	}
+
+	@Test
+	public void testInvalidQueriesDoNotTrip() throws Exception {
+		StubSession stubSession = new StubSession();
+		CqlTemplate cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+		CircuitBreaker circuitBreaker = new CircuitBreaker(0.5, 1000, 1.0, 4, 100);
+
+		for (int i = 0; i != 8; ++i) {
+			CassandraFuture<ResultSet> future = select(cqlTemplate, circuitBreaker);
+			stubSession.next().fail(new InvalidQueryException("unknown column"));
+			assertTrue(future.isDone());
+		}
+
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getTableState("users"));
+		assertEquals(0, circuitBreaker.getTrips());
+	}
+
+	@Test
+	public void testHalfOpenProbeCloses() throws Exception {
+		StubSession stubSession = new StubSession();
+		CqlTemplate cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+		CircuitBreaker circuitBreaker = new CircuitBreaker(0.5, 1000, 1.0, 4, 100);
+
+		runQueries(stubSession, cqlTemplate, circuitBreaker, 4, true);
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getTableState("users"));
+
+		Thread.sleep(150);
+
+		CassandraFuture<ResultSet> probe = select(cqlTemplate, circuitBreaker);
+		assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getTableState("users"));
+
+		assertFailedWith(CassandraCircuitOpenException.class, select(cqlTemplate, circuitBreaker));
+
+		stubSession.next().succeed();
+		probe.getUninterruptibly();
+
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getTableState("users"));
+		runQueries(stubSession, cqlTemplate, circuitBreaker, 3, false);
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getTableState("users"));
+	}
+
+	@Test
+	public void testFailedProbeOpensAgain() throws Exception {
+		StubSession stubSession = new StubSession();
+		CqlTemplate cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+		CircuitBreaker circuitBreaker = new CircuitBreaker(0.5, 1000, 1.0, 4, 100);
+
+		runQueries(stubSession, cqlTemplate, circuitBreaker, 4, true);
+		Thread.sleep(150);
+
+		runQueries(stubSession, cqlTemplate, circuitBreaker, 1, true);
+
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getTableState("users"));
+		assertEquals(2, circuitBreaker.getTrips());
+		assertFailedWith(CassandraCircuitOpenException.class, select(cqlTemplate, circuitBreaker));
+	}
+
+	@Test
+	public void testTripsOnSlowCalls() throws Exception {
+		StubSession stubSession = new StubSession();
+		CqlTemplate cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+		CircuitBreaker circuitBreaker = new CircuitBreaker(1.0, 20, 0.5, 2, 100);
+
+		for (int i = 0; i != 2; ++i) {
+			CassandraFuture<ResultSet> future = select(cqlTemplate, circuitBreaker);
+			Thread.sleep(30);
+			stubSession.next().succeed();
+			future.getUninterruptibly();
+		}
+
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getTableState("users"));
+	}
+
+	@Test
+	public void testLoadBalancingPolicySkipsOpenHosts() throws Exception {
+		StubSession stubSession = new StubSession();
+		CqlTemplate cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+		CircuitBreaker circuitBreaker = new CircuitBreaker(0.5, 1000, 1.0, 2, 100);
+
+		InetAddress failing = InetAddress.getByName("127.0.0.1");
+		InetAddress healthy = InetAddress.getByName("127.0.0.2");
+		final Host failingHost = host(failing);
+		final Host healthyHost = host(healthy);
+
+		LoadBalancingPolicy childPolicy = mock(LoadBalancingPolicy.class);
+		when(childPolicy.newQueryPlan(any(Query.class))).thenAnswer(new Answer<Iterator<Host>>() {
+
+			@Override
+			public Iterator<Host> answer(InvocationOnMock invocation) throws Throwable {
+				return Arrays.asList(failingHost, healthyHost).iterator();
+			}
+
+		});
+
+		CircuitBreakerLoadBalancingPolicy policy = new CircuitBreakerLoadBalancingPolicy(childPolicy, circuitBreaker);
+		assertEquals(Arrays.asList(failingHost, healthyHost), Lists.newArrayList(policy.newQueryPlan(null)));
+
+		for (int i = 0; i != 2; ++i) {
+			CassandraFuture<ResultSet> future = select(cqlTemplate, circuitBreaker);
+			stubSession.next().fail(
+					new NoHostAvailableException(Collections.<InetAddress, String> singletonMap(failing, "timed out")));
+			assertTrue(future.isDone());
+		}
+
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getHostState(failing));
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getHostState(healthy));
+		assertEquals(Arrays.asList(healthyHost), Lists.newArrayList(policy.newQueryPlan(null)));
+
+		Thread.sleep(150);
+
+		assertEquals(Arrays.asList(failingHost, healthyHost), Lists.newArrayList(policy.newQueryPlan(null)));
+		assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getHostState(failing));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidThreshold() throws Exception {
+		new CircuitBreaker(1.5, 100, 0.5, 10, 1000);
+	}
+
+	private static CassandraFuture<ResultSet> select(CqlTemplate cqlTemplate, CircuitBreaker circuitBreaker) {
+		return cqlTemplate.select("SELECT * FROM users WHERE username='alice'").withCircuitBreaker(circuitBreaker)
+				.executeAsync();
+	}
+
+	private static void runQueries(StubSession stubSession, CqlTemplate cqlTemplate, CircuitBreaker circuitBreaker,
+			int count, boolean fail) throws Exception {
+		for (int i = 0; i != count; ++i) {
+			CassandraFuture<ResultSet> future = select(cqlTemplate, circuitBreaker);
+			if (fail) {
+				stubSession.next().fail(new ReadTimeoutException(ConsistencyLevel.ONE, 0, 1, false));
+			} else {
+				stubSession.next().succeed();
+			}
+			assertTrue(future.isDone());
+		}
+	}
+
+	private static void assertFailedWith(Class<? extends Exception> expected, CassandraFuture<ResultSet> future) {
+		try {
+			future.getUninterruptibly();
+			fail("query must fail");
+		} catch (RuntimeException e) {
+			assertTrue(e.getClass().getName(), expected.isInstance(e));
+		}
+	}
+
+	private static Host host(InetAddress address) {
+		Host host = mock(Host.class);
+		when(host.getAddress()).thenReturn(address);
+		return host;
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.test.unit.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import org.springdata.cassandra.cql.core.CassandraFuture;
+import org.springdata.cassandra.cql.core.CqlTemplate;
+import org.springdata.cassandra.cql.core.Deadline;
+import org.springdata.cassandra.cql.support.exception.CassandraDeadlineExceededException;
+import org.springdata.cassandra.cql.support.exception.CassandraReadTimeoutException;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.exceptions.ReadTimeoutException;
+
+public class DeadlineTest {
+
+	private static final String CQL = "SELECT * FROM users WHERE username='alice'";
+
+	@Test
+	public void testExpiration() throws Exception {
+		Deadline expired = Deadline.after(0, TimeUnit.MILLISECONDS);
+		assertTrue(expired.isExpired());
+		assertEquals(0, expired.timeRemaining(TimeUnit.NANOSECONDS));
+
+		Deadline future = Deadline.after(1, TimeUnit.MINUTES);
+		assertFalse(future.isExpired());
+		long remaining = future.timeRemaining(TimeUnit.MILLISECONDS);
+		assertTrue(remaining > 0 && remaining <= TimeUnit.MINUTES.toMillis(1));
+	}
+
+	@Test
+	public void testMin() throws Exception {
+		Deadline early = Deadline.after(1, TimeUnit.SECONDS);
+		Deadline late = Deadline.after(1, TimeUnit.MINUTES);
+		assertSame(early, early.min(late));
+		assertSame(early, late.min(early));
+		assertSame(late, late.min(null));
+	}
+
+	@Test
+	public void testExpiredDeadlineSkipsQuery() throws Exception {
+		StubSession stubSession = new StubSession();
+		CqlTemplate cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+
+		CassandraFuture<ResultSet> future = cqlTemplate.select(CQL)
+				.withDeadline(Deadline.after(0, TimeUnit.MILLISECONDS)).executeAsync();
+
+		assertTimedOut(future);
+		assertEquals(0, stubSession.getExecuted());
+	}
+
+	@Test
+	public void testCancelsQueryAtDeadline() throws Exception {
+		StubSession stubSession = new StubSession();
+		CqlTemplate cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+
+		CassandraFuture<ResultSet> future = cqlTemplate.select(CQL)
+				.withDeadline(Deadline.after(50, TimeUnit.MILLISECONDS)).executeAsync();
+		StubSession.PendingQuery query = stubSession.next();
+
+		assertTimedOut(future);
+		assertTrue(query.isCancelled());
+	}
+
+	@Test
+	public void testCompletesBeforeDeadline() throws Exception {
+		StubSession stubSession = new StubSession();
+		CqlTemplate cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+
+		CassandraFuture<ResultSet> future = cqlTemplate.select(CQL).withDeadline(Deadline.after(1, TimeUnit.MINUTES))
+				.executeAsync();
+		StubSession.PendingQuery query = stubSession.next();
+		query.succeed();
+
+		assertTrue(future.getUninterruptibly().all().isEmpty());
+		assertFalse(query.isCancelled());
+	}
+
+	@Test
+	public void testNonstopTimeoutKeepsCause() throws Exception {
+		StubSession stubSession = new StubSession();
+		CqlTemplate cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+
+		try {
+			cqlTemplate.select(CQL).executeNonstop(50);
+			fail("query must time out");
+		} catch (TimeoutException e) {
+			assertTrue(e.getCause() instanceof CassandraDeadlineExceededException);
+		}
+
+		assertTrue(stubSession.next().isCancelled());
+	}
+
+	@Test
+	public void testServerTimeoutIsNotTranslated() throws Exception {
+		final StubSession stubSession = new StubSession();
+		CqlTemplate cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+
+		Thread responder = new Thread() {
+
+			@Override
+			public void run() {
+				try {
+					stubSession.next().fail(new ReadTimeoutException(ConsistencyLevel.ONE, 0, 1, false));
+				} catch (InterruptedException e) {
+				}
+			}
+
+		};
+		responder.start();
+
+		try {
+			cqlTemplate.select(CQL).executeNonstop((int) TimeUnit.MINUTES.toMillis(1));
+			fail("query must fail");
+		} catch (CassandraReadTimeoutException e) {
+		}
+
+		responder.join();
+	}
+
+	private static void assertTimedOut(CassandraFuture<ResultSet> future) {
+		try {
+			future.getUninterruptibly();
+			fail("query must time out");
+		} catch (CassandraDeadlineExceededException e) {
+		}
+	}
+
+}
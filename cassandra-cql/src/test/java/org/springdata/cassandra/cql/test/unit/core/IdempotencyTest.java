@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.test.unit.core;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springdata.cassandra.cql.core.Idempotency.isIdempotent;
+
+import org.junit.Test;
+
+public class IdempotencyTest {
+
+	@Test
+	public void testReadsAndPlainWritesAreIdempotent() throws Exception {
+		assertTrue(isIdempotent("SELECT * FROM users WHERE username='alice';"));
+		assertTrue(isIdempotent("INSERT INTO users(username,place) VALUES ('alice','Moon');"));
+		assertTrue(isIdempotent("UPDATE users SET place='Moon' WHERE username='alice';"));
+		assertTrue(isIdempotent("UPDATE users SET place=? WHERE id=f7a04220-6dda-11e3-981f-0800200c9a66;"));
+		assertTrue(isIdempotent("DELETE FROM users WHERE username='alice';"));
+		assertTrue(isIdempotent("BEGIN UNLOGGED BATCH INSERT INTO users(username) VALUES ('a');APPLY BATCH;"));
+		assertTrue(isIdempotent("UPDATE users SET place='count = count + 1' WHERE username='alice';"));
+		assertTrue(isIdempotent("UPDATE users SET emails = ? + emails_archive WHERE username = ?"));
+		assertTrue(isIdempotent("UPDATE users SET emails = ?, place = ? WHERE username = ?"));
+	}
+
+	@Test
+	public void testCountersAppendsAndConditionsAreNotIdempotent() throws Exception {
+		assertFalse(isIdempotent("UPDATE page_views SET views=views+1 WHERE page='index.html';"));
+		assertFalse(isIdempotent("UPDATE page_views SET views = views - ? WHERE page = ?"));
+		assertFalse(isIdempotent("UPDATE users SET emails=emails+['a@b.com'] WHERE username='alice';"));
+		assertFalse(isIdempotent("UPDATE users SET emails=['a@b.com']+emails WHERE username='alice';"));
+		assertFalse(isIdempotent("UPDATE users SET emails = ? + emails WHERE username = ?"));
+		assertFalse(isIdempotent("UPDATE users SET emails=:emails+emails WHERE username=:username;"));
+		assertFalse(isIdempotent("UPDATE users SET \"Emails\" = ? + \"Emails\" WHERE username = ?"));
+		assertFalse(isIdempotent("UPDATE users SET place = ?, emails = ? + emails WHERE username = ?"));
+		assertFalse(isIdempotent("DELETE emails[0] FROM users WHERE username='alice';"));
+		assertFalse(isIdempotent("INSERT INTO users(username) VALUES ('alice') IF NOT EXISTS;"));
+		assertFalse(isIdempotent("UPDATE users SET place='Moon' WHERE username='alice' IF place='Mars';"));
+		assertFalse(isIdempotent("INSERT INTO events(id,time) VALUES (1,now());"));
+		assertFalse(isIdempotent("BEGIN COUNTER BATCH UPDATE page_views SET views=views+1 WHERE page='a';APPLY BATCH;"));
+		assertFalse(isIdempotent("CREATE TABLE users (username text PRIMARY KEY);"));
+		assertFalse(isIdempotent((String) null));
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.test.unit.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+import org.springdata.cassandra.cql.core.QuerySender;
+import org.springdata.cassandra.cql.core.ReadCoalescer;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SimpleStatement;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+public class ReadCoalescerTest {
+
+	@Test
+	public void testFingerprints() throws Exception {
+		Query query = new SimpleStatement("SELECT * FROM users WHERE username='alice'");
+
+		assertEquals(ReadCoalescer.fingerprint(query),
+				ReadCoalescer.fingerprint(new SimpleStatement("SELECT * FROM users WHERE username='alice'")));
+		assertEquals(ReadCoalescer.fingerprint(query, "SELECT * FROM users WHERE username=?", new Object[] { "alice" }),
+				ReadCoalescer.fingerprint(query, "SELECT * FROM users WHERE username=?", new Object[] { "alice" }));
+		assertTrue(!ReadCoalescer.fingerprint(query).equals(
+				ReadCoalescer.fingerprint(new SimpleStatement("SELECT * FROM users WHERE username='bob'"))));
+
+		Query quorum = new SimpleStatement("SELECT * FROM users WHERE username='alice'");
+		quorum.setConsistencyLevel(ConsistencyLevel.QUORUM);
+		assertTrue(!ReadCoalescer.fingerprint(query).equals(ReadCoalescer.fingerprint(quorum)));
+
+		Query traced = new SimpleStatement("SELECT * FROM users WHERE username='alice'");
+		traced.enableTracing();
+		assertNull(ReadCoalescer.fingerprint(traced));
+	}
+
+	@Test
+	public void testSharesRequestOfIdenticalReads() throws Exception {
+		ReadCoalescer readCoalescer = new ReadCoalescer();
+		StubSender sender = new StubSender();
+		Query query = new SimpleStatement("SELECT * FROM users WHERE username='alice'");
+		Object fingerprint = ReadCoalescer.fingerprint(query);
+
+		ListenableFuture<List<Row>> first = readCoalescer.execute(fingerprint, query, sender);
+		ListenableFuture<List<Row>> second = readCoalescer.execute(fingerprint, query, sender);
+
+		assertEquals(1, sender.requests.size());
+		assertEquals(1, readCoalescer.getInFlight());
+
+		List<Row> rows = Collections.singletonList(mock(Row.class));
+		sender.requests.get(0).set(StubSession.resultSet(rows));
+
+		assertSame(rows, first.get());
+		assertSame(rows, second.get());
+		assertEquals(1, readCoalescer.getExecuted());
+		assertEquals(1, readCoalescer.getCoalesced());
+		assertEquals(0, readCoalescer.getInFlight());
+
+		readCoalescer.execute(fingerprint, query, sender);
+		assertEquals(2, sender.requests.size());
+	}
+
+	@Test
+	public void testFailsAllCallers() throws Exception {
+		ReadCoalescer readCoalescer = new ReadCoalescer();
+		StubSender sender = new StubSender();
+		Query query = new SimpleStatement("SELECT * FROM users WHERE username='alice'");
+		Object fingerprint = ReadCoalescer.fingerprint(query);
+
+		ListenableFuture<List<Row>> first = readCoalescer.execute(fingerprint, query, sender);
+		ListenableFuture<List<Row>> second = readCoalescer.execute(fingerprint, query, sender);
+
+		IllegalStateException failure = new IllegalStateException("failed");
+		sender.requests.get(0).setException(failure);
+
+		assertFailedWith(failure, first);
+		assertFailedWith(failure, second);
+		assertEquals(0, readCoalescer.getInFlight());
+	}
+
+	@Test
+	public void testCancelsRequestWhenAllCallersLeave() throws Exception {
+		ReadCoalescer readCoalescer = new ReadCoalescer();
+		StubSender sender = new StubSender();
+		Query query = new SimpleStatement("SELECT * FROM users WHERE username='alice'");
+		Object fingerprint = ReadCoalescer.fingerprint(query);
+
+		ListenableFuture<List<Row>> first = readCoalescer.execute(fingerprint, query, sender);
+		ListenableFuture<List<Row>> second = readCoalescer.execute(fingerprint, query, sender);
+		SettableFuture<ResultSet> request = sender.requests.get(0);
+
+		first.cancel(true);
+
+		assertFalse(request.isCancelled());
+		assertEquals(1, readCoalescer.getInFlight());
+
+		second.cancel(true);
+
+		assertTrue(request.isCancelled());
+		assertEquals(0, readCoalescer.getInFlight());
+
+		readCoalescer.execute(fingerprint, query, sender);
+		assertEquals(2, sender.requests.size());
+	}
+
+	private static void assertFailedWith(Throwable expected, ListenableFuture<List<Row>> future) throws Exception {
+		try {
+			future.get();
+			fail("read must fail");
+		} catch (ExecutionException e) {
+			assertSame(expected, e.getCause());
+		}
+	}
+
+	/**
+	 * Sender that keeps requests for completion by the test
+	 */
+	static final class StubSender implements QuerySender {
+
+		final List<SettableFuture<ResultSet>> requests = Collections
+				.synchronizedList(new ArrayList<SettableFuture<ResultSet>>());
+
+		@Override
+		public ListenableFuture<ResultSet> send(Query query) {
+			assertNotNull(query);
+			SettableFuture<ResultSet> request = SettableFuture.create();
+			requests.add(request);
+			return request;
+		}
+
+	}
+
+}
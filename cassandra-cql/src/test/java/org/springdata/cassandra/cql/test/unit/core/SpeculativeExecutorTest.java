@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.test.unit.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springdata.cassandra.cql.core.CqlTemplate;
+import org.springdata.cassandra.cql.core.SpeculativeExecutor;
+import org.springdata.cassandra.cql.test.unit.core.StubSession.PendingQuery;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.SimpleStatement;
+import com.google.common.util.concurrent.ListenableFuture;
+
+public class SpeculativeExecutorTest {
+
+	private StubSession stubSession;
+	private CqlTemplate cqlTemplate;
+	private SpeculativeExecutor speculativeExecutor;
+
+	@Before
+	public void setUp() throws Exception {
+		stubSession = new StubSession();
+		cqlTemplate = new CqlTemplate(stubSession.getSession(), "test");
+		speculativeExecutor = new SpeculativeExecutor(10, 2);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		speculativeExecutor.destroy();
+	}
+
+	@Test
+	public void testSpeculativeExecutionWins() throws Exception {
+		ListenableFuture<ResultSet> result = speculativeExecutor.execute(cqlTemplate, new SimpleStatement(
+				"SELECT * FROM users WHERE username='alice'"));
+
+		PendingQuery first = stubSession.next();
+		PendingQuery second = stubSession.next();
+		second.succeed();
+
+		assertTrue(result.isDone());
+		assertTrue(first.isCancelled());
+		assertEquals(1, speculativeExecutor.getSpeculative());
+		assertEquals(1, speculativeExecutor.getSpeculativeWins());
+	}
+
+	@Test
+	public void testCancellationCancelsAllExecutions() throws Exception {
+		ListenableFuture<ResultSet> result = speculativeExecutor.execute(cqlTemplate, new SimpleStatement(
+				"SELECT * FROM users WHERE username='alice'"));
+
+		PendingQuery first = stubSession.next();
+		PendingQuery second = stubSession.next();
+
+		assertTrue(result.cancel(true));
+
+		assertTrue(first.isCancelled());
+		assertTrue(second.isCancelled());
+	}
+
+	@Test
+	public void testCancellationStopsSpeculation() throws Exception {
+		SpeculativeExecutor slowExecutor = new SpeculativeExecutor(200, 2);
+		try {
+			ListenableFuture<ResultSet> result = slowExecutor.execute(cqlTemplate, new SimpleStatement(
+					"SELECT * FROM users WHERE username='alice'"));
+
+			PendingQuery first = stubSession.next();
+			result.cancel(true);
+			Thread.sleep(400);
+
+			assertTrue(first.isCancelled());
+			assertEquals(1, stubSession.getExecuted());
+			assertEquals(0, slowExecutor.getSpeculative());
+		} finally {
+			slowExecutor.destroy();
+		}
+	}
+
+	@Test
+	public void testFailsWhenAllExecutionsFail() throws Exception {
+		ListenableFuture<ResultSet> result = speculativeExecutor.execute(cqlTemplate, new SimpleStatement(
+				"SELECT * FROM users WHERE username='alice'"));
+
+		PendingQuery first = stubSession.next();
+		PendingQuery second = stubSession.next();
+		first.fail(new IllegalStateException("first"));
+
+		assertFalse(result.isDone());
+
+		second.fail(new IllegalStateException("second"));
+
+		assertTrue(result.isDone());
+	}
+
+}
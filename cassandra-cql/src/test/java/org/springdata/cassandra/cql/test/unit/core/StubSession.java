@@ -0,0 +1,219 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.cql.test.unit.core;
+
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.Configuration;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.policies.DefaultRetryPolicy;
+import com.datastax.driver.core.policies.Policies;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Driver Session stub for unit tests without Cassandra. Every query waits in the queue of pending queries until the
+ * test completes, fails or cancels it.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class StubSession {
+
+	private static final long TIMEOUT_MILLIS = 10000;
+
+	private final Session session;
+	private final BlockingQueue<PendingQuery> pending = new LinkedBlockingQueue<PendingQuery>();
+	private final AtomicInteger executed = new AtomicInteger();
+
+	public StubSession() {
+		this.session = createSession();
+	}
+
+	public Session getSession() {
+		return session;
+	}
+
+	/**
+	 * Number of queries sent to the session
+	 * 
+	 * @return count
+	 */
+	public int getExecuted() {
+		return executed.get();
+	}
+
+	/**
+	 * Takes the next query sent to the session
+	 * 
+	 * @return pending query
+	 * @throws IllegalStateException if no query is sent in 10 seconds
+	 */
+	public PendingQuery next() throws InterruptedException {
+		PendingQuery query = pending.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		if (query == null) {
+			throw new IllegalStateException("no query is sent");
+		}
+		return query;
+	}
+
+	/**
+	 * Creates result set with the given rows
+	 * 
+	 * @param rows
+	 * @return result set stub
+	 */
+	public static ResultSet resultSet(List<Row> rows) {
+		ResultSet resultSet = mock(ResultSet.class, withSettings().stubOnly());
+		when(resultSet.all()).thenReturn(rows);
+		when(resultSet.iterator()).thenReturn(rows.iterator());
+		return resultSet;
+	}
+
+	private ResultSetFuture executeAsync(Query query) {
+		PendingQuery pendingQuery = new PendingQuery(query);
+		executed.incrementAndGet();
+		pending.add(pendingQuery);
+		return resultSetFuture(pendingQuery.future);
+	}
+
+	private Session createSession() {
+
+		Policies policies = mock(Policies.class, withSettings().stubOnly());
+		when(policies.getRetryPolicy()).thenReturn(DefaultRetryPolicy.INSTANCE);
+		Configuration configuration = mock(Configuration.class, withSettings().stubOnly());
+		when(configuration.getPolicies()).thenReturn(policies);
+		final Cluster cluster = mock(Cluster.class, withSettings().stubOnly());
+		when(cluster.getConfiguration()).thenReturn(configuration);
+
+		return mock(Session.class, withSettings().stubOnly().defaultAnswer(new Answer<Object>() {
+
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+
+				String method = invocation.getMethod().getName();
+				Object[] args = invocation.getArguments();
+
+				if (method.equals("executeAsync") && args.length == 1) {
+					return executeAsync(toQuery(args[0]));
+				}
+				if (method.equals("execute") && args.length == 1) {
+					return executeAsync(toQuery(args[0])).getUninterruptibly();
+				}
+				if (method.equals("getCluster")) {
+					return cluster;
+				}
+				return RETURNS_DEFAULTS.answer(invocation);
+			}
+
+		}));
+	}
+
+	private static Query toQuery(Object arg) {
+		return arg instanceof Query ? (Query) arg : new SimpleStatement((String) arg);
+	}
+
+	private static ResultSetFuture resultSetFuture(final SettableFuture<ResultSet> future) {
+
+		return mock(ResultSetFuture.class, withSettings().stubOnly().defaultAnswer(new Answer<Object>() {
+
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+
+				String method = invocation.getMethod().getName();
+				Object[] args = invocation.getArguments();
+
+				if (method.equals("get")) {
+					return args.length == 0 ? future.get() : future.get((Long) args[0], (TimeUnit) args[1]);
+				}
+				if (method.equals("getUninterruptibly")) {
+					return Uninterruptibles.getUninterruptibly(future);
+				}
+				if (method.equals("addListener")) {
+					future.addListener((Runnable) args[0], (Executor) args[1]);
+					return null;
+				}
+				if (method.equals("cancel")) {
+					return future.cancel((Boolean) args[0]);
+				}
+				if (method.equals("isDone")) {
+					return future.isDone();
+				}
+				if (method.equals("isCancelled")) {
+					return future.isCancelled();
+				}
+				return RETURNS_DEFAULTS.answer(invocation);
+			}
+
+		}));
+	}
+
+	/**
+	 * Query waiting for the response
+	 */
+	public static final class PendingQuery {
+
+		private final Query query;
+		private final SettableFuture<ResultSet> future = SettableFuture.create();
+
+		PendingQuery(Query query) {
+			this.query = query;
+		}
+
+		public Query getQuery() {
+			return query;
+		}
+
+		public void succeed() {
+			succeed(Collections.<Row> emptyList());
+		}
+
+		public void succeed(List<Row> rows) {
+			future.set(resultSet(rows));
+		}
+
+		public void fail(Throwable t) {
+			future.setException(t);
+		}
+
+		public boolean isCancelled() {
+			return future.isCancelled();
+		}
+
+	}
+
+}
@@ -0,0 +1,435 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Compact binary column codec. Values are written field by field with the type tag, integers as zigzag varints. Class
+ * name is written only if the runtime class differs from the declared one. Fields are written in declaration order
+ * with their count, so only appending fields keeps the stored values readable. Registered as "binary".
+ * 
+ * Supports primitives and wrappers, String, enums, Date, UUID, byte[], BigInteger, BigDecimal, lists, sets, maps and
+ * objects with the default constructor.
+ * 
+ * @author Alex Shvid
+ */
+public class BinaryColumnCodec implements ColumnCodec {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private static final int NULL = 0;
+	private static final int BOOLEAN = 1;
+	private static final int BYTE = 2;
+	private static final int SHORT = 3;
+	private static final int CHAR = 4;
+	private static final int INT = 5;
+	private static final int LONG = 6;
+	private static final int FLOAT = 7;
+	private static final int DOUBLE = 8;
+	private static final int STRING = 9;
+	private static final int ENUM = 10;
+	private static final int TYPED_ENUM = 11;
+	private static final int DATE = 12;
+	private static final int UUID_TAG = 13;
+	private static final int BYTES = 14;
+	private static final int BIG_INTEGER = 15;
+	private static final int BIG_DECIMAL = 16;
+	private static final int LIST = 17;
+	private static final int SET = 18;
+	private static final int MAP = 19;
+	private static final int OBJECT = 20;
+	private static final int TYPED_OBJECT = 21;
+
+	private final ConcurrentMap<Class<?>, Field[]> fieldsCache = new ConcurrentHashMap<Class<?>, Field[]>();
+	private final ClassLoader classLoader;
+
+	public BinaryColumnCodec() {
+		this(ClassUtils.getDefaultClassLoader());
+	}
+
+	public BinaryColumnCodec(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	@Override
+	public void encode(Object value, Type type, ByteBufferOutput out) throws IOException {
+		write(value, type, out);
+	}
+
+	@Override
+	public Object decode(ByteBuffer bytes, Type type) throws IOException {
+		return read(bytes.duplicate(), type);
+	}
+
+	private void write(Object value, Type declared, ByteBufferOutput out) throws IOException {
+
+		if (value == null) {
+			out.write(NULL);
+		} else if (value instanceof Boolean) {
+			out.write(BOOLEAN);
+			out.write(((Boolean) value).booleanValue() ? 1 : 0);
+		} else if (value instanceof Byte) {
+			out.write(BYTE);
+			out.write(((Byte) value).byteValue());
+		} else if (value instanceof Short) {
+			out.write(SHORT);
+			writeVarLong(zigzag(((Short) value).longValue()), out);
+		} else if (value instanceof Character) {
+			out.write(CHAR);
+			writeVarLong(((Character) value).charValue(), out);
+		} else if (value instanceof Integer) {
+			out.write(INT);
+			writeVarLong(zigzag(((Integer) value).longValue()), out);
+		} else if (value instanceof Long) {
+			out.write(LONG);
+			writeVarLong(zigzag(((Long) value).longValue()), out);
+		} else if (value instanceof Float) {
+			out.write(FLOAT);
+			writeFixed(Float.floatToIntBits(((Float) value).floatValue()), 4, out);
+		} else if (value instanceof Double) {
+			out.write(DOUBLE);
+			writeFixed(Double.doubleToLongBits(((Double) value).doubleValue()), 8, out);
+		} else if (value instanceof String) {
+			out.write(STRING);
+			writeBytes(((String) value).getBytes(UTF8), out);
+		} else if (value instanceof Enum) {
+			Class<?> enumClass = ((Enum<?>) value).getDeclaringClass();
+			if (enumClass == rawClass(declared)) {
+				out.write(ENUM);
+			} else {
+				out.write(TYPED_ENUM);
+				writeBytes(enumClass.getName().getBytes(UTF8), out);
+			}
+			writeBytes(((Enum<?>) value).name().getBytes(UTF8), out);
+		} else if (value instanceof Date) {
+			out.write(DATE);
+			writeFixed(((Date) value).getTime(), 8, out);
+		} else if (value instanceof UUID) {
+			out.write(UUID_TAG);
+			writeFixed(((UUID) value).getMostSignificantBits(), 8, out);
+			writeFixed(((UUID) value).getLeastSignificantBits(), 8, out);
+		} else if (value instanceof byte[]) {
+			out.write(BYTES);
+			writeBytes((byte[]) value, out);
+		} else if (value instanceof BigInteger) {
+			out.write(BIG_INTEGER);
+			writeBytes(((BigInteger) value).toByteArray(), out);
+		} else if (value instanceof BigDecimal) {
+			out.write(BIG_DECIMAL);
+			writeVarLong(zigzag(((BigDecimal) value).scale()), out);
+			writeBytes(((BigDecimal) value).unscaledValue().toByteArray(), out);
+		} else if (value instanceof Collection) {
+			Collection<?> collection = (Collection<?>) value;
+			out.write(value instanceof Set ? SET : LIST);
+			writeVarLong(collection.size(), out);
+			Type elementType = typeArgument(declared, 0);
+			for (Object element : collection) {
+				write(element, elementType, out);
+			}
+		} else if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			out.write(MAP);
+			writeVarLong(map.size(), out);
+			Type keyType = typeArgument(declared, 0);
+			Type valueType = typeArgument(declared, 1);
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				write(entry.getKey(), keyType, out);
+				write(entry.getValue(), valueType, out);
+			}
+		} else if (value.getClass().isArray()) {
+			throw new IllegalArgumentException("arrays other than byte[] are not supported " + value.getClass());
+		} else {
+			Class<?> valueClass = value.getClass();
+			if (valueClass == rawClass(declared)) {
+				out.write(OBJECT);
+			} else {
+				out.write(TYPED_OBJECT);
+				writeBytes(valueClass.getName().getBytes(UTF8), out);
+			}
+			Field[] fields = getFields(valueClass);
+			writeVarLong(fields.length, out);
+			for (Field field : fields) {
+				write(getField(field, value), field.getGenericType(), out);
+			}
+		}
+
+	}
+
+	private Object read(ByteBuffer in, Type declared) throws IOException {
+
+		int tag = in.get();
+		switch (tag) {
+		case NULL:
+			return null;
+		case BOOLEAN:
+			return in.get() != 0;
+		case BYTE:
+			return in.get();
+		case SHORT:
+			return (short) unzigzag(readVarLong(in));
+		case CHAR:
+			return (char) readVarLong(in);
+		case INT:
+			return (int) unzigzag(readVarLong(in));
+		case LONG:
+			return unzigzag(readVarLong(in));
+		case FLOAT:
+			return Float.intBitsToFloat(in.getInt());
+		case DOUBLE:
+			return Double.longBitsToDouble(in.getLong());
+		case STRING:
+			return readString(in);
+		case ENUM:
+			return toEnum(rawClass(declared), readString(in));
+		case TYPED_ENUM: {
+			Class<?> enumClass = forName(readString(in));
+			return toEnum(enumClass, readString(in));
+		}
+		case DATE:
+			return new Date(in.getLong());
+		case UUID_TAG:
+			return new UUID(in.getLong(), in.getLong());
+		case BYTES:
+			return readBytes(in);
+		case BIG_INTEGER:
+			return new BigInteger(readBytes(in));
+		case BIG_DECIMAL: {
+			int scale = (int) unzigzag(readVarLong(in));
+			return new BigDecimal(new BigInteger(readBytes(in)), scale);
+		}
+		case LIST:
+		case SET: {
+			int size = (int) readVarLong(in);
+			Collection<Object> collection = newCollection(rawClass(declared), tag == SET, size);
+			Type elementType = typeArgument(declared, 0);
+			for (int i = 0; i != size; ++i) {
+				collection.add(read(in, elementType));
+			}
+			return collection;
+		}
+		case MAP: {
+			int size = (int) readVarLong(in);
+			Map<Object, Object> map = newMap(rawClass(declared), size);
+			Type keyType = typeArgument(declared, 0);
+			Type valueType = typeArgument(declared, 1);
+			for (int i = 0; i != size; ++i) {
+				Object key = read(in, keyType);
+				map.put(key, read(in, valueType));
+			}
+			return map;
+		}
+		case OBJECT:
+			return readObject(in, rawClass(declared));
+		case TYPED_OBJECT:
+			return readObject(in, forName(readString(in)));
+		default:
+			throw new IOException("unknown type tag " + tag);
+		}
+
+	}
+
+	private Object readObject(ByteBuffer in, Class<?> type) throws IOException {
+		Object object = BeanUtils.instantiateClass(type);
+		Field[] fields = getFields(type);
+		int count = (int) readVarLong(in);
+		for (int i = 0; i != count; ++i) {
+			if (i < fields.length) {
+				Field field = fields[i];
+				Object value = read(in, field.getGenericType());
+				if (value != null || !field.getType().isPrimitive()) {
+					setField(field, object, value);
+				}
+			} else {
+				read(in, Object.class);
+			}
+		}
+		return object;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object toEnum(Class<?> enumClass, String name) {
+		return Enum.valueOf((Class<Enum>) enumClass, name);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Collection<Object> newCollection(Class<?> type, boolean set, int size) {
+		if (isConcrete(type) && Collection.class.isAssignableFrom(type)) {
+			return (Collection<Object>) BeanUtils.instantiateClass(type);
+		}
+		return set ? new LinkedHashSet<Object>(size * 2) : new ArrayList<Object>(size);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<Object, Object> newMap(Class<?> type, int size) {
+		if (isConcrete(type) && Map.class.isAssignableFrom(type)) {
+			return (Map<Object, Object>) BeanUtils.instantiateClass(type);
+		}
+		return new LinkedHashMap<Object, Object>(size * 2);
+	}
+
+	private boolean isConcrete(Class<?> type) {
+		return !type.isInterface() && !Modifier.isAbstract(type.getModifiers());
+	}
+
+	private Field[] getFields(Class<?> type) {
+		Field[] fields = fieldsCache.get(type);
+		if (fields == null) {
+			List<Field> list = new ArrayList<Field>();
+			collectFields(type, list);
+			fields = list.toArray(new Field[list.size()]);
+			fieldsCache.putIfAbsent(type, fields);
+		}
+		return fields;
+	}
+
+	private void collectFields(Class<?> type, List<Field> list) {
+		if (type == null || type == Object.class) {
+			return;
+		}
+		collectFields(type.getSuperclass(), list);
+		for (Field field : type.getDeclaredFields()) {
+			int modifiers = field.getModifiers();
+			if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+				field.setAccessible(true);
+				list.add(field);
+			}
+		}
+	}
+
+	private Object getField(Field field, Object target) {
+		try {
+			return field.get(target);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("fail to read field " + field, e);
+		}
+	}
+
+	private void setField(Field field, Object target, Object value) {
+		try {
+			field.set(target, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("fail to write field " + field, e);
+		}
+	}
+
+	private Class<?> forName(String className) throws IOException {
+		try {
+			return ClassUtils.forName(className, classLoader);
+		} catch (ClassNotFoundException e) {
+			throw new IOException("class not found " + className, e);
+		}
+	}
+
+	private static Class<?> rawClass(Type type) {
+		if (type instanceof Class) {
+			return (Class<?>) type;
+		}
+		if (type instanceof ParameterizedType) {
+			return rawClass(((ParameterizedType) type).getRawType());
+		}
+		return Object.class;
+	}
+
+	private static Type typeArgument(Type type, int index) {
+		if (type instanceof ParameterizedType) {
+			Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+			if (index < arguments.length) {
+				return arguments[index];
+			}
+		}
+		return Object.class;
+	}
+
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static void writeVarLong(long value, ByteBufferOutput out) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static long readVarLong(ByteBuffer in) {
+		long value = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = in.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+	}
+
+	private static void writeFixed(long value, int length, ByteBufferOutput out) {
+		for (int shift = (length - 1) * 8; shift >= 0; shift -= 8) {
+			out.write((int) (value >>> shift));
+		}
+	}
+
+	private static void writeBytes(byte[] bytes, ByteBufferOutput out) {
+		writeVarLong(bytes.length, out);
+		out.write(bytes, 0, bytes.length);
+	}
+
+	private static byte[] readBytes(ByteBuffer in) {
+		byte[] bytes = new byte[(int) readVarLong(in)];
+		in.get(bytes);
+		return bytes;
+	}
+
+	private static String readString(ByteBuffer in) {
+		int length = (int) readVarLong(in);
+		if (in.hasArray()) {
+			String value = new String(in.array(), in.arrayOffset() + in.position(), length, UTF8);
+			in.position(in.position() + length);
+			return value;
+		}
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, UTF8);
+	}
+
+}
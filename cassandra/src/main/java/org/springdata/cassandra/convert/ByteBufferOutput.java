@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.springframework.util.Assert;
+
+/**
+ * Output of the column codec written to the pooled buffer. Grows beyond the pooled buffer if the value does not fit.
+ * 
+ * The pooled buffer is scratch space of a single encoding: QueryBuilder statements keep the value until their query
+ * string is built on execution and operations do not have a hook to return buffers after that, so the pooled buffer can
+ * not be handed over to the statement. Values that fit the pooled buffer are copied once, bigger values are returned
+ * without copying.
+ * 
+ * @author Alex Shvid
+ */
+public class ByteBufferOutput extends OutputStream {
+
+	private final ByteBufferPool pool;
+	private ByteBuffer pooled;
+	private ByteBuffer buffer;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param pool pool of buffers
+	 */
+	public ByteBufferOutput(ByteBufferPool pool) {
+		Assert.notNull(pool);
+		this.pool = pool;
+		this.pooled = pool.acquire();
+		this.buffer = pooled;
+	}
+
+	@Override
+	public void write(int b) {
+		ensure(1);
+		buffer.put((byte) b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		ensure(len);
+		buffer.put(b, off, len);
+	}
+
+	/**
+	 * Writes remaining bytes of the buffer, position of the buffer does not change
+	 * 
+	 * @param b
+	 */
+	public void write(ByteBuffer b) {
+		ensure(b.remaining());
+		buffer.put(b.duplicate());
+	}
+
+	/**
+	 * Returns number of written bytes
+	 * 
+	 * @return
+	 */
+	public int size() {
+		return buffer.position();
+	}
+
+	/**
+	 * Returns written bytes, output can not be used after that. The result is a copy if the value is in the pooled
+	 * buffer, the statement holds it until execution while the pooled buffer is reused.
+	 * 
+	 * @return
+	 */
+	public ByteBuffer toByteBuffer() {
+		if (buffer == pooled) {
+			return ByteBuffer.wrap(Arrays.copyOf(buffer.array(), buffer.position()));
+		}
+		ByteBuffer result = buffer;
+		result.flip();
+		buffer = null;
+		return result;
+	}
+
+	/**
+	 * Returns the pooled buffer to the pool, output can not be used after that
+	 */
+	public void release() {
+		if (pooled != null) {
+			pool.release(pooled);
+			pooled = null;
+			buffer = null;
+		}
+	}
+
+	private void ensure(int length) {
+		if (buffer.remaining() < length) {
+			ByteBuffer bigger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+			buffer.flip();
+			bigger.put(buffer);
+			buffer = bigger;
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * Pool of heap buffers of the same size shared by all threads. Buffers are returned to the pool after use, the number
+ * of idle buffers is limited.
+ * 
+ * @author Alex Shvid
+ */
+public class ByteBufferPool {
+
+	private final int bufferSize;
+	private final int maxIdle;
+
+	private final Queue<ByteBuffer> idle = new ConcurrentLinkedQueue<ByteBuffer>();
+	private final AtomicInteger idleCount = new AtomicInteger();
+
+	private final AtomicLong acquired = new AtomicLong();
+	private final AtomicLong allocated = new AtomicLong();
+
+	/**
+	 * Constructor
+	 * 
+	 * @param bufferSize size of the buffer
+	 * @param maxIdle maximum number of buffers kept in the pool
+	 */
+	public ByteBufferPool(int bufferSize, int maxIdle) {
+		Assert.isTrue(bufferSize > 0, "buffer size must be positive");
+		Assert.isTrue(maxIdle >= 0, "max idle must not be negative");
+		this.bufferSize = bufferSize;
+		this.maxIdle = maxIdle;
+	}
+
+	/**
+	 * Takes the buffer from the pool or allocates the new one
+	 * 
+	 * @return cleared buffer
+	 */
+	public ByteBuffer acquire() {
+		acquired.incrementAndGet();
+		ByteBuffer buffer = idle.poll();
+		if (buffer != null) {
+			idleCount.decrementAndGet();
+			buffer.clear();
+			return buffer;
+		}
+		allocated.incrementAndGet();
+		return ByteBuffer.allocate(bufferSize);
+	}
+
+	/**
+	 * Returns the buffer to the pool
+	 * 
+	 * @param buffer acquired buffer
+	 */
+	public void release(ByteBuffer buffer) {
+		if (buffer.capacity() != bufferSize) {
+			return;
+		}
+		if (idleCount.incrementAndGet() > maxIdle) {
+			idleCount.decrementAndGet();
+			return;
+		}
+		idle.offer(buffer);
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * Returns number of acquired buffers
+	 * 
+	 * @return
+	 */
+	public long getAcquired() {
+		return acquired.get();
+	}
+
+	/**
+	 * Returns number of allocated buffers, acquired buffers were reused if it is less than acquired
+	 * 
+	 * @return
+	 */
+	public long getAllocated() {
+		return allocated.get();
+	}
+
+}
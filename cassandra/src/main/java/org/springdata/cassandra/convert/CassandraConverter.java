@@ -15,7 +15,10 @@
  */
 package org.springdata.cassandra.convert;
 
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springdata.cassandra.cql.spec.AlterTableSpecification;
 import org.springdata.cassandra.cql.spec.CreateIndexSpecification;
@@ -91,4 +94,45 @@ public interface CassandraConverter extends
      * @return where clause
      */
     List<Clause> getPartitionKey(CassandraPersistentEntity<?> entity, Object id);
+
+	/**
+	 * Get the primary key column values from entity id
+	 * 
+	 * @param entity persistent entity
+	 * @param id persistent entity id
+	 * @return ordered map of primary key column names and values
+	 */
+	Map<String, Object> getPrimaryKeyValues(CassandraPersistentEntity<?> entity, Object id);
+
+	/**
+	 * Splits the entity into primary key column values and selected regular column values. Regular columns are limited
+	 * to the properties with the given names or tags, null values are skipped.
+	 * 
+	 * @param obj entity to write
+	 * @param fields selected property names or null
+	 * @param tags selected property tags or null
+	 * @param keyValues ordered map to put primary key column values in
+	 * @param columnValues ordered map to put selected regular column values in
+	 */
+	void writeSelected(Object obj, Set<String> fields, Set<Integer> tags, Map<String, Object> keyValues,
+			Map<String, Object> columnValues);
+
+	/**
+	 * Get the routing key from entity id. Values of the partition key columns are serialized and composed in the order of
+	 * the partition key, composite encoding is used for multi-column partition keys.
+	 * 
+	 * @param entity persistent entity
+	 * @param id persistent entity id
+	 * @return routing key or null if the id does not contain all partition key columns
+	 */
+	ByteBuffer getRoutingKey(CassandraPersistentEntity<?> entity, Object id);
+
+	/**
+	 * Get the routing key from entity object.
+	 * 
+	 * @param obj entity
+	 * @return routing key or null if the entity does not contain all partition key columns
+	 */
+	ByteBuffer getRoutingKey(Object obj);
+
 }
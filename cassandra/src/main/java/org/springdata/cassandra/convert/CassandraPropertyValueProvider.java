@@ -42,6 +42,7 @@ public class CassandraPropertyValueProvider implements PropertyValueProvider<Cas
 
 	private final Row source;
 	private final SpELExpressionEvaluator evaluator;
+	private final MappingCassandraConverter converter;
 
 	/**
 	 * Creates a new {@link CassandraPropertyValueProvider} with the given {@link Row} and
@@ -51,11 +52,25 @@ public class CassandraPropertyValueProvider implements PropertyValueProvider<Cas
 	 * @param evaluator must not be {@literal null}.
 	 */
 	public CassandraPropertyValueProvider(Row source, DefaultSpELExpressionEvaluator evaluator) {
+		this(source, evaluator, null);
+	}
+
+	/**
+	 * Creates a new {@link CassandraPropertyValueProvider} that decodes properties annotated by
+	 * {@link org.springdata.cassandra.mapping.Codec} by the codecs of the converter.
+	 * 
+	 * @param source must not be {@literal null}.
+	 * @param evaluator must not be {@literal null}.
+	 * @param converter converter with registered codecs, can be {@literal null}.
+	 */
+	public CassandraPropertyValueProvider(Row source, DefaultSpELExpressionEvaluator evaluator,
+			MappingCassandraConverter converter) {
 		Assert.notNull(source);
 		Assert.notNull(evaluator);
 
 		this.source = source;
 		this.evaluator = evaluator;
+		this.converter = converter;
 	}
 
 	/* 
@@ -75,6 +90,11 @@ public class CassandraPropertyValueProvider implements PropertyValueProvider<Cas
 		if (source.isNull(columnIndex)) {
 			return null;
 		}
+
+		if (converter != null && (property.getCodec() != null || property.getCompressionThreshold() != null)) {
+			return (T) converter.decodeProperty(property, source.getBytesUnsafe(columnIndex));
+		}
+
 		DataType columnType = columnDefinitions.getType(columnIndex);
 
 		if (columnType.isCollection()) {
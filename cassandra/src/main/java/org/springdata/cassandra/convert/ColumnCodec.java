@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes values of properties annotated by {@link org.springdata.cassandra.mapping.Codec} to blob columns.
+ * Implementations are registered in {@link MappingCassandraConverter} by name and must be thread-safe.
+ * 
+ * @author Alex Shvid
+ */
+public interface ColumnCodec {
+
+	/**
+	 * Writes the value to the pooled output
+	 * 
+	 * @param value not null value
+	 * @param type declared generic type of the property
+	 * @param out output
+	 * @throws IOException
+	 */
+	void encode(Object value, Type type, ByteBufferOutput out) throws IOException;
+
+	/**
+	 * Reads the value from the serialized column. The buffer is shared with the row, implementation must not change its
+	 * position or content.
+	 * 
+	 * @param bytes serialized column
+	 * @param type declared generic type of the property
+	 * @return value
+	 * @throws IOException
+	 */
+	Object decode(ByteBuffer bytes, Type type) throws IOException;
+
+}
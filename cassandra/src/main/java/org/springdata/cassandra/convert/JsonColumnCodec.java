@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.type.JavaType;
+import org.springframework.util.Assert;
+
+/**
+ * Column codec that stores values as JSON text by Jackson. Registered as "json" if Jackson is on the classpath.
+ * 
+ * @author Alex Shvid
+ */
+public class JsonColumnCodec implements ColumnCodec {
+
+	private final ObjectMapper mapper;
+
+	public JsonColumnCodec() {
+		this(new ObjectMapper());
+	}
+
+	public JsonColumnCodec(ObjectMapper mapper) {
+		Assert.notNull(mapper);
+		this.mapper = mapper;
+	}
+
+	@Override
+	public void encode(Object value, Type type, ByteBufferOutput out) throws IOException {
+		mapper.writeValue(out, value);
+	}
+
+	@Override
+	public Object decode(ByteBuffer bytes, Type type) throws IOException {
+		JavaType javaType = mapper.getTypeFactory().constructType(type);
+		if (bytes.hasArray()) {
+			return mapper.readValue(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(), javaType);
+		}
+		return mapper.readValue(new ByteBufferInputStream(bytes.duplicate()), javaType);
+	}
+
+	private static final class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int n = Math.min(len, buffer.remaining());
+			buffer.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+
+	}
+
+}
@@ -15,13 +15,21 @@
  */
 package org.springdata.cassandra.convert;
 
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +57,7 @@ import org.springframework.data.mapping.model.PropertyValueProvider;
 import org.springframework.data.mapping.model.SpELContext;
 import org.springframework.data.util.ClassTypeInformation;
 import org.springframework.data.util.TypeInformation;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 
 import com.datastax.driver.core.ColumnMetadata;
@@ -79,6 +88,19 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 
 	private ClassLoader beanClassLoader;
 
+	private final ConcurrentMap<CassandraPersistentEntity<?>, List<CassandraPersistentProperty>> partitionKeyPropertiesCache = new ConcurrentHashMap<CassandraPersistentEntity<?>, List<CassandraPersistentProperty>>();
+
+	private static final boolean JACKSON_PRESENT = ClassUtils.isPresent("org.codehaus.jackson.map.ObjectMapper",
+			MappingCassandraConverter.class.getClassLoader());
+
+	private static final boolean SNAPPY_PRESENT = ClassUtils.isPresent("org.xerial.snappy.Snappy",
+			MappingCassandraConverter.class.getClassLoader());
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private final ConcurrentMap<String, ColumnCodec> codecs = new ConcurrentHashMap<String, ColumnCodec>();
+	private ByteBufferPool codecBufferPool = new ByteBufferPool(4096, 64);
+
 	/**
 	 * Creates a new {@link MappingCassandraConverter} given the new {@link MappingContext}.
 	 * 
@@ -89,6 +111,10 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 		super(new DefaultConversionService());
 		this.mappingContext = mappingContext;
 		this.spELContext = new SpELContext(RowReaderPropertyAccessor.INSTANCE);
+		this.codecs.put("binary", new BinaryColumnCodec());
+		if (JACKSON_PRESENT) {
+			this.codecs.put("json", new JsonColumnCodec());
+		}
 	}
 
 	@SuppressWarnings("unchecked")
@@ -195,8 +221,11 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 				final BeanWrapper<CassandraPersistentEntity<Object>, Object> propWrapper = BeanWrapper.create(propertyObj,
 						conversionService);
 				propEntity.doWithProperties(new InsertPropertyHandler(insert, propWrapper));
+			} else if (prop.isCounter()) {
+				throw new MappingException("counter column '" + prop.getColumnName()
+						+ "' can not be inserted, use update of counters");
 			} else {
-				insert.value(prop.getColumnName(), propertyObj);
+				insert.value(prop.getColumnName(), encodeIfNecessary(prop, propertyObj));
 			}
 		}
 	}
@@ -223,14 +252,74 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 					propEntity.doWithProperties(new UpdatePropertyHandler(update, propWrapper));
 				} else if (prop.isIdProperty() || prop.getKeyPart() != null) {
 					update.where(QueryBuilder.eq(prop.getColumnName(), propertyObj));
+				} else if (prop.isCounter()) {
+					/*
+					 * Loaded value of the counter added back to it would double the counter
+					 */
+					throw new MappingException("counter column '" + prop.getColumnName()
+							+ "' can not be saved, use update of counters");
 				} else {
-					update.with(QueryBuilder.set(prop.getColumnName(), propertyObj));
+					update.with(QueryBuilder.set(prop.getColumnName(), encodeIfNecessary(prop, propertyObj)));
 				}
 			}
 
 		}
 	}
 
+	private class SelectedPropertyHandler implements PropertyHandler<CassandraPersistentProperty> {
+
+		private final BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper;
+		private final Set<String> fields;
+		private final Set<Integer> tags;
+		private final boolean selected;
+		private final Map<String, Object> keyValues;
+		private final Map<String, Object> columnValues;
+
+		private SelectedPropertyHandler(BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper,
+				Set<String> fields, Set<Integer> tags, boolean selected, Map<String, Object> keyValues,
+				Map<String, Object> columnValues) {
+			this.wrapper = wrapper;
+			this.fields = fields;
+			this.tags = tags;
+			this.selected = selected;
+			this.keyValues = keyValues;
+			this.columnValues = columnValues;
+		}
+
+		public void doWithPersistentProperty(CassandraPersistentProperty prop) {
+
+			Object propertyObj = wrapper.getProperty(prop, prop.getType(), useFieldAccessOnly);
+
+			if (propertyObj == null) {
+				return;
+			}
+
+			boolean propSelected = selected || isSelected(prop);
+
+			if (prop.hasEmbeddableType()) {
+				final CassandraPersistentEntity<?> propEntity = mappingContext.getPersistentEntity(prop.getRawType());
+				final BeanWrapper<CassandraPersistentEntity<Object>, Object> propWrapper = BeanWrapper.create(propertyObj,
+						conversionService);
+				propEntity.doWithProperties(new SelectedPropertyHandler(propWrapper, fields, tags, propSelected, keyValues,
+						columnValues));
+			} else if (prop.isIdProperty() || prop.getKeyPart() != null) {
+				keyValues.put(prop.getColumnName(), propertyObj);
+			} else if (propSelected && !prop.isCounter()) {
+				columnValues.put(prop.getColumnName(), encodeIfNecessary(prop, propertyObj));
+			}
+		}
+
+		private boolean isSelected(CassandraPersistentProperty prop) {
+			if (fields == null && tags == null) {
+				return true;
+			}
+			if (fields != null && fields.contains(prop.getName())) {
+				return true;
+			}
+			return tags != null && prop.getTag() != null && tags.contains(prop.getTag());
+		}
+	}
+
 	private class WherePropertyHandler implements PropertyHandler<CassandraPersistentProperty> {
 
 		private final BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper;
@@ -265,7 +354,7 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 		final DefaultSpELExpressionEvaluator evaluator = new DefaultSpELExpressionEvaluator(row, spELContext);
 
 		final PropertyValueProvider<CassandraPersistentProperty> propertyProvider = new CassandraPropertyValueProvider(row,
-				evaluator);
+				evaluator, this);
 		PersistentEntityParameterValueProvider<CassandraPersistentProperty> parameterProvider = new PersistentEntityParameterValueProvider<CassandraPersistentProperty>(
 				entity, propertyProvider, null);
 
@@ -281,6 +370,126 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 		return result;
 	}
 
+	/**
+	 * Registers the codec used for properties annotated by {@link org.springdata.cassandra.mapping.Codec} with the given
+	 * name. Codecs "binary" and "json" (if Jackson is on the classpath) are registered by default.
+	 * 
+	 * @param name name of the codec
+	 * @param codec thread-safe codec
+	 */
+	public void registerCodec(String name, ColumnCodec codec) {
+		Assert.notNull(name);
+		Assert.notNull(codec);
+		codecs.put(name, codec);
+	}
+
+	/**
+	 * Sets the pool of buffers used to encode properties by codecs
+	 * 
+	 * @param codecBufferPool
+	 */
+	public void setCodecBufferPool(ByteBufferPool codecBufferPool) {
+		Assert.notNull(codecBufferPool);
+		this.codecBufferPool = codecBufferPool;
+	}
+
+	/**
+	 * Decodes the value of the property annotated by {@link org.springdata.cassandra.mapping.Codec} or
+	 * {@link org.springdata.cassandra.mapping.Compressed}
+	 * 
+	 * @param prop property with the codec or compression
+	 * @param bytes serialized column
+	 * @return value
+	 */
+	public Object decodeProperty(CassandraPersistentProperty prop, ByteBuffer bytes) {
+		try {
+			if (prop.getCompressionThreshold() != null) {
+				checkSnappyPresent(prop);
+				bytes = SnappyColumnCompression.uncompress(bytes);
+			}
+			if (prop.getCodec() != null) {
+				return getColumnCodec(prop).decode(bytes, getGenericType(prop));
+			}
+			return fromBytes(prop, bytes);
+		} catch (IOException e) {
+			throw new MappingException("fail to decode property '" + prop.getName() + "'", e);
+		}
+	}
+
+	private Object encodeIfNecessary(CassandraPersistentProperty prop, Object propertyObj) {
+
+		Integer compressionThreshold = prop.getCompressionThreshold();
+
+		if (prop.getCodec() == null && compressionThreshold == null) {
+			return propertyObj;
+		}
+
+		try {
+			ByteBuffer bytes = prop.getCodec() != null ? encodeByCodec(prop, propertyObj) : toBytes(propertyObj);
+			if (compressionThreshold != null) {
+				checkSnappyPresent(prop);
+				bytes = SnappyColumnCompression.compress(bytes, compressionThreshold);
+			}
+			return bytes;
+		} catch (IOException e) {
+			throw new MappingException("fail to encode property '" + prop.getName() + "'", e);
+		}
+	}
+
+	private ByteBuffer encodeByCodec(CassandraPersistentProperty prop, Object propertyObj) throws IOException {
+		ByteBufferOutput out = new ByteBufferOutput(codecBufferPool);
+		try {
+			getColumnCodec(prop).encode(propertyObj, getGenericType(prop), out);
+			return out.toByteBuffer();
+		} finally {
+			out.release();
+		}
+	}
+
+	private static ByteBuffer toBytes(Object propertyObj) {
+		if (propertyObj instanceof String) {
+			return ByteBuffer.wrap(((String) propertyObj).getBytes(UTF8));
+		}
+		if (propertyObj instanceof byte[]) {
+			return ByteBuffer.wrap((byte[]) propertyObj);
+		}
+		return (ByteBuffer) propertyObj;
+	}
+
+	private static Object fromBytes(CassandraPersistentProperty prop, ByteBuffer bytes) {
+		Class<?> type = prop.getType();
+		if (type == String.class) {
+			if (bytes.hasArray()) {
+				return new String(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(), UTF8);
+			}
+			byte[] array = new byte[bytes.remaining()];
+			bytes.duplicate().get(array);
+			return new String(array, UTF8);
+		}
+		byte[] array = new byte[bytes.remaining()];
+		bytes.duplicate().get(array);
+		return type == byte[].class ? array : ByteBuffer.wrap(array);
+	}
+
+	private static void checkSnappyPresent(CassandraPersistentProperty prop) {
+		if (!SNAPPY_PRESENT) {
+			throw new MappingException("snappy-java is required to compress property '" + prop.getName() + "'");
+		}
+	}
+
+	private ColumnCodec getColumnCodec(CassandraPersistentProperty prop) {
+		ColumnCodec codec = codecs.get(prop.getCodec());
+		if (codec == null) {
+			throw new MappingException("codec '" + prop.getCodec() + "' of property '" + prop.getName()
+					+ "' is not registered");
+		}
+		return codec;
+	}
+
+	private static Type getGenericType(CassandraPersistentProperty prop) {
+		return prop.getField() != null ? prop.getField().getGenericType() : prop.getType();
+	}
+
 	public void setUseFieldAccessOnly(boolean useFieldAccessOnly) {
 		this.useFieldAccessOnly = useFieldAccessOnly;
 	}
@@ -335,6 +544,115 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 		entity.doWithProperties(new UpdatePropertyHandler(update, wrapper));
 	}
 
+	@Override
+	public void writeSelected(Object obj, Set<String> fields, Set<Integer> tags, Map<String, Object> keyValues,
+			Map<String, Object> columnValues) {
+
+		Assert.notNull(obj);
+
+		Class<?> beanClassLoaderClass = transformClassToBeanClassLoaderClass(obj.getClass());
+		CassandraPersistentEntity<?> entity = mappingContext.getPersistentEntity(beanClassLoaderClass);
+
+		if (entity == null) {
+			throw new MappingException("No mapping metadata found for " + obj.getClass());
+		}
+
+		final BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper = BeanWrapper.create(obj, conversionService);
+
+		entity.doWithProperties(new SelectedPropertyHandler(wrapper, fields, tags, false, keyValues, columnValues));
+	}
+
+	@Override
+	public ByteBuffer getRoutingKey(CassandraPersistentEntity<?> entity, Object id) {
+
+		Assert.notNull(entity);
+		Assert.notNull(id);
+
+		return composeRoutingKey(entity, getKeyValues(entity, id, true));
+	}
+
+	@Override
+	public ByteBuffer getRoutingKey(Object obj) {
+
+		Assert.notNull(obj);
+
+		Class<?> beanClassLoaderClass = transformClassToBeanClassLoaderClass(obj.getClass());
+		CassandraPersistentEntity<?> entity = mappingContext.getPersistentEntity(beanClassLoaderClass);
+
+		if (entity == null) {
+			throw new MappingException("No mapping metadata found for " + obj.getClass());
+		}
+
+		Map<String, Object> keyValues = new LinkedHashMap<String, Object>();
+		writeSelected(obj, Collections.<String> emptySet(), null, keyValues, new LinkedHashMap<String, Object>());
+
+		return composeRoutingKey(entity, keyValues);
+	}
+
+	private ByteBuffer composeRoutingKey(CassandraPersistentEntity<?> entity, Map<String, Object> keyValues) {
+
+		List<CassandraPersistentProperty> partitionKeyProperties = getPartitionKeyProperties(entity);
+
+		ByteBuffer[] components = new ByteBuffer[partitionKeyProperties.size()];
+
+		int i = 0;
+		for (CassandraPersistentProperty prop : partitionKeyProperties) {
+			Object value = keyValues.get(prop.getColumnName());
+			if (value == null) {
+				return null;
+			}
+			components[i++] = prop.getDataType().serialize(value);
+		}
+
+		if (components.length == 1) {
+			return components[0];
+		}
+
+		/*
+		 * Composite encoding: every component is written as <length><bytes><end-of-component>
+		 */
+
+		int length = 0;
+		for (ByteBuffer component : components) {
+			length += 2 + component.remaining() + 1;
+		}
+
+		ByteBuffer result = ByteBuffer.allocate(length);
+		for (ByteBuffer component : components) {
+			result.putShort((short) component.remaining());
+			result.put(component.duplicate());
+			result.put((byte) 0);
+		}
+		result.flip();
+
+		return result;
+	}
+
+	private List<CassandraPersistentProperty> getPartitionKeyProperties(CassandraPersistentEntity<?> entity) {
+
+		List<CassandraPersistentProperty> result = partitionKeyPropertiesCache.get(entity);
+
+		if (result == null) {
+
+			final List<CassandraPersistentProperty> partitionKeyProperties = new ArrayList<CassandraPersistentProperty>(5);
+
+			doWithAllProperties(entity, new PropertyHandler<CassandraPersistentProperty>() {
+				public void doWithPersistentProperty(CassandraPersistentProperty prop) {
+					if (prop.isIdProperty() || prop.getKeyPart() == KeyPart.PARTITION) {
+						partitionKeyProperties.add(prop);
+					}
+				}
+			});
+
+			Collections.sort(partitionKeyProperties, OrdinalBasedPropertyComparator.INSTANCE);
+
+			result = Collections.unmodifiableList(partitionKeyProperties);
+			partitionKeyPropertiesCache.putIfAbsent(entity, result);
+		}
+
+		return result;
+	}
+
 	private void writeWhereInternal(final Object objectToSave, final List<Clause> clauseList,
 			CassandraPersistentEntity<?> entity) {
 
@@ -535,43 +853,47 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 
 	public List<Clause> getPrimaryKey(final CassandraPersistentEntity<?> entity, final Object id) {
 
-		final List<Clause> result = new LinkedList<Clause>();
+		List<Clause> result = toClauses(getKeyValues(entity, id, false));
 
-		entity.doWithProperties(new PropertyHandler<CassandraPersistentProperty>() {
-			public void doWithPersistentProperty(CassandraPersistentProperty prop) {
+		if (result.isEmpty()) {
+			throw new MappingException("Could not form a where clause for the primary key for an entity " + entity.getName());
+		}
 
-				if (prop.isIdProperty()) {
+		return result;
+	}
 
-					if (prop.hasEmbeddableType()) {
+	@Override
+	public List<Clause> getPartitionKey(final CassandraPersistentEntity<?> entity, final Object id) {
+		return toClauses(getKeyValues(entity, id, true));
+	}
 
-						if (!prop.getRawType().isAssignableFrom(id.getClass())) {
-							throw new MappingException("id class " + id.getClass() + " can not be converted to embeddedid property "
-									+ prop.getColumnName() + " in the entity " + entity.getName());
-						}
+	@Override
+	public Map<String, Object> getPrimaryKeyValues(CassandraPersistentEntity<?> entity, Object id) {
 
-						embeddedPrimaryKey(prop.getRawType(), id, result, false);
+		Map<String, Object> result = getKeyValues(entity, id, false);
 
-					} else {
+		if (result.isEmpty()) {
+			throw new MappingException("Could not find primary key columns for an entity " + entity.getName());
+		}
 
-						result.add(QueryBuilder.eq(prop.getColumnName(), id));
+		return result;
+	}
 
-					}
-				}
+	private static List<Clause> toClauses(Map<String, Object> keyValues) {
 
-			}
-		});
+		List<Clause> result = new LinkedList<Clause>();
 
-		if (result.isEmpty()) {
-			throw new MappingException("Could not form a where clause for the primary key for an entity " + entity.getName());
+		for (Map.Entry<String, Object> entry : keyValues.entrySet()) {
+			result.add(QueryBuilder.eq(entry.getKey(), entry.getValue()));
 		}
 
 		return result;
 	}
 
-	@Override
-	public List<Clause> getPartitionKey(final CassandraPersistentEntity<?> entity, final Object id) {
+	private Map<String, Object> getKeyValues(final CassandraPersistentEntity<?> entity, final Object id,
+			final boolean partitionPartsOnly) {
 
-		final List<Clause> result = new LinkedList<Clause>();
+		final Map<String, Object> result = new LinkedHashMap<String, Object>();
 
 		entity.doWithProperties(new PropertyHandler<CassandraPersistentProperty>() {
 			public void doWithPersistentProperty(CassandraPersistentProperty prop) {
@@ -585,21 +907,22 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 									+ prop.getColumnName() + " in the entity " + entity.getName());
 						}
 
-						embeddedPrimaryKey(prop.getRawType(), id, result, true);
+						embeddedPrimaryKey(prop.getRawType(), id, result, partitionPartsOnly);
 
 					} else {
 
-						result.add(QueryBuilder.eq(prop.getColumnName(), id));
+						result.put(prop.getColumnName(), id);
 
 					}
 				}
+
 			}
 		});
 
 		return result;
 	}
 
-	private void embeddedPrimaryKey(Class<?> idClass, Object id, final List<Clause> result,
+	private void embeddedPrimaryKey(Class<?> idClass, Object id, final Map<String, Object> result,
 			final boolean partitionPartsOnly) {
 
 		final BeanWrapper<CassandraPersistentEntity<Object>, Object> wrapper = BeanWrapper.create(id, conversionService);
@@ -624,7 +947,7 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 									+ idEntity.getName());
 						}
 
-						result.add(QueryBuilder.eq(prop.getColumnName(), propertyObj));
+						result.put(prop.getColumnName(), propertyObj);
 					}
 				}
 
@@ -716,7 +1039,7 @@ public class MappingCassandraConverter extends AbstractCassandraConverter implem
 		public int compare(CassandraPersistentProperty o1, CassandraPersistentProperty o2) {
 
 			Integer ordinal1 = o1.getOrdinal();
-			Integer ordinal2 = o1.getOrdinal();
+			Integer ordinal2 = o2.getOrdinal();
 
 			if (ordinal1 == null) {
 				if (ordinal2 == null) {
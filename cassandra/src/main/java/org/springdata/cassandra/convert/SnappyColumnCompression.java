@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.convert;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.xerial.snappy.Snappy;
+
+/**
+ * Snappy compression of columns annotated by {@link org.springdata.cassandra.mapping.Compressed}. The first byte of
+ * the column is the header: 0 for the raw value, 1 for the compressed one. Work buffers are cached per thread.
+ * 
+ * @author Alex Shvid
+ */
+public final class SnappyColumnCompression {
+
+	public static final byte RAW = 0;
+	public static final byte SNAPPY = 1;
+
+	private static final int MIN_BUFFER_SIZE = 4096;
+	private static final int MAX_CACHED_BUFFER_SIZE = 4 * 1024 * 1024;
+
+	private static final ThreadLocal<byte[]> compressBuffer = new ThreadLocal<byte[]>();
+	private static final ThreadLocal<byte[]> uncompressBuffer = new ThreadLocal<byte[]>();
+
+	private SnappyColumnCompression() {
+	}
+
+	/**
+	 * Compresses the value if it is not shorter than the threshold and compression makes it smaller
+	 * 
+	 * @param value serialized value, position does not change
+	 * @param threshold minimum length to compress
+	 * @return column with the header
+	 * @throws IOException
+	 */
+	public static ByteBuffer compress(ByteBuffer value, int threshold) throws IOException {
+
+		int length = value.remaining();
+
+		if (length >= threshold) {
+
+			byte[] input;
+			int offset;
+			if (value.hasArray()) {
+				input = value.array();
+				offset = value.arrayOffset() + value.position();
+			} else {
+				input = new byte[length];
+				value.duplicate().get(input);
+				offset = 0;
+			}
+
+			byte[] work = getBuffer(compressBuffer, Snappy.maxCompressedLength(length));
+			int compressedLength = Snappy.compress(input, offset, length, work, 0);
+
+			if (compressedLength < length) {
+				byte[] column = new byte[compressedLength + 1];
+				column[0] = SNAPPY;
+				System.arraycopy(work, 0, column, 1, compressedLength);
+				return ByteBuffer.wrap(column);
+			}
+		}
+
+		byte[] column = new byte[length + 1];
+		column[0] = RAW;
+		value.duplicate().get(column, 1, length);
+		return ByteBuffer.wrap(column);
+	}
+
+	/**
+	 * Uncompresses the column. The result is a view of the column or of the work buffer of the current thread, it is
+	 * valid until the next call in this thread.
+	 * 
+	 * @param column column with the header, position does not change
+	 * @return value
+	 * @throws IOException
+	 */
+	public static ByteBuffer uncompress(ByteBuffer column) throws IOException {
+
+		if (!column.hasRemaining()) {
+			throw new IOException("compression header is missing");
+		}
+
+		byte header = column.get(column.position());
+		ByteBuffer payload = column.duplicate();
+		payload.position(payload.position() + 1);
+
+		switch (header) {
+		case RAW:
+			return payload.slice();
+		case SNAPPY:
+			byte[] input;
+			int offset;
+			int length = payload.remaining();
+			if (payload.hasArray()) {
+				input = payload.array();
+				offset = payload.arrayOffset() + payload.position();
+			} else {
+				input = new byte[length];
+				payload.get(input);
+				offset = 0;
+			}
+			byte[] work = getBuffer(uncompressBuffer, Snappy.uncompressedLength(input, offset, length));
+			int uncompressedLength = Snappy.uncompress(input, offset, length, work, 0);
+			return ByteBuffer.wrap(work, 0, uncompressedLength);
+		default:
+			throw new IOException("unknown compression header " + header);
+		}
+	}
+
+	private static byte[] getBuffer(ThreadLocal<byte[]> cache, int size) {
+		byte[] buffer = cache.get();
+		if (buffer == null || buffer.length < size) {
+			buffer = new byte[Math.max(size, MIN_BUFFER_SIZE)];
+			if (buffer.length <= MAX_CACHED_BUFFER_SIZE) {
+				cache.set(buffer);
+			}
+		}
+		return buffer;
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package org.springdata.cassandra.core;
 
+import java.util.List;
+
 import org.springframework.data.convert.EntityReader;
 
 import com.datastax.driver.core.ResultSet;
@@ -51,13 +53,30 @@ public abstract class AbstractFindOneOperation<T> extends AbstractGetOperation<T
 
 	@Override
 	public T transform(ResultSet resultSet) {
+		return transformRow(resultSet.one());
+	}
+
+	@Override
+	protected boolean isCoalescing() {
+		return true;
+	}
 
-		Row row = resultSet.one();
+	@Override
+	protected T transformRows(List<Row> rows) {
+		return transformRow(rows.isEmpty() ? null : rows.get(0));
+	}
+
+	/**
+	 * Reads entity from the first row
+	 * 
+	 * @param row first row or null
+	 * @return entity or null
+	 */
+	protected T transformRow(Row row) {
 		if (row != null) {
 			return entityReader.read(entityClass, row);
 		}
 		return null;
-
 	}
 
 }
@@ -16,6 +16,7 @@
 package org.springdata.cassandra.core;
 
 import java.util.Iterator;
+import java.util.List;
 
 import org.springframework.data.convert.EntityReader;
 
@@ -55,8 +56,17 @@ public abstract class AbstractFindOperation<T> extends AbstractGetOperation<Iter
 
 	@Override
 	public Iterator<T> transform(ResultSet resultSet) {
+		return readEntities(resultSet.iterator());
+	}
+
+	@Override
+	protected Iterator<T> transformRows(List<Row> rows) {
+		return readEntities(rows.iterator());
+	}
+
+	private Iterator<T> readEntities(Iterator<Row> rows) {
 
-		return Iterators.transform(resultSet.iterator(), new Function<Row, T>() {
+		return Iterators.transform(rows, new Function<Row, T>() {
 
 			@Override
 			public T apply(Row row) {
@@ -15,6 +15,7 @@
  */
 package org.springdata.cassandra.core;
 
+import java.util.List;
 import java.util.concurrent.TimeoutException;
 
 import org.springdata.cassandra.cql.core.AbstractQueryOperation;
@@ -25,6 +26,7 @@ import org.springdata.cassandra.cql.core.QueryCreator;
 
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
 import com.google.common.base.Function;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -58,16 +60,97 @@ public abstract class AbstractGetOperation<T> extends AbstractQueryOperation<T,
 		return tableName;
 	}
 
+	/**
+	 * Returns true if the operation reads through the read coalescer of the template. Results of such operations are
+	 * made by transformRows.
+	 * 
+	 * @return true for coalescing operation
+	 */
+	protected boolean isCoalescing() {
+		return false;
+	}
+
+	/**
+	 * Returns cql of the prepared statement if the operation executes bound statement
+	 * 
+	 * @return cql or null for statement with inlined values
+	 */
+	protected String getPreparedCql() {
+		return null;
+	}
+
+	/**
+	 * Returns bound values if the operation executes bound statement
+	 * 
+	 * @return values or null
+	 */
+	protected Object[] getBoundValues() {
+		return null;
+	}
+
+	/**
+	 * Returns true if the result is known at execution without a query, for example the key is definitely absent by the
+	 * Bloom filter of the entity
+	 * 
+	 * @return true to return getImmediateResult
+	 */
+	protected boolean isImmediate() {
+		return false;
+	}
+
+	/**
+	 * Returns result of the operation when isImmediate is true
+	 * 
+	 * @return result
+	 */
+	protected T getImmediateResult() {
+		return null;
+	}
+
+	/**
+	 * Transforms rows of the coalesced read. Rows can be shared with other operations and must not be modified.
+	 * 
+	 * @param rows
+	 * @return result
+	 */
+	protected abstract T transformRows(List<Row> rows);
+
 	@Override
 	public T execute() {
+		if (isImmediate()) {
+			return getImmediateResult();
+		}
 		Query query = doCreateQuery(this);
+		if (useCoalescer()) {
+			return transformRows(doExecuteCoalescedAsync(query, getPreparedCql(), getBoundValues()).getUninterruptibly());
+		}
 		ResultSet resultSet = doExecute(query);
 		return transform(resultSet);
 	}
 
 	@Override
 	public CassandraFuture<T> executeAsync() {
+		if (isImmediate()) {
+			return new CassandraFuture<T>(Futures.immediateFuture(getImmediateResult()),
+					cqlTemplate.getExceptionTranslator());
+		}
+
 		Query query = doCreateQuery(this);
+
+		if (useCoalescer()) {
+			ListenableFuture<T> future = Futures.transform(
+					doExecuteCoalescedAsync(query, getPreparedCql(), getBoundValues()), new Function<List<Row>, T>() {
+
+						@Override
+						public T apply(List<Row> rows) {
+							return processRowsWithFallback(rows);
+						}
+
+					}, getExecutor());
+
+			return new CassandraFuture<T>(future, cqlTemplate.getExceptionTranslator());
+		}
+
 		CassandraFuture<ResultSet> resultSetFuture = doExecuteAsync(query);
 
 		ListenableFuture<T> future = Futures.transform(resultSetFuture, new Function<ResultSet, T>() {
@@ -86,7 +169,27 @@ public abstract class AbstractGetOperation<T> extends AbstractQueryOperation<T,
 	@Override
 	public void executeAsync(final CallbackHandler<T> cb) {
 
+		if (isImmediate()) {
+			cb.onComplete(getImmediateResult());
+			return;
+		}
+
 		Query query = doCreateQuery(this);
+
+		if (useCoalescer()) {
+			doFutureCallback(doExecuteCoalescedAsync(query, getPreparedCql(), getBoundValues()),
+					new CallbackHandler<List<Row>>() {
+
+						@Override
+						public void onComplete(List<Row> rows) {
+							T result = processRowsWithFallback(rows);
+							cb.onComplete(result);
+						}
+
+					});
+			return;
+		}
+
 		doExecuteAsync(query, new CallbackHandler<ResultSet>() {
 
 			@Override
@@ -100,11 +203,21 @@ public abstract class AbstractGetOperation<T> extends AbstractQueryOperation<T,
 
 	@Override
 	public T executeNonstop(int timeoutMls) throws TimeoutException {
+		if (isImmediate()) {
+			return getImmediateResult();
+		}
 		Query query = doCreateQuery(this);
+		if (useCoalescer()) {
+			return transformRows(doExecuteCoalescedNonstop(query, getPreparedCql(), getBoundValues(), timeoutMls));
+		}
 		ResultSet resultSet = doExecuteNonstop(query, timeoutMls);
 		return transform(resultSet);
 	}
 
+	private boolean useCoalescer() {
+		return cqlTemplate.getReadCoalescer() != null && isCoalescing();
+	}
+
 	protected T processWithFallback(ResultSet resultSet) {
 		try {
 			return transform(resultSet);
@@ -114,4 +227,13 @@ public abstract class AbstractGetOperation<T> extends AbstractQueryOperation<T,
 		}
 	}
 
+	protected T processRowsWithFallback(List<Row> rows) {
+		try {
+			return transformRows(rows);
+		} catch (RuntimeException e) {
+			fireOnFailure(e);
+			throw e;
+		}
+	}
+
 }
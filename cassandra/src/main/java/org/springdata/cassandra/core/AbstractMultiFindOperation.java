@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springframework.data.convert.EntityReader;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
+
+/**
+ * Abstract Find by Ids operation. Ids are de-duplicated, every id is selected by the cached prepared statement with
+ * the primary key and no more than maxConcurrency queries are executed at the same time.
+ * 
+ * @author Alex Shvid
+ * 
+ * @param <T> - entity type
+ * @param <R> - return type
+ */
+
+public abstract class AbstractMultiFindOperation<T, R> extends AbstractMultiGetOperation<R> {
+
+	public static final int DEFAULT_MAX_CONCURRENCY = 32;
+
+	protected final CassandraTemplate cassandraTemplate;
+	protected final EntityReader<? super T, Object> entityReader;
+	protected final Class<T> entityClass;
+	protected final CassandraPersistentEntity<?> entity;
+	protected final List<Object> ids;
+
+	public AbstractMultiFindOperation(CassandraTemplate cassandraTemplate, Class<T> entityClass, Iterable<?> ids,
+			int maxConcurrency) {
+		super(cassandraTemplate.cqlTemplate(), maxConcurrency);
+
+		if (maxConcurrency <= 0) {
+			throw new IllegalArgumentException("maxConcurrency must be positive " + maxConcurrency);
+		}
+
+		this.cassandraTemplate = cassandraTemplate;
+		this.entityReader = cassandraTemplate.getConverter();
+		this.entityClass = entityClass;
+		this.entity = cassandraTemplate.getPersistentEntity(entityClass);
+
+		Set<Object> uniqueIds = new LinkedHashSet<Object>();
+		for (Object id : ids) {
+			Assert.notNull(id);
+			uniqueIds.add(id);
+		}
+		this.ids = new ArrayList<Object>(uniqueIds);
+	}
+
+	@Override
+	public Iterator<Query> getQueryIterator() {
+
+		final String tableName = getTableName() != null ? getTableName() : entity.getTableName();
+
+		return Iterators.transform(ids.iterator(), new Function<Object, Query>() {
+
+			@Override
+			public Query apply(Object id) {
+
+				Map<String, Object> keyValues = cassandraTemplate.getConverter().getPrimaryKeyValues(entity, id);
+
+				PreparedStatement ps = cassandraTemplate.cqlOps().getOrPrepareStatement(
+						createSelectByKeyCql(tableName, keyValues.keySet()));
+
+				return ps.bind(keyValues.values().toArray());
+			}
+
+		});
+
+	}
+
+	/**
+	 * Reads entities in the order of ids
+	 * 
+	 * @param resultSets
+	 * @return list of entities with null for not found ids and ids not queried before the deadline
+	 */
+	protected List<T> readEntities(List<ResultSet> resultSets) {
+
+		List<T> result = new ArrayList<T>(resultSets.size());
+
+		for (ResultSet resultSet : resultSets) {
+
+			if (resultSet == null) {
+				result.add(null);
+				continue;
+			}
+
+			Row row = resultSet.one();
+			result.add(row != null ? entityReader.read(entityClass, row) : null);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Creates cql to select one id by the primary key columns
+	 * 
+	 * @param tableName
+	 * @param keyColumns
+	 * @return cql string
+	 */
+	protected String createSelectByKeyCql(String tableName, Set<String> keyColumns) {
+		return KeyQueryBuilder.selectByKey(cassandraTemplate.getKeyspace(), tableName, null, keyColumns, null);
+	}
+
+}
@@ -41,6 +41,7 @@ import com.google.common.util.concurrent.ListenableFuture;
 public abstract class AbstractMultiGetOperation<T> extends AbstractQueryOperation<T, GetOperation<T>> implements
 		GetOperation<T> {
 
+	private final int maxConcurrency;
 	private String tableName;
 
 	public abstract Iterator<Query> getQueryIterator();
@@ -48,7 +49,18 @@ public abstract class AbstractMultiGetOperation<T> extends AbstractQueryOperatio
 	public abstract T transform(List<ResultSet> resultSets);
 
 	public AbstractMultiGetOperation(CqlTemplate cqlTemplate) {
+		this(cqlTemplate, 0);
+	}
+
+	/**
+	 * Constructor with the limit of concurrently executed queries
+	 * 
+	 * @param cqlTemplate
+	 * @param maxConcurrency max number of queries in flight, zero for unlimited
+	 */
+	public AbstractMultiGetOperation(CqlTemplate cqlTemplate, int maxConcurrency) {
 		super(cqlTemplate);
+		this.maxConcurrency = maxConcurrency;
 	}
 
 	@Override
@@ -61,17 +73,21 @@ public abstract class AbstractMultiGetOperation<T> extends AbstractQueryOperatio
 		return tableName;
 	}
 
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
 	@Override
 	public T execute() {
 		Iterator<Query> queryIterator = getQueryIterator();
-		List<ResultSet> resultSets = doExecute(queryIterator);
+		List<ResultSet> resultSets = doExecute(queryIterator, maxConcurrency);
 		return transform(resultSets);
 	}
 
 	@Override
 	public CassandraFuture<T> executeAsync() {
 		Iterator<Query> queryIterator = getQueryIterator();
-		CassandraFuture<List<ResultSet>> resultSetsFuture = doExecuteAsync(queryIterator);
+		CassandraFuture<List<ResultSet>> resultSetsFuture = doExecuteAsync(queryIterator, maxConcurrency);
 
 		ListenableFuture<T> future = Futures.transform(resultSetsFuture, new Function<List<ResultSet>, T>() {
 
@@ -90,7 +106,7 @@ public abstract class AbstractMultiGetOperation<T> extends AbstractQueryOperatio
 	public void executeAsync(final CallbackHandler<T> cb) {
 
 		Iterator<Query> queryIterator = getQueryIterator();
-		doExecuteAsync(queryIterator, new CallbackHandler<List<ResultSet>>() {
+		doExecuteAsync(queryIterator, maxConcurrency, new CallbackHandler<List<ResultSet>>() {
 
 			@Override
 			public void onComplete(List<ResultSet> resultSets) {
@@ -104,7 +120,7 @@ public abstract class AbstractMultiGetOperation<T> extends AbstractQueryOperatio
 	@Override
 	public T executeNonstop(int timeoutMls) throws TimeoutException {
 		Iterator<Query> queryIterator = getQueryIterator();
-		List<ResultSet> resultSets = doExecuteNonstop(queryIterator, timeoutMls);
+		List<ResultSet> resultSets = doExecuteNonstop(queryIterator, maxConcurrency, timeoutMls);
 		return transform(resultSets);
 	}
 
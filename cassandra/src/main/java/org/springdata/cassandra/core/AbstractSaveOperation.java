@@ -16,6 +16,8 @@
 package org.springdata.cassandra.core;
 
 import org.springdata.cassandra.cql.core.AbstractUpdateOperation;
+import org.springdata.cassandra.cql.core.CallbackHandler;
+import org.springdata.cassandra.cql.core.CassandraFuture;
 import org.springdata.cassandra.cql.core.QueryOperation;
 import org.springframework.util.Assert;
 
@@ -72,4 +74,65 @@ public abstract class AbstractSaveOperation<T, O extends QueryOperation<ResultSe
 		return timestamp;
 	}
 
+	@Override
+	public CassandraFuture<ResultSet> executeAsync() {
+
+		WriteCoalescer writeCoalescer = getWriteCoalescer();
+		if (writeCoalescer == null) {
+			return super.executeAsync();
+		}
+
+		/*
+		 * Writes of one batch share the batch timestamp, client timestamp keeps the order of saves of the same row
+		 */
+		stampClientTimestamp();
+
+		return writeCoalescer.submit(entity, getTableName(), createStatement(), getConsistencyLevel(), getRetryPolicy());
+	}
+
+	/**
+	 * Fallback handler and executor of the operation are applied by doFutureCallback to the coalesced write too
+	 */
+	@Override
+	public void executeAsync(CallbackHandler<ResultSet> cb) {
+
+		if (getWriteCoalescer() == null) {
+			super.executeAsync(cb);
+			return;
+		}
+
+		doFutureCallback(executeAsync(), cb);
+	}
+
+	/**
+	 * Returns write coalescer of the template or null if the write must be sent on its own, because the batch of the
+	 * coalescer can not carry tracing, deadline or circuit breaker of one operation.
+	 * 
+	 * @return
+	 */
+	private WriteCoalescer getWriteCoalescer() {
+		return hasQueryScopedOptions() ? null : cassandraTemplate.getWriteCoalescer();
+	}
+
+	public void executeWriteBehind() {
+
+		WriteBehindBuffer writeBehindBuffer = cassandraTemplate.getWriteBehindBuffer();
+		if (writeBehindBuffer == null) {
+			throw new IllegalStateException("write-behind buffer is not configured");
+		}
+
+		/*
+		 * Spilled statements can be replayed after newer writes, client timestamp keeps the newer value
+		 */
+		stampClientTimestamp();
+
+		writeBehindBuffer.submit(createStatement());
+	}
+
+	private void stampClientTimestamp() {
+		if (timestamp == null) {
+			timestamp = WriteBehindBuffer.nextTimestampMicros();
+		}
+	}
+
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lookup of the primary key in the Bloom filter of the entity for findById and exists. The lookup is made on every
+ * execution of the operation, so writes done after the operation was created are seen. The filter covers only the table
+ * of the entity, operations on other tables always query Cassandra.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+class BloomFilterLookup {
+
+	private final CassandraTemplate cassandraTemplate;
+	private final Class<?> entityClass;
+	private final Object entity;
+	private final Object id;
+
+	private volatile KeyBloomFilter answeringFilter;
+
+	BloomFilterLookup(CassandraTemplate cassandraTemplate, Object entity) {
+		this.cassandraTemplate = cassandraTemplate;
+		this.entityClass = entity.getClass();
+		this.entity = entity;
+		this.id = null;
+	}
+
+	BloomFilterLookup(CassandraTemplate cassandraTemplate, Class<?> entityClass, Object id) {
+		this.cassandraTemplate = cassandraTemplate;
+		this.entityClass = entityClass;
+		this.entity = null;
+		this.id = id;
+	}
+
+	/**
+	 * Checks the key in the filter
+	 * 
+	 * @param tableName table of the operation, null for the table of the entity
+	 * @return true if the key definitely was never written
+	 */
+	boolean isAbsent(String tableName) {
+
+		answeringFilter = null;
+
+		KeyBloomFilter filter = cassandraTemplate.getBloomFilter(entityClass);
+		if (filter == null) {
+			return false;
+		}
+
+		if (tableName != null && !tableName.equals(cassandraTemplate.getTableName(entityClass))) {
+			return false;
+		}
+
+		Map<String, Object> keyValues = getKeyValues();
+		if (!filter.mightContain(keyValues)) {
+			return true;
+		}
+
+		if (filter.answers(keyValues)) {
+			answeringFilter = filter;
+		}
+		return false;
+	}
+
+	/**
+	 * Reports false positive to the filter if the filter answered the lookup and the row was not found
+	 * 
+	 * @param found true if the row was found
+	 */
+	void checkFound(boolean found) {
+		KeyBloomFilter filter = answeringFilter;
+		if (filter != null && !found) {
+			filter.reportFalsePositive();
+		}
+	}
+
+	private Map<String, Object> getKeyValues() {
+
+		if (entity == null) {
+			return cassandraTemplate.getConverter().getPrimaryKeyValues(cassandraTemplate.getPersistentEntity(entityClass),
+					id);
+		}
+
+		Map<String, Object> keyValues = new LinkedHashMap<String, Object>();
+		cassandraTemplate.getConverter().writeSelected(entity, Collections.<String> emptySet(), null, keyValues,
+				new LinkedHashMap<String, Object>());
+		return keyValues;
+	}
+
+}
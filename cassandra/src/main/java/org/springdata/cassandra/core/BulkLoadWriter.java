@@ -0,0 +1,304 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cassandra.db.marshal.AbstractType;
+import org.apache.cassandra.db.marshal.AsciiType;
+import org.apache.cassandra.db.marshal.BooleanType;
+import org.apache.cassandra.db.marshal.BytesType;
+import org.apache.cassandra.db.marshal.CompositeType;
+import org.apache.cassandra.db.marshal.DateType;
+import org.apache.cassandra.db.marshal.DecimalType;
+import org.apache.cassandra.db.marshal.DoubleType;
+import org.apache.cassandra.db.marshal.FloatType;
+import org.apache.cassandra.db.marshal.InetAddressType;
+import org.apache.cassandra.db.marshal.Int32Type;
+import org.apache.cassandra.db.marshal.IntegerType;
+import org.apache.cassandra.db.marshal.LongType;
+import org.apache.cassandra.db.marshal.ReversedType;
+import org.apache.cassandra.db.marshal.TimeUUIDType;
+import org.apache.cassandra.db.marshal.UTF8Type;
+import org.apache.cassandra.db.marshal.UUIDType;
+import org.apache.cassandra.dht.IPartitioner;
+import org.apache.cassandra.dht.Murmur3Partitioner;
+import org.apache.cassandra.io.sstable.SSTableSimpleUnsortedWriter;
+import org.springdata.cassandra.convert.CassandraConverter;
+import org.springdata.cassandra.cql.core.Ordering;
+import org.springdata.cassandra.cql.option.TableOption;
+import org.springdata.cassandra.cql.spec.ColumnSpecification;
+import org.springdata.cassandra.cql.spec.CreateTableSpecification;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.DataType;
+
+/**
+ * Writes rows of the table to SSTables in the local directory, without Cassandra cluster. The result is loaded by
+ * sstableloader or copied to the data directory of the node and picked up by nodetool refresh. Used for initial loads
+ * that are too big for the native protocol.
+ * 
+ * SSTables are written in the CQL3 layout of Cassandra 1.2: cell name is composite of clustering values and column
+ * name, every row has the empty row marker cell. Collections, counters and COMPACT STORAGE tables are not supported.
+ * Null values are skipped. Requires cassandra-all on the classpath.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class BulkLoadWriter implements Closeable {
+
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	private static final int DEFAULT_BUFFER_SIZE_MB = 64;
+
+	private final SSTableSimpleUnsortedWriter writer;
+	private final CompositeType comparator;
+
+	private final List<ColumnSpecification> columns;
+	private final int partitionKeySize;
+	private final int clusteringKeySize;
+	private final ByteBuffer[] columnNames;
+	private final long timestamp;
+
+	private final CassandraConverter converter;
+
+	private long rows;
+
+	/**
+	 * Constructor for entities
+	 * 
+	 * @param directory output directory, SSTables are written to directory/keyspace/table
+	 * @param keyspace
+	 * @param converter
+	 * @param entity
+	 * @throws IOException if directory can not be created
+	 */
+	public BulkLoadWriter(File directory, String keyspace, CassandraConverter converter,
+			CassandraPersistentEntity<?> entity) throws IOException {
+		this(directory, keyspace, converter.getCreateTableSpecification(entity), converter, new Murmur3Partitioner(),
+				DEFAULT_BUFFER_SIZE_MB);
+	}
+
+	/**
+	 * Constructor for Object[] rows
+	 * 
+	 * @param directory output directory, SSTables are written to directory/keyspace/table
+	 * @param keyspace
+	 * @param spec table specification
+	 * @throws IOException if directory can not be created
+	 */
+	public BulkLoadWriter(File directory, String keyspace, CreateTableSpecification spec) throws IOException {
+		this(directory, keyspace, spec, null, new Murmur3Partitioner(), DEFAULT_BUFFER_SIZE_MB);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param directory output directory, SSTables are written to directory/keyspace/table
+	 * @param keyspace
+	 * @param spec table specification
+	 * @param converter converter of entities or null
+	 * @param partitioner partitioner of the cluster
+	 * @param bufferSizeInMB size of rows sorted in memory before writing the next SSTable
+	 * @throws IOException if directory can not be created
+	 */
+	public BulkLoadWriter(File directory, String keyspace, CreateTableSpecification spec, CassandraConverter converter,
+			IPartitioner<?> partitioner, int bufferSizeInMB) throws IOException {
+
+		Assert.notNull(directory);
+		Assert.notNull(keyspace);
+		Assert.notNull(spec);
+		Assert.notNull(partitioner);
+
+		if (spec.getOptions().containsKey(TableOption.COMPACT_STORAGE.getName())) {
+			throw new IllegalArgumentException("COMPACT STORAGE tables are not supported " + spec.getName());
+		}
+
+		this.columns = spec.getAllColumns();
+		this.partitionKeySize = spec.getPartitionKeyColumns().size();
+		this.clusteringKeySize = spec.getClusteringKeyColumns().size();
+		this.converter = converter;
+		this.timestamp = System.currentTimeMillis() * 1000;
+
+		List<AbstractType<?>> components = new ArrayList<AbstractType<?>>(clusteringKeySize + 1);
+		for (ColumnSpecification column : spec.getClusteringKeyColumns()) {
+			AbstractType<?> type = getCassandraType(column.getType());
+			components.add(column.getOrdering() == Ordering.DESCENDING ? ReversedType.getInstance(type) : type);
+		}
+		components.add(UTF8Type.instance);
+		this.comparator = CompositeType.getInstance(components);
+
+		this.columnNames = new ByteBuffer[columns.size()];
+		for (int i = 0; i != columns.size(); ++i) {
+			ColumnSpecification column = columns.get(i);
+			getCassandraType(column.getType());
+			columnNames[i] = UTF8Type.instance.decompose(column.getName());
+		}
+
+		File tableDirectory = new File(new File(directory, keyspace), spec.getName());
+		if (!tableDirectory.isDirectory() && !tableDirectory.mkdirs()) {
+			throw new IOException("can not create directory " + tableDirectory);
+		}
+
+		this.writer = new SSTableSimpleUnsortedWriter(tableDirectory, partitioner, keyspace, spec.getName(), comparator,
+				null, bufferSizeInMB);
+	}
+
+	/**
+	 * Writes the entity
+	 * 
+	 * @param entity
+	 */
+	public void add(Object entity) {
+		Assert.notNull(entity);
+		Assert.notNull(converter, "writer is created without converter");
+
+		Map<String, Object> keyValues = new LinkedHashMap<String, Object>();
+		Map<String, Object> columnValues = new LinkedHashMap<String, Object>();
+		converter.writeSelected(entity, null, null, keyValues, columnValues);
+
+		Object[] values = new Object[columns.size()];
+		for (int i = 0; i != values.length; ++i) {
+			String name = columns.get(i).getName();
+			values[i] = i < partitionKeySize + clusteringKeySize ? keyValues.get(name) : columnValues.get(name);
+		}
+
+		addRow(values);
+	}
+
+	/**
+	 * Writes the row
+	 * 
+	 * @param values in the order of columns: partition key columns, clustering key columns, non key columns
+	 */
+	public void addRow(Object... values) {
+
+		Assert.notNull(values);
+		if (values.length != columns.size()) {
+			throw new IllegalArgumentException("expected " + columns.size() + " values, found " + values.length);
+		}
+
+		ByteBuffer[] partitionKey = new ByteBuffer[partitionKeySize];
+		for (int i = 0; i != partitionKeySize; ++i) {
+			partitionKey[i] = serializeKey(i, values[i]);
+		}
+
+		ByteBuffer[] clusteringKey = new ByteBuffer[clusteringKeySize];
+		for (int i = 0; i != clusteringKeySize; ++i) {
+			clusteringKey[i] = serializeKey(partitionKeySize + i, values[partitionKeySize + i]);
+		}
+
+		try {
+
+			writer.newRow(partitionKeySize == 1 ? partitionKey[0] : CompositeType.build(partitionKey));
+
+			writer.addColumn(cellName(clusteringKey, EMPTY), EMPTY, timestamp);
+
+			for (int i = partitionKeySize + clusteringKeySize; i != values.length; ++i) {
+				if (values[i] != null) {
+					writer.addColumn(cellName(clusteringKey, columnNames[i]), columns.get(i).getType().serialize(values[i]),
+							timestamp);
+				}
+			}
+
+		} catch (IOException e) {
+			throw new DataAccessResourceFailureException("SSTable write failed", e);
+		}
+
+		++rows;
+	}
+
+	/**
+	 * Returns number of written rows
+	 * 
+	 * @return
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	/**
+	 * Writes the last SSTable
+	 */
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+
+	private ByteBuffer serializeKey(int i, Object value) {
+		if (value == null) {
+			throw new IllegalArgumentException("null value of primary key column " + columns.get(i).getName());
+		}
+		return columns.get(i).getType().serialize(value);
+	}
+
+	private ByteBuffer cellName(ByteBuffer[] clusteringKey, ByteBuffer columnName) {
+		CompositeType.Builder builder = comparator.builder();
+		for (ByteBuffer value : clusteringKey) {
+			builder.add(value);
+		}
+		builder.add(columnName);
+		return builder.build();
+	}
+
+	private static AbstractType<?> getCassandraType(DataType type) {
+
+		switch (type.getName()) {
+		case ASCII:
+			return AsciiType.instance;
+		case BIGINT:
+			return LongType.instance;
+		case BLOB:
+			return BytesType.instance;
+		case BOOLEAN:
+			return BooleanType.instance;
+		case DECIMAL:
+			return DecimalType.instance;
+		case DOUBLE:
+			return DoubleType.instance;
+		case FLOAT:
+			return FloatType.instance;
+		case INET:
+			return InetAddressType.instance;
+		case INT:
+			return Int32Type.instance;
+		case TEXT:
+		case VARCHAR:
+			return UTF8Type.instance;
+		case TIMESTAMP:
+			return DateType.instance;
+		case UUID:
+			return UUIDType.instance;
+		case TIMEUUID:
+			return TimeUUIDType.instance;
+		case VARINT:
+			return IntegerType.instance;
+		default:
+			throw new IllegalArgumentException("type " + type + " is not supported by bulk load writer");
+		}
+	}
+
+}
@@ -17,6 +17,7 @@ package org.springdata.cassandra.core;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.springdata.cassandra.convert.CassandraConverter;
 import org.springdata.cassandra.cql.core.CqlOperations;
@@ -53,7 +54,7 @@ public interface CassandraOperations {
 	<T> GetOperation<Iterator<T>> findAll(Class<T> entityClass);
 
 	/**
-	 * Finds all entities with specific ids in table
+	 * Finds all entities with specific ids in table. Returns found entities in the order of ids without duplicates.
 	 * 
 	 * @param entityClass
 	 * @param ids
@@ -61,6 +62,27 @@ public interface CassandraOperations {
 	 */
 	<T> GetOperation<List<T>> findAll(Class<T> entityClass, Iterable<?> ids);
 
+	/**
+	 * Finds all entities with specific ids in table. Returns found entities in the order of ids without duplicates.
+	 * 
+	 * @param entityClass
+	 * @param ids
+	 * @param maxConcurrency max number of queries executed at the same time
+	 * @return GetOperation
+	 */
+	<T> GetOperation<List<T>> findAll(Class<T> entityClass, Iterable<?> ids, int maxConcurrency);
+
+	/**
+	 * Finds all entities with specific ids in table. Returns map with all unique ids in their order, not found ids are
+	 * mapped to null.
+	 * 
+	 * @param entityClass
+	 * @param ids
+	 * @param maxConcurrency max number of queries executed at the same time
+	 * @return GetOperation
+	 */
+	<ID, T> GetOperation<Map<ID, T>> findAllAsMap(Class<T> entityClass, Iterable<ID> ids, int maxConcurrency);
+
 	/**
 	 * 
 	 * @param entityClass
@@ -79,6 +101,27 @@ public interface CassandraOperations {
 	 */
 	<T> GetOperation<Iterator<T>> findByPartitionKey(Class<T> entityClass, Object id);
 
+	/**
+	 * Finds a slice of entities in table starting after the cursor position
+	 * 
+	 * @param entityClass
+	 * @param cursor position of the last row in the previous slice or null for the first slice
+	 * @param size max number of entities in the slice
+	 * @return GetOperation
+	 */
+	<T> GetOperation<Slice<T>> findSlice(Class<T> entityClass, SliceCursor cursor, int size);
+
+	/**
+	 * Finds a slice of entities with the specified partition part of the primary key starting after the cursor position
+	 * 
+	 * @param entityClass
+	 * @param id
+	 * @param cursor position of the last row in the previous slice or null for the first slice
+	 * @param size max number of entities in the slice
+	 * @return GetOperation
+	 */
+	<T> GetOperation<Slice<T>> findSliceByPartitionKey(Class<T> entityClass, Object id, SliceCursor cursor, int size);
+
 	/**
 	 * Execute query and convert ResultSet to the list of entities
 	 * 
@@ -122,6 +165,63 @@ public interface CassandraOperations {
 	 */
 	<T> GetOperation<Boolean> exists(Class<T> entityClass, Object id);
 
+	/**
+	 * Checks if entities with specific ids exist in Cassandra. Returns map with all unique ids in their order.
+	 * 
+	 * @param entityClass
+	 * @param ids
+	 * @return GetOperation
+	 */
+	<ID, T> GetOperation<Map<ID, Boolean>> exists(Class<T> entityClass, Iterable<ID> ids);
+
+	/**
+	 * Checks if entities with specific ids exist in Cassandra. Returns map with all unique ids in their order.
+	 * 
+	 * @param entityClass
+	 * @param ids
+	 * @param maxConcurrency max number of queries executed at the same time
+	 * @return GetOperation
+	 */
+	<ID, T> GetOperation<Map<ID, Boolean>> exists(Class<T> entityClass, Iterable<ID> ids, int maxConcurrency);
+
+	/**
+	 * Enables client side Bloom filter of the written primary keys for the entity. Saves through this template put keys
+	 * into the filter, findById and exists return "not found" without a query if the key was definitely never written.
+	 * The filter must see every write of the entity. New filter is warming and lookups go to Cassandra until
+	 * seedBloomFilter loads already existing keys, call it also for an empty table.
+	 * 
+	 * @param entityClass
+	 * @param expectedInsertions expected number of keys
+	 * @param fpp desired false positive probability
+	 * @return new filter
+	 */
+	KeyBloomFilter enableBloomFilter(Class<?> entityClass, long expectedInsertions, double fpp);
+
+	/**
+	 * Disables Bloom filter for the entity
+	 * 
+	 * @param entityClass
+	 */
+	void disableBloomFilter(Class<?> entityClass);
+
+	/**
+	 * Returns Bloom filter of the entity
+	 * 
+	 * @param entityClass
+	 * @return filter or null if not enabled
+	 */
+	KeyBloomFilter getBloomFilter(Class<?> entityClass);
+
+	/**
+	 * Puts all existing keys of the table into the enabled Bloom filter. Scans the table by token ranges selecting only
+	 * the primary key columns. Marks the filter as seeded after the scan, from then on findById and exists use it.
+	 * 
+	 * @param entityClass
+	 * @param batchSize number of rows in one query
+	 * @return number of scanned keys
+	 */
+	<T> long seedBloomFilter(Class<T> entityClass, int batchSize);
+
 	/**
 	 * Insert the given object to the table.
 	 * 
@@ -183,6 +283,15 @@ public interface CassandraOperations {
 	 */
 	<T> BatchOperation deleteInBatch(Iterable<T> entities);
 
+	/**
+	 * Updates counter columns of the entity with given id. Fields must be annotated by @Counter.
+	 * 
+	 * @param entityClass
+	 * @param id
+	 * @return CounterOperation
+	 */
+	<T> CounterOperation updateCounters(Class<T> entityClass, Object id);
+
 	/**
 	 * Returns RowMapper based on Cassandra Converter.
 	 * 
@@ -19,8 +19,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springdata.cassandra.convert.CassandraConverter;
 import org.springdata.cassandra.cql.core.CqlOperations;
@@ -28,6 +32,7 @@ import org.springdata.cassandra.cql.core.CqlTemplate;
 import org.springdata.cassandra.cql.core.ResultSetExtractor;
 import org.springdata.cassandra.cql.core.RowMapper;
 import org.springdata.cassandra.cql.core.RowMapperResultSetExtractor;
+import org.springdata.cassandra.cql.spec.CreateTableSpecification;
 import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
@@ -37,6 +42,7 @@ import org.springframework.util.Assert;
 
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.querybuilder.Clause;
@@ -78,6 +84,11 @@ public class CassandraTemplate implements CassandraOperations {
 
 	private final SchemaOperations schemaDataOperations;
 
+	private final ConcurrentMap<Class<?>, KeyBloomFilter> bloomFilters = new ConcurrentHashMap<Class<?>, KeyBloomFilter>();
+
+	private volatile WriteCoalescer writeCoalescer;
+	private volatile WriteBehindBuffer writeBehindBuffer;
+
 	/**
 	 * Constructor used for a basic template configuration
 	 * 
@@ -110,11 +121,27 @@ public class CassandraTemplate implements CassandraOperations {
 	}
 
 	@Override
-	public <T> GetOperation<List<T>> findAll(final Class<T> entityClass, final Iterable<?> ids) {
+	public <T> GetOperation<List<T>> findAll(Class<T> entityClass, Iterable<?> ids) {
+		Assert.notNull(entityClass);
+		Assert.notNull(ids);
+
+		return findAll(entityClass, ids, AbstractMultiFindOperation.DEFAULT_MAX_CONCURRENCY);
+	}
+
+	@Override
+	public <T> GetOperation<List<T>> findAll(Class<T> entityClass, Iterable<?> ids, int maxConcurrency) {
 		Assert.notNull(entityClass);
 		Assert.notNull(ids);
 
-		return new DefaultMultiFindOperation<T>(this, entityClass, ids.iterator());
+		return new DefaultMultiFindOperation<T>(this, entityClass, ids, maxConcurrency);
+	}
+
+	@Override
+	public <ID, T> GetOperation<Map<ID, T>> findAllAsMap(Class<T> entityClass, Iterable<ID> ids, int maxConcurrency) {
+		Assert.notNull(entityClass);
+		Assert.notNull(ids);
+
+		return new DefaultMultiFindAsMapOperation<ID, T>(this, entityClass, ids, maxConcurrency);
 	}
 
 	@Override
@@ -122,6 +149,8 @@ public class CassandraTemplate implements CassandraOperations {
 		Assert.notNull(entityClass);
 		Assert.notNull(id);
 
+		final BloomFilterLookup lookup = new BloomFilterLookup(this, entityClass, id);
+
 		return new AbstractFindOneOperation<T>(this, entityClass) {
 
 			@Override
@@ -137,7 +166,19 @@ public class CassandraTemplate implements CassandraOperations {
 					w.and(c);
 				}
 
-				return select;
+				return RoutedStatements.route(select, cassandraConverter.getRoutingKey(entity, id));
+			}
+
+			@Override
+			protected boolean isImmediate() {
+				return lookup.isAbsent(getTableName());
+			}
+
+			@Override
+			protected T transformRow(Row row) {
+				T result = super.transformRow(row);
+				lookup.checkFound(result != null);
+				return result;
 			}
 
 		};
@@ -164,13 +205,29 @@ public class CassandraTemplate implements CassandraOperations {
 					w.and(c);
 				}
 
-				return select;
+				return RoutedStatements.route(select, cassandraConverter.getRoutingKey(entity, id));
 			}
 
 		};
 
 	}
 
+	@Override
+	public <T> GetOperation<Slice<T>> findSlice(Class<T> entityClass, SliceCursor cursor, int size) {
+		Assert.notNull(entityClass);
+
+		return new DefaultSliceOperation<T>(this, entityClass, cursor, size);
+	}
+
+	@Override
+	public <T> GetOperation<Slice<T>> findSliceByPartitionKey(Class<T> entityClass, Object id, SliceCursor cursor,
+			int size) {
+		Assert.notNull(entityClass);
+		Assert.notNull(id);
+
+		return new DefaultSliceOperation<T>(this, entityClass, id, cursor, size);
+	}
+
 	@Override
 	public <T> GetOperation<Iterator<T>> find(Class<T> entityClass, final String cql) {
 		Assert.notNull(entityClass);
@@ -263,6 +320,14 @@ public class CassandraTemplate implements CassandraOperations {
 		return new DefaultDeleteOperation<T>(this, entity);
 	}
 
+	@Override
+	public <T> CounterOperation updateCounters(Class<T> entityClass, Object id) {
+		Assert.notNull(entityClass);
+		Assert.notNull(id);
+		assertNotIterable(id);
+		return new DefaultCounterOperation<T>(this, entityClass, id);
+	}
+
 	@Override
 	public <T> GetOperation<Long> count(Class<T> entityClass) {
 		Assert.notNull(entityClass);
@@ -272,14 +337,171 @@ public class CassandraTemplate implements CassandraOperations {
 	@Override
 	public <T> GetOperation<Boolean> exists(T entity) {
 		Assert.notNull(entity);
-		return new DefaultExistsOperation<T>(this, entity);
+
+		final BloomFilterLookup lookup = new BloomFilterLookup(this, entity);
+
+		return new DefaultExistsOperation<T>(this, entity) {
+
+			@Override
+			protected boolean isImmediate() {
+				return lookup.isAbsent(getTableName());
+			}
+
+			@Override
+			protected Boolean getImmediateResult() {
+				return Boolean.FALSE;
+			}
+
+			@Override
+			protected Boolean transformRow(Row row) {
+				Boolean exists = super.transformRow(row);
+				lookup.checkFound(exists);
+				return exists;
+			}
+
+		};
 	}
 
 	@Override
 	public <T> GetOperation<Boolean> exists(Class<T> entityClass, Object id) {
 		Assert.notNull(entityClass);
 		Assert.notNull(id);
-		return new DefaultExistsOperation<T>(this, entityClass, id);
+
+		final BloomFilterLookup lookup = new BloomFilterLookup(this, entityClass, id);
+
+		return new DefaultExistsOperation<T>(this, entityClass, id) {
+
+			@Override
+			protected boolean isImmediate() {
+				return lookup.isAbsent(getTableName());
+			}
+
+			@Override
+			protected Boolean getImmediateResult() {
+				return Boolean.FALSE;
+			}
+
+			@Override
+			protected Boolean transformRow(Row row) {
+				Boolean exists = super.transformRow(row);
+				lookup.checkFound(exists);
+				return exists;
+			}
+
+		};
+	}
+
+	@Override
+	public <ID, T> GetOperation<Map<ID, Boolean>> exists(Class<T> entityClass, Iterable<ID> ids) {
+		return exists(entityClass, ids, AbstractMultiFindOperation.DEFAULT_MAX_CONCURRENCY);
+	}
+
+	@Override
+	public <ID, T> GetOperation<Map<ID, Boolean>> exists(Class<T> entityClass, Iterable<ID> ids, int maxConcurrency) {
+		Assert.notNull(entityClass);
+		Assert.notNull(ids);
+
+		return new DefaultMultiExistsOperation<ID, T>(this, entityClass, ids, maxConcurrency);
+	}
+
+	/**
+	 * Sets write coalescer, asynchronous saves are grouped by partition and sent in UNLOGGED batches. Null disables
+	 * coalescing.
+	 * 
+	 * @param writeCoalescer
+	 */
+	public void setWriteCoalescer(WriteCoalescer writeCoalescer) {
+		this.writeCoalescer = writeCoalescer;
+	}
+
+	/**
+	 * Returns write coalescer or null if coalescing is disabled
+	 * 
+	 * @return
+	 */
+	public WriteCoalescer getWriteCoalescer() {
+		return writeCoalescer;
+	}
+
+	/**
+	 * Sets write-behind buffer that is used by executeWriteBehind() of save operations
+	 * 
+	 * @param writeBehindBuffer
+	 */
+	public void setWriteBehindBuffer(WriteBehindBuffer writeBehindBuffer) {
+		this.writeBehindBuffer = writeBehindBuffer;
+	}
+
+	/**
+	 * Returns write-behind buffer or null if it is not configured
+	 * 
+	 * @return
+	 */
+	public WriteBehindBuffer getWriteBehindBuffer() {
+		return writeBehindBuffer;
+	}
+
+	@Override
+	public KeyBloomFilter enableBloomFilter(Class<?> entityClass, long expectedInsertions, double fpp) {
+		Assert.notNull(entityClass);
+
+		CreateTableSpecification spec = cassandraConverter.getCreateTableSpecification(getPersistentEntity(entityClass));
+		int keyColumnCount = spec.getPartitionKeyColumns().size() + spec.getClusteringKeyColumns().size();
+
+		KeyBloomFilter filter = new KeyBloomFilter(expectedInsertions, fpp, keyColumnCount);
+		bloomFilters.put(entityClass, filter);
+		return filter;
+	}
+
+	@Override
+	public void disableBloomFilter(Class<?> entityClass) {
+		Assert.notNull(entityClass);
+		bloomFilters.remove(entityClass);
+	}
+
+	@Override
+	public KeyBloomFilter getBloomFilter(Class<?> entityClass) {
+		Assert.notNull(entityClass);
+		return bloomFilters.get(entityClass);
+	}
+
+	@Override
+	public <T> long seedBloomFilter(Class<T> entityClass, int batchSize) {
+		Assert.notNull(entityClass);
+
+		KeyBloomFilter filter = bloomFilters.get(entityClass);
+		if (filter == null) {
+			throw new InvalidDataAccessApiUsageException("Bloom filter is not enabled for " + entityClass);
+		}
+
+		long count = 0;
+		SliceCursor cursor = null;
+
+		do {
+			Slice<T> slice = new DefaultSliceOperation<T>(this, entityClass, cursor, batchSize).keysOnly().execute();
+			for (T entity : slice.getContent()) {
+				filter.put(getKeyValues(entity));
+				++count;
+			}
+			cursor = slice.getNextCursor();
+		} while (cursor != null);
+
+		filter.markSeeded();
+		return count;
+	}
+
+	private void putBloomFilter(Object entity) {
+		KeyBloomFilter filter = bloomFilters.get(entity.getClass());
+		if (filter != null) {
+			filter.put(getKeyValues(entity));
+		}
+	}
+
+	private Map<String, Object> getKeyValues(Object entity) {
+		Map<String, Object> keyValues = new LinkedHashMap<String, Object>();
+		cassandraConverter.writeSelected(entity, Collections.<String> emptySet(), null, keyValues,
+				new LinkedHashMap<String, Object>());
+		return keyValues;
 	}
 
 	/**
@@ -329,6 +551,7 @@ public class CassandraTemplate implements CassandraOperations {
 
 						Assert.notNull(entity);
 						assertNotIterable(entity);
+						putBloomFilter(entity);
 
 						return new DefaultSaveNewOperation<T>(cassandraTemplate, entity);
 					}
@@ -343,6 +566,7 @@ public class CassandraTemplate implements CassandraOperations {
 	public <T> SaveNewOperation saveNew(T entity) {
 		Assert.notNull(entity);
 		assertNotIterable(entity);
+		putBloomFilter(entity);
 		return new DefaultSaveNewOperation<T>(this, entity);
 	}
 
@@ -359,6 +583,7 @@ public class CassandraTemplate implements CassandraOperations {
 
 						Assert.notNull(entity);
 						assertNotIterable(entity);
+						putBloomFilter(entity);
 
 						return new DefaultSaveOperation<T>(cassandraTemplate, entity);
 					}
@@ -372,6 +597,7 @@ public class CassandraTemplate implements CassandraOperations {
 	public <T> SaveOperation save(T entity) {
 		Assert.notNull(entity);
 		assertNotIterable(entity);
+		putBloomFilter(entity);
 		return new DefaultSaveOperation<T>(this, entity);
 	}
 
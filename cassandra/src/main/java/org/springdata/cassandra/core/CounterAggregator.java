@@ -0,0 +1,423 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springdata.cassandra.cql.core.ConsistencyLevel;
+import org.springdata.cassandra.cql.core.ConsistencyLevelResolver;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Update;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+
+/**
+ * Client side pre-aggregation of counter increments. Increments are summed up per (table, primary key, column) in
+ * memory and periodically flushed as COUNTER batches, one UPDATE per primary key.
+ * 
+ * Increments are lock-free. Every thread adds to its own stripe, so hot counters updated by many threads do not
+ * contend on the same cell; stripes are summed up on the flush.
+ * 
+ * Counter updates are not idempotent, failed batches are not retried and their increments are lost. Not flushed
+ * increments are lost on the crash of the application.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class CounterAggregator implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(CounterAggregator.class);
+
+	public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+	public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+	/*
+	 * Marks the cell removed from the stripe, writers that see it take a new cell
+	 */
+	private static final long RETIRED = Long.MIN_VALUE;
+
+	private final CassandraTemplate cassandraTemplate;
+	private final int maxBatchSize;
+	private final ConcurrentMap<CounterKey, AtomicLong>[] stripes;
+	private final ScheduledExecutorService scheduler;
+
+	private ConsistencyLevel consistencyLevel;
+
+	private final AtomicLong increments = new AtomicLong();
+	private final AtomicLong updates = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+
+	public CounterAggregator(CassandraTemplate cassandraTemplate) {
+		this(cassandraTemplate, DEFAULT_FLUSH_INTERVAL_MILLIS, Runtime.getRuntime().availableProcessors(),
+				DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param cassandraTemplate
+	 * @param flushIntervalMillis interval between flushes in milliseconds
+	 * @param stripes number of stripes
+	 * @param maxBatchSize max number of UPDATE statements in one batch
+	 */
+	@SuppressWarnings("unchecked")
+	public CounterAggregator(CassandraTemplate cassandraTemplate, long flushIntervalMillis, int stripes, int maxBatchSize) {
+		Assert.notNull(cassandraTemplate);
+		Assert.isTrue(flushIntervalMillis > 0, "flushIntervalMillis must be positive");
+		Assert.isTrue(stripes > 0, "stripes must be positive");
+		Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be positive");
+
+		this.cassandraTemplate = cassandraTemplate;
+		this.maxBatchSize = maxBatchSize;
+		this.stripes = new ConcurrentMap[stripes];
+		for (int i = 0; i != stripes; ++i) {
+			this.stripes[i] = new ConcurrentHashMap<CounterKey, AtomicLong>();
+		}
+
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "cassandra-counter-aggregator");
+				thread.setDaemon(true);
+				return thread;
+			}
+
+		});
+
+		this.scheduler.scheduleWithFixedDelay(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					flush();
+				} catch (RuntimeException e) {
+					logger.error("counter flush failed", e);
+				}
+			}
+
+		}, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public void setConsistencyLevel(ConsistencyLevel consistencyLevel) {
+		this.consistencyLevel = consistencyLevel;
+	}
+
+	/**
+	 * Adds delta to the counter field of the entity
+	 * 
+	 * @param entityClass entity class
+	 * @param id entity id
+	 * @param field name of the counter property
+	 * @param delta value to add
+	 */
+	public void incr(Class<?> entityClass, Object id, String field, long delta) {
+		Assert.notNull(entityClass);
+		Assert.notNull(id);
+		Assert.notNull(field);
+
+		CassandraPersistentEntity<?> entity = cassandraTemplate.getPersistentEntity(entityClass);
+		incr(cassandraTemplate.getTableName(entityClass), cassandraTemplate.getConverter().getPrimaryKeyValues(entity, id),
+				DefaultCounterOperation.getCounterColumnName(entity, field), delta);
+	}
+
+	/**
+	 * Subtracts delta from the counter field of the entity
+	 * 
+	 * @param entityClass entity class
+	 * @param id entity id
+	 * @param field name of the counter property
+	 * @param delta value to subtract
+	 */
+	public void decr(Class<?> entityClass, Object id, String field, long delta) {
+		incr(entityClass, id, field, -delta);
+	}
+
+	/**
+	 * Adds delta to the counter column
+	 * 
+	 * @param tableName table name
+	 * @param keyValues primary key column values, must not be modified after the call
+	 * @param columnName counter column name
+	 * @param delta value to add
+	 */
+	public void incr(String tableName, Map<String, Object> keyValues, String columnName, long delta) {
+		Assert.notNull(tableName);
+		Assert.notEmpty(keyValues);
+		Assert.notNull(columnName);
+
+		if (delta == 0) {
+			return;
+		}
+
+		CounterKey key = new CounterKey(tableName, keyValues, columnName);
+		ConcurrentMap<CounterKey, AtomicLong> stripe = stripes[(int) (Thread.currentThread().getId() % stripes.length)];
+
+		while (true) {
+
+			AtomicLong cell = stripe.get(key);
+			if (cell == null) {
+				cell = new AtomicLong(delta);
+				if (stripe.putIfAbsent(key, cell) == null) {
+					break;
+				}
+				continue;
+			}
+
+			long current = cell.get();
+			if (current == RETIRED) {
+				stripe.remove(key, cell);
+				continue;
+			}
+			if (cell.compareAndSet(current, current + delta)) {
+				break;
+			}
+		}
+
+		increments.incrementAndGet();
+	}
+
+	/**
+	 * Sends all aggregated increments to Cassandra
+	 */
+	public synchronized void flush() {
+
+		Map<RowKey, Map<String, Long>> rows = new LinkedHashMap<RowKey, Map<String, Long>>();
+
+		for (ConcurrentMap<CounterKey, AtomicLong> stripe : stripes) {
+			for (Map.Entry<CounterKey, AtomicLong> e : stripe.entrySet()) {
+
+				AtomicLong cell = e.getValue();
+				long delta = cell.getAndSet(0);
+
+				if (delta == 0) {
+					if (cell.compareAndSet(0, RETIRED)) {
+						stripe.remove(e.getKey(), cell);
+					}
+					continue;
+				}
+
+				CounterKey key = e.getKey();
+				Map<String, Long> columns = rows.get(key.rowKey);
+				if (columns == null) {
+					columns = new LinkedHashMap<String, Long>();
+					rows.put(key.rowKey, columns);
+				}
+				Long sum = columns.get(key.columnName);
+				columns.put(key.columnName, sum != null ? sum + delta : delta);
+			}
+		}
+
+		List<String> batch = new ArrayList<String>(maxBatchSize);
+
+		for (Map.Entry<RowKey, Map<String, Long>> row : rows.entrySet()) {
+
+			Update update = QueryBuilder.update(cassandraTemplate.getKeyspace(), row.getKey().tableName);
+			boolean changed = false;
+			for (Map.Entry<String, Long> column : row.getValue().entrySet()) {
+				if (column.getValue() != 0) {
+					update.with(QueryBuilder.incr(column.getKey(), column.getValue()));
+					changed = true;
+				}
+			}
+			if (!changed) {
+				continue;
+			}
+			for (Map.Entry<String, Object> key : row.getKey().keyValues.entrySet()) {
+				update.where(QueryBuilder.eq(key.getKey(), key.getValue()));
+			}
+
+			batch.add(update.getQueryString());
+
+			if (batch.size() == maxBatchSize) {
+				send(batch);
+				batch = new ArrayList<String>(maxBatchSize);
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			send(batch);
+		}
+	}
+
+	private void send(final List<String> batch) {
+
+		StringBuilder cql = new StringBuilder("BEGIN COUNTER BATCH ");
+		for (String update : batch) {
+			cql.append(update);
+			if (!update.endsWith(";")) {
+				cql.append(';');
+			}
+			cql.append(' ');
+		}
+		cql.append("APPLY BATCH;");
+
+		Query query = new SimpleStatement(cql.toString());
+		if (consistencyLevel != null) {
+			query.setConsistencyLevel(ConsistencyLevelResolver.resolve(consistencyLevel));
+		}
+		cassandraTemplate.cqlTemplate().disableWriteTimeoutRetries(query);
+
+		updates.addAndGet(batch.size());
+		batches.incrementAndGet();
+
+		ResultSetFuture future;
+		try {
+			future = cassandraTemplate.cqlTemplate().doExecuteAsync(query);
+		} catch (RuntimeException e) {
+			failed.addAndGet(batch.size());
+			logger.error("counter batch of " + batch.size() + " updates is lost", e);
+			return;
+		}
+
+		Futures.addCallback(future, new FutureCallback<ResultSet>() {
+
+			@Override
+			public void onSuccess(ResultSet result) {
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				failed.addAndGet(batch.size());
+				logger.error("counter batch of " + batch.size() + " updates is lost", t);
+			}
+
+		});
+	}
+
+	@Override
+	public void destroy() {
+		scheduler.shutdown();
+		flush();
+	}
+
+	/**
+	 * Number of accepted increments
+	 * 
+	 * @return count
+	 */
+	public long getIncrements() {
+		return increments.get();
+	}
+
+	/**
+	 * Number of UPDATE statements sent to Cassandra
+	 * 
+	 * @return count
+	 */
+	public long getUpdates() {
+		return updates.get();
+	}
+
+	/**
+	 * Number of batches sent to Cassandra
+	 * 
+	 * @return count
+	 */
+	public long getBatches() {
+		return batches.get();
+	}
+
+	/**
+	 * Number of UPDATE statements in failed batches
+	 * 
+	 * @return count
+	 */
+	public long getFailed() {
+		return failed.get();
+	}
+
+	static final class RowKey {
+
+		final String tableName;
+		final Map<String, Object> keyValues;
+
+		RowKey(String tableName, Map<String, Object> keyValues) {
+			this.tableName = tableName;
+			this.keyValues = keyValues;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * tableName.hashCode() + keyValues.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof RowKey)) {
+				return false;
+			}
+			RowKey other = (RowKey) obj;
+			return tableName.equals(other.tableName) && keyValues.equals(other.keyValues);
+		}
+
+	}
+
+	static final class CounterKey {
+
+		final RowKey rowKey;
+		final String columnName;
+
+		CounterKey(String tableName, Map<String, Object> keyValues, String columnName) {
+			this.rowKey = new RowKey(tableName, keyValues);
+			this.columnName = columnName;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * rowKey.hashCode() + columnName.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CounterKey)) {
+				return false;
+			}
+			CounterKey other = (CounterKey) obj;
+			return rowKey.equals(other.rowKey) && columnName.equals(other.columnName);
+		}
+
+	}
+
+}
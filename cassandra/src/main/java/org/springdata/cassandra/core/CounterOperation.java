@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import org.springdata.cassandra.cql.core.QueryOperation;
+
+import com.datastax.driver.core.ResultSet;
+
+/**
+ * Base interface to update counter columns of the entity by id.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public interface CounterOperation extends QueryOperation<ResultSet, CounterOperation> {
+
+	/**
+	 * Specifies table differ from entitie's table to update
+	 * 
+	 * @param tableName table is using to update counters
+	 * @return this
+	 */
+	CounterOperation toTable(String tableName);
+
+	/**
+	 * Increments counter field
+	 * 
+	 * @param field name of the counter property
+	 * @param delta value to add
+	 * @return this
+	 */
+	CounterOperation incr(String field, long delta);
+
+	/**
+	 * Decrements counter field
+	 * 
+	 * @param field name of the counter property
+	 * @param delta value to subtract
+	 * @return this
+	 */
+	CounterOperation decr(String field, long delta);
+
+}
@@ -16,6 +16,7 @@
 package org.springdata.cassandra.core;
 
 import java.util.Iterator;
+import java.util.List;
 
 import org.springframework.util.Assert;
 
@@ -47,7 +48,15 @@ public class DefaultCountOperation<T> extends AbstractGetOperation<Long> {
 
 	@Override
 	public Long transform(ResultSet resultSet) {
-		Iterator<Row> i = resultSet.iterator();
+		return readCount(resultSet.iterator());
+	}
+
+	@Override
+	protected Long transformRows(List<Row> rows) {
+		return readCount(rows.iterator());
+	}
+
+	private static Long readCount(Iterator<Row> i) {
 		if (i.hasNext()) {
 			Row row = i.next();
 			long count = row.getLong(0);
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springdata.cassandra.cql.core.AbstractUpdateOperation;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Update;
+
+/**
+ * Implementation of the CounterOperation. Increments of the same field are summed up and sent in one UPDATE.
+ * 
+ * @author Alex Shvid
+ * 
+ * @param <T> - entity Type
+ */
+public class DefaultCounterOperation<T> extends AbstractUpdateOperation<CounterOperation> implements CounterOperation,
+		BatchedStatementCreator {
+
+	private final CassandraTemplate cassandraTemplate;
+	private final Class<T> entityClass;
+	private final Object id;
+	private final Map<String, Long> deltas = new LinkedHashMap<String, Long>();
+
+	private String tableName;
+
+	protected DefaultCounterOperation(CassandraTemplate cassandraTemplate, Class<T> entityClass, Object id) {
+		super(cassandraTemplate.cqlTemplate());
+		Assert.notNull(entityClass);
+		Assert.notNull(id);
+		this.cassandraTemplate = cassandraTemplate;
+		this.entityClass = entityClass;
+		this.id = id;
+	}
+
+	@Override
+	public CounterOperation toTable(String tableName) {
+		this.tableName = tableName;
+		return this;
+	}
+
+	@Override
+	public void setTableName(String tableName) {
+		this.tableName = tableName;
+	}
+
+	@Override
+	public CounterOperation incr(String field, long delta) {
+		String columnName = getCounterColumnName(cassandraTemplate.getPersistentEntity(entityClass), field);
+		Long value = deltas.get(columnName);
+		deltas.put(columnName, value != null ? value + delta : delta);
+		return this;
+	}
+
+	@Override
+	public CounterOperation decr(String field, long delta) {
+		return incr(field, -delta);
+	}
+
+	@Override
+	public Query createQuery() {
+		return createStatement();
+	}
+
+	@Override
+	public Statement createStatement() {
+
+		if (deltas.isEmpty()) {
+			throw new IllegalArgumentException("no counters to update in " + entityClass);
+		}
+
+		String table = tableName != null ? tableName : cassandraTemplate.getTableName(entityClass);
+		Update query = QueryBuilder.update(cassandraTemplate.getKeyspace(), table);
+
+		for (Map.Entry<String, Long> e : deltas.entrySet()) {
+			query.with(QueryBuilder.incr(e.getKey(), e.getValue()));
+		}
+
+		CassandraPersistentEntity<?> entity = cassandraTemplate.getPersistentEntity(entityClass);
+		Map<String, Object> keyValues = cassandraTemplate.getConverter().getPrimaryKeyValues(entity, id);
+		for (Map.Entry<String, Object> e : keyValues.entrySet()) {
+			query.where(QueryBuilder.eq(e.getKey(), e.getValue()));
+		}
+
+		return RoutedStatements.route(query, cassandraTemplate.getConverter().getRoutingKey(entity, id));
+	}
+
+	static String getCounterColumnName(CassandraPersistentEntity<?> entity, String field) {
+		CassandraPersistentProperty prop = entity.getPersistentProperty(field);
+		if (prop == null) {
+			throw new InvalidDataAccessApiUsageException("property '" + field + "' not found in the entity "
+					+ entity.getName());
+		}
+		if (!prop.isCounter()) {
+			throw new InvalidDataAccessApiUsageException("property '" + field + "' is not a counter in the entity "
+					+ entity.getName());
+		}
+		return prop.getColumnName();
+	}
+
+}
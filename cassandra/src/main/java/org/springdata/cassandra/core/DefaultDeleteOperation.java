@@ -15,6 +15,7 @@
  */
 package org.springdata.cassandra.core;
 
+import java.nio.ByteBuffer;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -121,17 +122,20 @@ public class DefaultDeleteOperation<T> extends AbstractUpdateOperation<DeleteOpe
 		Where w = query.where();
 
 		List<Clause> clauseList = null;
+		ByteBuffer routingKey = null;
 
 		switch (deleteBy) {
 
 		case ID:
 			CassandraPersistentEntity<?> persistenceEntity = cassandraTemplate.getPersistentEntity(entityClass);
 			clauseList = cassandraTemplate.getConverter().getPrimaryKey(persistenceEntity, id);
+			routingKey = cassandraTemplate.getConverter().getRoutingKey(persistenceEntity, id);
 			break;
 
 		case ENTITY:
 			clauseList = new LinkedList<Clause>();
 			cassandraTemplate.getConverter().write(entity, clauseList);
+			routingKey = cassandraTemplate.getConverter().getRoutingKey(entity);
 			break;
 
 		}
@@ -144,7 +148,7 @@ public class DefaultDeleteOperation<T> extends AbstractUpdateOperation<DeleteOpe
 			query.using(QueryBuilder.timestamp(timestamp));
 		}
 
-		return query;
+		return RoutedStatements.route(query, routingKey);
 	}
 
 }
@@ -15,22 +15,22 @@
  */
 package org.springdata.cassandra.core;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springframework.util.Assert;
 
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
-import com.datastax.driver.core.querybuilder.Clause;
-import com.datastax.driver.core.querybuilder.QueryBuilder;
-import com.datastax.driver.core.querybuilder.Select;
 
 /**
- * Exists operation implementation
+ * Exists operation implementation. Selects the first key column by the prepared statement with LIMIT 1, so a partial
+ * key does not scan the whole partition.
  * 
  * @author Alex Shvid
  * 
@@ -44,6 +44,9 @@ public class DefaultExistsOperation<T> extends AbstractGetOperation<Boolean> {
 	private final Class<T> entityClass;
 	private final Object id;
 
+	private String preparedCql;
+	private Object[] boundValues;
+
 	public DefaultExistsOperation(CassandraTemplate cassandraTemplate, T entity) {
 		super(cassandraTemplate.cqlTemplate());
 		Assert.notNull(entity);
@@ -65,43 +68,73 @@ public class DefaultExistsOperation<T> extends AbstractGetOperation<Boolean> {
 
 	@Override
 	public Boolean transform(ResultSet resultSet) {
-		Iterator<Row> i = resultSet.iterator();
-		if (i.hasNext()) {
-			Row row = i.next();
-			long count = row.getLong(0);
-			return count > 0;
-		} else {
-			return false;
-		}
+		return transformRow(resultSet.one());
+	}
+
+	@Override
+	protected boolean isCoalescing() {
+		return true;
+	}
+
+	@Override
+	protected String getPreparedCql() {
+		return preparedCql;
+	}
+
+	@Override
+	protected Object[] getBoundValues() {
+		return boundValues;
+	}
+
+	@Override
+	protected Boolean transformRows(List<Row> rows) {
+		return transformRow(rows.isEmpty() ? null : rows.get(0));
+	}
+
+	/**
+	 * Transforms first row to the flag of existence
+	 * 
+	 * @param row first row or null
+	 * @return true if row exists
+	 */
+	protected Boolean transformRow(Row row) {
+		return row != null;
 	}
 
 	@Override
 	public Query createQuery() {
 
+		Class<?> entityClass = entity != null ? entity.getClass() : this.entityClass;
+
 		String tableName = getTableName();
 		if (tableName == null) {
-			tableName = cassandraTemplate.getTableName(entity != null ? entity.getClass() : entityClass);
+			tableName = cassandraTemplate.getTableName(entityClass);
 		}
 
-		Select select = QueryBuilder.select().countAll().from(cassandraTemplate.getKeyspace(), tableName);
-		Select.Where w = select.where();
-
-		CassandraPersistentEntity<?> persistentEntity = cassandraTemplate.getPersistentEntity(entity != null ? entity
-				.getClass() : entityClass);
+		CassandraPersistentEntity<?> persistentEntity = cassandraTemplate.getPersistentEntity(entityClass);
 
-		List<Clause> clauseList = null;
+		Map<String, Object> keyValues;
 
 		if (entity != null) {
-			clauseList = new LinkedList<Clause>();
-			cassandraTemplate.getConverter().write(entity, clauseList);
+			keyValues = new LinkedHashMap<String, Object>();
+			cassandraTemplate.getConverter().writeSelected(entity, Collections.<String> emptySet(), null, keyValues,
+					new LinkedHashMap<String, Object>());
 		} else {
-			clauseList = cassandraTemplate.getConverter().getPrimaryKey(persistentEntity, id);
+			keyValues = cassandraTemplate.getConverter().getPrimaryKeyValues(persistentEntity, id);
 		}
 
-		for (Clause c : clauseList) {
-			w.and(c);
+		if (keyValues.isEmpty()) {
+			throw new IllegalArgumentException("no key values found for " + entityClass);
 		}
 
-		return select;
+		String firstKeyColumn = keyValues.keySet().iterator().next();
+
+		preparedCql = KeyQueryBuilder.selectByKey(cassandraTemplate.getKeyspace(), tableName,
+				Collections.singletonList(firstKeyColumn), keyValues.keySet(), 1);
+		boundValues = keyValues.values().toArray();
+
+		PreparedStatement ps = cassandraTemplate.cqlOps().getOrPrepareStatement(preparedCql);
+
+		return ps.bind(boundValues);
 	}
 }
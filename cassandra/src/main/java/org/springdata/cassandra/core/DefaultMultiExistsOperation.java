@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.datastax.driver.core.ResultSet;
+
+/**
+ * Default Exists by Ids operation, returns map of all requested ids in their order to the flag of existence. Every id
+ * is checked by the key-only query with LIMIT 1.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class DefaultMultiExistsOperation<ID, T> extends AbstractMultiFindOperation<T, Map<ID, Boolean>> {
+
+	public DefaultMultiExistsOperation(CassandraTemplate cassandraTemplate, Class<T> entityClass, Iterable<ID> ids,
+			int maxConcurrency) {
+		super(cassandraTemplate, entityClass, ids, maxConcurrency);
+	}
+
+	@Override
+	protected String createSelectByKeyCql(String tableName, Set<String> keyColumns) {
+		String firstKeyColumn = keyColumns.iterator().next();
+		return KeyQueryBuilder.selectByKey(cassandraTemplate.getKeyspace(), tableName,
+				Collections.singletonList(firstKeyColumn), keyColumns, 1);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Map<ID, Boolean> transform(List<ResultSet> resultSets) {
+
+		Map<ID, Boolean> result = new LinkedHashMap<ID, Boolean>(resultSets.size() * 2);
+
+		for (int i = 0; i != resultSets.size(); ++i) {
+			ResultSet resultSet = resultSets.get(i);
+			if (resultSet != null) {
+				result.put((ID) ids.get(i), resultSet.one() != null);
+			}
+		}
+
+		return result;
+	}
+
+}
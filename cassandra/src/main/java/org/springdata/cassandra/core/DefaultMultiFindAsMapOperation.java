@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.datastax.driver.core.ResultSet;
+
+/**
+ * Default Find by Ids operation, returns map of all requested ids in their order to entities. Not found ids are
+ * mapped to null values.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class DefaultMultiFindAsMapOperation<ID, T> extends AbstractMultiFindOperation<T, Map<ID, T>> {
+
+	public DefaultMultiFindAsMapOperation(CassandraTemplate cassandraTemplate, Class<T> entityClass, Iterable<ID> ids,
+			int maxConcurrency) {
+		super(cassandraTemplate, entityClass, ids, maxConcurrency);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Map<ID, T> transform(List<ResultSet> resultSets) {
+
+		List<T> entities = readEntities(resultSets);
+		Map<ID, T> result = new LinkedHashMap<ID, T>(entities.size() * 2);
+
+		for (int i = 0; i != entities.size(); ++i) {
+			if (resultSets.get(i) != null) {
+				result.put((ID) ids.get(i), entities.get(i));
+			}
+		}
+
+		return result;
+	}
+
+}
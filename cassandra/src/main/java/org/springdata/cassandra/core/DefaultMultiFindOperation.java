@@ -16,77 +16,22 @@
 package org.springdata.cassandra.core;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
-import org.springdata.cassandra.cql.core.QueryCreator;
-import org.springdata.cassandra.mapping.CassandraPersistentEntity;
-import org.springframework.data.convert.EntityReader;
-
-import com.datastax.driver.core.Query;
 import com.datastax.driver.core.ResultSet;
-import com.datastax.driver.core.Row;
-import com.datastax.driver.core.querybuilder.Clause;
-import com.datastax.driver.core.querybuilder.QueryBuilder;
-import com.datastax.driver.core.querybuilder.Select;
-import com.google.common.base.Function;
-import com.google.common.collect.Iterators;
 
 /**
- * Default Find by Ids operation
+ * Default Find by Ids operation, returns found entities in the order of ids
  * 
  * @author Alex Shvid
  * 
  */
 
-public class DefaultMultiFindOperation<T> extends AbstractMultiGetOperation<List<T>> {
-
-	private final CassandraTemplate cassandraTemplate;
-	private final EntityReader<? super T, Object> entityReader;
-	private final Class<T> entityClass;
-	private final CassandraPersistentEntity<?> entity;
-	private final Iterator<?> ids;
-
-	public DefaultMultiFindOperation(CassandraTemplate cassandraTemplate, Class<T> entityClass, Iterator<?> ids) {
-		super(cassandraTemplate.cqlTemplate());
-		this.cassandraTemplate = cassandraTemplate;
-		this.entityReader = cassandraTemplate.getConverter();
-		this.entityClass = entityClass;
-		this.entity = cassandraTemplate.getPersistentEntity(entityClass);
-		this.ids = ids;
-	}
-
-	@Override
-	public Iterator<Query> getQueryIterator() {
-
-		final String tableName = getTableName() != null ? getTableName() : entity.getTableName();
-
-		return Iterators.transform(ids, new Function<Object, Query>() {
-
-			@Override
-			public Query apply(final Object id) {
-				return cassandraTemplate.cqlOps().createQuery(new QueryCreator() {
-
-					@Override
-					public Query createQuery() {
-
-						Select select = QueryBuilder.select().all().from(cassandraTemplate.getKeyspace(), tableName);
-						Select.Where w = select.where();
-
-						List<Clause> list = cassandraTemplate.getConverter().getPrimaryKey(entity, id);
-
-						for (Clause c : list) {
-							w.and(c);
-						}
-
-						return select;
-					}
-
-				});
-			}
-
-		});
+public class DefaultMultiFindOperation<T> extends AbstractMultiFindOperation<T, List<T>> {
 
+	public DefaultMultiFindOperation(CassandraTemplate cassandraTemplate, Class<T> entityClass, Iterable<?> ids,
+			int maxConcurrency) {
+		super(cassandraTemplate, entityClass, ids, maxConcurrency);
 	}
 
 	@Override
@@ -94,11 +39,8 @@ public class DefaultMultiFindOperation<T> extends AbstractMultiGetOperation<List
 
 		List<T> result = new ArrayList<T>(resultSets.size());
 
-		for (ResultSet resultSet : resultSets) {
-
-			Row row = resultSet.one();
-			if (row != null) {
-				T obj = entityReader.read(entityClass, row);
+		for (T obj : readEntities(resultSets)) {
+			if (obj != null) {
 				result.add(obj);
 			}
 		}
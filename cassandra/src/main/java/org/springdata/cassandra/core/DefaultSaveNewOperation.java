@@ -55,7 +55,7 @@ public class DefaultSaveNewOperation<T> extends AbstractSaveOperation<T, SaveNew
 			query.using(QueryBuilder.timestamp(getTimestamp()));
 		}
 
-		return query;
+		return RoutedStatements.route(query, cassandraTemplate.getConverter().getRoutingKey(entity));
 	}
 
 	@Override
@@ -15,6 +15,12 @@
  */
 package org.springdata.cassandra.core;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Query;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
@@ -23,16 +29,15 @@ import com.datastax.driver.core.querybuilder.Update;
 /**
  * Implementation for SaveOperation
  * 
+ * If selected or tagged fields are specified only those columns are updated. Standalone executions use a prepared
+ * statement cached per column subset, batched statements are built by the QueryBuilder.
+ * 
  * @author Alex Shvid
  * 
  */
 
 public class DefaultSaveOperation<T> extends AbstractSaveOperation<T, SaveOperation> implements SaveOperation {
 
-	/*
-	 * TODO: add support for selected / tagged fields
-	 */
-
 	private String[] selectedFields;
 	private int[] taggedFields;
 
@@ -42,7 +47,29 @@ public class DefaultSaveOperation<T> extends AbstractSaveOperation<T, SaveOperat
 
 	@Override
 	public Query createQuery() {
-		return createStatement();
+
+		if (!isPartial() || getTimestamp() != null) {
+			return createStatement();
+		}
+
+		Map<String, Object> keyValues = new LinkedHashMap<String, Object>();
+		Map<String, Object> columnValues = new LinkedHashMap<String, Object>();
+		writeSelected(keyValues, columnValues);
+
+		PreparedStatement ps = cassandraTemplate.cqlOps().getOrPrepareStatement(
+				KeyQueryBuilder.updateByKey(cassandraTemplate.getKeyspace(), getTableName(), getTtl(), columnValues.keySet(),
+						keyValues.keySet()));
+
+		Object[] values = new Object[columnValues.size() + keyValues.size()];
+		int i = 0;
+		for (Object value : columnValues.values()) {
+			values[i++] = value;
+		}
+		for (Object value : keyValues.values()) {
+			values[i++] = value;
+		}
+
+		return ps.bind(values);
 	}
 
 	@Override
@@ -50,7 +77,22 @@ public class DefaultSaveOperation<T> extends AbstractSaveOperation<T, SaveOperat
 
 		Update query = QueryBuilder.update(cassandraTemplate.getKeyspace(), getTableName());
 
-		cassandraTemplate.getConverter().write(entity, query);
+		if (isPartial()) {
+
+			Map<String, Object> keyValues = new LinkedHashMap<String, Object>();
+			Map<String, Object> columnValues = new LinkedHashMap<String, Object>();
+			writeSelected(keyValues, columnValues);
+
+			for (Map.Entry<String, Object> e : columnValues.entrySet()) {
+				query.with(QueryBuilder.set(e.getKey(), e.getValue()));
+			}
+			for (Map.Entry<String, Object> e : keyValues.entrySet()) {
+				query.where(QueryBuilder.eq(e.getKey(), e.getValue()));
+			}
+
+		} else {
+			cassandraTemplate.getConverter().write(entity, query);
+		}
 
 		/*
 		 * Add Ttl and Timestamp to Update query
@@ -62,7 +104,36 @@ public class DefaultSaveOperation<T> extends AbstractSaveOperation<T, SaveOperat
 			query.using(QueryBuilder.timestamp(getTimestamp()));
 		}
 
-		return query;
+		return RoutedStatements.route(query, cassandraTemplate.getConverter().getRoutingKey(entity));
+	}
+
+	private boolean isPartial() {
+		return selectedFields != null || taggedFields != null;
+	}
+
+	private void writeSelected(Map<String, Object> keyValues, Map<String, Object> columnValues) {
+
+		Set<String> fields = null;
+		if (selectedFields != null) {
+			fields = new HashSet<String>();
+			for (String field : selectedFields) {
+				fields.add(field);
+			}
+		}
+
+		Set<Integer> tags = null;
+		if (taggedFields != null) {
+			tags = new HashSet<Integer>();
+			for (int tag : taggedFields) {
+				tags.add(tag);
+			}
+		}
+
+		cassandraTemplate.getConverter().writeSelected(entity, fields, tags, keyValues, columnValues);
+
+		if (columnValues.isEmpty()) {
+			throw new IllegalArgumentException("no non-null fields selected to save in " + entity.getClass());
+		}
 	}
 
 	@Override
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Default implementation of the Slice
+ * 
+ * @author Alex Shvid
+ * 
+ * @param <T> - entity type
+ */
+public class DefaultSlice<T> implements Slice<T> {
+
+	private final List<T> content;
+	private final SliceCursor nextCursor;
+
+	public DefaultSlice(List<T> content, SliceCursor nextCursor) {
+		Assert.notNull(content);
+		this.content = Collections.unmodifiableList(content);
+		this.nextCursor = nextCursor;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return content.iterator();
+	}
+
+	@Override
+	public List<T> getContent() {
+		return content;
+	}
+
+	@Override
+	public int getNumberOfElements() {
+		return content.size();
+	}
+
+	@Override
+	public boolean hasContent() {
+		return !content.isEmpty();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return nextCursor != null;
+	}
+
+	@Override
+	public SliceCursor getNextCursor() {
+		return nextCursor;
+	}
+
+	@Override
+	public String toString() {
+		return "Slice [size=" + content.size() + ", hasNext=" + hasNext() + "]";
+	}
+
+}
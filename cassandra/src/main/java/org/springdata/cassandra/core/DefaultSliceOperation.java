@@ -0,0 +1,351 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springdata.cassandra.cql.core.AbstractQueryOperation;
+import org.springdata.cassandra.cql.core.CallbackHandler;
+import org.springdata.cassandra.cql.core.CassandraFuture;
+import org.springdata.cassandra.cql.core.Ordering;
+import org.springdata.cassandra.cql.core.QueryCreator;
+import org.springdata.cassandra.cql.spec.ColumnSpecification;
+import org.springdata.cassandra.cql.spec.CreateTableSpecification;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
+import org.springframework.data.convert.EntityReader;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.querybuilder.Clause;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Default Find Slice operation. Selects table or single partition by chunks with a given size.
+ * 
+ * Driver does not support paging state, therefore the next slice is selected by the primary key of the last row. First
+ * the rest of the last partition is selected by clustering columns (one query per clustering column), after that the
+ * next partitions are selected by token(partition key) > token of the last row.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class DefaultSliceOperation<T> extends AbstractQueryOperation<Slice<T>, GetOperation<Slice<T>>> implements
+		GetOperation<Slice<T>> {
+
+	private final CassandraTemplate cassandraTemplate;
+	private final EntityReader<? super T, Object> entityReader;
+	private final Class<T> entityClass;
+	private final int size;
+
+	private final boolean singlePartition;
+	private final List<ColumnSpecification> partitionKeyColumns;
+	private final List<ColumnSpecification> clusteringKeyColumns;
+	private final List<String> columns;
+	private final List<List<Clause>> steps;
+	private final ByteBuffer routingKey;
+
+	private String tableName;
+
+	/**
+	 * Constructor for slicing whole table
+	 */
+	public DefaultSliceOperation(CassandraTemplate cassandraTemplate, Class<T> entityClass, SliceCursor cursor, int size) {
+		this(cassandraTemplate, entityClass, null, cursor, size);
+	}
+
+	/**
+	 * Constructor for slicing single partition, partitionId can be null for the whole table
+	 */
+	public DefaultSliceOperation(CassandraTemplate cassandraTemplate, Class<T> entityClass, Object partitionId,
+			SliceCursor cursor, int size) {
+		super(cassandraTemplate.cqlTemplate());
+
+		if (size <= 0) {
+			throw new IllegalArgumentException("slice size must be positive " + size);
+		}
+
+		this.cassandraTemplate = cassandraTemplate;
+		this.entityReader = cassandraTemplate.getConverter();
+		this.entityClass = entityClass;
+		this.size = size;
+		this.singlePartition = partitionId != null;
+
+		CassandraPersistentEntity<?> entity = cassandraTemplate.getPersistentEntity(entityClass);
+		CreateTableSpecification spec = cassandraTemplate.getConverter().getCreateTableSpecification(entity);
+
+		this.partitionKeyColumns = spec.getPartitionKeyColumns();
+		this.clusteringKeyColumns = spec.getClusteringKeyColumns();
+
+		this.columns = new ArrayList<String>();
+		for (ColumnSpecification column : spec.getAllColumns()) {
+			columns.add(column.getName());
+		}
+		if (!singlePartition) {
+			columns.add(QueryBuilder.token(getPartitionKeyColumnNames()));
+		}
+
+		List<Clause> partitionClauses = singlePartition ? cassandraTemplate.getConverter().getPartitionKey(entity,
+				partitionId) : null;
+
+		this.steps = createSteps(partitionClauses, cursor);
+		this.routingKey = singlePartition ? cassandraTemplate.getConverter().getRoutingKey(entity, partitionId) : null;
+	}
+
+	/**
+	 * Selects only the primary key columns, other properties of the entities in the slice stay unset.
+	 * 
+	 * @return this
+	 */
+	public DefaultSliceOperation<T> keysOnly() {
+
+		columns.clear();
+		for (ColumnSpecification column : partitionKeyColumns) {
+			columns.add(column.getName());
+		}
+		for (ColumnSpecification column : clusteringKeyColumns) {
+			columns.add(column.getName());
+		}
+		if (!singlePartition) {
+			columns.add(QueryBuilder.token(getPartitionKeyColumnNames()));
+		}
+
+		return this;
+	}
+
+	@Override
+	public GetOperation<Slice<T>> formTable(String tableName) {
+		this.tableName = tableName;
+		return this;
+	}
+
+	public String getTableName() {
+		return tableName != null ? tableName : cassandraTemplate.getTableName(entityClass);
+	}
+
+	@Override
+	public Slice<T> execute() {
+
+		List<Row> rows = new ArrayList<Row>(size + 1);
+
+		for (int step = 0; step != steps.size() && rows.size() <= size; ++step) {
+			ResultSet resultSet = doExecute(createQuery(step, size + 1 - rows.size()));
+			for (Row row : resultSet) {
+				rows.add(row);
+			}
+		}
+
+		return transform(rows);
+	}
+
+	@Override
+	public CassandraFuture<Slice<T>> executeAsync() {
+
+		ListenableFuture<Slice<T>> future = Futures.transform(doExecuteAsync(0, new ArrayList<Row>(size + 1)),
+				new AsyncFunction<List<Row>, Slice<T>>() {
+
+					@Override
+					public ListenableFuture<Slice<T>> apply(List<Row> rows) {
+						try {
+							return Futures.immediateFuture(transform(rows));
+						} catch (RuntimeException e) {
+							fireOnFailure(e);
+							throw e;
+						}
+					}
+
+				}, getExecutor());
+
+		return new CassandraFuture<Slice<T>>(future, cqlTemplate.getExceptionTranslator());
+	}
+
+	@Override
+	public void executeAsync(CallbackHandler<Slice<T>> cb) {
+		doFutureCallback(executeAsync(), cb);
+	}
+
+	@Override
+	public Slice<T> executeNonstop(int timeoutMls) throws TimeoutException {
+		return executeAsync().getUninterruptibly(timeoutMls, TimeUnit.MILLISECONDS);
+	}
+
+	private ListenableFuture<List<Row>> doExecuteAsync(final int step, final List<Row> rows) {
+
+		if (step == steps.size() || rows.size() > size) {
+			return Futures.immediateFuture(rows);
+		}
+
+		return Futures.transform(doExecuteAsync(createQuery(step, size + 1 - rows.size())),
+				new AsyncFunction<ResultSet, List<Row>>() {
+
+					@Override
+					public ListenableFuture<List<Row>> apply(ResultSet resultSet) {
+						for (Row row : resultSet) {
+							rows.add(row);
+						}
+						return doExecuteAsync(step + 1, rows);
+					}
+
+				});
+	}
+
+	private Query createQuery(final int step, final int limit) {
+
+		return doCreateQuery(new QueryCreator() {
+
+			@Override
+			public Query createQuery() {
+
+				Select select = QueryBuilder.select(columns.toArray(new String[columns.size()])).from(
+						cassandraTemplate.getKeyspace(), getTableName());
+
+				List<Clause> clauses = steps.get(step);
+				if (!clauses.isEmpty()) {
+					Select.Where w = select.where();
+					for (Clause c : clauses) {
+						w.and(c);
+					}
+				}
+
+				select.limit(limit);
+				return RoutedStatements.route(select, routingKey);
+			}
+
+		});
+	}
+
+	protected Slice<T> transform(List<Row> rows) {
+
+		int count = Math.min(rows.size(), size);
+		List<T> content = new ArrayList<T>(count);
+
+		for (int i = 0; i != count; ++i) {
+			content.add(entityReader.read(entityClass, rows.get(i)));
+		}
+
+		SliceCursor nextCursor = rows.size() > size ? createCursor(rows.get(size - 1)) : null;
+
+		return new DefaultSlice<T>(content, nextCursor);
+	}
+
+	private SliceCursor createCursor(Row row) {
+
+		DataType.Name tokenType = null;
+		ByteBuffer token = null;
+
+		if (!singlePartition) {
+			int tokenIndex = columns.size() - 1;
+			tokenType = row.getColumnDefinitions().getType(tokenIndex).getName();
+			token = row.getBytesUnsafe(tokenIndex);
+		}
+
+		List<ByteBuffer> partitionKey = new ArrayList<ByteBuffer>(partitionKeyColumns.size());
+		for (ColumnSpecification column : partitionKeyColumns) {
+			partitionKey.add(row.getBytesUnsafe(column.getName()));
+		}
+
+		List<ByteBuffer> clusteringKey = new ArrayList<ByteBuffer>(clusteringKeyColumns.size());
+		for (ColumnSpecification column : clusteringKeyColumns) {
+			clusteringKey.add(row.getBytesUnsafe(column.getName()));
+		}
+
+		return new SliceCursor(tokenType, token, partitionKey, clusteringKey);
+	}
+
+	private List<List<Clause>> createSteps(List<Clause> partitionClauses, SliceCursor cursor) {
+
+		List<List<Clause>> result = new ArrayList<List<Clause>>();
+
+		if (cursor == null) {
+			result.add(partitionClauses != null ? partitionClauses : Collections.<Clause> emptyList());
+			return result;
+		}
+
+		if (cursor.getPartitionKeySize() != partitionKeyColumns.size()
+				|| cursor.getClusteringKeySize() != clusteringKeyColumns.size()) {
+			throw new IllegalArgumentException("cursor does not match primary key of the entity " + entityClass);
+		}
+
+		if (partitionClauses == null) {
+			partitionClauses = new ArrayList<Clause>(partitionKeyColumns.size());
+			for (int i = 0; i != partitionKeyColumns.size(); ++i) {
+				ColumnSpecification column = partitionKeyColumns.get(i);
+				partitionClauses.add(QueryBuilder.eq(column.getName(),
+						column.getType().deserialize(cursor.getPartitionKey(i))));
+			}
+		}
+
+		/*
+		 * Rest of the last partition, from the deepest clustering column to the first one
+		 */
+
+		for (int last = clusteringKeyColumns.size() - 1; last >= 0; --last) {
+
+			List<Clause> clauses = new ArrayList<Clause>(partitionClauses);
+
+			for (int i = 0; i <= last; ++i) {
+				ColumnSpecification column = clusteringKeyColumns.get(i);
+				Object value = column.getType().deserialize(cursor.getClusteringKey(i));
+
+				if (i != last) {
+					clauses.add(QueryBuilder.eq(column.getName(), value));
+				} else if (column.getOrdering() == Ordering.DESCENDING) {
+					clauses.add(QueryBuilder.lt(column.getName(), value));
+				} else {
+					clauses.add(QueryBuilder.gt(column.getName(), value));
+				}
+			}
+
+			result.add(clauses);
+		}
+
+		/*
+		 * Next partitions
+		 */
+
+		if (!singlePartition) {
+
+			Object token = cursor.getToken();
+			if (token == null) {
+				throw new IllegalArgumentException("cursor is bound to a single partition");
+			}
+
+			result.add(Collections.singletonList(QueryBuilder.gt(QueryBuilder.token(getPartitionKeyColumnNames()), token)));
+		}
+
+		return result;
+	}
+
+	private String[] getPartitionKeyColumnNames() {
+		String[] names = new String[partitionKeyColumns.size()];
+		for (int i = 0; i != names.length; ++i) {
+			names[i] = partitionKeyColumns.get(i).getName();
+		}
+		return names;
+	}
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.util.Assert;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Client side Bloom filter of the written primary keys of one entity. The filter answers "definitely never written"
+ * for full primary keys, partial keys are always reported as possibly existing.
+ * 
+ * Bits are stored in the primitive long words of AtomicLongArray, so concurrent puts never lose bits. The filter can
+ * not remove keys, deleted keys stay possibly existing.
+ * 
+ * New filter is warming: it accepts puts, but reports every key as possibly existing until it is marked as seeded.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class KeyBloomFilter {
+
+	private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+	private final AtomicLongArray words;
+	private final long bitSize;
+	private final int numHashFunctions;
+	private final int keyColumnCount;
+	private volatile boolean seeded;
+
+	private final AtomicLong insertions = new AtomicLong();
+	private final AtomicLong lookups = new AtomicLong();
+	private final AtomicLong negatives = new AtomicLong();
+	private final AtomicLong falsePositives = new AtomicLong();
+
+	/**
+	 * Constructor
+	 * 
+	 * @param expectedInsertions expected number of keys
+	 * @param fpp desired false positive probability
+	 * @param keyColumnCount number of primary key columns in the entity
+	 */
+	public KeyBloomFilter(long expectedInsertions, double fpp, int keyColumnCount) {
+		Assert.isTrue(expectedInsertions > 0, "expectedInsertions must be positive");
+		Assert.isTrue(fpp > 0.0 && fpp < 1.0, "fpp must be in (0, 1)");
+		Assert.isTrue(keyColumnCount > 0, "keyColumnCount must be positive");
+
+		long bits = (long) (-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+		int wordCount = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (bits + 63) >>> 6));
+
+		this.words = new AtomicLongArray(wordCount);
+		this.bitSize = (long) wordCount << 6;
+		this.numHashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+		this.keyColumnCount = keyColumnCount;
+	}
+
+	/**
+	 * Checks whether the key is full primary key and can be answered by the filter
+	 * 
+	 * @param keyValues primary key column values
+	 * @return true for full primary key
+	 */
+	public boolean accepts(Map<String, Object> keyValues) {
+		return keyValues.size() == keyColumnCount;
+	}
+
+	/**
+	 * Checks whether lookups of the key are answered by the filter, the filter is seeded and the key is full
+	 * 
+	 * @param keyValues primary key column values
+	 * @return true if a negative answer of the filter can be trusted
+	 */
+	public boolean answers(Map<String, Object> keyValues) {
+		return seeded && accepts(keyValues);
+	}
+
+	/**
+	 * Returns true if the filter contains all existing keys
+	 * 
+	 * @return
+	 */
+	public boolean isSeeded() {
+		return seeded;
+	}
+
+	/**
+	 * Marks the filter as containing all existing keys, after that negative lookups are answered without a query
+	 */
+	public void markSeeded() {
+		seeded = true;
+	}
+
+	/**
+	 * Puts primary key into the filter, ignores partial keys
+	 * 
+	 * @param keyValues primary key column values
+	 */
+	public void put(Map<String, Object> keyValues) {
+
+		if (!accepts(keyValues)) {
+			return;
+		}
+
+		long[] hash = hash(keyValues);
+		long combined = hash[0];
+
+		for (int i = 0; i != numHashFunctions; ++i) {
+			setBit((combined & Long.MAX_VALUE) % bitSize);
+			combined += hash[1];
+		}
+
+		insertions.incrementAndGet();
+	}
+
+	/**
+	 * Checks primary key in the filter
+	 * 
+	 * @param keyValues primary key column values
+	 * @return false if the key definitely was never put, true if the key possibly was put, the key is partial or the
+	 *         filter is not seeded yet
+	 */
+	public boolean mightContain(Map<String, Object> keyValues) {
+
+		if (!answers(keyValues)) {
+			return true;
+		}
+
+		lookups.incrementAndGet();
+
+		long[] hash = hash(keyValues);
+		long combined = hash[0];
+
+		for (int i = 0; i != numHashFunctions; ++i) {
+			if (!getBit((combined & Long.MAX_VALUE) % bitSize)) {
+				negatives.incrementAndGet();
+				return false;
+			}
+			combined += hash[1];
+		}
+
+		return true;
+	}
+
+	/**
+	 * Records the lookup that passed the filter, but the key was not found in Cassandra
+	 */
+	public void reportFalsePositive() {
+		falsePositives.incrementAndGet();
+	}
+
+	/**
+	 * Expected false positive rate by the current fill ratio of the bits
+	 * 
+	 * @return probability in [0, 1]
+	 */
+	public double getExpectedFalsePositiveRate() {
+		long bitCount = 0;
+		for (int i = 0; i != words.length(); ++i) {
+			bitCount += Long.bitCount(words.get(i));
+		}
+		return Math.pow((double) bitCount / bitSize, numHashFunctions);
+	}
+
+	/**
+	 * Observed false positive rate, ratio of reported false positives to all lookups of absent keys
+	 * 
+	 * @return rate in [0, 1] or 0 if no absent keys were looked up
+	 */
+	public double getObservedFalsePositiveRate() {
+		long fp = falsePositives.get();
+		long absent = fp + negatives.get();
+		return absent == 0 ? 0.0 : (double) fp / absent;
+	}
+
+	public long getBitSize() {
+		return bitSize;
+	}
+
+	public int getNumHashFunctions() {
+		return numHashFunctions;
+	}
+
+	public long getInsertions() {
+		return insertions.get();
+	}
+
+	public long getLookups() {
+		return lookups.get();
+	}
+
+	public long getNegatives() {
+		return negatives.get();
+	}
+
+	public long getFalsePositives() {
+		return falsePositives.get();
+	}
+
+	private void setBit(long index) {
+		int wordIndex = (int) (index >>> 6);
+		long mask = 1L << index;
+		long word;
+		do {
+			word = words.get(wordIndex);
+			if ((word & mask) != 0) {
+				return;
+			}
+		} while (!words.compareAndSet(wordIndex, word, word | mask));
+	}
+
+	private boolean getBit(long index) {
+		return (words.get((int) (index >>> 6)) & (1L << index)) != 0;
+	}
+
+	private static long[] hash(Map<String, Object> keyValues) {
+
+		Hasher hasher = HASH_FUNCTION.newHasher();
+
+		for (Map.Entry<String, Object> e : new TreeMap<String, Object>(keyValues).entrySet()) {
+			hasher.putString(e.getKey(), Charsets.UTF_8);
+			putValue(hasher, e.getValue());
+		}
+
+		ByteBuffer bytes = ByteBuffer.wrap(hasher.hash().asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+		return new long[] { bytes.getLong(0), bytes.getLong(8) };
+	}
+
+	private static void putValue(Hasher hasher, Object value) {
+		if (value instanceof ByteBuffer) {
+			ByteBuffer bb = ((ByteBuffer) value).duplicate();
+			while (bb.hasRemaining()) {
+				hasher.putByte(bb.get());
+			}
+		} else if (value instanceof byte[]) {
+			hasher.putBytes((byte[]) value);
+		} else if (value instanceof Date) {
+			hasher.putLong(((Date) value).getTime());
+		} else if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+				|| value instanceof UUID) {
+			hasher.putString(value.toString(), Charsets.UTF_8);
+		} else {
+			hasher.putInt(value.hashCode());
+		}
+	}
+
+}
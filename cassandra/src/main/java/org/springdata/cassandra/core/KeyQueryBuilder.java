@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.Collection;
+
+import org.springdata.cassandra.cql.util.CqlStringUtils;
+
+/**
+ * Builds CQL strings for queries by the primary key with bind markers for every key column. Such strings are used as
+ * keys of the prepared statement cache.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+final class KeyQueryBuilder {
+
+	private KeyQueryBuilder() {
+	}
+
+	/**
+	 * Creates SELECT query by the key columns
+	 * 
+	 * @param keyspace keyspace or null
+	 * @param tableName table name
+	 * @param columns selected columns or null for all columns
+	 * @param keyColumns key columns in the WHERE clause
+	 * @param limit limit or null
+	 * @return cql string
+	 */
+	static String selectByKey(String keyspace, String tableName, Collection<String> columns,
+			Collection<String> keyColumns, Integer limit) {
+
+		StringBuilder cql = new StringBuilder("SELECT ");
+
+		if (columns == null) {
+			cql.append('*');
+		} else {
+			appendColumns(cql, columns, ",", "");
+		}
+
+		cql.append(" FROM ");
+		appendTable(cql, keyspace, tableName);
+		cql.append(" WHERE ");
+		appendColumns(cql, keyColumns, " AND ", "=?");
+
+		if (limit != null) {
+			cql.append(" LIMIT ").append(limit);
+		}
+
+		return cql.append(';').toString();
+	}
+
+	/**
+	 * Creates UPDATE query by the key columns
+	 * 
+	 * @param keyspace keyspace or null
+	 * @param tableName table name
+	 * @param ttl ttl in seconds or null
+	 * @param columns updated columns
+	 * @param keyColumns key columns in the WHERE clause
+	 * @return cql string
+	 */
+	static String updateByKey(String keyspace, String tableName, Integer ttl, Collection<String> columns,
+			Collection<String> keyColumns) {
+
+		StringBuilder cql = new StringBuilder("UPDATE ");
+
+		appendTable(cql, keyspace, tableName);
+
+		if (ttl != null) {
+			cql.append(" USING TTL ").append(ttl);
+		}
+
+		cql.append(" SET ");
+		appendColumns(cql, columns, ",", "=?");
+		cql.append(" WHERE ");
+		appendColumns(cql, keyColumns, " AND ", "=?");
+
+		return cql.append(';').toString();
+	}
+
+	private static void appendTable(StringBuilder cql, String keyspace, String tableName) {
+		if (keyspace != null) {
+			cql.append(CqlStringUtils.identifize(keyspace)).append('.');
+		}
+		cql.append(CqlStringUtils.identifize(tableName));
+	}
+
+	private static void appendColumns(StringBuilder cql, Collection<String> columns, String separator, String suffix) {
+		boolean first = true;
+		for (String column : columns) {
+			if (!first) {
+				cql.append(separator);
+			}
+			cql.append(CqlStringUtils.identifize(column)).append(suffix);
+			first = false;
+		}
+	}
+
+}
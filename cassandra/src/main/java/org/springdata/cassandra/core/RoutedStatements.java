@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.nio.ByteBuffer;
+
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+
+/**
+ * Attaches routing keys to generated statements. QueryBuilder statements do not have routing key unless they are built
+ * from the table metadata, so they are copied to SimpleStatement with the routing key computed from the partition key
+ * properties of the entity. This allows TokenAwarePolicy to send the statement directly to a replica.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+final class RoutedStatements {
+
+	private RoutedStatements() {
+	}
+
+	/**
+	 * Returns statement with the given routing key
+	 * 
+	 * @param statement generated statement
+	 * @param routingKey routing key or null
+	 * @return statement with the routing key or the same statement if routing key is null or already defined
+	 */
+	static Statement route(Statement statement, ByteBuffer routingKey) {
+
+		if (routingKey == null || statement.getRoutingKey() != null) {
+			return statement;
+		}
+
+		SimpleStatement routed = new SimpleStatement(statement.getQueryString());
+		routed.setRoutingKey(routingKey);
+
+		if (statement.getConsistencyLevel() != null) {
+			routed.setConsistencyLevel(statement.getConsistencyLevel());
+		}
+		if (statement.getRetryPolicy() != null) {
+			routed.setRetryPolicy(statement.getRetryPolicy());
+		}
+		if (statement.isTracing()) {
+			routed.enableTracing();
+		}
+
+		return routed;
+	}
+
+}
@@ -52,4 +52,13 @@ public interface SaveNewOperation extends QueryOperation<ResultSet, SaveNewOpera
 	 */
 	SaveNewOperation withTimestamp(long timestampMls);
 
+	/**
+	 * Enqueues the statement into the write-behind buffer of the template and returns immediately. Failures are not
+	 * reported to the caller. Statement without timestamp gets the client timestamp in microseconds, see
+	 * WriteBehindBuffer.nextTimestampMicros().
+	 * 
+	 * @throws IllegalStateException if write-behind buffer is not configured
+	 */
+	void executeWriteBehind();
+
 }
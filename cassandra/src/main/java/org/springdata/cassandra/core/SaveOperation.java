@@ -69,4 +69,13 @@ public interface SaveOperation extends QueryOperation<ResultSet, SaveOperation>
 	 */
 	SaveOperation withTimestamp(long timestampMls);
 
+	/**
+	 * Enqueues the statement into the write-behind buffer of the template and returns immediately. Failures are not
+	 * reported to the caller. Statement without timestamp gets the client timestamp in microseconds, see
+	 * WriteBehindBuffer.nextTimestampMicros().
+	 * 
+	 * @throws IllegalStateException if write-behind buffer is not configured
+	 */
+	void executeWriteBehind();
+
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.List;
+
+/**
+ * A chunk of entities selected by the slice operation. Contains cursor to continue select from the next row.
+ * 
+ * @author Alex Shvid
+ * 
+ * @param <T> - entity type
+ */
+public interface Slice<T> extends Iterable<T> {
+
+	/**
+	 * Returns entities of the slice
+	 * 
+	 * @return list of entities
+	 */
+	List<T> getContent();
+
+	/**
+	 * Returns number of entities in the slice
+	 * 
+	 * @return number of entities
+	 */
+	int getNumberOfElements();
+
+	/**
+	 * Returns true if slice has entities
+	 * 
+	 * @return true if not empty
+	 */
+	boolean hasContent();
+
+	/**
+	 * Returns true if there are more rows after this slice
+	 * 
+	 * @return true if next slice exists
+	 */
+	boolean hasNext();
+
+	/**
+	 * Returns cursor to select the next slice or null if there is no next slice
+	 * 
+	 * @return SliceCursor or null
+	 */
+	SliceCursor getNextCursor();
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.DataType;
+import com.google.common.io.BaseEncoding;
+
+/**
+ * Opaque position of the last row returned in the Slice. Holds serialized token and primary key columns of the row, so
+ * the next slice starts right after it without reading previous rows again.
+ * 
+ * Cursor can be passed between requests as a String by using toString() and valueOf(String) methods.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+public final class SliceCursor implements Serializable {
+
+	private static final long serialVersionUID = -2735193447915402186L;
+
+	private static final byte VERSION = 1;
+
+	private static final BaseEncoding ENCODING = BaseEncoding.base64Url().omitPadding();
+
+	private final String tokenType;
+	private final byte[] token;
+	private final byte[][] partitionKey;
+	private final byte[][] clusteringKey;
+
+	SliceCursor(DataType.Name tokenType, ByteBuffer token, List<ByteBuffer> partitionKey, List<ByteBuffer> clusteringKey) {
+		Assert.notNull(partitionKey);
+		Assert.notNull(clusteringKey);
+		this.tokenType = tokenType != null ? tokenType.name() : null;
+		this.token = token != null ? toBytes(token) : null;
+		this.partitionKey = toBytes(partitionKey);
+		this.clusteringKey = toBytes(clusteringKey);
+	}
+
+	private SliceCursor(String tokenType, byte[] token, byte[][] partitionKey, byte[][] clusteringKey) {
+		this.tokenType = tokenType;
+		this.token = token;
+		this.partitionKey = partitionKey;
+		this.clusteringKey = clusteringKey;
+	}
+
+	/**
+	 * Returns token value of the last row's partition or null if the cursor is bound to a single partition.
+	 * 
+	 * @return token object suitable for the QueryBuilder
+	 */
+	Object getToken() {
+
+		if (token == null) {
+			return null;
+		}
+
+		DataType.Name name = DataType.Name.valueOf(tokenType);
+		DataType dataType;
+
+		switch (name) {
+		case BIGINT:
+			dataType = DataType.bigint();
+			break;
+		case VARINT:
+			dataType = DataType.varint();
+			break;
+		case ASCII:
+			dataType = DataType.ascii();
+			break;
+		case TEXT:
+		case VARCHAR:
+			dataType = DataType.text();
+			break;
+		default:
+			return ByteBuffer.wrap(token);
+		}
+
+		return dataType.deserialize(ByteBuffer.wrap(token));
+	}
+
+	int getPartitionKeySize() {
+		return partitionKey.length;
+	}
+
+	ByteBuffer getPartitionKey(int index) {
+		return ByteBuffer.wrap(partitionKey[index]);
+	}
+
+	int getClusteringKeySize() {
+		return clusteringKey.length;
+	}
+
+	ByteBuffer getClusteringKey(int index) {
+		return ByteBuffer.wrap(clusteringKey[index]);
+	}
+
+	/**
+	 * Restores cursor from the String produced by toString() method
+	 * 
+	 * @param cursor String representation of the cursor
+	 * @return SliceCursor
+	 * @throws IllegalArgumentException if the string is not a valid cursor
+	 */
+	public static SliceCursor valueOf(String cursor) {
+		Assert.notNull(cursor);
+
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(ENCODING.decode(cursor)));
+
+			if (in.readByte() != VERSION) {
+				throw new IllegalArgumentException("unsupported cursor version " + cursor);
+			}
+
+			String tokenType = null;
+			byte[] token = null;
+			if (in.readBoolean()) {
+				tokenType = in.readUTF();
+				token = readBytes(in);
+			}
+
+			byte[][] partitionKey = readBytesArray(in);
+			byte[][] clusteringKey = readBytesArray(in);
+
+			return new SliceCursor(tokenType, token, partitionKey, clusteringKey);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("invalid cursor " + cursor, e);
+		}
+	}
+
+	/**
+	 * Returns opaque URL safe String representation of the cursor
+	 */
+	@Override
+	public String toString() {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		try {
+			out.writeByte(VERSION);
+
+			out.writeBoolean(token != null);
+			if (token != null) {
+				out.writeUTF(tokenType);
+				writeBytes(out, token);
+			}
+
+			writeBytesArray(out, partitionKey);
+			writeBytesArray(out, clusteringKey);
+
+			out.flush();
+		} catch (IOException e) {
+			throw new IllegalStateException("fail to write cursor", e);
+		}
+
+		return ENCODING.encode(bytes.toByteArray());
+	}
+
+	@Override
+	public int hashCode() {
+		int result = Arrays.hashCode(token);
+		result = 31 * result + Arrays.deepHashCode(partitionKey);
+		result = 31 * result + Arrays.deepHashCode(clusteringKey);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof SliceCursor)) {
+			return false;
+		}
+		SliceCursor other = (SliceCursor) obj;
+		return Arrays.equals(token, other.token) && Arrays.deepEquals(partitionKey, other.partitionKey)
+				&& Arrays.deepEquals(clusteringKey, other.clusteringKey);
+	}
+
+	private static byte[] toBytes(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return bytes;
+	}
+
+	private static byte[][] toBytes(List<ByteBuffer> buffers) {
+		byte[][] result = new byte[buffers.size()][];
+		for (int i = 0; i != result.length; ++i) {
+			result[i] = toBytes(buffers.get(i));
+		}
+		return result;
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > in.available()) {
+			throw new IOException("invalid length " + length);
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static void writeBytesArray(DataOutputStream out, byte[][] array) throws IOException {
+		out.writeShort(array.length);
+		for (byte[] bytes : array) {
+			writeBytes(out, bytes);
+		}
+	}
+
+	private static byte[][] readBytesArray(DataInputStream in) throws IOException {
+		int length = in.readUnsignedShort();
+		byte[][] array = new byte[length][];
+		for (int i = 0; i != length; ++i) {
+			array[i] = readBytes(in);
+		}
+		return array;
+	}
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.base.Charsets;
+
+/**
+ * Memory-mapped log of CQL statements spilled by the write-behind buffer. The file has fixed capacity and starts with
+ * the header of read and write positions, so statements left after a crash are replayed on the next start.
+ * 
+ * Records are [int length][UTF-8 bytes]. Space is reused when the log is fully replayed, and the unread tail is moved to
+ * the start of the file when the read position passes the half of the capacity or the log is full. A record with the
+ * length out of the written area is treated as the end of the log.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+class SpillLog {
+
+	private static final int HEADER_SIZE = 16;
+
+	private final RandomAccessFile file;
+	private final MappedByteBuffer buffer;
+	private final int capacity;
+
+	private int readPos;
+	private int writePos;
+	private int peekEnd;
+
+	SpillLog(File path, int capacity) throws IOException {
+
+		if (capacity <= HEADER_SIZE) {
+			throw new IllegalArgumentException("spill log capacity is too small " + capacity);
+		}
+
+		boolean exists = path.exists() && path.length() >= HEADER_SIZE;
+
+		if (exists && path.length() > Integer.MAX_VALUE) {
+			throw new IOException("spill log is too large " + path);
+		}
+
+		this.file = new RandomAccessFile(path, "rw");
+		this.capacity = (int) Math.max(capacity, exists ? path.length() : 0);
+		this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, this.capacity);
+
+		if (exists) {
+			long storedReadPos = buffer.getLong(0);
+			long storedWritePos = buffer.getLong(8);
+			if (storedReadPos < HEADER_SIZE || storedWritePos < storedReadPos || storedWritePos > this.capacity) {
+				throw new IOException("corrupted spill log " + path);
+			}
+			this.readPos = (int) storedReadPos;
+			this.writePos = (int) storedWritePos;
+		} else {
+			this.readPos = HEADER_SIZE;
+			this.writePos = HEADER_SIZE;
+			writeHeader();
+		}
+
+		this.peekEnd = readPos;
+	}
+
+	/**
+	 * Appends statements and forces them to the disk
+	 * 
+	 * @param cqls statements
+	 * @return number of appended bytes or -1 if the log has no space
+	 */
+	synchronized int append(List<String> cqls) {
+
+		List<byte[]> records = new ArrayList<byte[]>(cqls.size());
+		int size = 0;
+		for (String cql : cqls) {
+			byte[] bytes = cql.getBytes(Charsets.UTF_8);
+			records.add(bytes);
+			size += 4 + bytes.length;
+		}
+
+		if (writePos + size > capacity && readPos - HEADER_SIZE > writePos - readPos) {
+			compact();
+			writeHeader();
+			buffer.force();
+		}
+
+		if (writePos + size > capacity) {
+			return -1;
+		}
+
+		ByteBuffer out = buffer.duplicate();
+		out.position(writePos);
+		for (byte[] bytes : records) {
+			out.putInt(bytes.length);
+			out.put(bytes);
+		}
+		writePos = out.position();
+
+		writeHeader();
+		buffer.force();
+		return size;
+	}
+
+	/**
+	 * Reads statements from the read position without consuming them
+	 * 
+	 * @param max max number of statements
+	 * @return statements, empty if the log is empty
+	 */
+	synchronized List<String> peek(int max) {
+
+		List<String> result = new ArrayList<String>(max);
+		ByteBuffer in = buffer.duplicate();
+		in.position(readPos);
+
+		while (in.position() < writePos && result.size() < max) {
+
+			int start = in.position();
+			int length = writePos - start >= 4 ? in.getInt() : -1;
+
+			if (length < 0 || length > writePos - in.position()) {
+				in.position(start);
+				writePos = start;
+				writeHeader();
+				buffer.force();
+				break;
+			}
+
+			byte[] bytes = new byte[length];
+			in.get(bytes);
+			result.add(new String(bytes, Charsets.UTF_8));
+		}
+
+		peekEnd = in.position();
+		return result;
+	}
+
+	/**
+	 * Consumes statements returned by the last peek
+	 */
+	synchronized void commit() {
+
+		readPos = peekEnd;
+
+		if (readPos == writePos) {
+			readPos = HEADER_SIZE;
+			writePos = HEADER_SIZE;
+		} else if (readPos > (capacity + HEADER_SIZE) / 2) {
+			compact();
+		}
+
+		peekEnd = readPos;
+
+		writeHeader();
+		buffer.force();
+	}
+
+	/**
+	 * Returns number of bytes waiting for replay
+	 * 
+	 * @return bytes
+	 */
+	synchronized int size() {
+		return writePos - readPos;
+	}
+
+	synchronized void close() throws IOException {
+		buffer.force();
+		file.close();
+	}
+
+	/**
+	 * Moves the unread tail to the start of the file. The tail must be shorter than the consumed area, so it is copied
+	 * over consumed records only and the log stays valid until the header is written.
+	 */
+	private void compact() {
+
+		ByteBuffer tail = buffer.duplicate();
+		tail.position(readPos);
+		tail.limit(writePos);
+
+		ByteBuffer out = buffer.duplicate();
+		out.position(HEADER_SIZE);
+		out.put(tail);
+		buffer.force();
+
+		peekEnd -= readPos - HEADER_SIZE;
+		writePos = out.position();
+		readPos = HEADER_SIZE;
+	}
+
+	private void writeHeader() {
+		buffer.putLong(0, readPos);
+		buffer.putLong(8, writePos);
+	}
+
+}
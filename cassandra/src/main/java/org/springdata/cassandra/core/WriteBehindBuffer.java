@@ -0,0 +1,424 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springdata.cassandra.cql.core.ConsistencyLevel;
+import org.springdata.cassandra.cql.core.ConsistencyLevelResolver;
+import org.springdata.cassandra.cql.core.Idempotency;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+
+/**
+ * Write-behind buffer for fire-and-forget writes. Statements are queued in the bounded ring buffer and flushed by the
+ * background thread in UNLOGGED batches with limited number of batches in flight.
+ * 
+ * If spill file is configured, statements that do not fit the buffer, batches that wait for a free slot longer than
+ * spillTimeoutMillis and failed batches are appended to the memory-mapped spill log. The log is replayed when the
+ * buffer is idle, also after restart. After a failure the replay is tried again every replayIntervalMillis, so the log
+ * is drained without new writes. Without spill file a full buffer blocks the caller and failed batches are dropped.
+ * 
+ * Statements are kept as CQL strings with inlined values, the consistency level of the buffer applies to all of them.
+ * Replayed statements reach Cassandra after newer writes, therefore save operations stamp every statement with the
+ * client timestamp from {@link #nextTimestampMicros()} on submit and the older value never overwrites the newer one.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class WriteBehindBuffer implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+	public static final int DEFAULT_CAPACITY = 8192;
+	public static final int DEFAULT_BATCH_SIZE = 64;
+	public static final int DEFAULT_MAX_IN_FLIGHT = 8;
+	public static final long DEFAULT_SPILL_TIMEOUT_MILLIS = 100;
+	public static final int DEFAULT_SPILL_CAPACITY = 64 * 1024 * 1024;
+	public static final long DEFAULT_REPLAY_INTERVAL_MILLIS = 1000;
+
+	private static final long POLL_MILLIS = 50;
+
+	private static final AtomicLong lastTimestampMicros = new AtomicLong();
+
+	private final CassandraTemplate cassandraTemplate;
+	private final BlockingQueue<String> queue;
+	private final int batchSize;
+	private final Semaphore inFlight;
+	private final int maxInFlight;
+	private final SpillLog spillLog;
+
+	private ConsistencyLevel consistencyLevel;
+	private long spillTimeoutMillis = DEFAULT_SPILL_TIMEOUT_MILLIS;
+	private long replayIntervalMillis = DEFAULT_REPLAY_INTERVAL_MILLIS;
+
+	private final Thread flusher;
+	private volatile boolean running = true;
+	private volatile boolean healthy = true;
+	private volatile long nextReplayMillis;
+
+	private final AtomicLong flushed = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong flushes = new AtomicLong();
+	private final AtomicLong flushNanos = new AtomicLong();
+	private volatile long lastFlushNanos;
+	private final AtomicLong spilledBytes = new AtomicLong();
+	private final AtomicLong replayed = new AtomicLong();
+
+	public WriteBehindBuffer(CassandraTemplate cassandraTemplate) throws IOException {
+		this(cassandraTemplate, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_MAX_IN_FLIGHT, null,
+				DEFAULT_SPILL_CAPACITY);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param cassandraTemplate
+	 * @param capacity capacity of the ring buffer in statements
+	 * @param batchSize max number of statements in one batch
+	 * @param maxInFlight max number of batches in flight
+	 * @param spillFile spill log file or null to block callers on the full buffer
+	 * @param spillCapacity capacity of the spill log in bytes
+	 * @throws IOException if spill log can not be mapped
+	 */
+	public WriteBehindBuffer(CassandraTemplate cassandraTemplate, int capacity, int batchSize, int maxInFlight,
+			File spillFile, int spillCapacity) throws IOException {
+		Assert.notNull(cassandraTemplate);
+		Assert.isTrue(batchSize > 0, "batchSize must be positive");
+		Assert.isTrue(maxInFlight > 0, "maxInFlight must be positive");
+
+		this.cassandraTemplate = cassandraTemplate;
+		this.queue = new ArrayBlockingQueue<String>(capacity);
+		this.batchSize = batchSize;
+		this.maxInFlight = maxInFlight;
+		this.inFlight = new Semaphore(maxInFlight);
+		this.spillLog = spillFile != null ? new SpillLog(spillFile, spillCapacity) : null;
+
+		this.flusher = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				flushLoop();
+			}
+
+		}, "cassandra-write-behind");
+		this.flusher.setDaemon(true);
+		this.flusher.start();
+	}
+
+	public void setConsistencyLevel(ConsistencyLevel consistencyLevel) {
+		this.consistencyLevel = consistencyLevel;
+	}
+
+	public void setSpillTimeoutMillis(long spillTimeoutMillis) {
+		this.spillTimeoutMillis = spillTimeoutMillis;
+	}
+
+	/**
+	 * Sets interval between replay attempts after a failed write
+	 * 
+	 * @param replayIntervalMillis interval in milliseconds
+	 */
+	public void setReplayIntervalMillis(long replayIntervalMillis) {
+		Assert.isTrue(replayIntervalMillis > 0, "replayIntervalMillis must be positive");
+		this.replayIntervalMillis = replayIntervalMillis;
+	}
+
+	/**
+	 * Returns client timestamp for the statement submitted to the buffer. Timestamps are in microseconds like the ones
+	 * assigned by Cassandra and strictly increase in this JVM, so two writes of the same cell keep their order.
+	 * 
+	 * @return timestamp in microseconds
+	 */
+	public static long nextTimestampMicros() {
+		long now = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+		while (true) {
+			long last = lastTimestampMicros.get();
+			long next = now > last ? now : last + 1;
+			if (lastTimestampMicros.compareAndSet(last, next)) {
+				return next;
+			}
+		}
+	}
+
+	/**
+	 * Enqueues the statement. Spills it if the buffer is full, blocks the caller if the spill log is not configured or
+	 * full.
+	 * 
+	 * @param statement statement with inlined values and client timestamp
+	 */
+	public void submit(Statement statement) {
+		Assert.notNull(statement);
+
+		if (!running) {
+			throw new IllegalStateException("write-behind buffer is closed");
+		}
+
+		String cql = statement.getQueryString();
+
+		if (queue.offer(cql)) {
+			return;
+		}
+
+		if (spill(Collections.singletonList(cql))) {
+			return;
+		}
+
+		try {
+			queue.put(cql);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataAccessResourceFailureException("interrupted while waiting for write-behind buffer", e);
+		}
+	}
+
+	/**
+	 * Flushes queued statements and stops the flusher thread. Statements that can not be written are left in the spill
+	 * log.
+	 */
+	@Override
+	public void destroy() throws Exception {
+		running = false;
+		flusher.join();
+		inFlight.acquire(maxInFlight);
+		inFlight.release(maxInFlight);
+		if (spillLog != null) {
+			spillLog.close();
+		}
+	}
+
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	public int getInFlightBatches() {
+		return maxInFlight - inFlight.availablePermits();
+	}
+
+	public long getFlushed() {
+		return flushed.get();
+	}
+
+	public long getFailed() {
+		return failed.get();
+	}
+
+	public long getReplayed() {
+		return replayed.get();
+	}
+
+	public long getLastFlushLatencyMicros() {
+		return TimeUnit.NANOSECONDS.toMicros(lastFlushNanos);
+	}
+
+	public long getAverageFlushLatencyMicros() {
+		long count = flushes.get();
+		return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(flushNanos.get() / count);
+	}
+
+	/**
+	 * Total number of bytes ever spilled to the log
+	 * 
+	 * @return bytes
+	 */
+	public long getSpilledBytes() {
+		return spilledBytes.get();
+	}
+
+	/**
+	 * Number of bytes in the spill log waiting for replay
+	 * 
+	 * @return bytes
+	 */
+	public int getSpillSize() {
+		return spillLog != null ? spillLog.size() : 0;
+	}
+
+	private void flushLoop() {
+
+		List<String> batch = new ArrayList<String>(batchSize);
+
+		while (running || !queue.isEmpty()) {
+
+			try {
+
+				String cql = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+				if (cql == null) {
+					replay();
+					continue;
+				}
+
+				batch.add(cql);
+				queue.drainTo(batch, batchSize - 1);
+				send(batch);
+
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				logger.error("write-behind flush failed", e);
+			} finally {
+				batch = new ArrayList<String>(batchSize);
+			}
+		}
+	}
+
+	private void send(final List<String> batch) throws InterruptedException {
+
+		if (spillLog != null) {
+			if (!inFlight.tryAcquire(spillTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				if (spill(batch)) {
+					return;
+				}
+				inFlight.acquire();
+			}
+		} else {
+			inFlight.acquire();
+		}
+
+		final long start = System.nanoTime();
+
+		ResultSetFuture future;
+		try {
+			future = cassandraTemplate.cqlTemplate().doExecuteAsync(createQuery(batch));
+		} catch (RuntimeException e) {
+			inFlight.release();
+			onFailure(batch, e);
+			return;
+		}
+
+		Futures.addCallback(future, new FutureCallback<ResultSet>() {
+
+			@Override
+			public void onSuccess(ResultSet result) {
+				inFlight.release();
+				long nanos = System.nanoTime() - start;
+				lastFlushNanos = nanos;
+				flushNanos.addAndGet(nanos);
+				flushes.incrementAndGet();
+				flushed.addAndGet(batch.size());
+				healthy = true;
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				inFlight.release();
+				WriteBehindBuffer.this.onFailure(batch, t);
+			}
+
+		});
+	}
+
+	private void onFailure(List<String> batch, Throwable t) {
+		markUnhealthy();
+		if (!spill(batch)) {
+			failed.addAndGet(batch.size());
+			logger.error("write-behind batch of " + batch.size() + " statements is dropped", t);
+		}
+	}
+
+	private boolean spill(List<String> cqls) {
+		if (spillLog == null) {
+			return false;
+		}
+		int bytes = spillLog.append(cqls);
+		if (bytes < 0) {
+			return false;
+		}
+		spilledBytes.addAndGet(bytes);
+		return true;
+	}
+
+	private void markUnhealthy() {
+		healthy = false;
+		nextReplayMillis = System.currentTimeMillis() + replayIntervalMillis;
+	}
+
+	/**
+	 * Replays the head of the spill log. While the buffer is unhealthy the replay is a probe sent once in
+	 * replayIntervalMillis, its success makes the buffer healthy again.
+	 */
+	private void replay() {
+
+		if (spillLog == null || spillLog.size() == 0) {
+			return;
+		}
+
+		if (!healthy && System.currentTimeMillis() < nextReplayMillis) {
+			return;
+		}
+
+		List<String> batch = spillLog.peek(batchSize);
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		try {
+			cassandraTemplate.cqlTemplate().doExecute(createQuery(batch));
+		} catch (RuntimeException e) {
+			markUnhealthy();
+			logger.warn("write-behind replay failed", e);
+			return;
+		}
+
+		healthy = true;
+		spillLog.commit();
+		replayed.addAndGet(batch.size());
+	}
+
+	private Query createQuery(List<String> batch) {
+
+		Statement[] statements = new Statement[batch.size()];
+		for (int i = 0; i != statements.length; ++i) {
+			statements[i] = new SimpleStatement(batch.get(i));
+		}
+
+		Query query = statements.length == 1 ? statements[0] : QueryBuilder.unloggedBatch(statements);
+
+		if (consistencyLevel != null) {
+			query.setConsistencyLevel(ConsistencyLevelResolver.resolve(consistencyLevel));
+		}
+		if (!Idempotency.isIdempotent(query)) {
+			cassandraTemplate.cqlTemplate().disableWriteTimeoutRetries(query);
+		}
+
+		return query;
+	}
+
+}
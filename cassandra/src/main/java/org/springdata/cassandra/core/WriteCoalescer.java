@@ -0,0 +1,346 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springdata.cassandra.cql.core.CassandraFuture;
+import org.springdata.cassandra.cql.core.ConsistencyLevel;
+import org.springdata.cassandra.cql.core.ConsistencyLevelResolver;
+import org.springdata.cassandra.cql.core.Idempotency;
+import org.springdata.cassandra.cql.core.RetryPolicy;
+import org.springdata.cassandra.cql.core.RetryPolicyResolver;
+import org.springdata.cassandra.cql.spec.ColumnSpecification;
+import org.springdata.cassandra.cql.spec.CreateTableSpecification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Write coalescer collects concurrent asynchronous saves for a short window, groups them by table, partition key and
+ * query options and sends every group as one UNLOGGED batch. Every caller gets its own future completed by the result
+ * of the batch.
+ * 
+ * Enabled by CassandraTemplate.setWriteCoalescer, after that executeAsync of save operations goes through it.
+ * Synchronous executions are not coalesced. Traced saves, saves with deadline and saves under circuit breaker are sent
+ * on their own, because the batch carries only consistency level and retry policy of the group. Save operations stamp
+ * every coalesced statement with the client timestamp, so of two saves of the same row in one batch the later one wins.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class WriteCoalescer implements DisposableBean {
+
+	public static final long DEFAULT_WINDOW_MICROS = 200;
+	public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+	private final CassandraTemplate cassandraTemplate;
+	private final long windowMicros;
+	private final int maxBatchSize;
+
+	private final ConcurrentLinkedQueue<PendingWrite> queue = new ConcurrentLinkedQueue<PendingWrite>();
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	private final ScheduledExecutorService scheduler;
+
+	private final ConcurrentMap<Class<?>, Set<String>> partitionKeyColumns = new ConcurrentHashMap<Class<?>, Set<String>>();
+
+	private final AtomicLong submitted = new AtomicLong();
+	private final AtomicLong requests = new AtomicLong();
+
+	public WriteCoalescer(CassandraTemplate cassandraTemplate) {
+		this(cassandraTemplate, DEFAULT_WINDOW_MICROS, DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param cassandraTemplate
+	 * @param windowMicros time to collect writes before the flush in microseconds
+	 * @param maxBatchSize max number of statements in one batch
+	 */
+	public WriteCoalescer(CassandraTemplate cassandraTemplate, long windowMicros, int maxBatchSize) {
+		Assert.notNull(cassandraTemplate);
+		Assert.isTrue(windowMicros > 0, "windowMicros must be positive");
+		Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be positive");
+
+		this.cassandraTemplate = cassandraTemplate;
+		this.windowMicros = windowMicros;
+		this.maxBatchSize = maxBatchSize;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "cassandra-write-coalescer");
+				thread.setDaemon(true);
+				return thread;
+			}
+
+		});
+	}
+
+	/**
+	 * Submits the write of the entity
+	 * 
+	 * @param entity entity to write
+	 * @param tableName table name
+	 * @param statement statement that writes the entity
+	 * @param consistencyLevel consistency level or null
+	 * @param retryPolicy retry policy or null
+	 * @return future completed by the result of the batch
+	 */
+	public CassandraFuture<ResultSet> submit(Object entity, String tableName, Statement statement,
+			ConsistencyLevel consistencyLevel, RetryPolicy retryPolicy) {
+
+		Assert.notNull(entity);
+		Assert.notNull(tableName);
+		Assert.notNull(statement);
+
+		GroupKey groupKey = new GroupKey(tableName, getPartitionKey(entity), consistencyLevel, retryPolicy);
+		PendingWrite write = new PendingWrite(groupKey, statement);
+
+		queue.add(write);
+		submitted.incrementAndGet();
+
+		if (scheduled.compareAndSet(false, true)) {
+			scheduler.schedule(new Runnable() {
+
+				@Override
+				public void run() {
+					flush();
+				}
+
+			}, windowMicros, TimeUnit.MICROSECONDS);
+		}
+
+		return new CassandraFuture<ResultSet>(write.future, cassandraTemplate.cqlTemplate().getExceptionTranslator());
+	}
+
+	/**
+	 * Sends all collected writes
+	 */
+	public void flush() {
+
+		scheduled.set(false);
+
+		Map<GroupKey, List<PendingWrite>> groups = new LinkedHashMap<GroupKey, List<PendingWrite>>();
+
+		PendingWrite write;
+		while ((write = queue.poll()) != null) {
+			List<PendingWrite> group = groups.get(write.groupKey);
+			if (group == null) {
+				group = new ArrayList<PendingWrite>();
+				groups.put(write.groupKey, group);
+			}
+			group.add(write);
+		}
+
+		for (Map.Entry<GroupKey, List<PendingWrite>> e : groups.entrySet()) {
+			List<PendingWrite> group = e.getValue();
+			for (int from = 0; from < group.size(); from += maxBatchSize) {
+				send(e.getKey(), group.subList(from, Math.min(group.size(), from + maxBatchSize)));
+			}
+		}
+	}
+
+	/**
+	 * Flushes collected writes and stops the scheduler
+	 */
+	@Override
+	public void destroy() {
+		scheduler.shutdown();
+		flush();
+	}
+
+	/**
+	 * Number of submitted writes
+	 * 
+	 * @return count
+	 */
+	public long getSubmitted() {
+		return submitted.get();
+	}
+
+	/**
+	 * Number of requests sent to Cassandra
+	 * 
+	 * @return count
+	 */
+	public long getRequests() {
+		return requests.get();
+	}
+
+	/**
+	 * Number of writes waiting for the flush
+	 * 
+	 * @return count
+	 */
+	public int getQueueSize() {
+		return queue.size();
+	}
+
+	private void send(GroupKey groupKey, List<PendingWrite> writes) {
+
+		final List<SettableFuture<ResultSet>> futures = new ArrayList<SettableFuture<ResultSet>>(writes.size());
+		Statement[] statements = new Statement[writes.size()];
+
+		for (int i = 0; i != statements.length; ++i) {
+			statements[i] = writes.get(i).statement;
+			futures.add(writes.get(i).future);
+		}
+
+		Query query = statements.length == 1 ? statements[0] : QueryBuilder.unloggedBatch(statements);
+
+		if (groupKey.consistencyLevel != null) {
+			query.setConsistencyLevel(ConsistencyLevelResolver.resolve(groupKey.consistencyLevel));
+		}
+		if (groupKey.retryPolicy != null) {
+			query.setRetryPolicy(RetryPolicyResolver.resolve(groupKey.retryPolicy));
+		}
+		if (!Idempotency.isIdempotent(query)) {
+			cassandraTemplate.cqlTemplate().disableWriteTimeoutRetries(query);
+		}
+
+		requests.incrementAndGet();
+
+		ResultSetFuture resultSetFuture;
+		try {
+			resultSetFuture = cassandraTemplate.cqlTemplate().doExecuteAsync(query);
+		} catch (RuntimeException e) {
+			for (SettableFuture<ResultSet> future : futures) {
+				future.setException(e);
+			}
+			return;
+		}
+
+		Futures.addCallback(resultSetFuture, new FutureCallback<ResultSet>() {
+
+			@Override
+			public void onSuccess(ResultSet resultSet) {
+				for (SettableFuture<ResultSet> future : futures) {
+					future.set(resultSet);
+				}
+			}
+
+			@Override
+			public void onFailure(Throwable t) {
+				for (SettableFuture<ResultSet> future : futures) {
+					future.setException(t);
+				}
+			}
+
+		});
+	}
+
+	private List<Object> getPartitionKey(Object entity) {
+
+		Set<String> columns = partitionKeyColumns.get(entity.getClass());
+		if (columns == null) {
+			CreateTableSpecification spec = cassandraTemplate.getConverter().getCreateTableSpecification(
+					cassandraTemplate.getPersistentEntity(entity.getClass()));
+			columns = new HashSet<String>();
+			for (ColumnSpecification column : spec.getPartitionKeyColumns()) {
+				columns.add(column.getName());
+			}
+			partitionKeyColumns.put(entity.getClass(), columns);
+		}
+
+		Map<String, Object> keyValues = new LinkedHashMap<String, Object>();
+		cassandraTemplate.getConverter().writeSelected(entity, Collections.<String> emptySet(), null, keyValues,
+				new LinkedHashMap<String, Object>());
+
+		List<Object> partitionKey = new ArrayList<Object>(columns.size());
+		for (Map.Entry<String, Object> e : keyValues.entrySet()) {
+			if (columns.contains(e.getKey())) {
+				partitionKey.add(e.getValue());
+			}
+		}
+		return partitionKey;
+	}
+
+	private static final class PendingWrite {
+
+		private final GroupKey groupKey;
+		private final Statement statement;
+		private final SettableFuture<ResultSet> future = SettableFuture.create();
+
+		PendingWrite(GroupKey groupKey, Statement statement) {
+			this.groupKey = groupKey;
+			this.statement = statement;
+		}
+	}
+
+	private static final class GroupKey {
+
+		private final String tableName;
+		private final List<Object> partitionKey;
+		private final ConsistencyLevel consistencyLevel;
+		private final RetryPolicy retryPolicy;
+
+		GroupKey(String tableName, List<Object> partitionKey, ConsistencyLevel consistencyLevel, RetryPolicy retryPolicy) {
+			this.tableName = tableName;
+			this.partitionKey = partitionKey;
+			this.consistencyLevel = consistencyLevel;
+			this.retryPolicy = retryPolicy;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = tableName.hashCode();
+			result = 31 * result + partitionKey.hashCode();
+			result = 31 * result + (consistencyLevel != null ? consistencyLevel.hashCode() : 0);
+			result = 31 * result + (retryPolicy != null ? retryPolicy.hashCode() : 0);
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof GroupKey)) {
+				return false;
+			}
+			GroupKey other = (GroupKey) obj;
+			return tableName.equals(other.tableName) && partitionKey.equals(other.partitionKey)
+					&& consistencyLevel == other.consistencyLevel && retryPolicy == other.retryPolicy;
+		}
+	}
+
+}
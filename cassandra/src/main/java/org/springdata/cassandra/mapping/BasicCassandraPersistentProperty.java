@@ -17,6 +17,8 @@ package org.springdata.cassandra.mapping;
 
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -73,6 +75,9 @@ public class BasicCassandraPersistentProperty extends AnnotationBasedPersistentP
 	 */
 	@Override
 	public boolean hasEmbeddableType() {
+		if (getCodec() != null) {
+			return false;
+		}
 		Class<?> fieldType = getField().getType();
 		return fieldType.isAnnotationPresent(Embeddable.class);
 	}
@@ -113,6 +118,25 @@ public class BasicCassandraPersistentProperty extends AnnotationBasedPersistentP
 	 * @return
 	 */
 	public DataType getDataType() {
+		if (isAnnotationPresent(Counter.class)) {
+			Class<?> type = getType();
+			if (type != long.class && type != Long.class) {
+				throw new InvalidDataAccessApiUsageException("counter property '" + this.getName()
+						+ "' must be long or Long in the entity " + this.getOwner().getName());
+			}
+			return DataType.counter();
+		}
+		if (getCodec() != null) {
+			return DataType.blob();
+		}
+		if (getCompressionThreshold() != null) {
+			Class<?> type = getType();
+			if (type != String.class && type != byte[].class && !ByteBuffer.class.isAssignableFrom(type)) {
+				throw new InvalidDataAccessApiUsageException("compressed property '" + this.getName()
+						+ "' must be String, byte[] or ByteBuffer or have a codec in the entity " + this.getOwner().getName());
+			}
+			return DataType.blob();
+		}
 		Qualify annotation = findAnnotation(Qualify.class);
 		if (annotation != null && annotation.type() != null) {
 			return qualifyAnnotatedType(annotation);
@@ -212,6 +236,71 @@ public class BasicCassandraPersistentProperty extends AnnotationBasedPersistentP
 		return null;
 	}
 
+	/**
+	 * Returns tag if the property has Tag annotation.
+	 * 
+	 * @return
+	 */
+	public Integer getTag() {
+		Tag tag = findAnnotation(Tag.class);
+		if (tag != null) {
+			return tag.value();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns true if the property is counter column.
+	 * 
+	 * @return
+	 */
+	public boolean isCounter() {
+		if (isAnnotationPresent(Counter.class)) {
+			return true;
+		}
+		Qualify annotation = findAnnotation(Qualify.class);
+		return annotation != null && annotation.type() == DataType.Name.COUNTER;
+	}
+
+	/**
+	 * Returns name of the codec if the property has Codec annotation.
+	 * 
+	 * @return
+	 */
+	public String getCodec() {
+		Codec codec = findAnnotation(Codec.class);
+		return codec != null ? codec.value() : null;
+	}
+
+	/**
+	 * Returns compression threshold if the property has Compressed annotation.
+	 * 
+	 * @return
+	 */
+	public Integer getCompressionThreshold() {
+		Compressed compressed = findAnnotation(Compressed.class);
+		return compressed != null ? compressed.threshold() : null;
+	}
+
+	/**
+	 * Value serialized by the codec is not mapped as an entity.
+	 */
+	@Override
+	public boolean isEntity() {
+		return getCodec() == null && super.isEntity();
+	}
+
+	/**
+	 * Value serialized by the codec does not have nested entities.
+	 */
+	@Override
+	public Iterable<? extends TypeInformation<?>> getPersistentEntityType() {
+		if (getCodec() != null) {
+			return Collections.emptyList();
+		}
+		return super.getPersistentEntityType();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mapping.model.AbstractPersistentProperty#createAssociation()
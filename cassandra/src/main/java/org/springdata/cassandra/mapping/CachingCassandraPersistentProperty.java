@@ -40,6 +40,10 @@ public class CachingCassandraPersistentProperty extends BasicCassandraPersistent
 	private Caching<String> indexName = new Caching<String>();
 	private Caching<KeyPart> keyPart = new Caching<KeyPart>();
 	private Caching<Integer> ordinal = new Caching<Integer>();
+	private Caching<Integer> tag = new Caching<Integer>();
+	private Caching<Boolean> counter = new Caching<Boolean>();
+	private Caching<String> codec = new Caching<String>();
+	private Caching<Integer> compressionThreshold = new Caching<Integer>();
 
 	/**
 	 * Creates a new {@link CachingCassandraPersistentProperty}.
@@ -181,6 +185,62 @@ public class CachingCassandraPersistentProperty extends BasicCassandraPersistent
 		return this.ordinal.get();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.cassandra.core.mapping.BasicCassandraPersistentProperty#getTag()
+	 */
+	@Override
+	public Integer getTag() {
+
+		if (this.tag.isNotCached()) {
+			this.tag.set(super.getTag());
+		}
+
+		return this.tag.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.cassandra.core.mapping.BasicCassandraPersistentProperty#isCounter()
+	 */
+	@Override
+	public boolean isCounter() {
+
+		if (this.counter.isNotCached()) {
+			this.counter.set(super.isCounter());
+		}
+
+		return this.counter.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.cassandra.core.mapping.BasicCassandraPersistentProperty#getCodec()
+	 */
+	@Override
+	public String getCodec() {
+
+		if (this.codec.isNotCached()) {
+			this.codec.set(super.getCodec());
+		}
+
+		return this.codec.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.cassandra.core.mapping.BasicCassandraPersistentProperty#getCompressionThreshold()
+	 */
+	@Override
+	public Integer getCompressionThreshold() {
+
+		if (this.compressionThreshold.isNotCached()) {
+			this.compressionThreshold.set(super.getCompressionThreshold());
+		}
+
+		return this.compressionThreshold.get();
+	}
+
 	static class Caching<T> {
 		private T value;
 		private boolean cached = false;
@@ -85,6 +85,34 @@ public interface CassandraPersistentProperty extends PersistentProperty<Cassandr
 	 */
 	Integer getOrdinal();
 
+	/**
+	 * Returns tag of the property defined by {@link Tag} annotation.
+	 * 
+	 * @return tag or null
+	 */
+	Integer getTag();
+
+	/**
+	 * Returns true if the property is counter column defined by {@link Counter} annotation or qualified as counter.
+	 * 
+	 * @return
+	 */
+	boolean isCounter();
+
+	/**
+	 * Returns name of the column codec defined by {@link Codec} annotation.
+	 * 
+	 * @return codec name or null
+	 */
+	String getCodec();
+
+	/**
+	 * Returns compression threshold defined by {@link Compressed} annotation.
+	 * 
+	 * @return threshold in bytes or null if the property is not compressed
+	 */
+	Integer getCompressionThreshold();
+
 	/**
 	 * Simple {@link Converter} implementation to transform a {@link CassandraPersistentProperty} into its column name.
 	 * 
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Compresses the value of the property by Snappy on the client side and stores it in the blob column. Values shorter
+ * than the threshold are stored uncompressed, the first byte of the column tells which form is used.
+ * 
+ * Applies to String, byte[] and ByteBuffer properties or to the output of the {@link Codec}.
+ * 
+ * @author Alex Shvid
+ */
+@Retention(value = RetentionPolicy.RUNTIME)
+@Target(value = { ElementType.FIELD, ElementType.ANNOTATION_TYPE })
+public @interface Compressed {
+
+	/**
+	 * Minimum length in bytes of the value to compress
+	 */
+	int threshold() default 1024;
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks long field as Cassandra counter column. Counter tables can have only primary key and counter columns.
+ * 
+ * Counters can not be inserted or set, therefore insert and save of the entity with counter fields are rejected. Use
+ * CassandraOperations.updateCounters or CounterAggregator to increment and decrement them.
+ * 
+ * Example:
+ * 
+ * <code>
+ * class PageViews { @Id String page; @Counter long views; }
+ * cassandraTemplate.updateCounters(PageViews.class, "index.html").incr("views", 1).execute(); 
+ * </code>
+ * 
+ * @author Alex Shvid
+ */
+@Documented
+@Retention(value = RetentionPolicy.RUNTIME)
+@Target(value = { ElementType.FIELD, ElementType.ANNOTATION_TYPE })
+public @interface Counter {
+
+}
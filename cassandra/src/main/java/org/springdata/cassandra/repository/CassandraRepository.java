@@ -17,7 +17,10 @@ package org.springdata.cassandra.repository;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 
+import org.springdata.cassandra.core.Slice;
+import org.springdata.cassandra.core.SliceCursor;
 import org.springframework.data.repository.CrudRepository;
 
 /**
@@ -29,4 +32,43 @@ public interface CassandraRepository<T, ID extends Serializable> extends CrudRep
 
 	List<T> findByPartitionKey(ID id);
 
+	/**
+	 * Returns a slice of entities starting after the cursor position.
+	 * 
+	 * @param cursor position returned by the previous slice or {@literal null} for the first slice.
+	 * @param size max number of entities in the slice.
+	 * @return
+	 */
+	Slice<T> findSlice(SliceCursor cursor, int size);
+
+	/**
+	 * Returns entities with the given ids. Ids are de-duplicated and not more than maxConcurrency queries are executed
+	 * at the same time.
+	 * 
+	 * @param ids must not be {@literal null}.
+	 * @param maxConcurrency max number of concurrent queries.
+	 * @return map of all unique ids in their order to entities, not found ids are mapped to {@literal null}.
+	 */
+	Map<ID, T> findAllAsMap(Iterable<ID> ids, int maxConcurrency);
+
+	/**
+	 * Checks whether entities with the given ids exist. Ids are de-duplicated and not more than maxConcurrency queries
+	 * are executed at the same time.
+	 * 
+	 * @param ids must not be {@literal null}.
+	 * @param maxConcurrency max number of concurrent queries.
+	 * @return map of all unique ids in their order to the flag of existence.
+	 */
+	Map<ID, Boolean> exists(Iterable<ID> ids, int maxConcurrency);
+
+	/**
+	 * Returns a slice of entities with the given partition part of the primary key starting after the cursor position.
+	 * 
+	 * @param id must not be {@literal null}.
+	 * @param cursor position returned by the previous slice or {@literal null} for the first slice.
+	 * @param size max number of entities in the slice.
+	 * @return
+	 */
+	Slice<T> findSliceByPartitionKey(ID id, SliceCursor cursor, int size);
+
 }
@@ -16,16 +16,26 @@
 package org.springdata.cassandra.repository.query;
 
 import java.util.Iterator;
-import java.util.List;
+import java.util.concurrent.TimeoutException;
 
 import org.springdata.cassandra.core.CassandraOperations;
+import org.springdata.cassandra.cql.core.CallbackHandler;
+import org.springdata.cassandra.cql.core.CassandraFuture;
+import org.springdata.cassandra.cql.core.ConsistencyLevel;
+import org.springdata.cassandra.cql.core.QueryOperation;
+import org.springdata.cassandra.cql.core.RetryPolicy;
+import org.springdata.cassandra.repository.QueryOptions;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.util.Assert;
 
+import com.google.common.base.Function;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 /**
  * Base class for {@link RepositoryQuery} implementations for Cassandra.
@@ -69,16 +79,98 @@ public abstract class AbstractCassandraQuery implements RepositoryQuery {
 		String query = createQuery(accessor, metadata.getTableName());
 
 		if (method.isCollectionQuery()) {
-			return new CollectionExecution().execute(query);
+			return execute(new CollectionExecution(), query, accessor);
 		}
 
-		Object result = new SingleEntityExecution(isCountQuery()).execute(query);
+		if (isCountQuery()) {
+			return execute(new CountExecution(), query, accessor);
+		}
+
+		return execute(new SingleEntityExecution(), query, accessor);
+	}
+
+	private <T> Object execute(final Execution<T> execution, String query, CassandraParameterAccessor accessor) {
+
+		QueryOperation<T, ?> operation = execution.createOperation(query);
+		applyQueryOptions(operation, accessor);
+
+		if (method.isAsyncQuery()) {
+
+			final CallbackHandler<Object> cb = accessor.getCallbackHandler();
+
+			if (cb != null) {
+
+				operation.executeAsync(new CallbackHandler<T>() {
+
+					@Override
+					public void onComplete(T result) {
+						cb.onComplete(convertResult(execution.process(result)));
+					}
+
+				});
+
+				return null;
+			}
+
+			ListenableFuture<Object> future = Futures.transform(operation.executeAsync(), new Function<T, Object>() {
+
+				@Override
+				public Object apply(T result) {
+					return convertResult(execution.process(result));
+				}
+
+			});
+
+			return new CassandraFuture<Object>(future, cassandraOperations.cqlOps().getExceptionTranslator());
+		}
+
+		Integer timeoutMls = accessor.getTimeout();
+		if (timeoutMls == null) {
+			timeoutMls = method.getNonstopTimeout();
+		}
+
+		if (timeoutMls != null) {
+			try {
+				return convertResult(execution.process(operation.executeNonstop(timeoutMls)));
+			} catch (TimeoutException e) {
+				throw new QueryTimeoutException("query " + query + " was not completed in " + timeoutMls + " milliseconds", e);
+			}
+		}
+
+		return convertResult(execution.process(operation.execute()));
+	}
+
+	private void applyQueryOptions(QueryOperation<?, ?> operation, CassandraParameterAccessor accessor) {
+
+		QueryOptions queryOptions = method.getQueryOptions();
+		if (queryOptions != null) {
+			operation.withConsistencyLevel(queryOptions.consistencyLevel());
+			operation.withRetryPolicy(queryOptions.retryPolicy());
+		}
+
+		ConsistencyLevel consistencyLevel = accessor.getConsistencyLevel();
+		if (consistencyLevel != null) {
+			operation.withConsistencyLevel(consistencyLevel);
+		}
+
+		RetryPolicy retryPolicy = accessor.getRetryPolicy();
+		if (retryPolicy != null) {
+			operation.withRetryPolicy(retryPolicy);
+		}
+
+		Boolean queryTracing = accessor.getQueryTracing();
+		if (queryTracing != null) {
+			operation.withQueryTracing(queryTracing);
+		}
+	}
+
+	private Object convertResult(Object result) {
 
 		if (result == null) {
 			return result;
 		}
 
-		Class<?> expectedReturnType = method.getReturnType().getType();
+		Class<?> expectedReturnType = method.getResultType();
 
 		if (expectedReturnType.isAssignableFrom(result.getClass())) {
 			return result;
@@ -114,17 +206,24 @@ public abstract class AbstractCassandraQuery implements RepositoryQuery {
 	 */
 	protected abstract boolean isCountQuery();
 
-	private abstract class Execution {
-
-		abstract Object execute(String query);
+	private abstract class Execution<T> {
 
-		protected List<?> readCollection(String query) {
+		abstract QueryOperation<T, ?> createOperation(String query);
 
-			CassandraEntityMetadata<?> metadata = method.getEntityInformation();
+		Object process(T result) {
+			return result;
+		}
 
-			Iterator<?> iterator = cassandraOperations.find(metadata.getJavaType(), query).execute();
+		@SuppressWarnings("unchecked")
+		protected Class<Object> getEntityClass() {
+			return (Class<Object>) method.getEntityInformation().getJavaType();
+		}
 
-			return ImmutableList.copyOf(iterator);
+		protected Object project(Object entity) {
+			if (!method.isInterfaceProjection()) {
+				return entity;
+			}
+			return ProjectionInvocationHandler.createProxy(method.getReturnedObjectType(), entity);
 		}
 	}
 
@@ -133,14 +232,26 @@ public abstract class AbstractCassandraQuery implements RepositoryQuery {
 	 * 
 	 * @author Alex Shvid
 	 */
-	class CollectionExecution extends Execution {
+	class CollectionExecution extends Execution<Iterator<Object>> {
 
 		CollectionExecution() {
 		}
 
 		@Override
-		public Object execute(String query) {
-			return readCollection(query);
+		QueryOperation<Iterator<Object>, ?> createOperation(String query) {
+			return cassandraOperations.find(getEntityClass(), query);
+		}
+
+		@Override
+		Object process(Iterator<Object> result) {
+			if (!method.isInterfaceProjection()) {
+				return ImmutableList.copyOf(result);
+			}
+			ImmutableList.Builder<Object> builder = ImmutableList.builder();
+			while (result.hasNext()) {
+				builder.add(project(result.next()));
+			}
+			return builder.build();
 		}
 	}
 
@@ -149,24 +260,35 @@ public abstract class AbstractCassandraQuery implements RepositoryQuery {
 	 * 
 	 * @author Alex Shvid
 	 */
-	class SingleEntityExecution extends Execution {
+	class SingleEntityExecution extends Execution<Object> {
 
-		private final boolean countProjection;
+		SingleEntityExecution() {
+		}
 
-		private SingleEntityExecution(boolean countProjection) {
-			this.countProjection = countProjection;
+		@Override
+		QueryOperation<Object, ?> createOperation(String query) {
+			return cassandraOperations.findOne(getEntityClass(), query);
 		}
 
 		@Override
-		Object execute(String query) {
+		Object process(Object result) {
+			return project(result);
+		}
+	}
 
-			CassandraEntityMetadata<?> metadata = method.getEntityInformation();
-			if (countProjection) {
-				return cassandraOperations.cqlOps().select(query).singleResult().firstColumn(Long.class).execute();
-			} else {
-				return cassandraOperations.findOne(metadata.getJavaType(), query).execute();
-			}
+	/**
+	 * {@link Execution} to return a count projection.
+	 * 
+	 * @author Alex Shvid
+	 */
+	class CountExecution extends Execution<Long> {
 
+		CountExecution() {
+		}
+
+		@Override
+		QueryOperation<Long, ?> createOperation(String query) {
+			return cassandraOperations.cqlOps().select(query).singleResult().firstColumn(Long.class);
 		}
 	}
 
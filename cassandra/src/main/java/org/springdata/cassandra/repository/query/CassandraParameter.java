@@ -15,9 +15,12 @@
  */
 package org.springdata.cassandra.repository.query;
 
+import org.springdata.cassandra.cql.core.CallbackHandler;
 import org.springdata.cassandra.cql.core.ConsistencyLevel;
 import org.springdata.cassandra.cql.core.RetryPolicy;
+import org.springdata.cassandra.repository.Limit;
 import org.springdata.cassandra.repository.QueryTracing;
+import org.springdata.cassandra.repository.TimeoutMilliseconds;
 import org.springdata.cassandra.repository.TimestampMilliseconds;
 import org.springdata.cassandra.repository.TimeToLiveSeconds;
 import org.springframework.core.MethodParameter;
@@ -48,11 +51,13 @@ public class CassandraParameter extends Parameter {
 	 */
 	@Override
 	public boolean isSpecialParameter() {
-		return super.isSpecialParameter() || isConsistencyLevel() || isRetryPolicy() || isManuallyAnnotatedParameter();
+		return super.isSpecialParameter() || isConsistencyLevel() || isRetryPolicy() || isCallbackHandler()
+				|| isManuallyAnnotatedParameter();
 	}
 
 	boolean isManuallyAnnotatedParameter() {
-		return hasQueryTracingAnnotation() || hasTtlAnnotation() || hasTimestampAnnotation();
+		return hasQueryTracingAnnotation() || hasTtlAnnotation() || hasTimestampAnnotation() || hasTimeoutAnnotation()
+				|| hasLimitAnnotation();
 	}
 
 	boolean isConsistencyLevel() {
@@ -63,6 +68,10 @@ public class CassandraParameter extends Parameter {
 		return getType().equals(RetryPolicy.class);
 	}
 
+	boolean isCallbackHandler() {
+		return getType().equals(CallbackHandler.class);
+	}
+
 	boolean isQueryTracing() {
 		return (getType().equals(Boolean.class) || getType().equals(boolean.class)) && hasQueryTracingAnnotation();
 	}
@@ -75,6 +84,14 @@ public class CassandraParameter extends Parameter {
 		return (getType().equals(Long.class) || getType().equals(long.class)) && hasTimestampAnnotation();
 	}
 
+	boolean isTimeout() {
+		return (getType().equals(Integer.class) || getType().equals(int.class)) && hasTimeoutAnnotation();
+	}
+
+	boolean isLimit() {
+		return (getType().equals(Integer.class) || getType().equals(int.class)) && hasLimitAnnotation();
+	}
+
 	boolean hasQueryTracingAnnotation() {
 		return parameter.getParameterAnnotation(QueryTracing.class) != null;
 	}
@@ -87,4 +104,12 @@ public class CassandraParameter extends Parameter {
 		return parameter.getParameterAnnotation(TimestampMilliseconds.class) != null;
 	}
 
+	boolean hasTimeoutAnnotation() {
+		return parameter.getParameterAnnotation(TimeoutMilliseconds.class) != null;
+	}
+
+	boolean hasLimitAnnotation() {
+		return parameter.getParameterAnnotation(Limit.class) != null;
+	}
+
 }
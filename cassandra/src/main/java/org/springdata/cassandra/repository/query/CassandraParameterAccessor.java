@@ -15,6 +15,7 @@
  */
 package org.springdata.cassandra.repository.query;
 
+import org.springdata.cassandra.cql.core.CallbackHandler;
 import org.springdata.cassandra.cql.core.ConsistencyLevel;
 import org.springdata.cassandra.cql.core.RetryPolicy;
 import org.springframework.data.repository.query.ParameterAccessor;
@@ -71,4 +72,29 @@ public interface CassandraParameterAccessor extends ParameterAccessor {
 
 	Long getTimestamp();
 
+	/**
+	 * Returns timeout in milliseconds for the nonstop execution of the query operation. Overrides the value defined in
+	 * the Nonstop annotation.
+	 * 
+	 * @return timeout in milliseconds
+	 */
+
+	Integer getTimeout();
+
+	/**
+	 * Returns CallbackHandler for the asynchronous execution of the query operation.
+	 * 
+	 * @return CallbackHandler or null
+	 */
+
+	CallbackHandler<Object> getCallbackHandler();
+
+	/**
+	 * Returns max number of rows to select. Overrides First/Top keywords of the derived query.
+	 * 
+	 * @return limit or null
+	 */
+
+	Integer getLimit();
+
 }
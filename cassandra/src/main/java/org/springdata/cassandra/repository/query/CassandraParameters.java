@@ -19,6 +19,7 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 
+import org.springdata.cassandra.cql.core.CallbackHandler;
 import org.springdata.cassandra.cql.core.ConsistencyLevel;
 import org.springdata.cassandra.cql.core.RetryPolicy;
 import org.springframework.core.MethodParameter;
@@ -33,9 +34,12 @@ public class CassandraParameters extends Parameters<CassandraParameters, Cassand
 
 	private final int consistencyLevelIndex;
 	private final int retryPolicyIndex;
-	private int queryTracingIndex = 1;
+	private final int callbackHandlerIndex;
+	private int queryTracingIndex = -1;
 	private int ttlIndex = -1;
 	private int timestampIndex = -1;
+	private int timeoutIndex = -1;
+	private int limitIndex = -1;
 
 	/**
 	 * Creates a new {@link CassandraParameters} instance from the given {@link Method} and {@link CassandraQueryMethod}.
@@ -48,15 +52,25 @@ public class CassandraParameters extends Parameters<CassandraParameters, Cassand
 		List<Class<?>> parameterTypes = Arrays.asList(method.getParameterTypes());
 		this.consistencyLevelIndex = parameterTypes.indexOf(ConsistencyLevel.class);
 		this.retryPolicyIndex = parameterTypes.indexOf(RetryPolicy.class);
+		this.callbackHandlerIndex = parameterTypes.indexOf(CallbackHandler.class);
+
+		// Parameters are created in the super constructor before field initializers run, so annotated parameters are
+		// detected here
+		for (CassandraParameter cassandraParameter : this) {
+			detectAnnotatedParameter(method, cassandraParameter);
+		}
 	}
 
 	private CassandraParameters(List<CassandraParameter> parameters, CassandraParameters other) {
 		super(parameters);
 		this.consistencyLevelIndex = other.consistencyLevelIndex;
 		this.retryPolicyIndex = other.retryPolicyIndex;
+		this.callbackHandlerIndex = other.callbackHandlerIndex;
 		this.queryTracingIndex = other.queryTracingIndex;
 		this.ttlIndex = other.ttlIndex;
 		this.timestampIndex = other.timestampIndex;
+		this.timeoutIndex = other.timeoutIndex;
+		this.limitIndex = other.limitIndex;
 	}
 
 	/*
@@ -65,15 +79,17 @@ public class CassandraParameters extends Parameters<CassandraParameters, Cassand
 	 */
 	@Override
 	protected CassandraParameter createParameter(MethodParameter parameter) {
+		return new CassandraParameter(parameter);
+	}
 
-		CassandraParameter cassandraParameter = new CassandraParameter(parameter);
+	private void detectAnnotatedParameter(Method method, CassandraParameter cassandraParameter) {
 
 		// Detect manually annotated @QueryTracing parameter and reject multiple annotated ones
 		if (this.queryTracingIndex == -1 && cassandraParameter.isQueryTracing()) {
 			this.queryTracingIndex = cassandraParameter.getIndex();
 		} else if (cassandraParameter.isQueryTracing()) {
 			throw new IllegalStateException(String.format(
-					"Found multiple @QueryTracing annotations on method %s! Only one allowed!", parameter.getMethod().toString()));
+					"Found multiple @QueryTracing annotations on method %s! Only one allowed!", method.toString()));
 		}
 
 		// Detect manually annotated @Ttl parameter and reject multiple annotated ones
@@ -81,7 +97,7 @@ public class CassandraParameters extends Parameters<CassandraParameters, Cassand
 			this.ttlIndex = cassandraParameter.getIndex();
 		} else if (cassandraParameter.isTtl()) {
 			throw new IllegalStateException(String.format("Found multiple @Ttl annotations on method %s! Only one allowed!",
-					parameter.getMethod().toString()));
+					method.toString()));
 		}
 
 		// Detect manually annotated @Timestamp parameter and reject multiple annotated ones
@@ -89,10 +105,24 @@ public class CassandraParameters extends Parameters<CassandraParameters, Cassand
 			this.timestampIndex = cassandraParameter.getIndex();
 		} else if (cassandraParameter.isTimestamp()) {
 			throw new IllegalStateException(String.format(
-					"Found multiple @Timestamp annotations on method %s! Only one allowed!", parameter.getMethod().toString()));
+					"Found multiple @Timestamp annotations on method %s! Only one allowed!", method.toString()));
 		}
 
-		return cassandraParameter;
+		// Detect manually annotated @TimeoutMilliseconds parameter and reject multiple annotated ones
+		if (this.timeoutIndex == -1 && cassandraParameter.isTimeout()) {
+			this.timeoutIndex = cassandraParameter.getIndex();
+		} else if (cassandraParameter.isTimeout()) {
+			throw new IllegalStateException(String.format(
+					"Found multiple @TimeoutMilliseconds annotations on method %s! Only one allowed!", method.toString()));
+		}
+
+		// Detect manually annotated @Limit parameter and reject multiple annotated ones
+		if (this.limitIndex == -1 && cassandraParameter.isLimit()) {
+			this.limitIndex = cassandraParameter.getIndex();
+		} else if (cassandraParameter.isLimit()) {
+			throw new IllegalStateException(String.format("Found multiple @Limit annotations on method %s! Only one allowed!",
+					method.toString()));
+		}
 	}
 
 	/* 
@@ -112,6 +142,10 @@ public class CassandraParameters extends Parameters<CassandraParameters, Cassand
 		return retryPolicyIndex;
 	}
 
+	public int getCallbackHandlerIndex() {
+		return callbackHandlerIndex;
+	}
+
 	public int getQueryTracingIndex() {
 		return queryTracingIndex;
 	}
@@ -124,4 +158,12 @@ public class CassandraParameters extends Parameters<CassandraParameters, Cassand
 		return timestampIndex;
 	}
 
+	public int getTimeoutIndex() {
+		return timeoutIndex;
+	}
+
+	public int getLimitIndex() {
+		return limitIndex;
+	}
+
 }
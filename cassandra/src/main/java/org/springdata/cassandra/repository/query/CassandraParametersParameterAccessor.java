@@ -15,6 +15,7 @@
  */
 package org.springdata.cassandra.repository.query;
 
+import org.springdata.cassandra.cql.core.CallbackHandler;
 import org.springdata.cassandra.cql.core.ConsistencyLevel;
 import org.springdata.cassandra.cql.core.RetryPolicy;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
@@ -100,4 +101,43 @@ public class CassandraParametersParameterAccessor extends ParametersParameterAcc
 		return (Long) value;
 	}
 
+	@Override
+	public Integer getTimeout() {
+		int index = method.getParameters().getTimeoutIndex();
+		if (index == -1) {
+			return null;
+		}
+		Object value = getValue(index);
+		if (value == null) {
+			return null;
+		}
+		if (!(value instanceof Integer)) {
+			throw new IllegalArgumentException("value in index " + index + " must be Integer");
+		}
+		return (Integer) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public CallbackHandler<Object> getCallbackHandler() {
+		int index = method.getParameters().getCallbackHandlerIndex();
+		return index == -1 ? null : (CallbackHandler<Object>) getValue(index);
+	}
+
+	@Override
+	public Integer getLimit() {
+		int index = method.getParameters().getLimitIndex();
+		if (index == -1) {
+			return null;
+		}
+		Object value = getValue(index);
+		if (value == null) {
+			return null;
+		}
+		if (!(value instanceof Integer)) {
+			throw new IllegalArgumentException("value in index " + index + " must be Integer");
+		}
+		return (Integer) value;
+	}
+
 }
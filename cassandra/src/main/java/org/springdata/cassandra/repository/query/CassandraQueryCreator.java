@@ -16,19 +16,21 @@
 package org.springdata.cassandra.repository.query;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springdata.cassandra.cql.core.KeyPart;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.context.PersistentPropertyPath;
 import org.springframework.data.repository.query.parser.AbstractQueryCreator;
 import org.springframework.data.repository.query.parser.Part;
 import org.springframework.data.repository.query.parser.PartTree;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 import com.datastax.driver.core.querybuilder.Clause;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
@@ -41,11 +43,13 @@ import com.datastax.driver.core.querybuilder.Select;
  */
 class CassandraQueryCreator extends AbstractQueryCreator<Select, List<Clause>> {
 
-	private static final Logger LOG = LoggerFactory.getLogger(CassandraQueryCreator.class);
 	private final CassandraParameterAccessor accessor;
 	private final MappingContext<?, CassandraPersistentProperty> context;
+	private final Class<?> domainType;
 	private final String tableName;
 	private final boolean countQuery;
+	private final List<String> columns;
+	private final Integer maxResults;
 
 	/**
 	 * Creates a new {@link CassandraQueryCreator} from the given {@link PartTree}, {@link CassandraParameterAccessor} and
@@ -57,6 +61,24 @@ class CassandraQueryCreator extends AbstractQueryCreator<Select, List<Clause>> {
 	 */
 	public CassandraQueryCreator(PartTree tree, CassandraParameterAccessor accessor,
 			MappingContext<?, CassandraPersistentProperty> context, String tableName, boolean countQuery) {
+		this(tree, accessor, context, null, tableName, countQuery, null, null);
+	}
+
+	/**
+	 * Creates a new {@link CassandraQueryCreator} with projection columns and max results.
+	 * 
+	 * @param tree
+	 * @param accessor
+	 * @param context
+	 * @param domainType type used to resolve sort properties
+	 * @param tableName
+	 * @param countQuery
+	 * @param columns selected columns or {@literal null} for all columns
+	 * @param maxResults limit from First/Top keywords or {@literal null}
+	 */
+	public CassandraQueryCreator(PartTree tree, CassandraParameterAccessor accessor,
+			MappingContext<?, CassandraPersistentProperty> context, Class<?> domainType, String tableName,
+			boolean countQuery, List<String> columns, Integer maxResults) {
 
 		super(tree, accessor);
 
@@ -64,18 +86,18 @@ class CassandraQueryCreator extends AbstractQueryCreator<Select, List<Clause>> {
 
 		this.accessor = accessor;
 		this.context = context;
+		this.domainType = domainType;
 		this.tableName = tableName;
 		this.countQuery = countQuery;
-
+		this.columns = columns;
+		this.maxResults = maxResults;
 	}
 
 	@Override
 	protected List<Clause> create(Part part, Iterator<Object> iterator) {
 
-		PersistentPropertyPath<CassandraPersistentProperty> path = context.getPersistentPropertyPath(part.getProperty());
-		CassandraPersistentProperty property = path.getLeafProperty();
-
 		List<Clause> criteria = new ArrayList<Clause>();
+		addCriteria(criteria, part, iterator);
 
 		return criteria;
 	}
@@ -87,10 +109,7 @@ class CassandraQueryCreator extends AbstractQueryCreator<Select, List<Clause>> {
 			return create(part, iterator);
 		}
 
-		PersistentPropertyPath<CassandraPersistentProperty> path = context.getPersistentPropertyPath(part.getProperty());
-		CassandraPersistentProperty property = path.getLeafProperty();
-
-		String s = path.toDotPath(CassandraPersistentProperty.PropertyToColumnNameConverter.INSTANCE);
+		addCriteria(base, part, iterator);
 
 		return base;
 	}
@@ -103,18 +122,105 @@ class CassandraQueryCreator extends AbstractQueryCreator<Select, List<Clause>> {
 	@Override
 	protected Select complete(List<Clause> criteria, Sort sort) {
 
-		Select select = countQuery ? QueryBuilder.select().countAll().from(tableName) : QueryBuilder.select().all()
-				.from(tableName);
+		Select select;
 
-		Select.Where w = select.where();
+		if (countQuery) {
+			select = QueryBuilder.select().countAll().from(tableName);
+		} else if (columns != null) {
+			select = QueryBuilder.select(columns.toArray(new String[columns.size()])).from(tableName);
+		} else {
+			select = QueryBuilder.select().all().from(tableName);
+		}
 
-		if (criteria != null) {
+		if (criteria != null && !criteria.isEmpty()) {
+			Select.Where w = select.where();
 			for (Clause c : criteria) {
 				w.and(c);
 			}
 		}
 
+		if (countQuery) {
+			return select;
+		}
+
+		if (sort != null) {
+			for (Sort.Order order : sort) {
+				String columnName = getClusteringColumnName(order.getProperty());
+				select.orderBy(order.isAscending() ? QueryBuilder.asc(columnName) : QueryBuilder.desc(columnName));
+			}
+		}
+
+		Integer limit = accessor.getLimit() != null ? accessor.getLimit() : maxResults;
+		if (limit != null) {
+			select.limit(limit);
+		}
+
 		return select;
 	}
 
+	private void addCriteria(List<Clause> criteria, Part part, Iterator<Object> iterator) {
+
+		String columnName = getColumnName(part.getProperty());
+
+		switch (part.getType()) {
+		case SIMPLE_PROPERTY:
+			criteria.add(QueryBuilder.eq(columnName, iterator.next()));
+			break;
+		case GREATER_THAN:
+			criteria.add(QueryBuilder.gt(columnName, iterator.next()));
+			break;
+		case GREATER_THAN_EQUAL:
+			criteria.add(QueryBuilder.gte(columnName, iterator.next()));
+			break;
+		case LESS_THAN:
+			criteria.add(QueryBuilder.lt(columnName, iterator.next()));
+			break;
+		case LESS_THAN_EQUAL:
+			criteria.add(QueryBuilder.lte(columnName, iterator.next()));
+			break;
+		case BETWEEN:
+			criteria.add(QueryBuilder.gte(columnName, iterator.next()));
+			criteria.add(QueryBuilder.lte(columnName, iterator.next()));
+			break;
+		case IN:
+			criteria.add(QueryBuilder.in(columnName, toArray(iterator.next())));
+			break;
+		default:
+			throw new IllegalArgumentException("Unsupported keyword " + part.getType() + " for property "
+					+ part.getProperty().toDotPath());
+		}
+	}
+
+	private String getColumnName(PropertyPath propertyPath) {
+		PersistentPropertyPath<CassandraPersistentProperty> path = context.getPersistentPropertyPath(propertyPath);
+		return path.getLeafProperty().getColumnName();
+	}
+
+	private String getClusteringColumnName(String property) {
+
+		if (domainType == null) {
+			throw new IllegalArgumentException("Unsupported sort by " + property);
+		}
+
+		PersistentPropertyPath<CassandraPersistentProperty> path = context.getPersistentPropertyPath(PropertyPath.from(
+				property, domainType));
+		CassandraPersistentProperty leaf = path.getLeafProperty();
+
+		if (leaf.getKeyPart() != KeyPart.CLUSTERING) {
+			throw new IllegalArgumentException("Sort is supported only by clustering columns, property " + property);
+		}
+
+		return leaf.getColumnName();
+	}
+
+	private static Object[] toArray(Object value) {
+		if (value instanceof Collection) {
+			return ((Collection<?>) value).toArray();
+		}
+		if (value != null && value.getClass().isArray()) {
+			return ObjectUtils.toObjectArray(value);
+		}
+		return new Object[] { value };
+	}
+
 }
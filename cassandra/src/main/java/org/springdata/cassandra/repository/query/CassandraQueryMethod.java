@@ -15,11 +15,19 @@
  */
 package org.springdata.cassandra.repository.query;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 
+import org.springdata.cassandra.cql.core.CassandraFuture;
 import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springdata.cassandra.repository.Async;
+import org.springdata.cassandra.repository.Nonstop;
 import org.springdata.cassandra.repository.Query;
+import org.springdata.cassandra.repository.QueryOptions;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.core.RepositoryMetadata;
@@ -56,6 +64,34 @@ public class CassandraQueryMethod extends QueryMethod {
 
 		this.method = method;
 		this.mappingContext = mappingContext;
+
+		assertExecutionMode();
+	}
+
+	private void assertExecutionMode() {
+
+		CassandraParameters parameters = getParameters();
+
+		if (isAsyncQuery()) {
+			if (getNonstopTimeout() != null || parameters.getTimeoutIndex() != -1) {
+				throw new IllegalStateException(String.format(
+						"Method %s is annotated with @Async and can not use @Nonstop or @TimeoutMilliseconds!", method));
+			}
+			if (parameters.getCallbackHandlerIndex() != -1) {
+				if (!void.class.equals(method.getReturnType())) {
+					throw new IllegalStateException(String.format(
+							"Method %s with CallbackHandler parameter must return void!", method));
+				}
+			} else if (!isFutureQuery()) {
+				throw new IllegalStateException(String.format(
+						"Method %s is annotated with @Async and must return a CassandraFuture or declare a CallbackHandler parameter!",
+						method));
+			}
+		} else if (isFutureQuery() || parameters.getCallbackHandlerIndex() != -1) {
+			throw new IllegalStateException(String.format(
+					"Method %s returns a Future or declares a CallbackHandler parameter and must be annotated with @Async!",
+					method));
+		}
 	}
 
 	/*
@@ -101,7 +137,8 @@ public class CassandraQueryMethod extends QueryMethod {
 			Class<?> returnedObjectType = getReturnedObjectType();
 			Class<?> domainClass = getDomainClass();
 
-			CassandraPersistentEntity<?> returnedEntity = mappingContext.getPersistentEntity(getReturnedObjectType());
+			CassandraPersistentEntity<?> returnedEntity = isInterfaceProjection() ? null : mappingContext
+					.getPersistentEntity(returnedObjectType);
 			CassandraPersistentEntity<?> managedEntity = mappingContext.getPersistentEntity(domainClass);
 			returnedEntity = returnedEntity == null ? managedEntity : returnedEntity;
 			CassandraPersistentEntity<?> collectionEntity = domainClass.isAssignableFrom(returnedObjectType) ? returnedEntity
@@ -135,4 +172,154 @@ public class CassandraQueryMethod extends QueryMethod {
 	TypeInformation<?> getReturnType() {
 		return ClassTypeInformation.fromReturnTypeOf(method);
 	}
+
+	/**
+	 * Returns the domain type managed by the repository.
+	 * 
+	 * @return
+	 */
+	Class<?> getManagedType() {
+		return getDomainClass();
+	}
+
+	/**
+	 * Returns whether the method returns an interface projection of the domain type. Projection interface declares
+	 * getters for the domain type properties, results are backed by partially read domain objects.
+	 * 
+	 * @return
+	 */
+	public boolean isInterfaceProjection() {
+		Class<?> returnedObjectType = getReturnedObjectType();
+		return returnedObjectType.isInterface() && !returnedObjectType.getName().startsWith("java.")
+				&& !returnedObjectType.isAssignableFrom(getDomainClass());
+	}
+
+	/**
+	 * Returns whether the method returns a projection of the domain type, an interface or a DTO class.
+	 * 
+	 * @return
+	 */
+	public boolean isProjection() {
+		return isInterfaceProjection() || !getEntityInformation().getJavaType().isAssignableFrom(getDomainClass());
+	}
+
+	/**
+	 * Returns whether the method is annotated with {@link Async} and has to be executed asynchronously.
+	 * 
+	 * @return
+	 */
+	public boolean isAsyncQuery() {
+		return method.isAnnotationPresent(Async.class);
+	}
+
+	/**
+	 * Returns whether the method returns a {@link CassandraFuture} or one of its super types.
+	 * 
+	 * @return
+	 */
+	public boolean isFutureQuery() {
+		Class<?> returnType = method.getReturnType();
+		return !Object.class.equals(returnType) && returnType.isAssignableFrom(CassandraFuture.class);
+	}
+
+	/**
+	 * Returns timeout in milliseconds declared in a {@link Nonstop} annotation or {@literal null} if the annotation is
+	 * not found.
+	 * 
+	 * @return
+	 */
+	public Integer getNonstopTimeout() {
+		Nonstop nonstop = method.getAnnotation(Nonstop.class);
+		return nonstop != null ? nonstop.timeoutMilliseconds() : null;
+	}
+
+	/**
+	 * Returns the {@link QueryOptions} annotation that is applied to the method or {@code null} if none available.
+	 * 
+	 * @return
+	 */
+	public QueryOptions getQueryOptions() {
+		return method.getAnnotation(QueryOptions.class);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.query.QueryMethod#isCollectionQuery()
+	 */
+	@Override
+	public boolean isCollectionQuery() {
+
+		if (method == null || !isAsyncQuery()) {
+			return super.isCollectionQuery();
+		}
+
+		Class<?> resultType = getResultType();
+		return Iterable.class.isAssignableFrom(resultType) || resultType.isArray();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.repository.query.QueryMethod#getReturnedObjectType()
+	 */
+	@Override
+	public Class<?> getReturnedObjectType() {
+
+		if (method == null || !isAsyncQuery()) {
+			return super.getReturnedObjectType();
+		}
+
+		Type resultType = getGenericResultType();
+		Class<?> rawType = toClass(resultType);
+
+		if (rawType.isArray()) {
+			return rawType.getComponentType();
+		}
+		if (Iterable.class.isAssignableFrom(rawType)) {
+			return toClass(getFirstTypeArgument(resultType));
+		}
+		return rawType;
+	}
+
+	/**
+	 * Returns the type of the result produced by the query. For asynchronous methods it is the type argument of the
+	 * returned Future or of the CallbackHandler parameter.
+	 * 
+	 * @return
+	 */
+	Class<?> getResultType() {
+		return toClass(getGenericResultType());
+	}
+
+	private Type getGenericResultType() {
+
+		if (!isAsyncQuery()) {
+			return method.getGenericReturnType();
+		}
+
+		int callbackHandlerIndex = getParameters().getCallbackHandlerIndex();
+		if (callbackHandlerIndex != -1) {
+			return getFirstTypeArgument(method.getGenericParameterTypes()[callbackHandlerIndex]);
+		}
+		return getFirstTypeArgument(method.getGenericReturnType());
+	}
+
+	private static Type getFirstTypeArgument(Type type) {
+		if (type instanceof ParameterizedType) {
+			return ((ParameterizedType) type).getActualTypeArguments()[0];
+		}
+		return Object.class;
+	}
+
+	private static Class<?> toClass(Type type) {
+		if (type instanceof Class) {
+			return (Class<?>) type;
+		}
+		if (type instanceof ParameterizedType) {
+			return toClass(((ParameterizedType) type).getRawType());
+		}
+		if (type instanceof GenericArrayType) {
+			return Array.newInstance(toClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+		}
+		return Object.class;
+	}
 }
@@ -15,12 +15,25 @@
  */
 package org.springdata.cassandra.repository.query;
 
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import org.springdata.cassandra.core.CassandraOperations;
 import org.springdata.cassandra.mapping.CassandraPersistentProperty;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.query.QueryMethod;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.util.StringUtils;
 
 /**
  * PartTree {@link RepositoryQuery} implementation for Cassandra.
@@ -29,8 +42,14 @@ import org.springframework.data.repository.query.parser.PartTree;
  */
 public class PartTreeCassandraQuery extends AbstractCassandraQuery {
 
+	private static final Pattern SUBJECT = Pattern.compile("^(?:find|read|get)(\\p{Upper}.*?)??By");
+	private static final Pattern LIMITING = Pattern.compile("^(?:Distinct)?(?:First|Top)(\\d*)");
+
 	private final PartTree tree;
 	private final MappingContext<?, CassandraPersistentProperty> context;
+	private final Class<?> domainType;
+	private final List<String> columns;
+	private final Integer maxResults;
 
 	/**
 	 * Creates a new {@link PartTreeCassandraQuery} from the given {@link QueryMethod} and {@link MongoTemplate}.
@@ -41,8 +60,11 @@ public class PartTreeCassandraQuery extends AbstractCassandraQuery {
 	public PartTreeCassandraQuery(CassandraQueryMethod method, CassandraOperations cassandraOperations) {
 
 		super(method, cassandraOperations);
-		this.tree = new PartTree(method.getName(), method.getEntityInformation().getJavaType());
+		this.domainType = method.getManagedType();
+		this.tree = new PartTree(method.getName(), domainType);
 		this.context = cassandraOperations.getConverter().getMappingContext();
+		this.columns = method.isProjection() ? getProjectionColumns(method) : null;
+		this.maxResults = getMaxResults(method.getName());
 	}
 
 	/**
@@ -56,13 +78,15 @@ public class PartTreeCassandraQuery extends AbstractCassandraQuery {
 
 	@Override
 	protected String createQuery(CassandraParameterAccessor accessor, String tableName) {
-		CassandraQueryCreator creator = new CassandraQueryCreator(tree, accessor, context, tableName, false);
+		CassandraQueryCreator creator = new CassandraQueryCreator(tree, accessor, context, domainType, tableName,
+				tree.isCountProjection(), columns, maxResults);
 		return creator.createQuery().getQueryString();
 	}
 
 	@Override
 	protected String createCountQuery(CassandraParameterAccessor accessor, String tableName) {
-		CassandraQueryCreator creator = new CassandraQueryCreator(tree, accessor, context, tableName, true);
+		CassandraQueryCreator creator = new CassandraQueryCreator(tree, accessor, context, domainType, tableName, true,
+				null, null);
 		return creator.createQuery().getQueryString();
 	}
 
@@ -71,4 +95,83 @@ public class PartTreeCassandraQuery extends AbstractCassandraQuery {
 		return tree.isCountProjection();
 	}
 
+	/**
+	 * Parses First/Top keywords, Spring Data Commons 1.6 PartTree ignores them
+	 * 
+	 * @param methodName
+	 * @return max results or null
+	 */
+	static Integer getMaxResults(String methodName) {
+
+		Matcher subject = SUBJECT.matcher(methodName);
+		if (!subject.find() || subject.group(1) == null) {
+			return null;
+		}
+
+		Matcher limiting = LIMITING.matcher(subject.group(1));
+		if (!limiting.find()) {
+			return null;
+		}
+
+		String digits = limiting.group(1);
+		return StringUtils.hasText(digits) ? Integer.valueOf(digits) : Integer.valueOf(1);
+	}
+
+	private List<String> getProjectionColumns(CassandraQueryMethod method) {
+
+		PersistentEntity<?, CassandraPersistentProperty> domainEntity = context.getPersistentEntity(domainType);
+		Set<String> domainColumns = new HashSet<String>();
+		collectColumns(domainEntity, domainColumns);
+
+		Set<String> result = new LinkedHashSet<String>();
+
+		if (method.isInterfaceProjection()) {
+
+			for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(method.getReturnedObjectType())) {
+
+				CassandraPersistentProperty property = domainEntity.getPersistentProperty(descriptor.getName());
+				if (property == null) {
+					throw new IllegalStateException(String.format("Property %s of projection %s not found in %s",
+							descriptor.getName(), method.getReturnedObjectType(), domainType));
+				}
+
+				collectColumns(property, result);
+			}
+
+		} else {
+
+			PersistentEntity<?, CassandraPersistentProperty> dtoEntity = context.getPersistentEntity(method
+					.getEntityInformation().getJavaType());
+			collectColumns(dtoEntity, result);
+			result.retainAll(domainColumns);
+		}
+
+		if (result.isEmpty()) {
+			throw new IllegalStateException("No columns selected by projection " + method.getReturnedObjectType());
+		}
+
+		return new ArrayList<String>(result);
+	}
+
+	private void collectColumns(PersistentEntity<?, CassandraPersistentProperty> entity, final Set<String> columns) {
+
+		entity.doWithProperties(new PropertyHandler<CassandraPersistentProperty>() {
+
+			@Override
+			public void doWithPersistentProperty(CassandraPersistentProperty property) {
+				collectColumns(property, columns);
+			}
+
+		});
+	}
+
+	private void collectColumns(CassandraPersistentProperty property, Set<String> columns) {
+
+		if (property.hasEmbeddableType()) {
+			collectColumns(context.getPersistentEntity(property.getRawType()), columns);
+		} else {
+			columns.add(property.getColumnName());
+		}
+	}
+
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.repository.query;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Backs an interface projection by the partially read domain object. Every interface method is delegated to the
+ * method with the same signature on the target.
+ * 
+ * @author Alex Shvid
+ */
+class ProjectionInvocationHandler implements InvocationHandler {
+
+	private final Object target;
+
+	private ProjectionInvocationHandler(Object target) {
+		this.target = target;
+	}
+
+	/**
+	 * Creates a proxy implementing the given projection interface.
+	 * 
+	 * @param projectionType interface type
+	 * @param target domain object, may be {@literal null}
+	 * @return proxy or {@literal null} if target is {@literal null}
+	 */
+	static Object createProxy(Class<?> projectionType, Object target) {
+		if (target == null) {
+			return null;
+		}
+		return Proxy.newProxyInstance(projectionType.getClassLoader(), new Class<?>[] { projectionType },
+				new ProjectionInvocationHandler(target));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+		if (ReflectionUtils.isEqualsMethod(method)) {
+			return proxy == args[0];
+		}
+
+		if (ReflectionUtils.isHashCodeMethod(method)) {
+			return System.identityHashCode(proxy);
+		}
+
+		if (ReflectionUtils.isToStringMethod(method)) {
+			return target.toString();
+		}
+
+		Method targetMethod = ReflectionUtils.findMethod(target.getClass(), method.getName(), method.getParameterTypes());
+		if (targetMethod == null) {
+			throw new UnsupportedOperationException("method " + method + " not found in " + target.getClass());
+		}
+
+		ReflectionUtils.makeAccessible(targetMethod);
+		return ReflectionUtils.invokeMethod(targetMethod, target, args);
+	}
+
+}
@@ -94,7 +94,7 @@ public class StringBasedCassandraQuery extends AbstractCassandraQuery {
 	private String replaceTable(String input, String tableName) {
 
 		Matcher matcher = TABLEHOLDER.matcher(input);
-		return matcher.replaceFirst(input);
+		return matcher.replaceFirst(Matcher.quoteReplacement(tableName));
 
 	}
 
@@ -18,9 +18,12 @@ package org.springdata.cassandra.repository.support;
 import java.io.Serializable;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.springdata.cassandra.core.CassandraOperations;
 import org.springdata.cassandra.core.CassandraTemplate;
+import org.springdata.cassandra.core.Slice;
+import org.springdata.cassandra.core.SliceCursor;
 import org.springdata.cassandra.repository.CassandraRepository;
 import org.springdata.cassandra.repository.query.CassandraEntityInformation;
 import org.springframework.util.Assert;
@@ -88,6 +91,17 @@ public class SimpleCassandraRepository<T, ID extends Serializable> implements Ca
 		return ImmutableList.copyOf(iterator);
 	}
 
+	@Override
+	public Slice<T> findSlice(SliceCursor cursor, int size) {
+		return cassandraTemplate.findSlice(entityInformation.getJavaType(), cursor, size).execute();
+	}
+
+	@Override
+	public Slice<T> findSliceByPartitionKey(ID id, SliceCursor cursor, int size) {
+		Assert.notNull(id, "The given id must not be null!");
+		return cassandraTemplate.findSliceByPartitionKey(entityInformation.getJavaType(), id, cursor, size).execute();
+	}
+
 	@Override
 	public boolean exists(ID id) {
 		Assert.notNull(id, "The given id must not be null!");
@@ -135,6 +149,18 @@ public class SimpleCassandraRepository<T, ID extends Serializable> implements Ca
 		return cassandraTemplate.findAll(entityInformation.getJavaType(), ids).execute();
 	}
 
+	@Override
+	public Map<ID, T> findAllAsMap(Iterable<ID> ids, int maxConcurrency) {
+		Assert.notNull(ids, "The given Iterable of ids not be null!");
+		return cassandraTemplate.findAllAsMap(entityInformation.getJavaType(), ids, maxConcurrency).execute();
+	}
+
+	@Override
+	public Map<ID, Boolean> exists(Iterable<ID> ids, int maxConcurrency) {
+		Assert.notNull(ids, "The given Iterable of ids not be null!");
+		return cassandraTemplate.exists(entityInformation.getJavaType(), ids, maxConcurrency).execute();
+	}
+
 	/**
 	 * Returns the underlying {@link CassandraOperations} instance.
 	 * 
@@ -49,10 +49,13 @@ import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springdata.cassandra.convert.CassandraConverter;
 import org.springdata.cassandra.core.CassandraOperations;
 import org.springdata.cassandra.cql.core.CqlOperations;
+import org.springdata.cassandra.mapping.CassandraPersistentEntity;
 import org.springdata.cassandra.test.integration.config.JavaConfig;
 import org.springdata.cassandra.test.integration.table.BasicTypesEntity;
+import org.springdata.cassandra.test.integration.table.CodecTypesEntity;
 import org.springdata.cassandra.test.integration.table.CollectionTypesEntity;
 import org.springdata.cassandra.test.integration.table.EmbeddedIdEntity;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -60,6 +63,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -403,6 +407,86 @@ public class CassandraConversionTests {
 		assertThat(entity, is(nullValue(EmbeddedIdEntity.class)));
 	}
 
+	@Test
+	public void routingKeyTest() {
+
+		CassandraConverter converter = cassandraOperations.getConverter();
+
+		ByteBuffer expected = ByteBuffer.allocate(4);
+		expected.putInt(0, 2);
+
+		EmbeddedIdEntity.PK pk = new EmbeddedIdEntity.PK(2, "second");
+		CassandraPersistentEntity<?> persistentEntity = converter.getMappingContext().getPersistentEntity(
+				EmbeddedIdEntity.class);
+		assertThat(converter.getRoutingKey(persistentEntity, pk), is(expected));
+
+		EmbeddedIdEntity entity = new EmbeddedIdEntity();
+		entity.setId(pk);
+		assertThat(converter.getRoutingKey(entity), is(expected));
+
+		BasicTypesEntity basic = new BasicTypesEntity();
+		basic.setId("ascii");
+		assertThat(converter.getRoutingKey(basic), is(ByteBuffer.wrap("ascii".getBytes(Charsets.UTF_8))));
+	}
+
+	@Test
+	public void codecValuesTest() {
+
+		Date date = ISODateTimeFormat.dateTime().parseDateTime("2013-12-25T12:34:00.000+00:00").toDate();
+
+		CodecTypesEntity.Payload payload = new CodecTypesEntity.Payload();
+		payload.setName("payload");
+		payload.setCount(-42);
+		payload.setStatus(CodecTypesEntity.Status.DISABLED);
+		payload.setCreated(date);
+		payload.setTags(ImmutableList.of("a", "b"));
+		payload.setCounters(ImmutableMap.of("x", 1L, "y", Long.MAX_VALUE));
+
+		CodecTypesEntity newEntity = new CodecTypesEntity();
+		newEntity.setId("codec");
+		newEntity.setBinarypayload(payload);
+		newEntity.setJsonpayload(payload);
+		cassandraOperations.saveNew(newEntity).execute();
+
+		CodecTypesEntity entity = cassandraOperations.findById(CodecTypesEntity.class, "codec").execute();
+		assertThat(entity, is(not(nullValue(CodecTypesEntity.class))));
+
+		for (CodecTypesEntity.Payload actual : ImmutableList.of(entity.getBinarypayload(), entity.getJsonpayload())) {
+			assertThat(actual.getName(), is("payload"));
+			assertThat(actual.getCount(), is(-42));
+			assertThat(actual.getStatus(), is(CodecTypesEntity.Status.DISABLED));
+			assertThat(actual.getCreated(), is(date));
+			assertThat(actual.getTags(), equalTo((List<String>) ImmutableList.of("a", "b")));
+			assertThat(actual.getCounters(), equalTo((Map<String, Long>) ImmutableMap.of("x", 1L, "y", Long.MAX_VALUE)));
+		}
+	}
+
+	@Test
+	public void compressedValuesTest() {
+
+		StringBuilder document = new StringBuilder();
+		for (int i = 0; i != 1000; ++i) {
+			document.append("compressed document line ").append(i).append('\n');
+		}
+		byte[] note = "short note".getBytes(Charsets.UTF_8);
+
+		CodecTypesEntity newEntity = new CodecTypesEntity();
+		newEntity.setId("compressed");
+		newEntity.setDocument(document.toString());
+		newEntity.setNote(note);
+		cassandraOperations.saveNew(newEntity).execute();
+
+		ByteBuffer stored = cqlOperations.select("select document from test.codec_types_table where id = 'compressed'")
+				.firstRow().execute().getBytesUnsafe(0);
+		assertThat(stored.get(stored.position()), is((byte) 1));
+		assertThat(stored.remaining() < document.length() / 2, is(true));
+
+		CodecTypesEntity entity = cassandraOperations.findById(CodecTypesEntity.class, "compressed").execute();
+		assertThat(entity, is(not(nullValue(CodecTypesEntity.class))));
+		assertThat(entity.getDocument(), is(document.toString()));
+		assertThat(entity.getNote(), is(note));
+	}
+
 	@After
 	public void clearCassandra() {
 		EmbeddedCassandraServerHelper.cleanEmbeddedCassandra();
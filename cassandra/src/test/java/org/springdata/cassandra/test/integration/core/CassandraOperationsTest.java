@@ -16,13 +16,22 @@
 package org.springdata.cassandra.test.integration.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.db.ColumnFamilyStore;
 import org.apache.cassandra.exceptions.ConfigurationException;
 import org.apache.thrift.transport.TTransportException;
 import org.cassandraunit.CassandraCQLUnit;
@@ -38,18 +47,35 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springdata.cassandra.convert.CassandraConverter;
+import org.springdata.cassandra.core.BulkLoadWriter;
 import org.springdata.cassandra.core.CassandraOperations;
+import org.springdata.cassandra.core.CassandraTemplate;
+import org.springdata.cassandra.core.CounterAggregator;
+import org.springdata.cassandra.core.KeyBloomFilter;
+import org.springdata.cassandra.core.WriteBehindBuffer;
+import org.springdata.cassandra.core.WriteCoalescer;
+import org.springdata.cassandra.cql.core.CassandraFuture;
 import org.springdata.cassandra.cql.core.ConsistencyLevel;
+import org.springdata.cassandra.cql.core.CqlTemplate;
+import org.springdata.cassandra.cql.core.Deadline;
 import org.springdata.cassandra.cql.core.QueryCreator;
+import org.springdata.cassandra.cql.core.ReadCoalescer;
 import org.springdata.cassandra.cql.core.RetryPolicy;
 import org.springdata.cassandra.test.integration.config.JavaConfig;
 import org.springdata.cassandra.test.integration.table.Book;
+import org.springdata.cassandra.test.integration.table.PageViews;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.mapping.model.MappingException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.FileSystemUtils;
 
 import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
 import com.google.common.collect.Lists;
@@ -922,6 +948,254 @@ public class CassandraOperationsTest {
 
 	}
 
+	@Test
+	public void existsByIdsTest() {
+
+		List<Book> books = getBookList(5);
+
+		cassandraTemplate.saveNewInBatch(books).execute();
+
+		List<String> ids = Lists.newArrayList(books.get(0).getIsbn(), "xxx", books.get(4).getIsbn());
+
+		Map<String, Boolean> exists = cassandraTemplate.exists(Book.class, ids, 2).execute();
+
+		assertEquals(ids, Lists.newArrayList(exists.keySet()));
+		assertEquals(Arrays.asList(true, false, true), Lists.newArrayList(exists.values()));
+	}
+
+	@Test
+	public void bloomFilterTest() {
+
+		List<Book> books = getBookList(5);
+
+		cassandraTemplate.saveNewInBatch(books).execute();
+
+		KeyBloomFilter filter = cassandraTemplate.enableBloomFilter(Book.class, 1000, 0.01);
+		try {
+
+			assertEquals(5L, cassandraTemplate.seedBloomFilter(Book.class, 2));
+
+			assertEquals(Boolean.TRUE, cassandraTemplate.exists(Book.class, books.get(0).getIsbn()).execute());
+			assertEquals(Boolean.FALSE, cassandraTemplate.exists(Book.class, "xxx").execute());
+			assertNull(cassandraTemplate.findById(Book.class, "xxx").execute());
+			assertEquals(books.get(1).getPages(), cassandraTemplate.findById(Book.class, books.get(1).getIsbn()).execute()
+					.getPages());
+
+			assertEquals(5L, filter.getInsertions());
+			assertEquals(4L, filter.getLookups());
+			assertEquals(2L, filter.getNegatives() + filter.getFalsePositives());
+
+		} finally {
+			cassandraTemplate.disableBloomFilter(Book.class);
+		}
+	}
+
+	@Test
+	public void readCoalescingTest() {
+
+		Book b1 = getBookList(1).get(0);
+
+		cassandraTemplate.saveNew(b1).execute();
+
+		CqlTemplate cqlTemplate = ((CassandraTemplate) cassandraTemplate).cqlTemplate();
+		ReadCoalescer readCoalescer = new ReadCoalescer();
+		cqlTemplate.setReadCoalescer(readCoalescer);
+
+		try {
+
+			List<CassandraFuture<Book>> futures = new ArrayList<CassandraFuture<Book>>();
+			for (int i = 0; i != 100; ++i) {
+				futures.add(cassandraTemplate.findById(Book.class, b1.getIsbn()).executeAsync());
+			}
+
+			for (CassandraFuture<Book> future : futures) {
+				assertEquals(b1.getTitle(), future.getUninterruptibly().getTitle());
+			}
+
+			assertEquals(100L, readCoalescer.getExecuted() + readCoalescer.getCoalesced());
+			assertEquals(0, readCoalescer.getInFlight());
+
+		} finally {
+			cqlTemplate.setReadCoalescer(null);
+		}
+	}
+
+	@Test
+	public void writeCoalescingTest() {
+
+		CassandraTemplate template = (CassandraTemplate) cassandraTemplate;
+		WriteCoalescer writeCoalescer = new WriteCoalescer(template, 1000, 16);
+		template.setWriteCoalescer(writeCoalescer);
+
+		List<Book> books = getBookList(10);
+
+		try {
+
+			List<CassandraFuture<ResultSet>> futures = new ArrayList<CassandraFuture<ResultSet>>();
+			for (Book book : books) {
+				futures.add(cassandraTemplate.saveNew(book).executeAsync());
+			}
+
+			for (CassandraFuture<ResultSet> future : futures) {
+				future.getUninterruptibly();
+			}
+
+			assertEquals(10L, writeCoalescer.getSubmitted());
+			assertTrue(writeCoalescer.getRequests() <= writeCoalescer.getSubmitted());
+
+		} finally {
+			template.setWriteCoalescer(null);
+			writeCoalescer.destroy();
+		}
+
+		assertEquals(10, cassandraTemplate.findAll(Book.class, ids(books)).execute().size());
+	}
+
+	@Test
+	public void writeBehindTest() throws Exception {
+
+		File spillFile = File.createTempFile("write-behind", ".log");
+		spillFile.deleteOnExit();
+
+		CassandraTemplate template = (CassandraTemplate) cassandraTemplate;
+		WriteBehindBuffer writeBehindBuffer = new WriteBehindBuffer(template, 2, 2, 1, spillFile, 64 * 1024);
+		template.setWriteBehindBuffer(writeBehindBuffer);
+
+		List<Book> books = getBookList(4);
+
+		try {
+
+			for (Book book : books) {
+				cassandraTemplate.save(book).executeWriteBehind();
+			}
+
+			for (int i = 0; i != 100 && writeBehindBuffer.getFlushed() + writeBehindBuffer.getReplayed() < books.size(); ++i) {
+				Thread.sleep(50);
+			}
+
+			assertEquals(books.size(), writeBehindBuffer.getFlushed() + writeBehindBuffer.getReplayed());
+			assertEquals(0, writeBehindBuffer.getSpillSize());
+
+		} finally {
+			template.setWriteBehindBuffer(null);
+			writeBehindBuffer.destroy();
+		}
+
+		assertEquals(books.size(), cassandraTemplate.findAll(Book.class, ids(books)).execute().size());
+	}
+
+	@Test
+	public void deadlineTest() {
+
+		List<Book> books = getBookList(2);
+
+		cassandraTemplate.saveNewInBatch(books).execute();
+
+		Deadline expired = Deadline.after(0, TimeUnit.MILLISECONDS);
+
+		Map<String, Book> partial = cassandraTemplate.findAllAsMap(Book.class, ids(books), 2).withDeadline(expired)
+				.withPartialResults(true).execute();
+		assertTrue(partial.isEmpty());
+
+		try {
+			cassandraTemplate.findAll(Book.class, ids(books)).withDeadline(expired).execute();
+			fail("query after the deadline must be rejected");
+		} catch (QueryTimeoutException e) {
+		}
+
+		try {
+			cassandraTemplate.findById(Book.class, books.get(0).getIsbn()).withDeadline(expired).execute();
+			fail("query after the deadline must be rejected");
+		} catch (QueryTimeoutException e) {
+		}
+
+		Map<String, Book> found = cassandraTemplate.findAllAsMap(Book.class, ids(books), 2)
+				.withDeadline(Deadline.after(10, TimeUnit.SECONDS)).execute();
+		assertEquals(2, found.size());
+	}
+
+	@Test
+	public void counterTest() throws InterruptedException {
+
+		cassandraTemplate.updateCounters(PageViews.class, "index.html").incr("views", 5).decr("views", 2).execute();
+
+		PageViews pageViews = cassandraTemplate.findById(PageViews.class, "index.html").execute();
+		assertEquals(3L, pageViews.getViews());
+
+		try {
+			cassandraTemplate.save(pageViews).execute();
+			fail("save of the counter entity must be rejected");
+		} catch (MappingException e) {
+		}
+
+		try {
+			cassandraTemplate.save(pageViews).executeAsync();
+			fail("save of the counter entity must be rejected");
+		} catch (MappingException e) {
+		}
+
+		CounterAggregator aggregator = new CounterAggregator((CassandraTemplate) cassandraTemplate, 60000, 4, 16);
+		try {
+			for (int i = 0; i != 1000; ++i) {
+				aggregator.incr(PageViews.class, "index.html", "views", 1);
+			}
+			aggregator.decr(PageViews.class, "about.html", "views", 1);
+			aggregator.flush();
+		} finally {
+			aggregator.destroy();
+		}
+
+		assertEquals(1001L, aggregator.getIncrements());
+		assertEquals(2L, aggregator.getUpdates());
+
+		for (int i = 0; i != 100 && pageViews.getViews() != 1003L; ++i) {
+			Thread.sleep(50);
+			pageViews = cassandraTemplate.findById(PageViews.class, "index.html").execute();
+		}
+		assertEquals(1003L, pageViews.getViews());
+	}
+
+	@Test
+	public void bulkLoadTest() throws IOException {
+
+		File directory = new File("target/bulkload");
+		FileSystemUtils.deleteRecursively(directory);
+
+		CassandraConverter converter = cassandraTemplate.getConverter();
+		BulkLoadWriter writer = new BulkLoadWriter(directory, KEYSPACE_NAME, converter, converter.getMappingContext()
+				.getPersistentEntity(Book.class));
+
+		try {
+			for (int i = 0; i != 1000; ++i) {
+				Book b = new Book();
+				b.setIsbn("bulk-" + i);
+				b.setTitle("Bulk Load " + i);
+				b.setAuthor("Cassandra Guru");
+				b.setPages(i);
+				writer.add(b);
+			}
+		} finally {
+			writer.close();
+		}
+
+		assertEquals(1000L, writer.getRows());
+
+		/*
+		 * Same as nodetool refresh: copy SSTables to the data directory of the embedded node and load them
+		 */
+		File tableDirectory = new File(new File(DatabaseDescriptor.getAllDataFileLocations()[0], KEYSPACE_NAME), "book");
+		for (File file : new File(new File(directory, KEYSPACE_NAME), "book").listFiles()) {
+			FileCopyUtils.copy(file, new File(tableDirectory, file.getName()));
+		}
+		ColumnFamilyStore.loadNewSSTables(KEYSPACE_NAME, "book");
+
+		Book b = cassandraTemplate.findById(Book.class, "bulk-123").execute();
+		assertEquals("Bulk Load 123", b.getTitle());
+		assertEquals(123, b.getPages());
+
+		assertEquals(1000L, cassandraTemplate.count(Book.class).execute().longValue());
+	}
+
 	@After
 	public void clearCassandra() {
 		EmbeddedCassandraServerHelper.cleanEmbeddedCassandra();
@@ -15,7 +15,19 @@
  */
 package org.springdata.cassandra.test.integration.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springdata.cassandra.cql.core.CallbackHandler;
+import org.springdata.cassandra.cql.core.CassandraFuture;
+import org.springdata.cassandra.cql.core.ConsistencyLevel;
+import org.springdata.cassandra.repository.Async;
 import org.springdata.cassandra.repository.CassandraRepository;
+import org.springdata.cassandra.repository.Limit;
+import org.springdata.cassandra.repository.Nonstop;
+import org.springdata.cassandra.repository.Query;
+import org.springdata.cassandra.repository.QueryOptions;
+import org.springdata.cassandra.repository.TimeoutMilliseconds;
 import org.springdata.cassandra.test.integration.table.User;
 
 /**
@@ -26,4 +38,37 @@ import org.springdata.cassandra.test.integration.table.User;
  */
 public interface UserRepository extends CassandraRepository<User, String> {
 
+	@Async
+	@Query("SELECT * FROM ?table")
+	CassandraFuture<List<User>> findAllAsync();
+
+	@Async
+	@Query(value = "SELECT COUNT(*) FROM ?table", count = true)
+	void countAsync(CallbackHandler<Long> cb);
+
+	@Nonstop(timeoutMilliseconds = 10000)
+	@QueryOptions(consistencyLevel = ConsistencyLevel.ONE)
+	@Query("SELECT * FROM ?table")
+	List<User> findAllNonstop();
+
+	@Query("SELECT * FROM ?table")
+	List<User> findAllWithTimeout(@TimeoutMilliseconds int timeoutMls);
+
+	User findFirstByPlace(String place);
+
+	List<User> findByUsernameIn(Collection<String> usernames, @Limit Integer limit);
+
+	UserName findUserNameByUsername(String username);
+
+	/**
+	 * Projection reading only the name columns.
+	 */
+	interface UserName {
+
+		String getUsername();
+
+		String getFirstName();
+
+	}
+
 }
@@ -24,6 +24,10 @@ import static org.junit.Assert.assertThat;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.cassandra.exceptions.ConfigurationException;
 import org.apache.thrift.transport.TTransportException;
@@ -35,6 +39,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springdata.cassandra.core.CassandraOperations;
+import org.springdata.cassandra.core.Slice;
+import org.springdata.cassandra.core.SliceCursor;
+import org.springdata.cassandra.cql.core.CallbackHandler;
 import org.springdata.cassandra.test.integration.table.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
@@ -131,6 +138,89 @@ public class UserRepositoryIntegrationTests {
 		assertThat(result, not(hasItems(alice, scott)));
 	}
 
+	@Test
+	public void findsAllWithGivenIdsAsMap() {
+
+		Map<String, User> result = repository.findAllAsMap(
+				Arrays.asList(bob.getUsername(), "unknown", tom.getUsername(), bob.getUsername()), 2);
+
+		assertThat(result.size(), is(3));
+		assertThat(Lists.newArrayList(result.keySet()), is(Arrays.asList(bob.getUsername(), "unknown", tom.getUsername())));
+		assertEquals(bob, result.get(bob.getUsername()));
+		assertEquals(tom, result.get(tom.getUsername()));
+		Assert.assertTrue(result.containsKey("unknown"));
+		Assert.assertNull(result.get("unknown"));
+	}
+
+	@Test
+	public void checksExistenceOfGivenIds() {
+
+		Assert.assertTrue(repository.exists(bob.getUsername()));
+		Assert.assertFalse(repository.exists("unknown"));
+
+		Map<String, Boolean> result = repository.exists(Arrays.asList(bob.getUsername(), "unknown", tom.getUsername()), 2);
+
+		assertThat(Lists.newArrayList(result.keySet()), is(Arrays.asList(bob.getUsername(), "unknown", tom.getUsername())));
+		assertThat(Lists.newArrayList(result.values()), is(Arrays.asList(true, false, true)));
+	}
+
+	@Test
+	public void findsAllAsync() throws Exception {
+
+		List<User> result = repository.findAllAsync().getUninterruptibly();
+		assertThat(result.size(), is(all.size()));
+		assertThat(result.containsAll(all), is(true));
+	}
+
+	@Test
+	public void countsAsyncWithCallback() throws Exception {
+
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicLong count = new AtomicLong();
+
+		repository.countAsync(new CallbackHandler<Long>() {
+
+			@Override
+			public void onComplete(Long result) {
+				count.set(result);
+				latch.countDown();
+			}
+
+		});
+
+		Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+		Assert.assertEquals(all.size(), count.get());
+	}
+
+	@Test
+	public void findsAllNonstop() throws Exception {
+
+		List<User> result = repository.findAllNonstop();
+		assertThat(result.size(), is(all.size()));
+
+		result = repository.findAllWithTimeout(10000);
+		assertThat(result.size(), is(all.size()));
+	}
+
+	@Test
+	public void findsAllBySlices() throws Exception {
+
+		Slice<User> first = repository.findSlice(null, 3);
+		assertThat(first.getNumberOfElements(), is(3));
+		assertThat(first.hasNext(), is(true));
+
+		SliceCursor cursor = SliceCursor.valueOf(first.getNextCursor().toString());
+		assertThat(cursor, is(first.getNextCursor()));
+
+		Slice<User> second = repository.findSlice(cursor, 3);
+		assertThat(second.getNumberOfElements(), is(1));
+		assertThat(second.hasNext(), is(false));
+
+		List<User> result = Lists.newArrayList(first);
+		result.addAll(second.getContent());
+		assertThat(result.containsAll(all), is(true));
+	}
+
 	@Test
 	public void deletesUserCorrectly() throws Exception {
 
@@ -142,6 +232,36 @@ public class UserRepositoryIntegrationTests {
 		assertThat(result, not(hasItem(tom)));
 	}
 
+	@Test
+	public void findsFirstByIndexedColumn() {
+
+		User user = repository.findFirstByPlace(alice.getPlace());
+
+		assertThat(user, is(alice));
+	}
+
+	@Test
+	public void findsByUsernameInWithLimit() {
+
+		List<User> result = repository.findByUsernameIn(Arrays.asList(tom.getUsername(), bob.getUsername()), 1);
+
+		assertThat(result.size(), is(1));
+
+		result = repository.findByUsernameIn(Arrays.asList(tom.getUsername(), bob.getUsername()), null);
+
+		assertThat(result.size(), is(2));
+		assertThat(result, hasItems(tom, bob));
+	}
+
+	@Test
+	public void findsInterfaceProjection() {
+
+		UserRepository.UserName name = repository.findUserNameByUsername(scott.getUsername());
+
+		assertThat(name.getUsername(), is(scott.getUsername()));
+		assertThat(name.getFirstName(), is(scott.getFirstName()));
+	}
+
 	@Test
 	public void deletesUserByIdCorrectly() {
 
@@ -181,6 +301,29 @@ public class UserRepositoryIntegrationTests {
 
 	}
 
+	@Test
+	public void savesOnlySelectedAndTaggedFields() {
+
+		User changed = new User();
+		changed.setUsername(tom.getUsername());
+		changed.setFirstName("Thomas");
+		changed.setLastName("Moore");
+		changed.setPassword("999");
+
+		dataOperations.save(changed).taggedFields(changed.FIRST_NAME).execute();
+
+		User user = repository.findOne(tom.getUsername());
+		Assert.assertEquals("Thomas", user.getFirstName());
+		Assert.assertEquals(tom.getLastName(), user.getLastName());
+		Assert.assertEquals(tom.getPassword(), user.getPassword());
+
+		dataOperations.save(changed).selectedFields("password").execute();
+
+		user = repository.findOne(tom.getUsername());
+		Assert.assertEquals(tom.getLastName(), user.getLastName());
+		Assert.assertEquals("999", user.getPassword());
+	}
+
 	@SuppressWarnings("deprecation")
 	@AfterClass
 	public static void stopCassandra() {
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.integration.table;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.springdata.cassandra.mapping.Codec;
+import org.springdata.cassandra.mapping.Compressed;
+import org.springdata.cassandra.mapping.Id;
+import org.springdata.cassandra.mapping.Table;
+
+@Table(name = "codec_types_table")
+public class CodecTypesEntity {
+
+	public enum Status {
+		ACTIVE, DISABLED
+	}
+
+	public static class Payload {
+
+		private String name;
+		private int count;
+		private Status status;
+		private Date created;
+		private List<String> tags;
+		private Map<String, Long> counters;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public void setStatus(Status status) {
+			this.status = status;
+		}
+
+		public Date getCreated() {
+			return created;
+		}
+
+		public void setCreated(Date created) {
+			this.created = created;
+		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+
+		public Map<String, Long> getCounters() {
+			return counters;
+		}
+
+		public void setCounters(Map<String, Long> counters) {
+			this.counters = counters;
+		}
+
+	}
+
+	@Id
+	private String id;
+
+	@Codec("binary")
+	private Payload binarypayload;
+
+	@Codec("json")
+	private Payload jsonpayload;
+
+	@Compressed(threshold = 64)
+	private String document;
+
+	@Compressed(threshold = 64)
+	private byte[] note;
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public Payload getBinarypayload() {
+		return binarypayload;
+	}
+
+	public void setBinarypayload(Payload binarypayload) {
+		this.binarypayload = binarypayload;
+	}
+
+	public Payload getJsonpayload() {
+		return jsonpayload;
+	}
+
+	public void setJsonpayload(Payload jsonpayload) {
+		this.jsonpayload = jsonpayload;
+	}
+
+	public String getDocument() {
+		return document;
+	}
+
+	public void setDocument(String document) {
+		this.document = document;
+	}
+
+	public byte[] getNote() {
+		return note;
+	}
+
+	public void setNote(byte[] note) {
+		this.note = note;
+	}
+
+}
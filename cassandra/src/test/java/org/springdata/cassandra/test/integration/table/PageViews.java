@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.integration.table;
+
+import org.springdata.cassandra.mapping.Counter;
+import org.springdata.cassandra.mapping.Id;
+import org.springdata.cassandra.mapping.Table;
+
+/**
+ * Test POJO with counter column
+ * 
+ * @author Alex Shvid
+ * 
+ */
+@Table(name = "page_views")
+public class PageViews {
+
+	@Id
+	private String page;
+
+	@Counter
+	private long views;
+
+	/**
+	 * @return Returns the page.
+	 */
+	public String getPage() {
+		return page;
+	}
+
+	/**
+	 * @param page The page to set.
+	 */
+	public void setPage(String page) {
+		this.page = page;
+	}
+
+	/**
+	 * @return Returns the views.
+	 */
+	public long getViews() {
+		return views;
+	}
+
+	/**
+	 * @param views The views to set.
+	 */
+	public void setViews(long views) {
+		this.views = views;
+	}
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.performance;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cassandra.exceptions.ConfigurationException;
+import org.apache.thrift.transport.TTransportException;
+import org.cassandraunit.utils.EmbeddedCassandraServerHelper;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springdata.cassandra.core.CassandraOperations;
+import org.springdata.cassandra.test.integration.repository.UserRepository;
+import org.springdata.cassandra.test.integration.table.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.datastax.driver.core.PreparedStatement;
+
+/**
+ * End-to-end throughput of the template and repository operations against embedded Cassandra at increasing
+ * concurrency. Excluded from the regular build, run with
+ * 
+ * <pre>
+ * mvn -pl cassandra verify -Dit.test=CassandraTemplateThroughputTest -Dthroughput.concurrency=1,4,16,64
+ * </pre>
+ * 
+ * System properties: throughput.concurrency (comma separated thread counts), throughput.warmupSeconds,
+ * throughput.seconds (per scenario and concurrency), throughput.report (JSON report file, default
+ * target/throughput-report.json).
+ * 
+ * @author Alex Shvid
+ * 
+ */
+@ContextConfiguration("/org/springdata/cassandra/test/integration/repository/UserRepositoryIntegrationTests-context.xml")
+@RunWith(SpringJUnit4ClassRunner.class)
+public class CassandraTemplateThroughputTest {
+
+	private static Logger log = LoggerFactory.getLogger(CassandraTemplateThroughputTest.class);
+
+	private static final int USERS = 10000;
+	private static final int BATCH_SIZE = 20;
+	private static final String[] PLACES = { "SF", "NY", "LA", "SEA", "BOS" };
+
+	private static final List<Map<String, Object>> results = new ArrayList<Map<String, Object>>();
+
+	private static boolean loaded;
+
+	@Autowired
+	private UserRepository repository;
+
+	@Autowired
+	private CassandraOperations dataOperations;
+
+	private ThroughputHarness harness;
+
+	private int[] concurrency;
+
+	@BeforeClass
+	public static void startCassandra() throws IOException, TTransportException, ConfigurationException,
+			InterruptedException {
+		EmbeddedCassandraServerHelper.startEmbeddedCassandra("cassandra.yaml");
+	}
+
+	@Before
+	public void setUp() {
+
+		harness = new ThroughputHarness(Long.getLong("throughput.warmupSeconds", 5),
+				Long.getLong("throughput.seconds", 10));
+
+		String[] levels = System.getProperty("throughput.concurrency", "1,4,16,64").split(",");
+		concurrency = new int[levels.length];
+		for (int i = 0; i != levels.length; ++i) {
+			concurrency[i] = Integer.parseInt(levels[i].trim());
+		}
+
+		if (!loaded) {
+			repository.deleteAll();
+			List<User> batch = new ArrayList<User>(BATCH_SIZE);
+			for (int i = 0; i != USERS; ++i) {
+				batch.add(newUser("user" + i, i));
+				if (batch.size() == BATCH_SIZE) {
+					dataOperations.saveInBatch(batch).execute();
+					batch.clear();
+				}
+			}
+			loaded = true;
+		}
+	}
+
+	@Test
+	public void saveNew() throws InterruptedException {
+		run("saveNew", new ThroughputHarness.Scenario() {
+
+			@Override
+			public void execute(int worker, long sequence) {
+				dataOperations.saveNew(newUser("new-" + worker + "-" + sequence, (int) sequence)).execute();
+			}
+
+		});
+	}
+
+	@Test
+	public void saveInBatch() throws InterruptedException {
+		run("saveInBatch", new ThroughputHarness.Scenario() {
+
+			@Override
+			public void execute(int worker, long sequence) {
+				List<User> batch = new ArrayList<User>(BATCH_SIZE);
+				for (int i = 0; i != BATCH_SIZE; ++i) {
+					batch.add(newUser("batch-" + worker + "-" + sequence + "-" + i, i));
+				}
+				dataOperations.saveInBatch(batch).execute();
+			}
+
+		});
+	}
+
+	@Test
+	public void findById() throws InterruptedException {
+		run("findById", new ThroughputHarness.Scenario() {
+
+			@Override
+			public void execute(int worker, long sequence) {
+				dataOperations.findById(User.class, userId(worker, sequence)).execute();
+			}
+
+		});
+	}
+
+	@Test
+	public void findAll() throws InterruptedException {
+		run("findAll", new ThroughputHarness.Scenario() {
+
+			@Override
+			public void execute(int worker, long sequence) {
+				dataOperations.findAll(User.class, userIds(worker, sequence)).execute();
+			}
+
+		});
+	}
+
+	@Test
+	public void ingest() throws InterruptedException {
+
+		final PreparedStatement ps = dataOperations.cqlOps().prepareStatement(
+				"INSERT INTO " + dataOperations.getTableName(User.class)
+						+ " (username, firstname, lastname, place) VALUES (?, ?, ?, ?)");
+
+		run("ingest", new ThroughputHarness.Scenario() {
+
+			@Override
+			public void execute(int worker, long sequence) {
+				Object[][] rows = new Object[BATCH_SIZE][];
+				for (int i = 0; i != BATCH_SIZE; ++i) {
+					rows[i] = new Object[] { "ingest-" + worker + "-" + sequence + "-" + i, "First", "Last",
+							PLACES[i % PLACES.length] };
+				}
+				dataOperations.cqlOps().ingest(ps, rows).execute();
+			}
+
+		});
+	}
+
+	@Test
+	public void findFirstByPlace() throws InterruptedException {
+		run("repository.findFirstByPlace", new ThroughputHarness.Scenario() {
+
+			@Override
+			public void execute(int worker, long sequence) {
+				repository.findFirstByPlace(PLACES[(int) (sequence % PLACES.length)]);
+			}
+
+		});
+	}
+
+	@Test
+	public void findByUsernameIn() throws InterruptedException {
+		run("repository.findByUsernameIn", new ThroughputHarness.Scenario() {
+
+			@Override
+			public void execute(int worker, long sequence) {
+				repository.findByUsernameIn(userIds(worker, sequence), BATCH_SIZE);
+			}
+
+		});
+	}
+
+	@AfterClass
+	public static void writeReport() throws IOException {
+
+		Map<String, Object> report = new LinkedHashMap<String, Object>();
+		report.put("timestamp", new Date().getTime());
+		report.put("javaVersion", System.getProperty("java.version"));
+		report.put("os", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+		report.put("processors", Runtime.getRuntime().availableProcessors());
+		report.put("version", CassandraOperations.class.getPackage().getImplementationVersion());
+		report.put("results", results);
+
+		File file = new File(System.getProperty("throughput.report", "target/throughput-report.json"));
+		if (file.getParentFile() != null) {
+			file.getParentFile().mkdirs();
+		}
+		new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, report);
+	}
+
+	private void run(String name, ThroughputHarness.Scenario scenario) throws InterruptedException {
+		for (int threads : concurrency) {
+			Map<String, Object> result = harness.run(name, scenario, threads);
+			log.info("{}", result);
+			synchronized (results) {
+				results.add(result);
+			}
+		}
+	}
+
+	private static String userId(int worker, long sequence) {
+		return "user" + ((worker * 7919L + sequence * 31L) % USERS);
+	}
+
+	private static List<String> userIds(int worker, long sequence) {
+		String[] ids = new String[BATCH_SIZE];
+		for (int i = 0; i != BATCH_SIZE; ++i) {
+			ids[i] = userId(worker, sequence * BATCH_SIZE + i);
+		}
+		return Arrays.asList(ids);
+	}
+
+	private static User newUser(String username, int i) {
+		User user = new User();
+		user.setUsername(username);
+		user.setFirstName("First" + i);
+		user.setLastName("Last" + i);
+		user.setPassword("pwd" + i);
+		user.setPlace(PLACES[i % PLACES.length]);
+		user.setBirthYear(1950 + i % 60);
+		return user;
+	}
+
+}
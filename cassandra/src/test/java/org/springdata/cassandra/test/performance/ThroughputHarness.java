@@ -0,0 +1,167 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.performance;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the scenario in the given number of threads for a fixed time and measures throughput and latency percentiles.
+ * Every thread keeps its own latencies, percentiles are exact.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class ThroughputHarness {
+
+	private final long warmupNanos;
+	private final long measureNanos;
+
+	public ThroughputHarness(long warmupSeconds, long measureSeconds) {
+		this.warmupNanos = TimeUnit.SECONDS.toNanos(warmupSeconds);
+		this.measureNanos = TimeUnit.SECONDS.toNanos(measureSeconds);
+	}
+
+	/**
+	 * One operation of the benchmark, called concurrently
+	 */
+	public interface Scenario {
+
+		/**
+		 * Executes the operation
+		 * 
+		 * @param worker index of the thread
+		 * @param sequence number of the operation in the thread
+		 */
+		void execute(int worker, long sequence);
+
+	}
+
+	/**
+	 * Runs the scenario
+	 * 
+	 * @param name scenario name in the report
+	 * @param scenario
+	 * @param concurrency number of threads
+	 * @return report entry with ops/sec and latency percentiles in microseconds
+	 */
+	public Map<String, Object> run(String name, final Scenario scenario, int concurrency) throws InterruptedException {
+
+		final long[][] latencies = new long[concurrency][];
+		final int[] counts = new int[concurrency];
+		final AtomicLong errors = new AtomicLong();
+
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(concurrency);
+
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+
+		for (int i = 0; i != concurrency; ++i) {
+
+			final int worker = i;
+
+			executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+
+					long[] recorded = new long[1024];
+					int count = 0;
+					long sequence = 0;
+
+					try {
+						start.await();
+
+						long measureStart = System.nanoTime() + warmupNanos;
+						long measureEnd = measureStart + measureNanos;
+
+						for (long now = System.nanoTime(); now < measureEnd; now = System.nanoTime()) {
+
+							try {
+								scenario.execute(worker, sequence++);
+							} catch (RuntimeException e) {
+								if (now >= measureStart) {
+									errors.incrementAndGet();
+								}
+								continue;
+							}
+
+							if (now >= measureStart) {
+								if (count == recorded.length) {
+									recorded = Arrays.copyOf(recorded, count * 2);
+								}
+								recorded[count++] = System.nanoTime() - now;
+							}
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					} finally {
+						latencies[worker] = recorded;
+						counts[worker] = count;
+						done.countDown();
+					}
+				}
+
+			});
+		}
+
+		start.countDown();
+		done.await();
+		executor.shutdown();
+
+		int total = 0;
+		for (int count : counts) {
+			total += count;
+		}
+
+		long[] all = new long[total];
+		int offset = 0;
+		for (int i = 0; i != concurrency; ++i) {
+			System.arraycopy(latencies[i], 0, all, offset, counts[i]);
+			offset += counts[i];
+		}
+		Arrays.sort(all);
+
+		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		result.put("scenario", name);
+		result.put("concurrency", concurrency);
+		result.put("operations", total);
+		result.put("errors", errors.get());
+		result.put("opsPerSecond", total * 1e9 / measureNanos);
+		result.put("p50Micros", percentileMicros(all, 0.50));
+		result.put("p90Micros", percentileMicros(all, 0.90));
+		result.put("p99Micros", percentileMicros(all, 0.99));
+		result.put("p999Micros", percentileMicros(all, 0.999));
+		result.put("maxMicros", all.length > 0 ? all[all.length - 1] / 1000.0 : 0.0);
+		return result;
+	}
+
+	private static double percentileMicros(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0.0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, index)] / 1000.0;
+	}
+
+}
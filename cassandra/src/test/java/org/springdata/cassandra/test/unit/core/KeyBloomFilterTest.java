@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.unit.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
+import org.springdata.cassandra.core.CassandraTemplate;
+import org.springdata.cassandra.core.GetOperation;
+import org.springdata.cassandra.core.KeyBloomFilter;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.mapping.Id;
+import org.springdata.cassandra.mapping.Table;
+
+import com.google.common.collect.ImmutableMap;
+
+public class KeyBloomFilterTest {
+
+	@Test
+	public void testWarmingFilterPassesLookups() throws Exception {
+		KeyBloomFilter filter = new KeyBloomFilter(1000, 0.01, 1);
+		Map<String, Object> absent = ImmutableMap.<String, Object> of("username", "unknown");
+
+		assertFalse(filter.isSeeded());
+		assertFalse(filter.answers(absent));
+		assertTrue(filter.mightContain(absent));
+		assertEquals(0, filter.getLookups());
+
+		filter.markSeeded();
+
+		assertTrue(filter.answers(absent));
+		assertFalse(filter.mightContain(absent));
+		assertEquals(1, filter.getLookups());
+		assertEquals(1, filter.getNegatives());
+	}
+
+	@Test
+	public void testPutKeysAreFound() throws Exception {
+		KeyBloomFilter filter = new KeyBloomFilter(1000, 0.01, 2);
+		filter.put(ImmutableMap.<String, Object> of("page", "index.html", "day", 1));
+		filter.markSeeded();
+
+		assertTrue(filter.mightContain(ImmutableMap.<String, Object> of("day", 1, "page", "index.html")));
+		assertFalse(filter.mightContain(ImmutableMap.<String, Object> of("page", "index.html", "day", 2)));
+		assertEquals(1, filter.getInsertions());
+	}
+
+	@Test
+	public void testPartialKeysAreNotAnswered() throws Exception {
+		KeyBloomFilter filter = new KeyBloomFilter(1000, 0.01, 2);
+		filter.markSeeded();
+		Map<String, Object> partial = ImmutableMap.<String, Object> of("page", "index.html");
+
+		filter.put(partial);
+
+		assertEquals(0, filter.getInsertions());
+		assertFalse(filter.answers(partial));
+		assertTrue(filter.mightContain(partial));
+	}
+
+	@Test
+	public void testFalsePositiveRate() throws Exception {
+		KeyBloomFilter filter = new KeyBloomFilter(1000, 0.01, 1);
+		filter.markSeeded();
+		for (int i = 0; i != 1000; ++i) {
+			filter.put(ImmutableMap.<String, Object> of("id", i));
+		}
+
+		int positives = 0;
+		for (int i = 1000; i != 11000; ++i) {
+			if (filter.mightContain(ImmutableMap.<String, Object> of("id", i))) {
+				positives++;
+			}
+		}
+
+		assertTrue("false positives " + positives, positives < 300);
+		assertTrue(filter.getExpectedFalsePositiveRate() < 0.03);
+	}
+
+	@Test
+	public void testFilterIsCheckedOnExecution() throws Exception {
+		StubSession stubSession = new StubSession();
+		CassandraTemplate cassandraTemplate = createTemplate(stubSession);
+		cassandraTemplate.enableBloomFilter(StubUser.class, 1000, 0.01).markSeeded();
+
+		GetOperation<StubUser> findOperation = cassandraTemplate.findById(StubUser.class, "alex");
+		findOperation.execute();
+
+		assertEquals(0, stubSession.getQueries().size());
+
+		cassandraTemplate.saveNew(new StubUser("alex")).execute();
+		findOperation.execute();
+
+		assertEquals(2, stubSession.getQueries().size());
+		assertTrue(stubSession.getQueries().get(1).startsWith("SELECT"));
+	}
+
+	@Test
+	public void testFilterIsSkippedForOtherTable() throws Exception {
+		StubSession stubSession = new StubSession();
+		CassandraTemplate cassandraTemplate = createTemplate(stubSession);
+		cassandraTemplate.enableBloomFilter(StubUser.class, 1000, 0.01).markSeeded();
+
+		cassandraTemplate.findById(StubUser.class, "alex").formTable("stub_user_archive").execute();
+
+		assertEquals(1, stubSession.getQueries().size());
+		assertTrue(stubSession.getQueries().get(0).contains("stub_user_archive"));
+
+		cassandraTemplate.findById(StubUser.class, "alex").formTable("stub_user").execute();
+
+		assertEquals(1, stubSession.getQueries().size());
+	}
+
+	private static CassandraTemplate createTemplate(StubSession stubSession) {
+		return new CassandraTemplate(stubSession.getSession(), new MappingCassandraConverter(new CassandraMappingContext()),
+				"test");
+	}
+
+	@Table(name = "stub_user")
+	public static class StubUser {
+
+		@Id
+		private String username;
+
+		public StubUser() {
+		}
+
+		public StubUser(String username) {
+			this.username = username;
+		}
+
+		public String getUsername() {
+			return username;
+		}
+
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.unit.core;
+
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.Configuration;
+import com.datastax.driver.core.Query;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.policies.DefaultRetryPolicy;
+import com.datastax.driver.core.policies.Policies;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Driver Session stub for unit tests without Cassandra. Queries complete immediately with empty result sets or fail
+ * with the given exception, query strings are recorded in the order of execution.
+ * 
+ * @author Alex Shvid
+ * 
+ */
+
+public class StubSession {
+
+	private final Session session;
+	private final List<String> queries = new CopyOnWriteArrayList<String>();
+	private volatile RuntimeException failure;
+
+	public StubSession() {
+		this.session = createSession();
+	}
+
+	public Session getSession() {
+		return session;
+	}
+
+	/**
+	 * Fails all following queries with the exception
+	 * 
+	 * @param failure exception or null to complete queries successfully
+	 */
+	public void failWith(RuntimeException failure) {
+		this.failure = failure;
+	}
+
+	public List<String> getQueries() {
+		return new ArrayList<String>(queries);
+	}
+
+	private ResultSet execute(Query query) {
+		queries.add(getQueryString(query));
+		RuntimeException e = failure;
+		if (e != null) {
+			throw e;
+		}
+		return mock(ResultSet.class, withSettings().stubOnly());
+	}
+
+	private ResultSetFuture executeAsync(Query query) {
+		SettableFuture<ResultSet> future = SettableFuture.create();
+		try {
+			future.set(execute(query));
+		} catch (RuntimeException e) {
+			future.setException(e);
+		}
+		return resultSetFuture(future);
+	}
+
+	private Session createSession() {
+
+		Policies policies = mock(Policies.class, withSettings().stubOnly());
+		when(policies.getRetryPolicy()).thenReturn(DefaultRetryPolicy.INSTANCE);
+		Configuration configuration = mock(Configuration.class, withSettings().stubOnly());
+		when(configuration.getPolicies()).thenReturn(policies);
+		final Cluster cluster = mock(Cluster.class, withSettings().stubOnly());
+		when(cluster.getConfiguration()).thenReturn(configuration);
+
+		return mock(Session.class, withSettings().stubOnly().defaultAnswer(new Answer<Object>() {
+
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+
+				String method = invocation.getMethod().getName();
+				Object[] args = invocation.getArguments();
+
+				if (method.equals("executeAsync") && args.length == 1) {
+					return executeAsync(toQuery(args[0]));
+				}
+				if (method.equals("execute") && args.length == 1) {
+					return execute(toQuery(args[0]));
+				}
+				if (method.equals("getCluster")) {
+					return cluster;
+				}
+				return RETURNS_DEFAULTS.answer(invocation);
+			}
+
+		}));
+	}
+
+	private static Query toQuery(Object arg) {
+		return arg instanceof Query ? (Query) arg : new SimpleStatement((String) arg);
+	}
+
+	private static String getQueryString(Query query) {
+		return query instanceof Statement ? ((Statement) query).getQueryString() : query.toString();
+	}
+
+	private static ResultSetFuture resultSetFuture(final SettableFuture<ResultSet> future) {
+
+		return mock(ResultSetFuture.class, withSettings().stubOnly().defaultAnswer(new Answer<Object>() {
+
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+
+				String method = invocation.getMethod().getName();
+				Object[] args = invocation.getArguments();
+
+				if (method.equals("get")) {
+					return args.length == 0 ? future.get() : future.get((Long) args[0], (TimeUnit) args[1]);
+				}
+				if (method.equals("getUninterruptibly")) {
+					return Uninterruptibles.getUninterruptibly(future);
+				}
+				if (method.equals("addListener")) {
+					future.addListener((Runnable) args[0], (Executor) args[1]);
+					return null;
+				}
+				if (method.equals("cancel")) {
+					return future.cancel((Boolean) args[0]);
+				}
+				if (method.equals("isDone")) {
+					return future.isDone();
+				}
+				if (method.equals("isCancelled")) {
+					return future.isCancelled();
+				}
+				return RETURNS_DEFAULTS.answer(invocation);
+			}
+
+		}));
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.unit.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
+import org.springdata.cassandra.core.CassandraTemplate;
+import org.springdata.cassandra.core.WriteBehindBuffer;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.mapping.Id;
+import org.springdata.cassandra.mapping.Table;
+
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+
+public class WriteBehindBufferTest {
+
+	private static final long TIMEOUT_MILLIS = 10000;
+
+	private StubSession stubSession;
+	private CassandraTemplate cassandraTemplate;
+	private File spillFile;
+	private WriteBehindBuffer writeBehindBuffer;
+
+	@Before
+	public void setUp() throws Exception {
+		stubSession = new StubSession();
+		cassandraTemplate = new CassandraTemplate(stubSession.getSession(), new MappingCassandraConverter(
+				new CassandraMappingContext()), "test");
+		spillFile = File.createTempFile("write-behind", ".log");
+		writeBehindBuffer = new WriteBehindBuffer(cassandraTemplate, 16, 4, 2, spillFile, 64 * 1024);
+		writeBehindBuffer.setReplayIntervalMillis(100);
+		cassandraTemplate.setWriteBehindBuffer(writeBehindBuffer);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		writeBehindBuffer.destroy();
+		spillFile.delete();
+	}
+
+	@Test
+	public void testFlushesSubmittedStatements() throws Exception {
+		for (int i = 0; i != 10; ++i) {
+			writeBehindBuffer.submit(new SimpleStatement("INSERT INTO test.stub (id, value) VALUES ('a', " + i + ")"));
+		}
+
+		awaitFlushed(10);
+
+		assertEquals(0, writeBehindBuffer.getFailed());
+		assertEquals(0, writeBehindBuffer.getSpillSize());
+	}
+
+	@Test
+	public void testStampsClientTimestamp() throws Exception {
+		cassandraTemplate.saveNew(new StubEntity("a", 1)).executeWriteBehind();
+		cassandraTemplate.saveNew(new StubEntity("a", 2)).withTimestamp(42L).executeWriteBehind();
+
+		awaitFlushed(2);
+
+		String queries = stubSession.getQueries().toString();
+		assertTrue(queries, queries.matches("(?s).*USING TIMESTAMP \\d{16,}.*"));
+		assertTrue(queries, queries.contains("USING TIMESTAMP 42"));
+	}
+
+	@Test
+	public void testTimestampsIncrease() throws Exception {
+		long last = WriteBehindBuffer.nextTimestampMicros();
+		for (int i = 0; i != 1000; ++i) {
+			long next = WriteBehindBuffer.nextTimestampMicros();
+			assertTrue(next > last);
+			last = next;
+		}
+	}
+
+	@Test
+	public void testReplaysSpillLogWithoutNewWrites() throws Exception {
+		stubSession.failWith(new NoHostAvailableException(Collections.<InetAddress, String> emptyMap()));
+
+		writeBehindBuffer.submit(new SimpleStatement("INSERT INTO test.stub (id, value) VALUES ('a', 1)"));
+
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (writeBehindBuffer.getSpillSize() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue(writeBehindBuffer.getSpillSize() > 0);
+
+		stubSession.failWith(null);
+
+		deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (writeBehindBuffer.getReplayed() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+
+		assertEquals(1, writeBehindBuffer.getReplayed());
+		assertEquals(0, writeBehindBuffer.getSpillSize());
+
+		List<String> queries = stubSession.getQueries();
+		assertEquals(queries.get(0), queries.get(queries.size() - 1));
+	}
+
+	@Test
+	public void testSpillRecordOutOfLogEndsLog() throws Exception {
+		File corruptedFile = createSpillFile(16, 16 + 4 + 10, Integer.MAX_VALUE);
+
+		WriteBehindBuffer corrupted = new WriteBehindBuffer(cassandraTemplate, 16, 4, 2, corruptedFile, 64 * 1024);
+		try {
+			long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+			while (corrupted.getSpillSize() != 0 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+
+			assertEquals(0, corrupted.getSpillSize());
+			assertEquals(0, corrupted.getReplayed());
+			assertEquals(0, stubSession.getQueries().size());
+		} finally {
+			corrupted.destroy();
+			corruptedFile.delete();
+		}
+	}
+
+	@Test
+	public void testSpillHeaderOutOfFileIsRejected() throws Exception {
+		File corruptedFile = createSpillFile(16, 1L << 40, 0);
+		try {
+			new WriteBehindBuffer(cassandraTemplate, 16, 4, 2, corruptedFile, 64 * 1024);
+			fail("spill log with the write position out of the file must be rejected");
+		} catch (IOException e) {
+		} finally {
+			corruptedFile.delete();
+		}
+	}
+
+	/**
+	 * Creates spill log with the header and the length of the first record
+	 */
+	private static File createSpillFile(long readPos, long writePos, int firstLength) throws IOException {
+		File file = File.createTempFile("write-behind", ".log");
+		RandomAccessFile out = new RandomAccessFile(file, "rw");
+		try {
+			out.setLength(64 * 1024);
+			out.writeLong(readPos);
+			out.writeLong(writePos);
+			out.writeInt(firstLength);
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	private void awaitFlushed(long count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (writeBehindBuffer.getFlushed() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, writeBehindBuffer.getFlushed());
+	}
+
+	@Table(name = "stub")
+	public static class StubEntity {
+
+		@Id
+		private String id;
+
+		private int value;
+
+		public StubEntity() {
+		}
+
+		public StubEntity(String id, int value) {
+			this.id = id;
+			this.value = value;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public int getValue() {
+			return value;
+		}
+
+	}
+
+}
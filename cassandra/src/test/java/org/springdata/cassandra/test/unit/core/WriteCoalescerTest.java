@@ -0,0 +1,248 @@
+/*
+ * Copyright 2014 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springdata.cassandra.test.unit.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springdata.cassandra.convert.MappingCassandraConverter;
+import org.springdata.cassandra.core.CassandraTemplate;
+import org.springdata.cassandra.core.WriteCoalescer;
+import org.springdata.cassandra.cql.core.CassandraFuture;
+import org.springdata.cassandra.cql.core.Deadline;
+import org.springdata.cassandra.mapping.CassandraMappingContext;
+import org.springdata.cassandra.mapping.Counter;
+import org.springdata.cassandra.mapping.Id;
+import org.springdata.cassandra.mapping.Table;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mapping.model.MappingException;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+
+public class WriteCoalescerTest {
+
+	private static final long WINDOW_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+	private StubSession stubSession;
+	private CassandraTemplate cassandraTemplate;
+	private WriteCoalescer writeCoalescer;
+
+	@Before
+	public void setUp() throws Exception {
+		stubSession = new StubSession();
+		cassandraTemplate = new CassandraTemplate(stubSession.getSession(), new MappingCassandraConverter(
+				new CassandraMappingContext()), "test");
+		writeCoalescer = new WriteCoalescer(cassandraTemplate, WINDOW_MICROS, 2);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		writeCoalescer.destroy();
+	}
+
+	@Test
+	public void testGroupsWritesByPartition() throws Exception {
+		CassandraFuture<ResultSet> first = submit("a", 1);
+		CassandraFuture<ResultSet> second = submit("a", 2);
+		CassandraFuture<ResultSet> other = submit("b", 3);
+
+		assertEquals(0, stubSession.getQueries().size());
+
+		writeCoalescer.flush();
+
+		List<String> queries = stubSession.getQueries();
+		assertEquals(2, queries.size());
+		assertTrue(queries.get(0).startsWith("BEGIN UNLOGGED BATCH"));
+		assertTrue(queries.get(0).contains("VALUES ('a', 1)") && queries.get(0).contains("VALUES ('a', 2)"));
+		assertTrue(queries.get(1).contains("VALUES ('b', 3)"));
+		assertTrue(first.isDone() && second.isDone() && other.isDone());
+		assertEquals(3, writeCoalescer.getSubmitted());
+		assertEquals(2, writeCoalescer.getRequests());
+	}
+
+	@Test
+	public void testSplitsGroupsByMaxBatchSize() throws Exception {
+		for (int i = 0; i != 3; ++i) {
+			submit("a", i);
+		}
+
+		writeCoalescer.flush();
+
+		assertEquals(2, stubSession.getQueries().size());
+		assertEquals(2, writeCoalescer.getRequests());
+	}
+
+	@Test
+	public void testFailsAllWritesOfFailedBatch() throws Exception {
+		stubSession.failWith(new NoHostAvailableException(Collections.<InetAddress, String> emptyMap()));
+
+		CassandraFuture<ResultSet> first = submit("a", 1);
+		CassandraFuture<ResultSet> second = submit("a", 2);
+		writeCoalescer.flush();
+
+		assertFailed(first);
+		assertFailed(second);
+	}
+
+	@Test
+	public void testSaveWithDeadlineBypassesCoalescer() throws Exception {
+		cassandraTemplate.setWriteCoalescer(writeCoalescer);
+
+		cassandraTemplate.saveNew(new StubEntity("a", 1)).withDeadline(Deadline.after(1, TimeUnit.MINUTES))
+				.executeAsync().getUninterruptibly();
+
+		assertEquals(0, writeCoalescer.getSubmitted());
+		assertEquals(1, stubSession.getQueries().size());
+
+		CassandraFuture<ResultSet> coalesced = cassandraTemplate.saveNew(new StubEntity("a", 2)).executeAsync();
+
+		assertEquals(1, writeCoalescer.getSubmitted());
+		assertEquals(1, stubSession.getQueries().size());
+
+		writeCoalescer.flush();
+		coalesced.getUninterruptibly();
+
+		assertEquals(2, stubSession.getQueries().size());
+	}
+
+	@Test
+	public void testLaterSaveOfSameRowWins() throws Exception {
+		cassandraTemplate.setWriteCoalescer(writeCoalescer);
+
+		CassandraFuture<ResultSet> first = cassandraTemplate.save(new StubEntity("a", 111)).executeAsync();
+		CassandraFuture<ResultSet> second = cassandraTemplate.save(new StubEntity("a", 222)).executeAsync();
+
+		writeCoalescer.flush();
+		first.getUninterruptibly();
+		second.getUninterruptibly();
+
+		List<String> queries = stubSession.getQueries();
+		assertEquals(1, queries.size());
+		assertTrue(getTimestamp(queries.get(0), "222") > getTimestamp(queries.get(0), "111"));
+	}
+
+	@Test
+	public void testRejectsSaveOfCounterEntity() throws Exception {
+		cassandraTemplate.setWriteCoalescer(writeCoalescer);
+
+		try {
+			cassandraTemplate.save(new StubCounters("a", 3)).executeAsync();
+			fail("save of the counter entity must be rejected");
+		} catch (MappingException e) {
+		}
+
+		assertEquals(0, writeCoalescer.getSubmitted());
+		assertEquals(0, stubSession.getQueries().size());
+	}
+
+	private CassandraFuture<ResultSet> submit(String id, int value) {
+		return writeCoalescer.submit(new StubEntity(id, value), "stub", new SimpleStatement(
+				"INSERT INTO test.stub (id, value) VALUES ('" + id + "', " + value + ")"), null, null);
+	}
+
+	/**
+	 * Returns client timestamp of the statement in the batch that writes the value
+	 */
+	private static long getTimestamp(String batch, String value) {
+		Pattern timestamp = Pattern.compile("USING TIMESTAMP (\\d+)");
+		for (String statement : batch.split(";")) {
+			Matcher m = timestamp.matcher(statement);
+			if (m.find()) {
+				long result = Long.parseLong(m.group(1));
+				if (m.replaceAll("").contains(value)) {
+					return result;
+				}
+			}
+		}
+		fail("no timestamped statement of " + value + " in " + batch);
+		return 0;
+	}
+
+	private static void assertFailed(CassandraFuture<ResultSet> future) {
+		try {
+			future.getUninterruptibly();
+			fail("write must fail");
+		} catch (DataAccessException e) {
+		}
+	}
+
+	@Table(name = "stub")
+	public static class StubEntity {
+
+		@Id
+		private String id;
+
+		private int value;
+
+		public StubEntity() {
+		}
+
+		public StubEntity(String id, int value) {
+			this.id = id;
+			this.value = value;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public int getValue() {
+			return value;
+		}
+
+	}
+
+	@Table(name = "stub_counters")
+	public static class StubCounters {
+
+		@Id
+		private String id;
+
+		@Counter
+		private long views;
+
+		public StubCounters() {
+		}
+
+		public StubCounters(String id, long views) {
+			this.id = id;
+			this.views = views;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public long getViews() {
+			return views;
+		}
+
+	}
+
+}